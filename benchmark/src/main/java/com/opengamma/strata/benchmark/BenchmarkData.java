@@ -0,0 +1,155 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.Guavate;
+import com.opengamma.strata.collect.io.ResourceLocator;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.ImmutableMarketDataBuilder;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.loader.csv.QuotesCsvLoader;
+import com.opengamma.strata.loader.csv.RatesCalibrationCsvLoader;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveGroupDefinition;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveId;
+import com.opengamma.strata.market.observable.QuoteId;
+import com.opengamma.strata.pricer.curve.CurveCalibrator;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.swap.SwapTrade;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConventions;
+
+/**
+ * Data shared by the benchmarks.
+ * <p>
+ * The curves are calibrated from the example curve definitions and quotes,
+ * which are copied from the examples module at build time.
+ */
+final class BenchmarkData {
+
+  /**
+   * The reference data.
+   */
+  static final ReferenceData REF_DATA = ReferenceData.standard();
+  /**
+   * The valuation date of the example quotes.
+   */
+  static final LocalDate VAL_DATE = LocalDate.of(2015, 7, 21);
+  /**
+   * The example curve group name.
+   */
+  static final CurveGroupName CURVE_GROUP_NAME = CurveGroupName.of("USD-DSCON-LIBOR3M");
+  /**
+   * The location of the example data files.
+   */
+  private static final String PATH_CONFIG = "example-calibration/";
+  /**
+   * The tenors of the synthetic swaps.
+   */
+  private static final Tenor[] TENORS = {
+      Tenor.TENOR_1Y, Tenor.TENOR_2Y, Tenor.TENOR_5Y, Tenor.TENOR_10Y, Tenor.TENOR_20Y, Tenor.TENOR_30Y};
+
+  /**
+   * Restricted constructor.
+   */
+  private BenchmarkData() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Loads the example curve group definition.
+   *
+   * @return the curve group definition
+   */
+  static CurveGroupDefinition curveGroupDefinition() {
+    ImmutableMap<CurveGroupName, CurveGroupDefinition> defns = RatesCalibrationCsvLoader.load(
+        ResourceLocator.ofClasspath(PATH_CONFIG + "curves/groups.csv"),
+        ResourceLocator.ofClasspath(PATH_CONFIG + "curves/settings.csv"),
+        ResourceLocator.ofClasspath(PATH_CONFIG + "curves/calibrations.csv"));
+    return defns.get(CURVE_GROUP_NAME).filtered(VAL_DATE, REF_DATA);
+  }
+
+  /**
+   * Loads the example quotes.
+   *
+   * @return the market data containing the quotes
+   */
+  static MarketData quotes() {
+    ImmutableMap<QuoteId, Double> quotes =
+        QuotesCsvLoader.load(VAL_DATE, ResourceLocator.ofClasspath(PATH_CONFIG + "quotes/quotes.csv"));
+    return ImmutableMarketData.of(VAL_DATE, quotes);
+  }
+
+  /**
+   * Calibrates the example curves.
+   *
+   * @return the calibrated rates provider
+   */
+  static ImmutableRatesProvider ratesProvider() {
+    return CurveCalibrator.standard().calibrate(curveGroupDefinition(), quotes(), REF_DATA);
+  }
+
+  /**
+   * Creates market data containing the calibrated example curves.
+   * <p>
+   * The curves are keyed using the identifiers expected by
+   * {@link com.opengamma.strata.measure.rate.RatesMarketDataLookup#of(CurveGroupDefinition)}.
+   *
+   * @return the market data
+   */
+  static MarketData calibratedMarketData() {
+    ImmutableRatesProvider provider = ratesProvider();
+    ImmutableMarketDataBuilder builder = ImmutableMarketData.builder(VAL_DATE);
+    provider.getDiscountCurves().values().forEach(curve -> addCurve(builder, curve));
+    provider.getIndexCurves().values().forEach(curve -> addCurve(builder, curve));
+    return builder.build();
+  }
+
+  // adds a curve, which may already be present
+  private static void addCurve(ImmutableMarketDataBuilder builder, Curve curve) {
+    builder.addValue(CurveId.of(CURVE_GROUP_NAME, curve.getName()), curve);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates a synthetic portfolio of USD fixed versus Libor 3M swaps.
+   * <p>
+   * The swaps vary by tenor, direction and fixed rate.
+   *
+   * @param size  the number of swaps
+   * @return the swaps
+   */
+  static List<SwapTrade> swapPortfolio(int size) {
+    return IntStream.range(0, size)
+        .mapToObj(BenchmarkData::swap)
+        .collect(Guavate.toImmutableList());
+  }
+
+  /**
+   * Creates a synthetic USD fixed versus Libor 3M swap.
+   *
+   * @param i  the position of the swap in the portfolio
+   * @return the swap
+   */
+  static SwapTrade swap(int i) {
+    return FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M.createTrade(
+        VAL_DATE,
+        TENORS[i % TENORS.length],
+        i % 2 == 0 ? BuySell.BUY : BuySell.SELL,
+        1_000_000 * (1 + i % 10),
+        0.01 + 0.0001 * (i % 50),
+        REF_DATA);
+  }
+
+}
@@ -0,0 +1,53 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks, publishing the results in JSON format.
+ * <p>
+ * The JSON results can be stored and compared between releases to track regressions.
+ * <p>
+ * Two optional arguments are accepted. The first is a regular expression selecting the
+ * benchmarks to run, which defaults to all benchmarks in this package.
+ * The second is the file to write the results to, which defaults to {@code jmh-result.json}.
+ */
+public final class BenchmarkRunner {
+
+  /**
+   * The default file to write the results to.
+   */
+  private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+  /**
+   * Runs the benchmarks.
+   *
+   * @param args  the optional benchmark selector and result file
+   * @throws RunnerException if the benchmarks fail to run
+   */
+  public static void main(String[] args) throws RunnerException {
+    String include = args.length > 0 ? args[0] : BenchmarkRunner.class.getPackage().getName() + ".*";
+    String resultFile = args.length > 1 ? args[1] : DEFAULT_RESULT_FILE;
+    Options options = new OptionsBuilder()
+        .include(include)
+        .resultFormat(ResultFormatType.JSON)
+        .result(resultFile)
+        .build();
+    new Runner(options).run();
+  }
+
+  /**
+   * Restricted constructor.
+   */
+  private BenchmarkRunner() {
+  }
+
+}
@@ -0,0 +1,291 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
+import com.opengamma.strata.pricer.impl.option.BlackScholesFormulaRepository;
+import com.opengamma.strata.pricer.impl.option.NormalFormulaRepository;
+import com.opengamma.strata.product.common.PutCall;
+
+/**
+ * Benchmarks the scalar and batch methods of {@link BlackFormulaRepository},
+ * {@link NormalFormulaRepository} and {@link BlackScholesFormulaRepository}.
+ * <p>
+ * Each invocation prices, or inverts, a grid of options similar to a volatility surface,
+ * with a range of strikes for each expiry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class BlackFormulaBenchmark {
+
+  /**
+   * The times to expiry of the grid.
+   */
+  private static final double[] EXPIRIES = {0.25, 0.5, 1d, 2d, 3d, 5d, 7d, 10d, 15d, 20d};
+  /**
+   * The number of strikes for each expiry.
+   */
+  private static final int STRIKE_COUNT = 50;
+  /**
+   * The forward of the underlying.
+   */
+  private static final double FORWARD = 0.03;
+  /**
+   * The interest rate and cost-of-carry rate used by the Black-Scholes formulas.
+   */
+  private static final double RATE = 0.01;
+  /**
+   * The initial guess of the normal implied volatility.
+   */
+  private static final double NORMAL_VOL_GUESS = 0.01;
+
+  private DoubleArray forwards;
+  private DoubleArray strikes;
+  private DoubleArray timesToExpiry;
+  private DoubleArray volatilities;
+  private DoubleArray prices;
+  private DoubleArray normalVolatilities;
+  private DoubleArray normalPrices;
+  private DoubleArray normalVolatilityGuesses;
+  private DoubleArray rates;
+
+  /**
+   * Creates the grid of options and their prices.
+   */
+  @Setup
+  public void setup() {
+    int size = EXPIRIES.length * STRIKE_COUNT;
+    double[] strikeValues = new double[size];
+    double[] timeValues = new double[size];
+    double[] volValues = new double[size];
+    for (int i = 0; i < EXPIRIES.length; i++) {
+      for (int j = 0; j < STRIKE_COUNT; j++) {
+        double strike = FORWARD * (0.5 + 1.5 * j / STRIKE_COUNT);
+        strikeValues[i * STRIKE_COUNT + j] = strike;
+        timeValues[i * STRIKE_COUNT + j] = EXPIRIES[i];
+        volValues[i * STRIKE_COUNT + j] = 0.2 + 0.1 * Math.abs(Math.log(strike / FORWARD)) / Math.sqrt(EXPIRIES[i]);
+      }
+    }
+    forwards = DoubleArray.filled(size, FORWARD);
+    strikes = DoubleArray.ofUnsafe(strikeValues);
+    timesToExpiry = DoubleArray.ofUnsafe(timeValues);
+    volatilities = DoubleArray.ofUnsafe(volValues);
+    prices = BlackFormulaRepository.price(forwards, strikes, timesToExpiry, volatilities, true);
+    normalVolatilities = volatilities.multipliedBy(FORWARD);
+    normalPrices = NormalFormulaRepository.price(forwards, strikes, timesToExpiry, normalVolatilities, PutCall.CALL);
+    normalVolatilityGuesses = DoubleArray.filled(size, NORMAL_VOL_GUESS);
+    rates = DoubleArray.filled(size, RATE);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Prices the options one at a time.
+   *
+   * @param blackhole  the blackhole consuming the results
+   */
+  @Benchmark
+  public void priceScalar(Blackhole blackhole) {
+    for (int i = 0; i < forwards.size(); i++) {
+      blackhole.consume(BlackFormulaRepository.price(
+          forwards.get(i), strikes.get(i), timesToExpiry.get(i), volatilities.get(i), true));
+    }
+  }
+
+  /**
+   * Prices the options in a single batch.
+   *
+   * @return the prices
+   */
+  @Benchmark
+  public DoubleArray priceBatch() {
+    return BlackFormulaRepository.price(forwards, strikes, timesToExpiry, volatilities, true);
+  }
+
+  /**
+   * Computes the vega of the options one at a time.
+   *
+   * @param blackhole  the blackhole consuming the results
+   */
+  @Benchmark
+  public void vegaScalar(Blackhole blackhole) {
+    for (int i = 0; i < forwards.size(); i++) {
+      blackhole.consume(BlackFormulaRepository.vega(
+          forwards.get(i), strikes.get(i), timesToExpiry.get(i), volatilities.get(i)));
+    }
+  }
+
+  /**
+   * Computes the vega of the options in a single batch.
+   *
+   * @return the vegas
+   */
+  @Benchmark
+  public DoubleArray vegaBatch() {
+    return BlackFormulaRepository.vega(forwards, strikes, timesToExpiry, volatilities);
+  }
+
+  /**
+   * Computes the implied volatility of the options one at a time.
+   *
+   * @param blackhole  the blackhole consuming the results
+   */
+  @Benchmark
+  public void impliedVolatilityScalar(Blackhole blackhole) {
+    for (int i = 0; i < forwards.size(); i++) {
+      blackhole.consume(BlackFormulaRepository.impliedVolatility(
+          prices.get(i), forwards.get(i), strikes.get(i), timesToExpiry.get(i), true));
+    }
+  }
+
+  /**
+   * Computes the implied volatility of the options in a single batch.
+   *
+   * @return the implied volatilities
+   */
+  @Benchmark
+  public DoubleArray impliedVolatilityBatch() {
+    return BlackFormulaRepository.impliedVolatility(prices, forwards, strikes, timesToExpiry, true);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Prices the options one at a time with the normal formula.
+   *
+   * @param blackhole  the blackhole consuming the results
+   */
+  @Benchmark
+  public void normalPriceScalar(Blackhole blackhole) {
+    for (int i = 0; i < forwards.size(); i++) {
+      blackhole.consume(NormalFormulaRepository.price(
+          forwards.get(i), strikes.get(i), timesToExpiry.get(i), normalVolatilities.get(i), PutCall.CALL));
+    }
+  }
+
+  /**
+   * Prices the options in a single batch with the normal formula.
+   *
+   * @return the prices
+   */
+  @Benchmark
+  public DoubleArray normalPriceBatch() {
+    return NormalFormulaRepository.price(forwards, strikes, timesToExpiry, normalVolatilities, PutCall.CALL);
+  }
+
+  /**
+   * Computes the normal vega of the options one at a time.
+   *
+   * @param blackhole  the blackhole consuming the results
+   */
+  @Benchmark
+  public void normalVegaScalar(Blackhole blackhole) {
+    for (int i = 0; i < forwards.size(); i++) {
+      blackhole.consume(NormalFormulaRepository.vega(
+          forwards.get(i), strikes.get(i), timesToExpiry.get(i), normalVolatilities.get(i), PutCall.CALL));
+    }
+  }
+
+  /**
+   * Computes the normal vega of the options in a single batch.
+   *
+   * @return the vegas
+   */
+  @Benchmark
+  public DoubleArray normalVegaBatch() {
+    return NormalFormulaRepository.vega(forwards, strikes, timesToExpiry, normalVolatilities, PutCall.CALL);
+  }
+
+  /**
+   * Computes the normal implied volatility of the options one at a time.
+   *
+   * @param blackhole  the blackhole consuming the results
+   */
+  @Benchmark
+  public void normalImpliedVolatilityScalar(Blackhole blackhole) {
+    for (int i = 0; i < forwards.size(); i++) {
+      blackhole.consume(NormalFormulaRepository.impliedVolatility(
+          normalPrices.get(i), forwards.get(i), strikes.get(i), timesToExpiry.get(i), NORMAL_VOL_GUESS, 1d,
+          PutCall.CALL));
+    }
+  }
+
+  /**
+   * Computes the normal implied volatility of the options in a single batch.
+   *
+   * @return the implied volatilities
+   */
+  @Benchmark
+  public DoubleArray normalImpliedVolatilityBatch() {
+    return NormalFormulaRepository.impliedVolatility(
+        normalPrices, forwards, strikes, timesToExpiry, normalVolatilityGuesses, 1d, PutCall.CALL);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Prices the options one at a time with the Black-Scholes formula.
+   *
+   * @param blackhole  the blackhole consuming the results
+   */
+  @Benchmark
+  public void blackScholesPriceScalar(Blackhole blackhole) {
+    for (int i = 0; i < forwards.size(); i++) {
+      blackhole.consume(BlackScholesFormulaRepository.price(
+          forwards.get(i), strikes.get(i), timesToExpiry.get(i), volatilities.get(i), RATE, RATE, true));
+    }
+  }
+
+  /**
+   * Prices the options in a single batch with the Black-Scholes formula.
+   *
+   * @return the prices
+   */
+  @Benchmark
+  public DoubleArray blackScholesPriceBatch() {
+    return BlackScholesFormulaRepository.price(forwards, strikes, timesToExpiry, volatilities, rates, rates, true);
+  }
+
+  /**
+   * Computes the Black-Scholes vega of the options one at a time.
+   *
+   * @param blackhole  the blackhole consuming the results
+   */
+  @Benchmark
+  public void blackScholesVegaScalar(Blackhole blackhole) {
+    for (int i = 0; i < forwards.size(); i++) {
+      blackhole.consume(BlackScholesFormulaRepository.vega(
+          forwards.get(i), strikes.get(i), timesToExpiry.get(i), volatilities.get(i), RATE, RATE));
+    }
+  }
+
+  /**
+   * Computes the Black-Scholes vega of the options in a single batch.
+   *
+   * @return the vegas
+   */
+  @Benchmark
+  public DoubleArray blackScholesVegaBatch() {
+    return BlackScholesFormulaRepository.vega(forwards, strikes, timesToExpiry, volatilities, rates, rates);
+  }
+
+}
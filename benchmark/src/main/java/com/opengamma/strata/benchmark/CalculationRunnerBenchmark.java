@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.CalculationRunner;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.market.curve.CurveGroupDefinition;
+import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.measure.StandardComponents;
+import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
+import com.opengamma.strata.product.swap.SwapTrade;
+
+/**
+ * Benchmarks the calculation of a synthetic swap portfolio using the default {@link CalculationRunner}.
+ * <p>
+ * The present value and PV01 are calculated for each swap, using curves calibrated during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CalculationRunnerBenchmark {
+
+  /**
+   * The columns to calculate.
+   */
+  private static final List<Column> COLUMNS = ImmutableList.of(
+      Column.of(Measures.PRESENT_VALUE),
+      Column.of(Measures.PV01_CALIBRATED_SUM));
+
+  /**
+   * The number of swaps in the portfolio.
+   */
+  @Param({"100", "1000"})
+  public int portfolioSize;
+  /**
+   * Whether the runner uses one thread per available processor, rather than the calling thread.
+   */
+  @Param({"false", "true"})
+  public boolean multiThreaded;
+
+  private CalculationRunner runner;
+  private CalculationRules rules;
+  private List<SwapTrade> trades;
+  private MarketData marketData;
+
+  /**
+   * Creates the runner, the portfolio and the market data.
+   */
+  @Setup
+  public void setup() {
+    runner = multiThreaded ?
+        CalculationRunner.ofMultiThreaded() :
+        CalculationRunner.of(MoreExecutors.newDirectExecutorService());
+    CurveGroupDefinition curveGroupDefinition = BenchmarkData.curveGroupDefinition();
+    rules = CalculationRules.of(
+        StandardComponents.calculationFunctions(),
+        RatesMarketDataLookup.of(curveGroupDefinition));
+    trades = BenchmarkData.swapPortfolio(portfolioSize);
+    marketData = BenchmarkData.calibratedMarketData();
+  }
+
+  /**
+   * Closes the runner.
+   */
+  @TearDown
+  public void tearDown() {
+    runner.close();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the portfolio.
+   *
+   * @return the results
+   */
+  @Benchmark
+  public Results calculate() {
+    return runner.calculate(rules, trades, COLUMNS, marketData, BenchmarkData.REF_DATA);
+  }
+
+}
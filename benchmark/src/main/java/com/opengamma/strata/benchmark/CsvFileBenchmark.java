@@ -0,0 +1,118 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.io.CharSource;
+import com.opengamma.strata.collect.io.CsvFile;
+import com.opengamma.strata.collect.io.MappedCsvCursor;
+import com.opengamma.strata.collect.io.MappedCsvFile;
+
+/**
+ * Benchmarks the parsing of a CSV file using {@link CsvFile} and {@link MappedCsvFile}.
+ * <p>
+ * The file has the layout of a quotes file, including some quoted values.
+ * It is held in memory for {@code CsvFile}, and written to a temporary file for {@code MappedCsvFile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CsvFileBenchmark {
+
+  /**
+   * The number of rows in the file, excluding the header.
+   */
+  @Param({"1000", "100000"})
+  public int rowCount;
+
+  private CharSource source;
+  private Path file;
+
+  /**
+   * Creates the file content.
+   *
+   * @throws IOException if the temporary file cannot be written
+   */
+  @Setup
+  public void setup() throws IOException {
+    StringBuilder buf = new StringBuilder(rowCount * 64);
+    buf.append("Valuation Date,Symbology,Ticker,Field Name,Value\n");
+    LocalDate date = BenchmarkData.VAL_DATE;
+    for (int i = 0; i < rowCount; i++) {
+      buf.append(date.minusDays(i / 100)).append(',')
+          .append("OG-Ticker").append(',')
+          .append(i % 10 == 0 ? "\"TICKER, " + (i % 100) + "\"" : "TICKER-" + (i % 100)).append(',')
+          .append("MarketValue").append(',')
+          .append(0.01 + i * 1e-7).append('\n');
+    }
+    source = CharSource.wrap(buf);
+    file = Files.createTempFile("CsvFileBenchmark", ".csv");
+    Files.write(file, buf.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Deletes the temporary file.
+   *
+   * @throws IOException if the temporary file cannot be deleted
+   */
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Parses the file.
+   *
+   * @return the parsed file
+   */
+  @Benchmark
+  public CsvFile parse() {
+    return CsvFile.of(source, true);
+  }
+
+  /**
+   * Parses the dates and values of the file using memory-mapping.
+   *
+   * @return the sum of the values
+   */
+  @Benchmark
+  public double parseMapped() {
+    double total = 0;
+    try (MappedCsvFile csv = MappedCsvFile.of(file, true)) {
+      int dateIndex = csv.headerIndex("Valuation Date");
+      int valueIndex = csv.headerIndex("Value");
+      MappedCsvCursor cursor = csv.cursor();
+      while (cursor.next()) {
+        total += cursor.fieldAsDate(dateIndex).getDayOfMonth() + cursor.fieldAsDouble(valueIndex);
+      }
+    }
+    return total;
+  }
+
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.market.curve.CurveGroupDefinition;
+import com.opengamma.strata.pricer.curve.CurveCalibrator;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Benchmarks the calibration of the example curve group using {@link CurveCalibrator}.
+ * <p>
+ * The curve definitions and quotes are loaded during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CurveCalibrationBenchmark {
+
+  /**
+   * The calibrator.
+   */
+  private static final CurveCalibrator CALIBRATOR = CurveCalibrator.standard();
+
+  private CurveGroupDefinition curveGroupDefinition;
+  private MarketData quotes;
+
+  /**
+   * Loads the curve definitions and quotes.
+   */
+  @Setup
+  public void setup() {
+    curveGroupDefinition = BenchmarkData.curveGroupDefinition();
+    quotes = BenchmarkData.quotes();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calibrates the curve group.
+   *
+   * @return the calibrated rates provider
+   */
+  @Benchmark
+  public ImmutableRatesProvider calibrate() {
+    return CALIBRATOR.calibrate(curveGroupDefinition, quotes, BenchmarkData.REF_DATA);
+  }
+
+}
@@ -0,0 +1,159 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
+
+/**
+ * Benchmarks the evaluation of an {@link InterpolatedNodalCurve}.
+ * <p>
+ * Each invocation evaluates the curve at a fixed set of points spread over the curve and beyond its last node.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CurveInterpolationBenchmark {
+
+  /**
+   * The x-values of the curve nodes.
+   */
+  private static final DoubleArray X_VALUES = DoubleArray.of(
+      0.0027, 0.0833, 0.25, 0.5, 0.75, 1d, 2d, 3d, 4d, 5d, 7d, 10d, 15d, 20d, 25d, 30d);
+  /**
+   * The number of points at which the curve is evaluated.
+   */
+  private static final int POINT_COUNT = 1000;
+
+  /**
+   * The name of the interpolator.
+   */
+  @Param({"Linear", "DoubleQuadratic", "NaturalSplineNonnegativityCubic"})
+  public String interpolatorName;
+
+  private InterpolatedNodalCurve curve;
+  private double[] points;
+  private double[] yValues;
+  private double[] sensitivity;
+
+  /**
+   * Creates the curve and the points.
+   */
+  @Setup
+  public void setup() {
+    DoubleArray yValues = X_VALUES.map(x -> 0.01 + 0.02 * (1d - Math.exp(-x / 5d)));
+    curve = InterpolatedNodalCurve.of(
+        Curves.zeroRates("Benchmark", ACT_365F),
+        X_VALUES,
+        yValues,
+        CurveInterpolator.of(interpolatorName),
+        CurveExtrapolators.FLAT,
+        CurveExtrapolators.FLAT);
+    points = new double[POINT_COUNT];
+    for (int i = 0; i < POINT_COUNT; i++) {
+      points[i] = 35d * i / POINT_COUNT;
+    }
+    yValues = new double[POINT_COUNT];
+    sensitivity = new double[X_VALUES.size()];
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Evaluates the y-value at each point.
+   *
+   * @param blackhole  the blackhole consuming the results
+   */
+  @Benchmark
+  public void yValue(Blackhole blackhole) {
+    for (double x : points) {
+      blackhole.consume(curve.yValue(x));
+    }
+  }
+
+  /**
+   * Evaluates the y-value at all the points in a single call.
+   *
+   * @return the y-values
+   */
+  @Benchmark
+  public double[] yValues() {
+    curve.yValues(points, yValues);
+    return yValues;
+  }
+
+  /**
+   * Evaluates the first derivative at each point.
+   *
+   * @param blackhole  the blackhole consuming the results
+   */
+  @Benchmark
+  public void firstDerivative(Blackhole blackhole) {
+    for (double x : points) {
+      blackhole.consume(curve.firstDerivative(x));
+    }
+  }
+
+  /**
+   * Evaluates the parameter sensitivity at each point.
+   *
+   * @param blackhole  the blackhole consuming the results
+   */
+  @Benchmark
+  public void yValueParameterSensitivity(Blackhole blackhole) {
+    for (double x : points) {
+      blackhole.consume(curve.yValueParameterSensitivity(x));
+    }
+  }
+
+  /**
+   * Totals the parameter sensitivity of all the points in a buffer.
+   *
+   * @return the total sensitivity
+   */
+  @Benchmark
+  public double[] addYValueParameterSensitivity() {
+    Arrays.fill(sensitivity, 0d);
+    for (double x : points) {
+      curve.addYValueParameterSensitivity(x, 1d, sensitivity);
+    }
+    return sensitivity;
+  }
+
+  /**
+   * Creates a curve with the same nodes, which binds the interpolator to the nodes.
+   *
+   * @return the curve
+   */
+  @Benchmark
+  public InterpolatedNodalCurve withYValues() {
+    return curve.withYValues(curve.getYValues());
+  }
+
+}
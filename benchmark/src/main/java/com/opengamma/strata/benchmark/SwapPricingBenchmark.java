@@ -0,0 +1,90 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.swap.DiscountingSwapTradePricer;
+import com.opengamma.strata.product.swap.ResolvedSwapTrade;
+
+/**
+ * Benchmarks the present value and PV01 of a swap using {@link DiscountingSwapTradePricer}.
+ * <p>
+ * The swap is resolved and the curves are calibrated during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SwapPricingBenchmark {
+
+  /**
+   * One basis point, expressed as a {@code double}.
+   */
+  private static final double ONE_BASIS_POINT = 1e-4;
+  /**
+   * The pricer.
+   */
+  private static final DiscountingSwapTradePricer PRICER = DiscountingSwapTradePricer.DEFAULT;
+
+  /**
+   * The position of the swap in the synthetic portfolio, which controls the tenor.
+   */
+  @Param({"2", "3", "5"})
+  public int swapIndex;
+
+  private ResolvedSwapTrade trade;
+  private ImmutableRatesProvider provider;
+
+  /**
+   * Resolves the swap and calibrates the curves.
+   */
+  @Setup
+  public void setup() {
+    trade = BenchmarkData.swap(swapIndex).resolve(BenchmarkData.REF_DATA);
+    provider = BenchmarkData.ratesProvider();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value.
+   *
+   * @return the present value
+   */
+  @Benchmark
+  public MultiCurrencyAmount presentValue() {
+    return PRICER.presentValue(trade, provider);
+  }
+
+  /**
+   * Calculates the PV01, the sum of the sensitivities to the calibrated curve parameters.
+   *
+   * @return the PV01
+   */
+  @Benchmark
+  public MultiCurrencyAmount pv01CalibratedSum() {
+    PointSensitivities pointSensitivity = PRICER.presentValueSensitivity(trade, provider);
+    return provider.parameterSensitivity(pointSensitivity).total().multipliedBy(ONE_BASIS_POINT);
+  }
+
+}
@@ -0,0 +1,13 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+
+/**
+ * JMH benchmarks for the key performance paths of Strata.
+ * <p>
+ * The benchmarks are run using {@link com.opengamma.strata.benchmark.BenchmarkRunner},
+ * which publishes the results in JSON format.
+ */
+package com.opengamma.strata.benchmark;
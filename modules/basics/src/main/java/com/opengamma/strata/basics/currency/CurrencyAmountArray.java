@@ -234,7 +234,7 @@ public final class CurrencyAmountArray
       throw new IllegalArgumentException(Messages.format(
           "Currencies must be equal, this currency is {}, other currency is {}", currency, amount.getCurrency()));
     }
-    return CurrencyAmountArray.of(currency, values.plus(amount.getAmount()));
+    return CurrencyAmountArray.of(currency, values.minus(amount.getAmount()));
   }
 
   //------------------------- AUTOGENERATED START -------------------------
@@ -90,6 +90,25 @@ public class CurrencyAmountArrayTest {
     assertThrowsIllegalArg(() -> CurrencyAmountArray.of(3, i -> values.get(i)));
   }
 
+  public void test_plus_minus_amount() {
+    CurrencyAmountArray test = CurrencyAmountArray.of(GBP, DoubleArray.of(1, 2, 3));
+    assertThat(test.plus(CurrencyAmount.of(GBP, 10)))
+        .isEqualTo(CurrencyAmountArray.of(GBP, DoubleArray.of(11, 12, 13)));
+    assertThat(test.minus(CurrencyAmount.of(GBP, 10)))
+        .isEqualTo(CurrencyAmountArray.of(GBP, DoubleArray.of(-9, -8, -7)));
+    assertThrowsIllegalArg(() -> test.plus(CurrencyAmount.of(USD, 10)));
+    assertThrowsIllegalArg(() -> test.minus(CurrencyAmount.of(USD, 10)));
+  }
+
+  public void test_plus_minus_array() {
+    CurrencyAmountArray test = CurrencyAmountArray.of(GBP, DoubleArray.of(1, 2, 3));
+    CurrencyAmountArray other = CurrencyAmountArray.of(GBP, DoubleArray.of(10, 20, 30));
+    assertThat(test.plus(other)).isEqualTo(CurrencyAmountArray.of(GBP, DoubleArray.of(11, 22, 33)));
+    assertThat(test.minus(other)).isEqualTo(CurrencyAmountArray.of(GBP, DoubleArray.of(-9, -18, -27)));
+    assertThrowsIllegalArg(() -> test.minus(CurrencyAmountArray.of(USD, DoubleArray.of(10, 20, 30))));
+    assertThrowsIllegalArg(() -> test.minus(CurrencyAmountArray.of(GBP, DoubleArray.of(10, 20))));
+  }
+
   //-------------------------------------------------------------------------
   public void test_convertedTo() {
     DoubleArray values = DoubleArray.of(1, 2, 3);
@@ -6,13 +6,19 @@
 package com.opengamma.strata.calc;
 
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.marketdata.MarketDataConfig;
+import com.opengamma.strata.calc.marketdata.MarketDataFactory;
 import com.opengamma.strata.calc.runner.CalculationListener;
 import com.opengamma.strata.calc.runner.CalculationTaskRunner;
+import com.opengamma.strata.calc.runner.CalculationTasks;
+import com.opengamma.strata.calc.runner.ResolvedTargetCache;
 import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
 /**
@@ -66,6 +72,22 @@ public interface CalculationRunner extends AutoCloseable {
     return DefaultCalculationRunner.of(executor);
   }
 
+  /**
+   * Creates a calculation runner capable of performing calculations,
+   * specifying the executor and the cache used to resolve the targets.
+   * <p>
+   * The cache is passed to the calculation functions, allowing the resolved form of each target
+   * to be reused when the same targets are calculated repeatedly.
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * 
+   * @param executor  the executor to use
+   * @param resolvedTargetCache  the cache used by the calculation functions to resolve the targets
+   * @return the calculation runner
+   */
+  public static CalculationRunner of(ExecutorService executor, ResolvedTargetCache resolvedTargetCache) {
+    return DefaultCalculationRunner.of(executor, resolvedTargetCache);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Performs calculations for a single set of market data.
@@ -158,6 +180,166 @@ public interface CalculationRunner extends AutoCloseable {
       ReferenceData refData,
       CalculationListener listener);
 
+  //-------------------------------------------------------------------------
+  /**
+   * Recalculates the results affected by a change to a single set of market data.
+   * <p>
+   * This returns the same grid of results as {@code calculate}, but only the cells whose
+   * functions require the changed market data are calculated again.
+   * The results of all other cells are taken from the previous results.
+   * <p>
+   * The changed IDs are typically those of the observable values that have changed.
+   * The market data factory and configuration used to build the market data are used to find the derived
+   * market data, such as curves, that depends on the changed values.
+   * The previous results must have been calculated using the same rules, targets, columns and reference data.
+   * <p>
+   * The calculation tasks are created on each call, thus the market data requirements of the tasks
+   * are determined again on each call. When recalculating repeatedly, create the tasks once using
+   * {@link CalculationTasks#of(CalculationRules, List, List)} and pass them to the overload taking
+   * {@code CalculationTasks}, which allows the requirements to be retained between calls.
+   * <p>
+   * The default implementation ignores the previous results and calculates all the cells again.
+   * 
+   * @param calculationRules  the rules defining how the calculation is performed
+   * @param targets  the targets for which values of the measures will be calculated
+   * @param columns  the configuration for the columns that will be calculated,
+   *   including the measure and any column-specific overrides
+   * @param marketData  the market data to be used in the calculations
+   * @param refData  the reference data to be used in the calculations
+   * @param previousResults  the results previously calculated for the same targets and columns
+   * @param changedIds  the IDs of the market data that has changed since the previous results were calculated
+   * @param marketDataFactory  the factory used to build the market data
+   * @param marketDataConfig  the configuration used to build the market data
+   * @return the grid of calculation results, based on the targets and columns
+   */
+  public default Results calculateIncremental(
+      CalculationRules calculationRules,
+      List<? extends CalculationTarget> targets,
+      List<Column> columns,
+      MarketData marketData,
+      ReferenceData refData,
+      Results previousResults,
+      Set<? extends MarketDataId<?>> changedIds,
+      MarketDataFactory marketDataFactory,
+      MarketDataConfig marketDataConfig) {
+
+    return calculate(calculationRules, targets, columns, marketData, refData);
+  }
+
+  /**
+   * Recalculates the results for multiple scenarios affected by a change to the market data.
+   * <p>
+   * This returns the same grid of results as {@code calculateMultiScenario}, but only the cells whose
+   * functions require the changed market data are calculated again.
+   * The results of all other cells are taken from the previous results.
+   * <p>
+   * The changed IDs are typically those of the observable values that have changed.
+   * The market data factory and configuration used to build the market data are used to find the derived
+   * market data, such as curves, that depends on the changed values.
+   * The previous results must have been calculated using the same rules, targets, columns and reference data.
+   * <p>
+   * The calculation tasks are created on each call, thus the market data requirements of the tasks
+   * are determined again on each call. When recalculating repeatedly, create the tasks once using
+   * {@link CalculationTasks#of(CalculationRules, List, List)} and pass them to the overload taking
+   * {@code CalculationTasks}, which allows the requirements to be retained between calls.
+   * <p>
+   * The default implementation ignores the previous results and calculates all the cells again.
+   * 
+   * @param calculationRules  the rules defining how the calculation is performed
+   * @param targets  the targets for which values of the measures will be calculated
+   * @param columns  the configuration for the columns that will be calculated,
+   *   including the measure and any column-specific overrides
+   * @param marketData  the market data to be used in the calculations
+   * @param refData  the reference data to be used in the calculations
+   * @param previousResults  the results previously calculated for the same targets and columns
+   * @param changedIds  the IDs of the market data that has changed since the previous results were calculated
+   * @param marketDataFactory  the factory used to build the market data
+   * @param marketDataConfig  the configuration used to build the market data
+   * @return the grid of calculation results, based on the targets and columns
+   */
+  public default Results calculateMultiScenarioIncremental(
+      CalculationRules calculationRules,
+      List<? extends CalculationTarget> targets,
+      List<Column> columns,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      Results previousResults,
+      Set<? extends MarketDataId<?>> changedIds,
+      MarketDataFactory marketDataFactory,
+      MarketDataConfig marketDataConfig) {
+
+    return calculateMultiScenario(calculationRules, targets, columns, marketData, refData);
+  }
+
+  /**
+   * Recalculates the results affected by a change to a single set of market data,
+   * using previously created calculation tasks.
+   * <p>
+   * This behaves as {@link #calculateIncremental(CalculationRules, List, List, MarketData, ReferenceData,
+   * Results, Set, MarketDataFactory, MarketDataConfig) calculateIncremental}, but the tasks are supplied.
+   * The market data requirements of the tasks are retained by the tasks, thus passing the same
+   * instance on each call avoids determining them again.
+   * <p>
+   * The default implementation delegates to the {@linkplain #getTaskRunner() task runner}.
+   * 
+   * @param tasks  the calculation tasks, as used to calculate the previous results
+   * @param marketData  the market data to be used in the calculations
+   * @param refData  the reference data to be used in the calculations
+   * @param previousResults  the results previously calculated for the same tasks
+   * @param changedIds  the IDs of the market data that has changed since the previous results were calculated
+   * @param marketDataFactory  the factory used to build the market data
+   * @param marketDataConfig  the configuration used to build the market data
+   * @return the grid of calculation results, based on the targets and columns
+   * @throws UnsupportedOperationException if access to the task runner is not provided
+   */
+  public default Results calculateIncremental(
+      CalculationTasks tasks,
+      MarketData marketData,
+      ReferenceData refData,
+      Results previousResults,
+      Set<? extends MarketDataId<?>> changedIds,
+      MarketDataFactory marketDataFactory,
+      MarketDataConfig marketDataConfig) {
+
+    return getTaskRunner().calculateIncremental(
+        tasks, marketData, refData, previousResults, changedIds, marketDataFactory, marketDataConfig);
+  }
+
+  /**
+   * Recalculates the results for multiple scenarios affected by a change to the market data,
+   * using previously created calculation tasks.
+   * <p>
+   * This behaves as {@link #calculateMultiScenarioIncremental(CalculationRules, List, List, ScenarioMarketData,
+   * ReferenceData, Results, Set, MarketDataFactory, MarketDataConfig) calculateMultiScenarioIncremental},
+   * but the tasks are supplied.
+   * The market data requirements of the tasks are retained by the tasks, thus passing the same
+   * instance on each call avoids determining them again.
+   * <p>
+   * The default implementation delegates to the {@linkplain #getTaskRunner() task runner}.
+   * 
+   * @param tasks  the calculation tasks, as used to calculate the previous results
+   * @param marketData  the market data to be used in the calculations
+   * @param refData  the reference data to be used in the calculations
+   * @param previousResults  the results previously calculated for the same tasks
+   * @param changedIds  the IDs of the market data that has changed since the previous results were calculated
+   * @param marketDataFactory  the factory used to build the market data
+   * @param marketDataConfig  the configuration used to build the market data
+   * @return the grid of calculation results, based on the targets and columns
+   * @throws UnsupportedOperationException if access to the task runner is not provided
+   */
+  public default Results calculateMultiScenarioIncremental(
+      CalculationTasks tasks,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      Results previousResults,
+      Set<? extends MarketDataId<?>> changedIds,
+      MarketDataFactory marketDataFactory,
+      MarketDataConfig marketDataConfig) {
+
+    return getTaskRunner().calculateMultiScenarioIncremental(
+        tasks, marketData, refData, previousResults, changedIds, marketDataFactory, marketDataConfig);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Gets the underlying task runner.
@@ -6,15 +6,20 @@
 package com.opengamma.strata.calc;
 
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.marketdata.MarketDataConfig;
+import com.opengamma.strata.calc.marketdata.MarketDataFactory;
 import com.opengamma.strata.calc.runner.CalculationListener;
 import com.opengamma.strata.calc.runner.CalculationTaskRunner;
 import com.opengamma.strata.calc.runner.CalculationTasks;
+import com.opengamma.strata.calc.runner.ResolvedTargetCache;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
 /**
@@ -59,6 +64,20 @@ class DefaultCalculationRunner implements CalculationRunner {
     return new DefaultCalculationRunner(CalculationTaskRunner.of(executor));
   }
 
+  /**
+   * Creates a calculation runner capable of performing calculations,
+   * specifying the executor and the cache used to resolve the targets.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * 
+   * @param executor  the executor to use
+   * @param resolvedTargetCache  the cache used by the calculation functions to resolve the targets
+   * @return the calculation runner
+   */
+  static DefaultCalculationRunner of(ExecutorService executor, ResolvedTargetCache resolvedTargetCache) {
+    return new DefaultCalculationRunner(CalculationTaskRunner.of(executor, resolvedTargetCache));
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance specifying the underlying task runner to use.
@@ -121,6 +140,41 @@ class DefaultCalculationRunner implements CalculationRunner {
     taskRunner.calculateMultiScenarioAsync(tasks, marketData, refData, listener);
   }
 
+  //-------------------------------------------------------------------------
+  @Override
+  public Results calculateIncremental(
+      CalculationRules calculationRules,
+      List<? extends CalculationTarget> targets,
+      List<Column> columns,
+      MarketData marketData,
+      ReferenceData refData,
+      Results previousResults,
+      Set<? extends MarketDataId<?>> changedIds,
+      MarketDataFactory marketDataFactory,
+      MarketDataConfig marketDataConfig) {
+
+    CalculationTasks tasks = CalculationTasks.of(calculationRules, targets, columns);
+    return taskRunner.calculateIncremental(
+        tasks, marketData, refData, previousResults, changedIds, marketDataFactory, marketDataConfig);
+  }
+
+  @Override
+  public Results calculateMultiScenarioIncremental(
+      CalculationRules calculationRules,
+      List<? extends CalculationTarget> targets,
+      List<Column> columns,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      Results previousResults,
+      Set<? extends MarketDataId<?>> changedIds,
+      MarketDataFactory marketDataFactory,
+      MarketDataConfig marketDataConfig) {
+
+    CalculationTasks tasks = CalculationTasks.of(calculationRules, targets, columns);
+    return taskRunner.calculateMultiScenarioIncremental(
+        tasks, marketData, refData, previousResults, changedIds, marketDataFactory, marketDataConfig);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public CalculationTaskRunner getTaskRunner() {
@@ -0,0 +1,134 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.ConcurrentTasks;
+import com.opengamma.strata.collect.MapStream;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.ObservableId;
+
+/**
+ * A provider of observable market data that coalesces concurrent requests for the same data.
+ * <p>
+ * This wraps an underlying provider. When data is requested for an identifier that has already been
+ * requested from the underlying provider, and that request has not yet completed, the existing request
+ * is shared rather than requesting the data again. Only the identifiers without an outstanding request
+ * are passed to the underlying provider, as a single batch.
+ * <p>
+ * No data is cached, once a request completes the next request for the same identifier
+ * is passed to the underlying provider.
+ */
+final class CoalescingObservableDataProvider implements ObservableDataProvider {
+
+  /** The underlying provider. */
+  private final ObservableDataProvider underlying;
+  /** The outstanding requests, keyed by identifier. */
+  private final ConcurrentMap<ObservableId, CompletableFuture<Result<Double>>> inFlight = new ConcurrentHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance wrapping the specified provider.
+   * <p>
+   * If the provider already coalesces requests, it is returned unchanged.
+   *
+   * @param underlying  the underlying provider
+   * @return the coalescing provider
+   */
+  static CoalescingObservableDataProvider of(ObservableDataProvider underlying) {
+    ArgChecker.notNull(underlying, "underlying");
+    if (underlying instanceof CoalescingObservableDataProvider) {
+      return (CoalescingObservableDataProvider) underlying;
+    }
+    return new CoalescingObservableDataProvider(underlying);
+  }
+
+  /**
+   * Restricted constructor.
+   *
+   * @param underlying  the underlying provider
+   */
+  private CoalescingObservableDataProvider(ObservableDataProvider underlying) {
+    this.underlying = underlying;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Map<ObservableId, Result<Double>> provideObservableData(Set<? extends ObservableId> identifiers) {
+    CompletableFuture<Map<ObservableId, Result<Double>>> future =
+        provideObservableDataAsync(identifiers, MoreExecutors.directExecutor());
+    return ConcurrentTasks.join(future);
+  }
+
+  @Override
+  public CompletableFuture<Map<ObservableId, Result<Double>>> provideObservableDataAsync(
+      Set<? extends ObservableId> identifiers,
+      Executor executor) {
+
+    // share any outstanding requests, registering new requests for the remaining identifiers
+    Map<ObservableId, CompletableFuture<Result<Double>>> futures = new HashMap<>();
+    Map<ObservableId, CompletableFuture<Result<Double>>> requested = new HashMap<>();
+    for (ObservableId id : identifiers) {
+      CompletableFuture<Result<Double>> created = new CompletableFuture<>();
+      CompletableFuture<Result<Double>> existing = inFlight.putIfAbsent(id, created);
+      if (existing == null) {
+        requested.put(id, created);
+        futures.put(id, created);
+      } else {
+        futures.put(id, existing);
+      }
+    }
+    // request the new identifiers from the underlying provider as a single batch
+    if (!requested.isEmpty()) {
+      try {
+        underlying.provideObservableDataAsync(ImmutableSet.copyOf(requested.keySet()), executor)
+            .whenComplete((results, ex) -> complete(requested, results, ex));
+      } catch (RuntimeException ex) {
+        complete(requested, null, ex);
+      }
+    }
+    CompletableFuture<?>[] all = futures.values().toArray(new CompletableFuture<?>[futures.size()]);
+    return CompletableFuture.allOf(all)
+        .thenApply(ignored -> MapStream.of(futures).mapValues(future -> future.join()).toMap());
+  }
+
+  // completes the outstanding requests once the underlying provider has returned
+  private void complete(
+      Map<ObservableId, CompletableFuture<Result<Double>>> requested,
+      Map<ObservableId, Result<Double>> results,
+      Throwable ex) {
+
+    requested.forEach((id, future) -> {
+      inFlight.remove(id, future);
+      if (ex != null) {
+        future.completeExceptionally(ex);
+      } else {
+        Result<Double> result = results.get(id);
+        future.complete(result != null ?
+            result :
+            Result.failure(FailureReason.MISSING_DATA, "Observable data provider returned no value for '{}'", id));
+      }
+    });
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "CoalescingObservableDataProvider[" + underlying + "]";
+  }
+
+}
@@ -10,19 +10,30 @@ import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.IntStream;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.ConcurrentTasks;
 import com.opengamma.strata.collect.MapStream;
+import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
 import com.opengamma.strata.data.scenario.MarketDataBox;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
@@ -30,10 +41,20 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * The default market data factory.
  * <p>
  * This uses two providers, one for observable data and one for time-series.
+ * <p>
+ * The market data is built one level of the dependency tree at a time.
+ * The items of non-observable data at the same level are independent of one another,
+ * thus they are built using the executor, which may be multi-threaded.
+ * By default, the data is built in the calling thread.
+ * <p>
+ * All the observable data in the dependency tree is requested from the provider before building starts,
+ * allowing a multi-threaded executor to build non-observable data while the observable data is retrieved.
+ * Concurrent requests for the same observable data, such as from concurrent calls to this factory,
+ * are coalesced into a single request to the provider.
  */
 final class DefaultMarketDataFactory implements MarketDataFactory {
 
-  /** Builds observable market data. */
+  /** Builds observable market data, coalescing concurrent requests for the same data. */
   private final ObservableDataProvider observableDataProvider;
 
   /** Provides time-series of observable market data values. */
@@ -42,6 +63,9 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
   /** Market data functions, keyed by the type of the market data ID they can handle. */
   private final Map<Class<? extends MarketDataId<?>>, MarketDataFunction<?, ?>> functions;
 
+  /** Executes the market data functions, allowing independent data to be built in parallel. */
+  private final Executor executor;
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance of the factory based on providers of market data and time-series.
@@ -52,14 +76,39 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
    * @param timeSeriesProvider  the provider time-series
    * @param functions  the functions that create the market data
    */
-  @SuppressWarnings("unchecked")
   DefaultMarketDataFactory(
       ObservableDataProvider observableDataProvider,
       TimeSeriesProvider timeSeriesProvider,
       List<MarketDataFunction<?, ?>> functions) {
 
-    this.observableDataProvider = observableDataProvider;
+    this(observableDataProvider, timeSeriesProvider, functions, MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Creates an instance of the factory based on providers of market data and time-series,
+   * specifying the executor used to build the market data.
+   * <p>
+   * The market data functions are used to build the market data.
+   * The market data functions must be thread-safe if the executor is multi-threaded.
+   * The calling thread waits for the tasks submitted to the executor, thus the factory must not be
+   * called from a task running in the same bounded executor.
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   *
+   * @param observableDataProvider  the provider observable market data
+   * @param timeSeriesProvider  the provider time-series
+   * @param functions  the functions that create the market data
+   * @param executor  the executor used to build independent items of market data
+   */
+  @SuppressWarnings("unchecked")
+  DefaultMarketDataFactory(
+      ObservableDataProvider observableDataProvider,
+      TimeSeriesProvider timeSeriesProvider,
+      List<MarketDataFunction<?, ?>> functions,
+      Executor executor) {
+
+    this.observableDataProvider = CoalescingObservableDataProvider.of(observableDataProvider);
     this.timeSeriesProvider = timeSeriesProvider;
+    this.executor = ArgChecker.notNull(executor, "executor");
 
     // Use a HashMap instead of an ImmutableMap.Builder so values can be overwritten.
     // If the functions argument includes a missing mapping builder it can overwrite the one inserted below
@@ -103,12 +152,97 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
       ScenarioDefinition scenarioDefinition) {
 
     BuiltScenarioMarketDataBuilder dataBuilder = BuiltScenarioMarketData.builder(suppliedData.getValuationDate());
-    BuiltScenarioMarketData builtData = dataBuilder.build();
 
     // Build a tree of the market data dependencies. The root of the tree represents the calculations.
     // The children of the root represent the market data directly used in the calculations. The children
     // of those nodes represent the market data required to build that data, and so on
     MarketDataNode root = MarketDataNode.buildDependencyTree(requirements, suppliedData, marketDataConfig, functions);
+    return build(root, marketDataConfig, suppliedData, refData, scenarioDefinition, dataBuilder);
+  }
+
+  @Override
+  public BuiltMarketData createIncremental(
+      MarketDataRequirements requirements,
+      MarketDataConfig marketDataConfig,
+      MarketData suppliedData,
+      ReferenceData refData,
+      BuiltMarketData previousData,
+      Set<? extends ObservableId> changedIds) {
+
+    ScenarioMarketData md = ScenarioMarketData.of(1, suppliedData);
+    BuiltScenarioMarketData smd = createMultiScenarioIncremental(
+        requirements,
+        marketDataConfig,
+        md,
+        refData,
+        ScenarioDefinition.empty(),
+        previousData.getUnderlying(),
+        changedIds);
+    return new BuiltMarketData(smd);
+  }
+
+  @Override
+  public BuiltScenarioMarketData createMultiScenarioIncremental(
+      MarketDataRequirements requirements,
+      MarketDataConfig marketDataConfig,
+      ScenarioMarketData suppliedData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition,
+      BuiltScenarioMarketData previousData,
+      Set<? extends ObservableId> changedIds) {
+
+    ArgChecker.notNull(previousData, "previousData");
+    ArgChecker.notNull(changedIds, "changedIds");
+    if (!previousData.getValuationDate().equals(suppliedData.getValuationDate())) {
+      throw new IllegalArgumentException(Messages.format(
+          "Valuation date of the previous market data {} must match that of the supplied data {}",
+          previousData.getValuationDate(),
+          suppliedData.getValuationDate()));
+    }
+    MarketDataNode root = MarketDataNode.buildDependencyTree(requirements, suppliedData, marketDataConfig, functions);
+
+    // Walk the dependency tree to find all market data that depends on the changed values.
+    // Everything else in the previous data is still valid and is added to the builder before building starts.
+    // The data in the builder is not built again, so only the changed values and their dependents are rebuilt
+    Set<MarketDataId<?>> dependents = new HashSet<>();
+    root.findDependents(changedIds, dependents);
+    BuiltScenarioMarketDataBuilder dataBuilder = BuiltScenarioMarketData.builder(suppliedData.getValuationDate());
+    ImmutableScenarioMarketData previousUnderlying = previousData.getUnderlying();
+    MapStream.of(previousUnderlying.getValues())
+        .filterKeys(id -> !dependents.contains(id))
+        .forEach((id, box) -> dataBuilder.addBox(id, box));
+    MapStream.of(previousUnderlying.getTimeSeries())
+        .forEach((id, timeSeries) -> dataBuilder.addTimeSeries(id, timeSeries));
+    return build(root, marketDataConfig, suppliedData, refData, scenarioDefinition, dataBuilder);
+  }
+
+  @Override
+  public Set<MarketDataId<?>> findDependents(
+      MarketDataRequirements requirements,
+      MarketDataConfig marketDataConfig,
+      Set<? extends MarketDataId<?>> ids) {
+
+    ArgChecker.notNull(ids, "ids");
+    // No data is supplied, so the tree contains all the data that could be built from the IDs,
+    // whether or not it is rebuilt by a particular call to createIncremental
+    MarketDataNode root = MarketDataNode.buildDependencyTree(
+        requirements, ScenarioMarketData.empty(), marketDataConfig, functions);
+    Set<MarketDataId<?>> dependents = new HashSet<>();
+    root.findDependents(ids, dependents);
+    return ImmutableSet.copyOf(dependents);
+  }
+
+  // builds the market data in the dependency tree, adding it to the data builder
+  private BuiltScenarioMarketData build(
+      MarketDataNode dependencyTree,
+      MarketDataConfig marketDataConfig,
+      ScenarioMarketData suppliedData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition,
+      BuiltScenarioMarketDataBuilder dataBuilder) {
+
+    MarketDataNode root = dependencyTree;
+    BuiltScenarioMarketData builtData = dataBuilder.build();
 
     // The leaf nodes of the dependency tree represent market data with no missing requirements for market data.
     // This includes:
@@ -127,6 +261,12 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
     // needed for the calculations is available.
     //
     // The result of this method also contains details of the problems for market data can't be built or found.
+    //
+    // The observable data at every level of the tree is requested from the provider before building starts.
+    // Thus a slow provider does not prevent non-observable data that does not depend on it from being built.
+
+    CompletableFuture<Map<ObservableId, Result<Double>>> observableFuture =
+        requestObservableData(root, builtData, suppliedData);
 
     while (!root.isLeaf()) {
       // Effectively final reference to buildData which can be used in a lambda expression
@@ -151,26 +291,6 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
           .filter(id -> !suppliedData.getTimeSeries(id).isEmpty())
           .forEach(id -> dataBuilder.addTimeSeries(id, suppliedData.getTimeSeries(id)));
 
-      // Single values of observable data -----------------------------------------------------------
-
-      // Filter out IDs for the data that is already available
-      Set<ObservableId> observableIds = leafRequirements.getObservables().stream()
-          .filter(not(marketData::containsValue))
-          .filter(not(suppliedData::containsValue))
-          .collect(toImmutableSet());
-
-      // Observable data is built in bulk so it can be efficiently requested from data provider in one operation
-      if (!observableIds.isEmpty()) {
-        Map<ObservableId, Result<Double>> observableResults = observableDataProvider.provideObservableData(observableIds);
-        MapStream.of(observableResults)
-            .forEach((id, res) -> addObservableResult(id, res, refData, scenarioDefinition, dataBuilder));
-      }
-
-      // Copy observable data from the supplied data to the builder, applying any matching perturbations
-      leafRequirements.getObservables().stream()
-          .filter(suppliedData::containsValue)
-          .forEach(id -> addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder));
-
       // Non-observable data -----------------------------------------------------------------------
 
       // Filter out IDs for the data that is already available and build the rest
@@ -190,6 +310,27 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
           .filter(suppliedData::containsValue)
           .forEach(id -> addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder));
 
+      // Single values of observable data -----------------------------------------------------------
+
+      // Filter out IDs for the data that is already available
+      Set<ObservableId> observableIds = leafRequirements.getObservables().stream()
+          .filter(not(marketData::containsValue))
+          .filter(not(suppliedData::containsValue))
+          .collect(toImmutableSet());
+
+      // Observable data was requested in bulk before building started, only waiting here if it is still in progress
+      if (!observableIds.isEmpty()) {
+        Map<ObservableId, Result<Double>> observableResults = ConcurrentTasks.join(observableFuture);
+        MapStream.of(observableResults)
+            .filterKeys(observableIds::contains)
+            .forEach((id, res) -> addObservableResult(id, res, refData, scenarioDefinition, dataBuilder));
+      }
+
+      // Copy observable data from the supplied data to the builder, applying any matching perturbations
+      leafRequirements.getObservables().stream()
+          .filter(suppliedData::containsValue)
+          .forEach(id -> addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder));
+
       // --------------------------------------------------------------------------------------------
 
       // Put the data built so far into an object that will be used in the next phase of building data
@@ -201,6 +342,33 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
     return builtData;
   }
 
+  /**
+   * Requests all the observable market data in the dependency tree that is not already available.
+   * <p>
+   * The data is requested from the provider in a single operation using the executor.
+   *
+   * @param dependencyTree  the tree of market data dependencies
+   * @param builtData  the market data that has already been built
+   * @param suppliedData  the market data supplied by the user
+   * @return a future completing with the observable data, keyed by ID
+   */
+  private CompletableFuture<Map<ObservableId, Result<Double>>> requestObservableData(
+      MarketDataNode dependencyTree,
+      BuiltScenarioMarketData builtData,
+      ScenarioMarketData suppliedData) {
+
+    Set<ObservableId> allObservableIds = new HashSet<>();
+    dependencyTree.findObservables(allObservableIds);
+    Set<ObservableId> observableIds = allObservableIds.stream()
+        .filter(not(builtData::containsValue))
+        .filter(not(suppliedData::containsValue))
+        .collect(toImmutableSet());
+    if (observableIds.isEmpty()) {
+      return CompletableFuture.completedFuture(ImmutableMap.of());
+    }
+    return observableDataProvider.provideObservableDataAsync(observableIds, executor);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Builds items of non-observable market data using a market data function.
@@ -223,26 +391,51 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
     // In this class a mixture of functions with different types are stored in a map. This loses the type
     // parameter information. When the functions are extracted from the map and used it's impossible to
     // convince the compiler the operations are safe, although the logic guarantees it.
+    MarketDataFunction marketDataFunction = findFunction(id);
+    return Result.of(() -> marketDataFunction.build(id, marketDataConfig, suppliedData, refData));
+  }
 
+  // finds the function for the ID, throwing an exception if not found
+  @SuppressWarnings("unchecked")
+  private MarketDataFunction<?, ?> findFunction(MarketDataId<?> id) {
     // This cast removes a spurious warning
     Class<? extends MarketDataId<?>> idClass = (Class<? extends MarketDataId<?>>) id.getClass();
-    MarketDataFunction marketDataFunction = functions.get(idClass);
+    MarketDataFunction<?, ?> marketDataFunction = functions.get(idClass);
 
     if (marketDataFunction == null) {
       throw new IllegalStateException("No market data function available for market data ID of type " + idClass.getName());
     }
-    return Result.of(() -> marketDataFunction.build(id, marketDataConfig, suppliedData, refData));
+    return marketDataFunction;
   }
 
-  @SuppressWarnings("unchecked")
+  /**
+   * Builds items of non-observable market data that are independent of one another.
+   * <p>
+   * If there is more than one item, each item is built using the executor.
+   * The results are keyed by ID, in the iteration order of the set of IDs, irrespective of the order of completion.
+   * The set of IDs is derived from the requirements, thus the order is deterministic for given requirements.
+   *
+   * @param ids  IDs of the market data that should be built
+   * @param marketDataConfig  configuration specifying how the market data should be built
+   * @param marketData  existing set of market data that contains any data required to build the values
+   * @param refData  the reference data, used to resolve trades
+   * @return the results containing the market data or details of why it wasn't built, keyed by ID
+   */
   private Map<MarketDataId<?>, Result<MarketDataBox<?>>> buildNonObservableData(
       Set<? extends MarketDataId<?>> ids,
       MarketDataConfig marketDataConfig,
       BuiltScenarioMarketData marketData,
       ReferenceData refData) {
 
-    return ids.stream()
-        .collect(toImmutableMap(id -> id, id -> buildNonObservableData(id, marketDataConfig, marketData, refData)));
+    if (ids.size() > 1) {
+      // check all the functions are available before starting any work
+      ids.forEach(this::findFunction);
+    }
+    // the built data is immutable, thus it is safe to share between threads
+    List<MarketDataId<?>> idList = ImmutableList.copyOf(ids);
+    List<Result<MarketDataBox<?>>> results = ConcurrentTasks.evaluate(
+        idList.size(), i -> buildNonObservableData(idList.get(i), marketDataConfig, marketData, refData), executor);
+    return IntStream.range(0, idList.size()).boxed().collect(toImmutableMap(idList::get, results::get));
   }
 
   /**
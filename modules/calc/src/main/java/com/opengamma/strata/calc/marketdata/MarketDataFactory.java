@@ -6,11 +6,16 @@
 package com.opengamma.strata.calc.marketdata;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.runner.CalculationTasks;
 import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.ObservableId;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
 /**
@@ -34,6 +39,10 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * The {@code create} method is used to obtain and calibrate a single set of market data.
  * By contrast, the {@code createMultiScenario} methods are used to create data with multiple
  * scenarios based on a {@link ScenarioDefinition}.
+ * <p>
+ * When only some observable values have changed since market data was last built, the
+ * {@code createIncremental} methods can be used to rebuild only the data that depends on
+ * the changed values, reusing everything else from the previously built data.
  */
 public interface MarketDataFactory {
 
@@ -74,6 +83,38 @@ public interface MarketDataFactory {
     return new DefaultMarketDataFactory(observableDataProvider, timeSeriesProvider, functions);
   }
 
+  /**
+   * Obtains an instance of the factory based on providers of market data and time-series,
+   * specifying the executor used to build the market data.
+   * <p>
+   * The market data functions are used to build the market data.
+   * Items of market data that do not depend on one another, such as curve groups or surfaces
+   * at the same level of the dependency tree, are built in parallel using the executor.
+   * The market data functions must be thread-safe if the executor is multi-threaded.
+   * <p>
+   * The thread calling the factory waits for the tasks submitted to the executor to complete.
+   * As such, if the executor has a bounded number of threads, the factory must not be called
+   * from a task running in the same executor, as all the threads could end up waiting.
+   * For the same reason, the executor must not be shared with market data functions that
+   * themselves wait for tasks submitted to it, such as a curve calibrator using the same executor.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   *
+   * @param observableDataProvider  the provider of observable market data
+   * @param timeSeriesProvider  the provider of time-series
+   * @param executor  the executor used to build independent items of market data
+   * @param functions  the functions that create the market data
+   * @return the market data factory
+   */
+  public static MarketDataFactory of(
+      ObservableDataProvider observableDataProvider,
+      TimeSeriesProvider timeSeriesProvider,
+      Executor executor,
+      List<MarketDataFunction<?, ?>> functions) {
+
+    return new DefaultMarketDataFactory(observableDataProvider, timeSeriesProvider, functions, executor);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Builds a set of market data.
@@ -154,4 +195,100 @@ public interface MarketDataFactory {
       ReferenceData refData,
       ScenarioDefinition scenarioDefinition);
 
+  //-------------------------------------------------------------------------
+  /**
+   * Rebuilds a set of market data after some observable values have changed.
+   * <p>
+   * This is equivalent to calling {@link #create(MarketDataRequirements, MarketDataConfig, MarketData, ReferenceData)}
+   * but only rebuilds the market data that depends, directly or indirectly, on the changed values.
+   * For example, if a single quote has changed then only the curve groups calibrated using that quote are rebuilt.
+   * All other market data is taken from the previously built data.
+   * <p>
+   * The changed values are taken from {@code suppliedData} if present, or otherwise requested from
+   * the {@link ObservableDataProvider}. The requirements, configuration and valuation date must be the
+   * same as those used to build the previous data.
+   * <p>
+   * The default implementation ignores the previous data and builds all the market data again.
+   *
+   * @param requirements  the market data required for the calculations
+   * @param marketDataConfig  configuration needed to build non-observable market data, for example curves or surfaces
+   * @param suppliedData  market data supplied by the user
+   * @param refData  the reference data
+   * @param previousData  the market data previously built from the same requirements
+   * @param changedIds  the IDs of the observable values that have changed since the previous data was built
+   * @return the market data required by the calculations plus details of any data that could not be built
+   */
+  public default BuiltMarketData createIncremental(
+      MarketDataRequirements requirements,
+      MarketDataConfig marketDataConfig,
+      MarketData suppliedData,
+      ReferenceData refData,
+      BuiltMarketData previousData,
+      Set<? extends ObservableId> changedIds) {
+
+    return create(requirements, marketDataConfig, suppliedData, refData);
+  }
+
+  /**
+   * Rebuilds the market data for a set of scenarios after some observable values have changed.
+   * <p>
+   * This is equivalent to calling the equivalent {@code createMultiScenario} method
+   * but only rebuilds the market data that depends, directly or indirectly, on the changed values.
+   * All other market data is taken from the previously built data.
+   * <p>
+   * The changed values are taken from {@code suppliedData} if present, or otherwise requested from
+   * the {@link ObservableDataProvider}. The requirements, configuration, valuation date and scenario definition
+   * must be the same as those used to build the previous data.
+   * <p>
+   * The default implementation ignores the previous data and builds all the market data again.
+   *
+   * @param requirements  the market data required for the calculations
+   * @param marketDataConfig  configuration needed to build non-observable market data, for example curves or surfaces
+   * @param suppliedData  the base market data used to derive the data for each scenario
+   * @param refData  the reference data
+   * @param scenarioDefinition  defines how the market data for each scenario is derived from the base data
+   * @param previousData  the market data previously built from the same requirements and scenario definition
+   * @param changedIds  the IDs of the observable values that have changed since the previous data was built
+   * @return the market data required by the calculations
+   */
+  public default BuiltScenarioMarketData createMultiScenarioIncremental(
+      MarketDataRequirements requirements,
+      MarketDataConfig marketDataConfig,
+      ScenarioMarketData suppliedData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition,
+      BuiltScenarioMarketData previousData,
+      Set<? extends ObservableId> changedIds) {
+
+    return createMultiScenario(requirements, marketDataConfig, suppliedData, refData, scenarioDefinition);
+  }
+
+  /**
+   * Finds the market data that depends, directly or indirectly, on the market data with the specified IDs.
+   * <p>
+   * This returns the IDs of the market data in the requirements, or needed to build it, whose value
+   * is derived from any of the specified IDs. For example, if a quote has changed then the result contains
+   * the quote and the curve groups calibrated using it. This is the data rebuilt by the {@code createIncremental}
+   * methods, and can be used to determine which calculations are affected by the change.
+   * <p>
+   * The default implementation does not know how the market data is built, and so treats all
+   * the required market data as dependent.
+   *
+   * @param requirements  the market data required for the calculations
+   * @param marketDataConfig  configuration needed to build non-observable market data, for example curves or surfaces
+   * @param ids  the IDs of the market data, typically observable values that have changed
+   * @return the IDs of the market data that depends on the specified IDs
+   */
+  public default Set<MarketDataId<?>> findDependents(
+      MarketDataRequirements requirements,
+      MarketDataConfig marketDataConfig,
+      Set<? extends MarketDataId<?>> ids) {
+
+    return ImmutableSet.<MarketDataId<?>>builder()
+        .addAll(ids)
+        .addAll(requirements.getObservables())
+        .addAll(requirements.getNonObservables())
+        .build();
+  }
+
 }
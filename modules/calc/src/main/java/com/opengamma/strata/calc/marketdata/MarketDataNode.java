@@ -9,6 +9,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.collect.ArgChecker;
@@ -162,6 +163,47 @@ class MarketDataNode {
     return Pair.of(node, requirements);
   }
 
+  /**
+   * Finds the market data in this tree that depends on any of the specified IDs.
+   * <p>
+   * A node is a dependent if it represents a single value with one of the specified IDs,
+   * or if any of its children are dependents. The IDs of all dependent nodes are added to the set.
+   * The root node has no ID and is never added.
+   *
+   * @param ids  the IDs of the market data, typically data whose value has changed
+   * @param dependents  the set to which the IDs of the dependent market data are added
+   * @return true if this node depends on any of the IDs
+   */
+  boolean findDependents(Set<? extends MarketDataId<?>> ids, Set<MarketDataId<?>> dependents) {
+    boolean dependent = (dataType == DataType.SINGLE_VALUE && ids.contains(id));
+    for (MarketDataNode child : dependencies) {
+      // every child is visited, as each may contain dependents of its own
+      if (child.findDependents(ids, dependents)) {
+        dependent = true;
+      }
+    }
+    if (dependent && id != null) {
+      dependents.add(id);
+    }
+    return dependent;
+  }
+
+  /**
+   * Finds the observable market data values in this tree.
+   * <p>
+   * The IDs of all nodes representing a single observable value are added to the set.
+   *
+   * @param observables  the set to which the IDs of the observable values are added
+   */
+  void findObservables(Set<ObservableId> observables) {
+    if (dataType == DataType.SINGLE_VALUE && id instanceof ObservableId) {
+      observables.add((ObservableId) id);
+    }
+    for (MarketDataNode child : dependencies) {
+      child.findObservables(observables);
+    }
+  }
+
   /**
    * Returns true if this node has no children.
    *
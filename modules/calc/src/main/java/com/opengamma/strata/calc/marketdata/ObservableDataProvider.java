@@ -9,6 +9,8 @@ import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
@@ -19,6 +21,9 @@ import com.opengamma.strata.data.ObservableId;
  * <p>
  * This plugin point allows a market data supplier to be provided.
  * Implementations might request data from an external data provider, such as Bloomberg or Reuters.
+ * <p>
+ * Data can be requested synchronously or asynchronously. Implementations that can request data
+ * without blocking the calling thread should override {@link #provideObservableDataAsync(Set, Executor)}.
  */
 public interface ObservableDataProvider {
 
@@ -52,4 +57,24 @@ public interface ObservableDataProvider {
    */
   public abstract Map<ObservableId, Result<Double>> provideObservableData(Set<? extends ObservableId> identifiers);
 
+  /**
+   * Provides market data for the specified identifiers asynchronously.
+   * <p>
+   * The returned future completes with a map containing one entry for each identifier that was requested,
+   * as per {@link #provideObservableData(Set)}.
+   * <p>
+   * The default implementation invokes {@link #provideObservableData(Set)} using the executor.
+   * Implementations that can request data asynchronously should override this method.
+   *
+   * @param identifiers  the market data identifiers to find
+   * @param executor  the executor that may be used to request the data
+   * @return a future completing with the map of market data values, keyed by identifier
+   */
+  public default CompletableFuture<Map<ObservableId, Result<Double>>> provideObservableDataAsync(
+      Set<? extends ObservableId> identifiers,
+      Executor executor) {
+
+    return CompletableFuture.supplyAsync(() -> provideObservableData(identifiers), executor);
+  }
+
 }
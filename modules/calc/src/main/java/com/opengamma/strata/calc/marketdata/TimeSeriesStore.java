@@ -0,0 +1,140 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.ObservableId;
+
+/**
+ * An immutable store of time-series, keyed by identifier.
+ * <p>
+ * The store is designed to hold a large number of long time-series, such as fixing histories, in memory.
+ * Each time-series is held using primitive epoch-day dates, see {@link LocalDateDoubleTimeSeries#ofEpochDays},
+ * with time-series that have the same dates sharing a single array of dates.
+ * <p>
+ * The store is a {@link TimeSeriesProvider}, allowing it to supply time-series to the calculation engine.
+ * If the store does not contain the requested time-series, a failure is returned.
+ */
+public final class TimeSeriesStore implements TimeSeriesProvider {
+
+  /** An empty instance. */
+  private static final TimeSeriesStore EMPTY = new TimeSeriesStore(ImmutableMap.of(), 0);
+
+  /** The time-series, keyed by identifier. */
+  private final ImmutableMap<ObservableId, LocalDateDoubleTimeSeries> timeSeries;
+  /** The number of distinct arrays of dates. */
+  private final int dateAxisCount;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns an empty store.
+   *
+   * @return the empty store
+   */
+  public static TimeSeriesStore empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Obtains a store containing the specified time-series.
+   *
+   * @param timeSeries  the time-series, keyed by identifier
+   * @return the store
+   */
+  public static TimeSeriesStore of(Map<? extends ObservableId, ? extends LocalDateDoubleTimeSeries> timeSeries) {
+    return builder().addAll(timeSeries).build();
+  }
+
+  /**
+   * Returns a mutable builder for creating a store.
+   *
+   * @return the builder
+   */
+  public static TimeSeriesStoreBuilder builder() {
+    return new TimeSeriesStoreBuilder();
+  }
+
+  /**
+   * Package-private constructor used by {@link TimeSeriesStoreBuilder}.
+   *
+   * @param timeSeries  the time-series, keyed by identifier
+   * @param dateAxisCount  the number of distinct arrays of dates
+   */
+  TimeSeriesStore(ImmutableMap<ObservableId, LocalDateDoubleTimeSeries> timeSeries, int dateAxisCount) {
+    this.timeSeries = timeSeries;
+    this.dateAxisCount = dateAxisCount;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Result<LocalDateDoubleTimeSeries> provideTimeSeries(ObservableId identifier) {
+    LocalDateDoubleTimeSeries series = timeSeries.get(identifier);
+    if (series == null) {
+      return Result.failure(FailureReason.MISSING_DATA, "No time-series found in store for '{}'", identifier);
+    }
+    return Result.success(series);
+  }
+
+  /**
+   * Finds the time-series for the specified identifier.
+   *
+   * @param identifier  the identifier to find
+   * @return the time-series, empty if not found
+   */
+  public Optional<LocalDateDoubleTimeSeries> findTimeSeries(ObservableId identifier) {
+    ArgChecker.notNull(identifier, "identifier");
+    return Optional.ofNullable(timeSeries.get(identifier));
+  }
+
+  /**
+   * Gets the identifiers of the time-series in the store.
+   *
+   * @return the identifiers
+   */
+  public Set<ObservableId> getIds() {
+    return timeSeries.keySet();
+  }
+
+  /**
+   * Gets the number of time-series in the store.
+   *
+   * @return the number of time-series
+   */
+  public int size() {
+    return timeSeries.size();
+  }
+
+  /**
+   * Returns the time-series in the store as a map.
+   * <p>
+   * This can be used to populate {@code ImmutableMarketData} or {@code MarketDataRequirements}.
+   *
+   * @return the time-series, keyed by identifier
+   */
+  public ImmutableMap<ObservableId, LocalDateDoubleTimeSeries> toMap() {
+    return timeSeries;
+  }
+
+  // the number of distinct arrays of dates, used for testing
+  int dateAxisCount() {
+    return dateAxisCount;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "TimeSeriesStore[size=" + timeSeries.size() + "]";
+  }
+
+}
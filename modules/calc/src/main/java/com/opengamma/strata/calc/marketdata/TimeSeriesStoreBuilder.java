@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.IntArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.ObservableId;
+
+/**
+ * A mutable builder for building an instance of {@link TimeSeriesStore}.
+ * <p>
+ * Each time-series is converted to use primitive epoch-day dates as it is added.
+ * Arrays of dates are shared, thus only one array is held for all the time-series with the same dates.
+ * If a time-series is added for an identifier that is already present, it replaces the existing time-series,
+ * and its array of dates is discarded if no other time-series uses it.
+ */
+public final class TimeSeriesStoreBuilder {
+
+  /** The time-series, keyed by identifier. */
+  private final Map<ObservableId, LocalDateDoubleTimeSeries> timeSeries = new HashMap<>();
+  /** The distinct arrays of dates, keyed by themselves so that they can be shared. */
+  private final Map<IntArray, IntArray> dateAxes = new HashMap<>();
+  /** The number of time-series using each array of dates. */
+  private final Map<IntArray, Integer> dateAxisUsage = new HashMap<>();
+  /** The array of dates of each time-series, keyed by identifier. */
+  private final Map<ObservableId, IntArray> seriesDateAxes = new HashMap<>();
+
+  /**
+   * Package-private constructor used by {@link TimeSeriesStore#builder()}.
+   */
+  TimeSeriesStoreBuilder() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds a time-series to the store.
+   *
+   * @param id  the identifier
+   * @param series  the time-series
+   * @return this builder
+   */
+  public TimeSeriesStoreBuilder add(ObservableId id, LocalDateDoubleTimeSeries series) {
+    ArgChecker.notNull(id, "id");
+    ArgChecker.notNull(series, "series");
+    int size = series.size();
+    int[] epochDays = new int[size];
+    double[] values = new double[size];
+    int[] index = {0};
+    series.forEach((date, value) -> {
+      epochDays[index[0]] = Math.toIntExact(date.toEpochDay());
+      values[index[0]++] = value;
+    });
+    return add(id, IntArray.ofUnsafe(epochDays), DoubleArray.ofUnsafe(values));
+  }
+
+  /**
+   * Adds a time-series to the store, specified as arrays of epoch-days and values.
+   * <p>
+   * The two arrays must be the same size and the dates must be sorted from earliest to latest.
+   *
+   * @param id  the identifier
+   * @param epochDays  the dates, as epoch-days
+   * @param values  the values
+   * @return this builder
+   * @throws IllegalArgumentException if the arrays are of different sizes or the dates are not in order
+   */
+  public TimeSeriesStoreBuilder add(ObservableId id, IntArray epochDays, DoubleArray values) {
+    ArgChecker.notNull(id, "id");
+    ArgChecker.notNull(epochDays, "epochDays");
+    ArgChecker.notNull(values, "values");
+    IntArray sharedEpochDays = dateAxes.getOrDefault(epochDays, epochDays);
+    LocalDateDoubleTimeSeries series = LocalDateDoubleTimeSeries.ofEpochDays(sharedEpochDays, values);
+    dateAxes.putIfAbsent(sharedEpochDays, sharedEpochDays);
+    dateAxisUsage.merge(sharedEpochDays, 1, Integer::sum);
+    timeSeries.put(id, series);
+    IntArray replacedEpochDays = seriesDateAxes.put(id, sharedEpochDays);
+    if (replacedEpochDays != null) {
+      release(replacedEpochDays);
+    }
+    return this;
+  }
+
+  // releases an array of dates no longer used by a time-series, discarding it if unused
+  private void release(IntArray epochDays) {
+    if (dateAxisUsage.merge(epochDays, -1, Integer::sum) == 0) {
+      dateAxisUsage.remove(epochDays);
+      dateAxes.remove(epochDays);
+    }
+  }
+
+  /**
+   * Adds multiple time-series to the store.
+   *
+   * @param timeSeries  the time-series, keyed by identifier
+   * @return this builder
+   */
+  public TimeSeriesStoreBuilder addAll(Map<? extends ObservableId, ? extends LocalDateDoubleTimeSeries> timeSeries) {
+    ArgChecker.notNull(timeSeries, "timeSeries");
+    timeSeries.forEach(this::add);
+    return this;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Builds the store from the data in this builder.
+   *
+   * @return the store
+   */
+  public TimeSeriesStore build() {
+    return new TimeSeriesStore(ImmutableMap.copyOf(timeSeries), dateAxes.size());
+  }
+
+}
@@ -5,6 +5,8 @@
  */
 package com.opengamma.strata.calc.runner;
 
+import java.time.Duration;
+
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.calc.CalculationRunner;
 
@@ -26,6 +28,28 @@ public interface CalculationListener {
    */
   public abstract void resultReceived(CalculationTarget target, CalculationResult result);
 
+  /**
+   * Invoked when a batch of calculations completes.
+   * <p>
+   * This is only invoked when the runner groups the tasks into batches,
+   * see {@link CalculationTaskRunner#ofBatched(int, int)}.
+   * It is invoked after the results of the batch have been passed to {@link #resultReceived},
+   * and before {@link #calculationsComplete}.
+   * <p>
+   * The default implementation does nothing.
+   *
+   * @param targetType  the type of the targets of the batch, such as a trade
+   * @param function  the function used to calculate the batch
+   * @param taskCount  the number of tasks in the batch
+   * @param duration  the time taken to calculate the batch
+   */
+  public default void batchCompleted(
+      Class<?> targetType,
+      CalculationFunction<?> function,
+      int taskCount,
+      Duration duration) {
+  }
+
   /**
    * Invoked when all calculations have completed.
    * <p>
@@ -30,6 +30,7 @@ import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyPair;
 import com.opengamma.strata.basics.currency.FxRate;
 import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.marketdata.MarketDataFactory;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirementsBuilder;
 import com.opengamma.strata.collect.result.FailureReason;
@@ -177,6 +178,34 @@ public final class CalculationTask implements ImmutableBean {
     return requirementsBuilder.build();
   }
 
+  /**
+   * Checks if the task requires any of the specified market data.
+   * <p>
+   * This determines whether the result of the task could be affected by a change to the market data
+   * with the specified IDs. Only the market data required directly by the function is checked.
+   * As such, the IDs should include derived market data, such as curves, whose value has changed.
+   * These can be found using {@link MarketDataFactory#findDependents}.
+   *
+   * @param ids  the IDs of the market data, typically data whose value has changed
+   * @param refData  the reference data
+   * @return true if the task requires any of the market data
+   */
+  public boolean requiresAny(Set<? extends MarketDataId<?>> ids, ReferenceData refData) {
+    return !ids.isEmpty() && requiresAny(requirements(refData), ids);
+  }
+
+  // checks if the requirements include any of the market data
+  static boolean requiresAny(MarketDataRequirements requirements, Set<? extends MarketDataId<?>> ids) {
+    for (MarketDataId<?> id : ids) {
+      if (requirements.getNonObservables().contains(id) ||
+          requirements.getObservables().contains(id) ||
+          requirements.getTimeSeries().contains(id)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * Determines the natural currency of the target.
    * <p>
@@ -199,10 +228,31 @@ public final class CalculationTask implements ImmutableBean {
    * @param refData  the reference data
    * @return results of the calculation, one for every scenario in the market data
    */
-  @SuppressWarnings("unchecked")
   public CalculationResults execute(ScenarioMarketData marketData, ReferenceData refData) {
+    return execute(marketData, refData, ResolvedTargetCache.none());
+  }
+
+  /**
+   * Executes the task, performing calculations for the target using multiple sets of market data,
+   * resolving the target using the specified cache.
+   * <p>
+   * This invokes the function with the correct set of market data.
+   * The cache is added to the parameters passed to the function, which resolves the target
+   * using {@link ResolvedTargetCache#resolveTarget}.
+   *
+   * @param marketData  the market data used in the calculation
+   * @param refData  the reference data
+   * @param resolvedTargetCache  the cache used by the function to resolve the target
+   * @return results of the calculation, one for every scenario in the market data
+   */
+  @SuppressWarnings("unchecked")
+  public CalculationResults execute(
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      ResolvedTargetCache resolvedTargetCache) {
+
     // calculate the results
-    Map<Measure, Result<?>> results = calculate(marketData, refData);
+    Map<Measure, Result<?>> results = calculate(marketData, refData, resolvedTargetCache);
 
     // convert the results, using a normal loop for better stack traces
     ScenarioFxRateProvider fxProvider = ScenarioFxRateProvider.of(marketData);
@@ -216,9 +266,19 @@ public final class CalculationTask implements ImmutableBean {
   }
 
   // calculates the result
-  private Map<Measure, Result<?>> calculate(ScenarioMarketData marketData, ReferenceData refData) {
+  private Map<Measure, Result<?>> calculate(
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      ResolvedTargetCache resolvedTargetCache) {
+
     try {
-      return function.calculate(target, getMeasures(), parameters, marketData, refData);
+      CalculationParameters functionParameters = resolvedTargetCache.addTo(parameters);
+      Map<Measure, Result<?>> results =
+          function.calculate(target, getMeasures(), functionParameters, marketData, refData);
+      if (results == null) {
+        throw new IllegalStateException("Function returned null instead of a map of results");
+      }
+      return results;
     } catch (RuntimeException ex) {
       return handleFailure(ex);
     }
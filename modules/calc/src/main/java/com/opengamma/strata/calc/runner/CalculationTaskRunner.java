@@ -6,13 +6,18 @@
 package com.opengamma.strata.calc.runner;
 
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.CalculationRules;
 import com.opengamma.strata.calc.CalculationRunner;
 import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.marketdata.MarketDataConfig;
+import com.opengamma.strata.calc.marketdata.MarketDataFactory;
 import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
 /**
@@ -79,6 +84,103 @@ public interface CalculationTaskRunner extends AutoCloseable {
     return DefaultCalculationTaskRunner.of(executor);
   }
 
+  /**
+   * Creates a calculation task runner capable of performing calculations,
+   * specifying the executor and the cache used to resolve the targets.
+   * <p>
+   * The cache is passed to the calculation functions, allowing the resolved form of each target
+   * to be reused when the same targets are calculated repeatedly.
+   * The cache may be shared between runners.
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * 
+   * @param executor  the executor to use
+   * @param resolvedTargetCache  the cache used by the calculation functions to resolve the targets
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner of(ExecutorService executor, ResolvedTargetCache resolvedTargetCache) {
+    return DefaultCalculationTaskRunner.of(executor, resolvedTargetCache);
+  }
+
+  /**
+   * Creates a multi-threaded calculation task runner that runs tasks in batches on a work-stealing pool.
+   * <p>
+   * Tasks are grouped by target type and function, and each group is split into batches
+   * of at most the specified size. Each batch is executed as a single unit on a {@link ForkJoinPool},
+   * reducing the per-task overhead when calculating large portfolios.
+   * The results of each batch are passed to the listener together, followed by the time taken by the batch,
+   * see {@link CalculationListener#batchCompleted}.
+   * It is recommended to use try-with-resources to manage the runner:
+   * <pre>
+   *  try (CalculationTaskRunner runner = CalculationTaskRunner.ofBatched(0, 64)) {
+   *    // use the runner
+   *  }
+   * </pre>
+   * 
+   * @param parallelism  the number of threads, zero or negative to use the number of available processors
+   * @param batchSize  the maximum number of tasks in each batch, one or greater
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofBatched(int parallelism, int batchSize) {
+    return DefaultCalculationTaskRunner.ofBatched(parallelism, batchSize);
+  }
+
+  /**
+   * Creates a multi-threaded calculation task runner that runs tasks in batches on a work-stealing pool,
+   * specifying the cache used to resolve the targets.
+   * <p>
+   * This operates as per {@link #ofBatched(int, int)}, with the cache passed to the calculation functions.
+   * The cache may be shared between runners.
+   * 
+   * @param parallelism  the number of threads, zero or negative to use the number of available processors
+   * @param batchSize  the maximum number of tasks in each batch, one or greater
+   * @param resolvedTargetCache  the cache used by the calculation functions to resolve the targets
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofBatched(
+      int parallelism,
+      int batchSize,
+      ResolvedTargetCache resolvedTargetCache) {
+
+    return DefaultCalculationTaskRunner.ofBatched(parallelism, batchSize, resolvedTargetCache);
+  }
+
+  /**
+   * Creates a calculation task runner that runs tasks in batches, specifying the executor.
+   * <p>
+   * Tasks are grouped by target type and function, and each group is split into batches
+   * of at most the specified size. A work-stealing {@link ForkJoinPool} is recommended.
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * 
+   * @param executor  the executor to use
+   * @param batchSize  the maximum number of tasks in each batch, one or greater
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofBatched(ExecutorService executor, int batchSize) {
+    return DefaultCalculationTaskRunner.ofBatched(executor, batchSize);
+  }
+
+  /**
+   * Creates a calculation task runner that runs tasks in batches, specifying the executor
+   * and the cache used to resolve the targets.
+   * <p>
+   * Tasks are grouped by target type and function, and each group is split into batches
+   * of at most the specified size. A work-stealing {@link ForkJoinPool} is recommended.
+   * The cache may be shared between runners.
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * 
+   * @param executor  the executor to use
+   * @param batchSize  the maximum number of tasks in each batch, one or greater
+   * @param resolvedTargetCache  the cache used by the calculation functions to resolve the targets
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofBatched(
+      ExecutorService executor,
+      int batchSize,
+      ResolvedTargetCache resolvedTargetCache) {
+
+    return DefaultCalculationTaskRunner.ofBatched(executor, batchSize, resolvedTargetCache);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Performs calculations for a single set of market data.
@@ -152,6 +254,78 @@ public interface CalculationTaskRunner extends AutoCloseable {
       ReferenceData refData,
       CalculationListener listener);
 
+  //-------------------------------------------------------------------------
+  /**
+   * Recalculates the results affected by a change to a single set of market data.
+   * <p>
+   * This returns the same grid of results as {@link #calculate(CalculationTasks, MarketData, ReferenceData)},
+   * but only the tasks that require the changed market data are executed.
+   * The results of all other cells are taken from the previous results.
+   * <p>
+   * The changed IDs are typically those of the observable values that have changed.
+   * The market data factory and configuration used to build the market data are used to find the derived
+   * market data, such as curves, that depends on the changed values.
+   * The previous results must have been calculated using the same tasks and reference data.
+   * <p>
+   * The default implementation ignores the previous results and executes all the tasks again.
+   * 
+   * @param tasks  the calculation tasks to invoke
+   * @param marketData  the market data to be used in the calculations
+   * @param refData  the reference data to be used in the calculations
+   * @param previousResults  the results previously calculated for the same tasks
+   * @param changedIds  the IDs of the market data that has changed since the previous results were calculated
+   * @param marketDataFactory  the factory used to build the market data
+   * @param marketDataConfig  the configuration used to build the market data
+   * @return the grid of calculation results, based on the tasks and market data
+   */
+  public default Results calculateIncremental(
+      CalculationTasks tasks,
+      MarketData marketData,
+      ReferenceData refData,
+      Results previousResults,
+      Set<? extends MarketDataId<?>> changedIds,
+      MarketDataFactory marketDataFactory,
+      MarketDataConfig marketDataConfig) {
+
+    return calculate(tasks, marketData, refData);
+  }
+
+  /**
+   * Recalculates the results for multiple scenarios affected by a change to the market data.
+   * <p>
+   * This returns the same grid of results as
+   * {@link #calculateMultiScenario(CalculationTasks, ScenarioMarketData, ReferenceData)},
+   * but only the tasks that require the changed market data are executed.
+   * The results of all other cells are taken from the previous results.
+   * <p>
+   * The changed IDs are typically those of the observable values that have changed.
+   * The market data factory and configuration used to build the market data are used to find the derived
+   * market data, such as curves, that depends on the changed values.
+   * The previous results must have been calculated using the same tasks and reference data.
+   * <p>
+   * The default implementation ignores the previous results and executes all the tasks again.
+   * 
+   * @param tasks  the calculation tasks to invoke
+   * @param marketData  the market data to be used in the calculations
+   * @param refData  the reference data to be used in the calculations
+   * @param previousResults  the results previously calculated for the same tasks
+   * @param changedIds  the IDs of the market data that has changed since the previous results were calculated
+   * @param marketDataFactory  the factory used to build the market data
+   * @param marketDataConfig  the configuration used to build the market data
+   * @return the grid of calculation results, based on the tasks and market data
+   */
+  public default Results calculateMultiScenarioIncremental(
+      CalculationTasks tasks,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      Results previousResults,
+      Set<? extends MarketDataId<?>> changedIds,
+      MarketDataFactory marketDataFactory,
+      MarketDataConfig marketDataConfig) {
+
+    return calculateMultiScenario(tasks, marketData, refData);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Closes any resources held by the component.
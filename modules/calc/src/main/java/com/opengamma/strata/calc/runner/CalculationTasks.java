@@ -31,6 +31,8 @@ import com.opengamma.strata.calc.ReportingCurrency;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirementsBuilder;
 import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.data.MarketDataId;
 
 /**
  * The tasks that will be used to perform the calculations.
@@ -64,6 +66,12 @@ public final class CalculationTasks implements ImmutableBean {
    */
   @PropertyDefinition(validate = "notEmpty")
   private final List<CalculationTask> tasks;
+  /**
+   * The market data requirements of each task, in task order, for the reference data last used.
+   * <p>
+   * This avoids asking the functions for their requirements again on each incremental calculation.
+   */
+  private transient volatile Pair<ReferenceData, ImmutableList<MarketDataRequirements>> taskRequirements;  // cached
 
   //-------------------------------------------------------------------------
   /**
@@ -203,12 +211,55 @@ public final class CalculationTasks implements ImmutableBean {
   public MarketDataRequirements requirements(ReferenceData refData) {
     // use for loop not streams for shorter stack traces
     MarketDataRequirementsBuilder builder = MarketDataRequirements.builder();
-    for (CalculationTask task : tasks) {
-      builder.addRequirements(task.requirements(refData));
+    for (MarketDataRequirements requirements : taskRequirements(refData)) {
+      builder.addRequirements(requirements);
     }
     return builder.build();
   }
 
+  /**
+   * Gets the tasks that require any of the specified market data.
+   * <p>
+   * This is used to determine the tasks that must be recalculated when the specified market data changes.
+   * The requirements of each task are determined from its function, parameters and the reference data.
+   * They are only determined once for the same reference data, being shared with {@link #requirements}.
+   *
+   * @param ids  the IDs of the market data, typically data whose value has changed
+   * @param refData  the reference data
+   * @return the tasks that require any of the market data
+   * @throws RuntimeException if unable to obtain the requirements
+   */
+  public List<CalculationTask> dependentTasks(Set<? extends MarketDataId<?>> ids, ReferenceData refData) {
+    if (ids.isEmpty()) {
+      return ImmutableList.of();
+    }
+    // use for loop not streams for shorter stack traces
+    List<MarketDataRequirements> requirements = taskRequirements(refData);
+    ImmutableList.Builder<CalculationTask> builder = ImmutableList.builder();
+    for (int i = 0; i < tasks.size(); i++) {
+      if (CalculationTask.requiresAny(requirements.get(i), ids)) {
+        builder.add(tasks.get(i));
+      }
+    }
+    return builder.build();
+  }
+
+  // gets the requirements of each task, only asking the functions once for the same reference data
+  private List<MarketDataRequirements> taskRequirements(ReferenceData refData) {
+    Pair<ReferenceData, ImmutableList<MarketDataRequirements>> cached = taskRequirements;
+    if (cached != null && cached.getFirst() == refData) {
+      return cached.getSecond();
+    }
+    // use for loop not streams for shorter stack traces
+    ImmutableList.Builder<MarketDataRequirements> builder = ImmutableList.builder();
+    for (CalculationTask task : tasks) {
+      builder.add(task.requirements(refData));
+    }
+    ImmutableList<MarketDataRequirements> requirements = builder.build();
+    taskRequirements = Pair.of(refData, requirements);
+    return requirements;
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public String toString() {
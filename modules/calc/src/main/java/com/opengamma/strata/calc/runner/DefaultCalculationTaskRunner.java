@@ -7,14 +7,22 @@ package com.opengamma.strata.calc.runner;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.ThreadFactory;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import com.opengamma.strata.basics.CalculationTarget;
@@ -22,10 +30,14 @@ import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.Column;
 import com.opengamma.strata.calc.ColumnHeader;
 import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.marketdata.MarketDataConfig;
+import com.opengamma.strata.calc.marketdata.MarketDataFactory;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
@@ -33,14 +45,39 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * The default calculation task runner.
  * <p>
  * This uses a single instance of {@link ExecutorService}.
+ * <p>
+ * By default, each task is submitted to the executor individually.
+ * If a batch size greater than one is specified, the tasks are grouped by target type and
+ * function, and each group is split into batches that are submitted to the executor as a unit.
+ * The batch size is adapted downwards for small groups to ensure that there are enough batches
+ * to keep all threads busy. Batching is most effective with a work-stealing {@link ForkJoinPool}.
  */
 class DefaultCalculationTaskRunner implements CalculationTaskRunner {
 
+  /**
+   * The number of batches to aim for per thread when adapting the batch size.
+   * Having more than one batch per thread allows work-stealing to balance the load.
+   */
+  private static final int BATCHES_PER_THREAD = 4;
+
   /**
    * Executes the tasks that perform the individual calculations.
    * This will typically be multi-threaded, but single or direct executors also work.
    */
   private final ExecutorService executor;
+  /**
+   * The maximum number of tasks to run in a single batch.
+   * A value of one disables batching, submitting each task individually.
+   */
+  private final int batchSize;
+  /**
+   * The number of threads used by the executor, used to adapt the batch size.
+   */
+  private final int parallelism;
+  /**
+   * The cache used by the calculation functions to resolve the targets.
+   */
+  private final ResolvedTargetCache resolvedTargetCache;
 
   //-------------------------------------------------------------------------
   /**
@@ -57,7 +94,8 @@ class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * @return the calculation task runner
    */
   static DefaultCalculationTaskRunner ofMultiThreaded() {
-    return new DefaultCalculationTaskRunner(createExecutor(Runtime.getRuntime().availableProcessors()));
+    int threads = Runtime.getRuntime().availableProcessors();
+    return new DefaultCalculationTaskRunner(createExecutor(threads), 1, threads, ResolvedTargetCache.none());
   }
 
   /**
@@ -69,7 +107,96 @@ class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * @return the calculation task runner
    */
   static DefaultCalculationTaskRunner of(ExecutorService executor) {
-    return new DefaultCalculationTaskRunner(executor);
+    return of(executor, ResolvedTargetCache.none());
+  }
+
+  /**
+   * Creates a calculation task runner capable of performing calculations,
+   * specifying the executor and the cache used to resolve the targets.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * 
+   * @param executor  the executor to use
+   * @param resolvedTargetCache  the cache used by the calculation functions to resolve the targets
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner of(ExecutorService executor, ResolvedTargetCache resolvedTargetCache) {
+    return new DefaultCalculationTaskRunner(
+        executor, 1, Runtime.getRuntime().availableProcessors(), resolvedTargetCache);
+  }
+
+  /**
+   * Creates a multi-threaded calculation task runner that runs tasks in batches on a work-stealing pool.
+   * <p>
+   * This factory creates a {@link ForkJoinPool} with the specified parallelism.
+   * Tasks are grouped by target type and function, and each group is split into batches
+   * of at most the specified size.
+   * It is recommended to use try-with-resources to manage the runner.
+   * 
+   * @param parallelism  the number of threads, zero or negative to use the number of available processors
+   * @param batchSize  the maximum number of tasks in each batch, one or greater
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner ofBatched(int parallelism, int batchSize) {
+    return ofBatched(parallelism, batchSize, ResolvedTargetCache.none());
+  }
+
+  /**
+   * Creates a multi-threaded calculation task runner that runs tasks in batches on a work-stealing pool,
+   * specifying the cache used to resolve the targets.
+   * <p>
+   * This factory creates a {@link ForkJoinPool} with the specified parallelism.
+   * It is recommended to use try-with-resources to manage the runner.
+   * 
+   * @param parallelism  the number of threads, zero or negative to use the number of available processors
+   * @param batchSize  the maximum number of tasks in each batch, one or greater
+   * @param resolvedTargetCache  the cache used by the calculation functions to resolve the targets
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner ofBatched(
+      int parallelism,
+      int batchSize,
+      ResolvedTargetCache resolvedTargetCache) {
+
+    ForkJoinPool pool = createForkJoinPool(parallelism);
+    return new DefaultCalculationTaskRunner(pool, batchSize, pool.getParallelism(), resolvedTargetCache);
+  }
+
+  /**
+   * Creates a calculation task runner that runs tasks in batches, specifying the executor.
+   * <p>
+   * Tasks are grouped by target type and function, and each group is split into batches
+   * of at most the specified size. A work-stealing {@link ForkJoinPool} is recommended.
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * 
+   * @param executor  the executor to use
+   * @param batchSize  the maximum number of tasks in each batch, one or greater
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner ofBatched(ExecutorService executor, int batchSize) {
+    return ofBatched(executor, batchSize, ResolvedTargetCache.none());
+  }
+
+  /**
+   * Creates a calculation task runner that runs tasks in batches, specifying the executor
+   * and the cache used to resolve the targets.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * 
+   * @param executor  the executor to use
+   * @param batchSize  the maximum number of tasks in each batch, one or greater
+   * @param resolvedTargetCache  the cache used by the calculation functions to resolve the targets
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner ofBatched(
+      ExecutorService executor,
+      int batchSize,
+      ResolvedTargetCache resolvedTargetCache) {
+
+    int parallelism = executor instanceof ForkJoinPool ?
+        ((ForkJoinPool) executor).getParallelism() :
+        Runtime.getRuntime().availableProcessors();
+    return new DefaultCalculationTaskRunner(executor, batchSize, parallelism, resolvedTargetCache);
   }
 
   // create an executor with daemon threads
@@ -84,14 +211,37 @@ class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     return Executors.newFixedThreadPool(effectiveThreads, threadFactory);
   }
 
+  // create a work-stealing pool with daemon threads
+  private static ForkJoinPool createForkJoinPool(int threads) {
+    int effectiveThreads = (threads <= 0 ? Runtime.getRuntime().availableProcessors() : threads);
+    ForkJoinWorkerThreadFactory threadFactory = pool -> {
+      ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      t.setName("CalculationTaskRunner-" + t.getName());
+      t.setDaemon(true);
+      return t;
+    };
+    return new ForkJoinPool(effectiveThreads, threadFactory, null, true);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance specifying the executor to use.
    * 
    * @param executor  the executor that is used to perform the calculations
+   * @param batchSize  the maximum number of tasks in each batch
+   * @param parallelism  the number of threads used by the executor
+   * @param resolvedTargetCache  the cache used by the calculation functions to resolve the targets
    */
-  private DefaultCalculationTaskRunner(ExecutorService executor) {
+  private DefaultCalculationTaskRunner(
+      ExecutorService executor,
+      int batchSize,
+      int parallelism,
+      ResolvedTargetCache resolvedTargetCache) {
+
     this.executor = ArgChecker.notNull(executor, "executor");
+    this.batchSize = ArgChecker.notNegativeOrZero(batchSize, "batchSize");
+    this.parallelism = Math.max(parallelism, 1);
+    this.resolvedTargetCache = ArgChecker.notNull(resolvedTargetCache, "resolvedTargetCache");
   }
 
   //-------------------------------------------------------------------------
@@ -175,13 +325,101 @@ class DefaultCalculationTaskRunner implements CalculationTaskRunner {
       ReferenceData refData,
       CalculationListener listener) {
 
-    List<CalculationTask> taskList = tasks.getTasks();
+    runTasks(tasks.getTasks(), marketData, refData, listener);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Results calculateIncremental(
+      CalculationTasks tasks,
+      MarketData marketData,
+      ReferenceData refData,
+      Results previousResults,
+      Set<? extends MarketDataId<?>> changedIds,
+      MarketDataFactory marketDataFactory,
+      MarketDataConfig marketDataConfig) {
+
+    // the recalculated results are unwrapped to match the previous single scenario results
+    ScenarioMarketData md = ScenarioMarketData.of(1, marketData);
+    return recalculate(
+        tasks,
+        md,
+        refData,
+        previousResults,
+        changedIds,
+        marketDataFactory,
+        marketDataConfig,
+        DefaultCalculationTaskRunner::unwrapScenarioResult);
+  }
+
+  @Override
+  public Results calculateMultiScenarioIncremental(
+      CalculationTasks tasks,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      Results previousResults,
+      Set<? extends MarketDataId<?>> changedIds,
+      MarketDataFactory marketDataFactory,
+      MarketDataConfig marketDataConfig) {
+
+    return recalculate(
+        tasks, marketData, refData, previousResults, changedIds, marketDataFactory, marketDataConfig, result -> result);
+  }
+
+  // runs the tasks that depend on the changed market data, merging the results into the previous results
+  private Results recalculate(
+      CalculationTasks tasks,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      Results previousResults,
+      Set<? extends MarketDataId<?>> changedIds,
+      MarketDataFactory marketDataFactory,
+      MarketDataConfig marketDataConfig,
+      Function<Result<?>, Result<?>> resultMapper) {
+
+    ArgChecker.notNull(previousResults, "previousResults");
+    ArgChecker.notNull(changedIds, "changedIds");
+    ArgChecker.notNull(marketDataFactory, "marketDataFactory");
+    ArgChecker.notNull(marketDataConfig, "marketDataConfig");
+    if (previousResults.getRowCount() != tasks.getTargets().size() ||
+        previousResults.getColumnCount() != tasks.getColumns().size()) {
+      throw new IllegalArgumentException(Messages.format(
+          "Previous results must have {} rows and {} columns but found {} rows and {} columns",
+          tasks.getTargets().size(),
+          tasks.getColumns().size(),
+          previousResults.getRowCount(),
+          previousResults.getColumnCount()));
+    }
+    // the functions only declare the market data they use directly, such as curves,
+    // so the changed IDs are expanded to include the derived market data that depends on them
+    Set<MarketDataId<?>> dependentIds =
+        marketDataFactory.findDependents(tasks.requirements(refData), marketDataConfig, changedIds);
+    List<CalculationTask> dependentTasks = tasks.dependentTasks(dependentIds, refData);
+    RecalculatingListener listener = new RecalculatingListener(previousResults, resultMapper);
+    runTasks(dependentTasks, marketData, refData, listener);
+    return listener.result();
+  }
+
+  // runs the tasks, invoking the listener with the results
+  private void runTasks(
+      List<CalculationTask> taskList,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      CalculationListener listener) {
+
     // the listener is invoked via this wrapper
     // the wrapper ensures thread-safety for the listener
     // it also calls the listener with single CalculationResult cells, not CalculationResults
-    Consumer<CalculationResults> consumer = new ListenerWrapper(listener, taskList.size());
-    // run each task using the executor
-    taskList.stream().forEach(task -> runTask(task, marketData, refData, consumer));
+    ListenerWrapper wrapper = new ListenerWrapper(listener, taskList.size());
+    if (batchSize == 1) {
+      // run each task using the executor
+      taskList.stream().forEach(task -> runTask(task, marketData, refData, wrapper));
+    } else {
+      // run batches of similar tasks using the executor
+      for (List<CalculationTask> batch : batches(taskList)) {
+        runBatch(batch, marketData, refData, wrapper);
+      }
+    }
   }
 
   // submits a task to the executor to be run
@@ -193,10 +431,53 @@ class DefaultCalculationTaskRunner implements CalculationTaskRunner {
 
     // the task is executed, with the result passed to the consumer
     // the consumer wraps the listener to ensure thread-safety
-    Supplier<CalculationResults> taskExecutor = () -> task.execute(marketData, refData);
+    Supplier<CalculationResults> taskExecutor = () -> task.execute(marketData, refData, resolvedTargetCache);
     CompletableFuture.supplyAsync(taskExecutor, executor).thenAccept(consumer);
   }
 
+  // groups the tasks by target type and function, splitting each group into batches
+  private List<List<CalculationTask>> batches(List<CalculationTask> taskList) {
+    Map<Pair<Class<?>, CalculationFunction<?>>, List<CalculationTask>> groups = new LinkedHashMap<>();
+    for (CalculationTask task : taskList) {
+      Pair<Class<?>, CalculationFunction<?>> key = Pair.of(task.getTarget().getClass(), task.getFunction());
+      groups.computeIfAbsent(key, k -> new ArrayList<>()).add(task);
+    }
+    // adapt the batch size so that small groups still produce enough batches to keep all threads busy
+    int targetBatchCount = parallelism * BATCHES_PER_THREAD;
+    List<List<CalculationTask>> batches = new ArrayList<>();
+    for (List<CalculationTask> group : groups.values()) {
+      int size = group.size();
+      int adaptedSize = Math.max(Math.min(batchSize, (size + targetBatchCount - 1) / targetBatchCount), 1);
+      for (int start = 0; start < size; start += adaptedSize) {
+        batches.add(group.subList(start, Math.min(start + adaptedSize, size)));
+      }
+    }
+    return batches;
+  }
+
+  // submits a batch of tasks to the executor to be run as a single unit
+  private void runBatch(
+      List<CalculationTask> batch,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      ListenerWrapper wrapper) {
+
+    // the tasks are executed in sequence on one thread, with the results passed to the wrapper as a unit
+    // the wrapper then notifies the listener of the time taken by the batch
+    Runnable batchExecutor = () -> {
+      long start = System.nanoTime();
+      List<CalculationResults> results = new ArrayList<>(batch.size());
+      for (CalculationTask task : batch) {
+        results.add(task.execute(marketData, refData, resolvedTargetCache));
+      }
+      Duration duration = Duration.ofNanos(System.nanoTime() - start);
+      Class<?> targetType = batch.get(0).getTarget().getClass();
+      CalculationFunction<?> function = batch.get(0).getFunction();
+      wrapper.acceptBatch(results, listener -> listener.batchCompleted(targetType, function, batch.size(), duration));
+    };
+    CompletableFuture.runAsync(batchExecutor, executor);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public void close() {
@@ -255,6 +536,38 @@ class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     }
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Calculation listener that receives the results of recalculated cells
+   * and merges them into a set of previous {@link Results}. This is used by the incremental methods.
+   */
+  private static final class RecalculatingListener extends AggregatingCalculationListener<Results> {
+
+    /** The previous results. */
+    private final Results previousResults;
+    /** The cells of the grid, initially taken from the previous results. */
+    private final List<Result<?>> cells;
+    /** The function applied to each recalculated result before it is added to the grid. */
+    private final Function<Result<?>, Result<?>> resultMapper;
+
+    private RecalculatingListener(Results previousResults, Function<Result<?>, Result<?>> resultMapper) {
+      this.previousResults = previousResults;
+      this.cells = new ArrayList<>(previousResults.getCells());
+      this.resultMapper = resultMapper;
+    }
+
+    @Override
+    public void resultReceived(CalculationTarget target, CalculationResult result) {
+      int index = result.getRowIndex() * previousResults.getColumnCount() + result.getColumnIndex();
+      cells.set(index, resultMapper.apply(result.getResult()));
+    }
+
+    @Override
+    protected Results createAggregateResult() {
+      return Results.of(previousResults.getColumns(), cells);
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Listener that decorates another listener and unwraps {@link ScenarioArray} instances
@@ -277,6 +590,16 @@ class DefaultCalculationTaskRunner implements CalculationTaskRunner {
       delegate.resultReceived(target, unwrappedCalculationResult);
     }
 
+    @Override
+    public void batchCompleted(
+        Class<?> targetType,
+        CalculationFunction<?> function,
+        int taskCount,
+        Duration duration) {
+
+      delegate.batchCompleted(targetType, function, taskCount, duration);
+    }
+
     @Override
     public void calculationsComplete() {
       delegate.calculationsComplete();
@@ -6,6 +6,7 @@
 package com.opengamma.strata.calc.runner;
 
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -14,6 +15,7 @@ import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.collect.ArgChecker;
 
 /**
@@ -26,6 +28,9 @@ import com.opengamma.strata.collect.ArgChecker;
  * Calculations may be performed in bulk for a given target.
  * The logic in this class unwraps the {@link CalculationResults}, calling the
  * listener with each individual {@link CalculationResult}.
+ * <p>
+ * The results of a batch of tasks are delivered as a unit, followed by a call to
+ * {@link CalculationListener#batchCompleted batchCompleted}.
  */
 final class ListenerWrapper implements Consumer<CalculationResults> {
 
@@ -35,7 +40,7 @@ final class ListenerWrapper implements Consumer<CalculationResults> {
   private final CalculationListener listener;
 
   /** Queue of actions to perform on the delegate. */
-  private final Queue<CalculationResults> queue = new LinkedList<>();
+  private final Queue<Delivery> queue = new LinkedList<>();
 
   /** Protects the queue and the executing flag. */
   private final Lock lock = new ReentrantLock();
@@ -95,42 +100,70 @@ final class ListenerWrapper implements Consumer<CalculationResults> {
    */
   @Override
   public void accept(CalculationResults result) {
+    deliver(new Delivery(ImmutableList.of(result), null));
+  }
+
+  /**
+   * Accepts the results of a batch of calculations and delivers them to the listener,
+   * followed by the notification that the batch has completed.
+   * <p>
+   * This method can be invoked concurrently by multiple threads, as per {@link #accept}.
+   *
+   * @param results  the results of the tasks in the batch
+   * @param batchCompleted  the action that notifies the listener that the batch has completed
+   */
+  void acceptBatch(List<CalculationResults> results, Consumer<CalculationListener> batchCompleted) {
+    deliver(new Delivery(results, batchCompleted));
+  }
+
+  // delivers the results to the listener, or queues them if another thread is invoking the listener
+  private void deliver(Delivery delivery) {
     // This is mutated while protected by the lock and accessed while not protected.
     // This is safe because the executing flag ensures the thread that accesses the
     // variable while unlocked is the same thread that set its value while guarded by the lock.
-    CalculationResults nextResult;
+    Delivery next;
 
     lock.lock();
     try {
       if (executing) {
-        // Another thread is already invoking the listener. Add the result to
+        // Another thread is already invoking the listener. Add the results to
         // the queue and return. The other thread will ensure the queued results
         // are delivered.
-        queue.add(result);
+        queue.add(delivery);
         return;
       } else {
         // There is no thread invoking the listener. Set the executing flag to
         // ensure no other thread passes this point and invoke the listener.
         executing = true;
-        nextResult = result;
+        next = delivery;
       }
     } finally {
       lock.unlock();
     }
-    // Loop until the nextResult and all the results from the queue have been delivered
+    // Loop until the next results and all the results from the queue have been delivered
     for (;;) {
-      try {
-        // Invoke the listener while not protected by the lock. This allows other threads
-        // to queue results while this thread is delivering them to the listener.
-        for (CalculationResult cell : nextResult.getCells()) {
-          listener.resultReceived(nextResult.getTarget(), cell);
+      // Invoke the listener while not protected by the lock. This allows other threads
+      // to queue results while this thread is delivering them to the listener.
+      for (CalculationResults result : next.results) {
+        try {
+          for (CalculationResult cell : result.getCells()) {
+            listener.resultReceived(result.getTarget(), cell);
+          }
+        } catch (RuntimeException e) {
+          log.warn("Exception invoking listener.resultReceived", e);
+        }
+      }
+      if (next.batchCompleted != null) {
+        try {
+          next.batchCompleted.accept(listener);
+        } catch (RuntimeException e) {
+          log.warn("Exception invoking listener.batchCompleted", e);
         }
-      } catch (RuntimeException e) {
-        log.warn("Exception invoking listener.resultReceived", e);
       }
       lock.lock();
       try {
-        if (++tasksReceived == tasksExpected) {
+        tasksReceived += next.results.size();
+        if (tasksReceived == tasksExpected) {
           // The expected number of results have been received. Set the complete
           // flag to trigger a call to listener.calculationsComplete after unlocking
           complete = true;
@@ -144,7 +177,7 @@ final class ListenerWrapper implements Consumer<CalculationResults> {
           // There are results on the queue. This means another thread called accept(),
           // added a result to the queue and returned while this thread was invoking the listener.
           // This thread must deliver the results from the queue.
-          nextResult = queue.remove();
+          next = queue.remove();
         }
       } finally {
         lock.unlock();
@@ -158,4 +191,22 @@ final class ListenerWrapper implements Consumer<CalculationResults> {
       }
     }
   }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The results of one or more tasks, delivered to the listener as a unit.
+   */
+  private static final class Delivery {
+
+    /** The results of the tasks. */
+    private final List<CalculationResults> results;
+
+    /** The action that notifies the listener that the batch has completed, null if not a batch. */
+    private final Consumer<CalculationListener> batchCompleted;
+
+    private Delivery(List<CalculationResults> results, Consumer<CalculationListener> batchCompleted) {
+      this.results = results;
+      this.batchCompleted = batchCompleted;
+    }
+  }
 }
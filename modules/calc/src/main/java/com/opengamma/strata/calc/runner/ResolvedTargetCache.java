@@ -0,0 +1,288 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.Objects;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.Resolvable;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+
+/**
+ * A bounded cache of resolved calculation targets, shared across calculation runs.
+ * <p>
+ * Resolving a target, such as a swap trade, can be expensive as it involves building schedules
+ * and looking up holiday calendars. When the same book of trades is calculated repeatedly,
+ * this cache allows the resolved form of each trade to be reused.
+ * <p>
+ * The cache is keyed by the target, using its {@code equals} method, and by the identity of the reference data.
+ * If the reference data changes, a new instance of {@link ReferenceData} must be used,
+ * and the targets will be resolved again. This ensures that a resolved form bound to out of date
+ * reference data, such as an old holiday calendar, is never returned.
+ * <p>
+ * The cache holds at most a maximum number of resolved targets, evicting those that have not been used recently.
+ * It can also hold the resolved targets using soft references, allowing the garbage collector
+ * to evict them when memory is low.
+ * <p>
+ * The cache is used by specifying it when creating the calculation runner, see
+ * {@link CalculationTaskRunner#of(java.util.concurrent.ExecutorService, ResolvedTargetCache)}.
+ * The runner adds the cache to the parameters passed to each calculation function, which uses
+ * {@link #resolveTarget(Resolvable, CalculationParameters, ReferenceData)} to resolve the target.
+ * <p>
+ * This class is mutable and thread-safe, and may be used by many calculation runs at the same time.
+ */
+public final class ResolvedTargetCache {
+
+  /**
+   * The cache that holds nothing.
+   */
+  private static final ResolvedTargetCache NONE = new ResolvedTargetCache(0, false);
+
+  /**
+   * The maximum number of resolved targets to hold.
+   */
+  private final int maxSize;
+  /**
+   * The resolved targets, null if nothing is cached.
+   */
+  private final Cache<CacheKey, Object> cache;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a cache that holds nothing, resolving the target on every request.
+   * <p>
+   * This is used when no cache has been specified.
+   *
+   * @return the cache that holds nothing
+   */
+  public static ResolvedTargetCache none() {
+    return NONE;
+  }
+
+  /**
+   * Obtains a cache holding at most the specified number of resolved targets.
+   * <p>
+   * Once full, the resolved targets that have not been used recently are evicted.
+   *
+   * @param maxSize  the maximum number of resolved targets to hold
+   * @return the cache
+   */
+  public static ResolvedTargetCache of(int maxSize) {
+    ArgChecker.notNegativeOrZero(maxSize, "maxSize");
+    return new ResolvedTargetCache(maxSize, false);
+  }
+
+  /**
+   * Obtains a cache holding at most the specified number of resolved targets using soft references.
+   * <p>
+   * Once full, the resolved targets that have not been used recently are evicted.
+   * In addition, the garbage collector may evict any resolved target when memory is low.
+   *
+   * @param maxSize  the maximum number of resolved targets to hold
+   * @return the cache
+   */
+  public static ResolvedTargetCache ofSoftValues(int maxSize) {
+    ArgChecker.notNegativeOrZero(maxSize, "maxSize");
+    return new ResolvedTargetCache(maxSize, true);
+  }
+
+  /**
+   * Restricted constructor.
+   */
+  private ResolvedTargetCache(int maxSize, boolean softValues) {
+    this.maxSize = maxSize;
+    if (maxSize == 0) {
+      this.cache = null;
+    } else {
+      CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().maximumSize(maxSize).recordStats();
+      this.cache = softValues ? builder.softValues().build() : builder.build();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Resolves the target using the cache in the calculation parameters, if any.
+   * <p>
+   * Calculation functions use this method to resolve the target.
+   * If the calculation runner was created with a cache, it is added to the parameters passed to the function,
+   * and the target is resolved using {@link #resolve(Resolvable, ReferenceData)}.
+   * Otherwise the target is resolved directly.
+   *
+   * @param <T>  the type of the resolved target
+   * @param target  the target to resolve
+   * @param parameters  the parameters passed to the calculation function
+   * @param refData  the reference data to use when resolving
+   * @return the resolved target
+   */
+  public static <T> T resolveTarget(Resolvable<T> target, CalculationParameters parameters, ReferenceData refData) {
+    return parameters.findParameter(Parameter.class)
+        .map(parameter -> parameter.cache.resolve(target, refData))
+        .orElseGet(() -> target.resolve(refData));
+  }
+
+  /**
+   * Returns the parameters with this cache added, allowing calculation functions to use it.
+   * <p>
+   * This is called by the calculation task before invoking the function.
+   * The cache that holds nothing is not added, thus the parameters are returned unchanged.
+   *
+   * @param parameters  the parameters passed to the calculation function
+   * @return the parameters including this cache
+   */
+  CalculationParameters addTo(CalculationParameters parameters) {
+    return cache == null ? parameters : parameters.with(new Parameter(this));
+  }
+
+  /**
+   * Resolves the target, returning the cached resolved form if available.
+   * <p>
+   * If the target has not been resolved with the same reference data, it is resolved and cached.
+   * The cache that holds nothing resolves the target without recording any statistics.
+   * The target is resolved without holding a lock, thus the same target may occasionally be resolved
+   * more than once if requested by two threads at the same time.
+   *
+   * @param <T>  the type of the resolved target
+   * @param target  the target to resolve
+   * @param refData  the reference data to use when resolving
+   * @return the resolved target
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T resolve(Resolvable<T> target, ReferenceData refData) {
+    ArgChecker.notNull(target, "target");
+    ArgChecker.notNull(refData, "refData");
+    if (cache == null) {
+      return target.resolve(refData);
+    }
+    CacheKey key = new CacheKey(target, refData);
+    T resolved = (T) cache.getIfPresent(key);
+    if (resolved == null) {
+      resolved = target.resolve(refData);
+      cache.put(key, resolved);
+    }
+    return resolved;
+  }
+
+  /**
+   * Removes all resolved targets from the cache.
+   * <p>
+   * The statistics are not reset.
+   */
+  public void invalidateAll() {
+    if (cache != null) {
+      cache.invalidateAll();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the maximum number of resolved targets held by the cache.
+   *
+   * @return the maximum size
+   */
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Gets the approximate number of resolved targets currently held by the cache.
+   * <p>
+   * When using soft references, this may include entries that have been reclaimed by the garbage collector.
+   *
+   * @return the size
+   */
+  public long size() {
+    return cache == null ? 0 : cache.size();
+  }
+
+  /**
+   * Gets the number of requests that found a resolved target in the cache.
+   *
+   * @return the number of hits
+   */
+  public long getHitCount() {
+    return cache == null ? 0 : cache.stats().hitCount();
+  }
+
+  /**
+   * Gets the number of requests that did not find a resolved target in the cache, and thus resolved it.
+   *
+   * @return the number of misses
+   */
+  public long getMissCount() {
+    return cache == null ? 0 : cache.stats().missCount();
+  }
+
+  /**
+   * Gets the number of resolved targets evicted, as the cache was full or they were reclaimed
+   * by the garbage collector.
+   *
+   * @return the number of evictions
+   */
+  public long getEvictionCount() {
+    return cache == null ? 0 : cache.stats().evictionCount();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format(
+        "ResolvedTargetCache[size={}, maxSize={}, hits={}, misses={}, evictions={}]",
+        size(), maxSize, getHitCount(), getMissCount(), getEvictionCount());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The parameter used to pass the cache to the calculation functions.
+   * <p>
+   * The parameter refers to the cache, which is thread-safe, and applies to every target and measure.
+   */
+  private static final class Parameter implements CalculationParameter {
+
+    private final ResolvedTargetCache cache;
+
+    private Parameter(ResolvedTargetCache cache) {
+      this.cache = cache;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The cache key, matching the target by equality and the reference data by identity.
+   */
+  private static final class CacheKey {
+
+    private final Object target;
+    private final ReferenceData refData;
+    private final int hashCode;
+
+    private CacheKey(Object target, ReferenceData refData) {
+      this.target = target;
+      this.refData = refData;
+      this.hashCode = target.hashCode() * 31 + System.identityHashCode(refData);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (obj instanceof CacheKey) {
+        CacheKey other = (CacheKey) obj;
+        return refData == other.refData && Objects.equals(target, other.target);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+}
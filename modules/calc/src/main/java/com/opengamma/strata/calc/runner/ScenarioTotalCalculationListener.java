@@ -0,0 +1,124 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.CurrencyAmountArray;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmountArray;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArrayBuilder;
+
+/**
+ * Calculation listener that totals the currency amounts in each column across all targets.
+ * <p>
+ * This is used to calculate the portfolio level total of a measure, such as present value,
+ * for each scenario without retaining the results of the individual calculations.
+ * The amounts are added into a primitive array for each currency as they are received,
+ * thus no boxed values or intermediate arrays are created when totalling a large portfolio.
+ * <p>
+ * The results in a column may be {@link CurrencyScenarioArray}, {@link MultiCurrencyScenarioArray},
+ * {@link CurrencyAmountArray} or {@link MultiCurrencyAmountArray}, containing a value for each scenario.
+ * They may also be {@link CurrencyAmount} or {@link MultiCurrencyAmount}, which is added to every scenario.
+ * If any result in a column is a failure, or of a different type, the total of the column is a failure.
+ * <p>
+ * The aggregate result is a list containing the total of each column.
+ */
+public final class ScenarioTotalCalculationListener
+    extends AggregatingCalculationListener<List<Result<MultiCurrencyScenarioArray>>> {
+
+  /**
+   * The builder for the total of each column.
+   */
+  private final List<MultiCurrencyScenarioArrayBuilder> totals;
+  /**
+   * The failures in each column.
+   */
+  private final List<List<Result<?>>> failures;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a listener totalling the specified number of columns.
+   *
+   * @param columnCount  the number of columns
+   * @param scenarioCount  the number of scenarios
+   * @return the listener
+   */
+  public static ScenarioTotalCalculationListener of(int columnCount, int scenarioCount) {
+    ArgChecker.notNegative(columnCount, "columnCount");
+    ArgChecker.notNegativeOrZero(scenarioCount, "scenarioCount");
+    return new ScenarioTotalCalculationListener(columnCount, scenarioCount);
+  }
+
+  /**
+   * Restricted constructor.
+   */
+  private ScenarioTotalCalculationListener(int columnCount, int scenarioCount) {
+    this.totals = IntStream.range(0, columnCount)
+        .mapToObj(i -> MultiCurrencyScenarioArray.builder(scenarioCount))
+        .collect(toImmutableList());
+    this.failures = IntStream.range(0, columnCount)
+        .mapToObj(i -> new ArrayList<Result<?>>())
+        .collect(toImmutableList());
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void resultReceived(CalculationTarget target, CalculationResult calculationResult) {
+    int column = calculationResult.getColumnIndex();
+    Result<?> result = calculationResult.getResult();
+    if (result.isFailure()) {
+      failures.get(column).add(result);
+      return;
+    }
+    try {
+      add(totals.get(column), result.getValue());
+    } catch (RuntimeException ex) {
+      failures.get(column).add(Result.failure(FailureReason.INVALID, ex,
+          "Unable to total result for target '{}': {}", target, ex.getMessage()));
+    }
+  }
+
+  // adds the value to the total, without boxing the values of each scenario
+  private static void add(MultiCurrencyScenarioArrayBuilder total, Object value) {
+    if (value instanceof CurrencyScenarioArray) {
+      total.add((CurrencyScenarioArray) value);
+    } else if (value instanceof MultiCurrencyScenarioArray) {
+      total.add((MultiCurrencyScenarioArray) value);
+    } else if (value instanceof CurrencyAmountArray) {
+      total.add((CurrencyAmountArray) value);
+    } else if (value instanceof MultiCurrencyAmountArray) {
+      total.add((MultiCurrencyAmountArray) value);
+    } else if (value instanceof CurrencyAmount) {
+      total.add((CurrencyAmount) value);
+    } else if (value instanceof MultiCurrencyAmount) {
+      total.add((MultiCurrencyAmount) value);
+    } else {
+      throw new IllegalArgumentException("Result type is not a currency amount: " + value.getClass().getName());
+    }
+  }
+
+  @Override
+  protected List<Result<MultiCurrencyScenarioArray>> createAggregateResult() {
+    return IntStream.range(0, totals.size())
+        .mapToObj(i -> failures.get(i).isEmpty() ?
+            Result.success(totals.get(i).build()) :
+            Result.<MultiCurrencyScenarioArray>failure(failures.get(i)))
+        .collect(toImmutableList());
+  }
+
+}
@@ -8,13 +8,22 @@ package com.opengamma.strata.calc;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Set;
+
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.marketdata.MarketDataConfig;
+import com.opengamma.strata.calc.marketdata.MarketDataFactory;
+import com.opengamma.strata.calc.marketdata.ObservableDataProvider;
+import com.opengamma.strata.calc.marketdata.TestId;
+import com.opengamma.strata.calc.marketdata.TimeSeriesProvider;
 import com.opengamma.strata.calc.runner.CalculationFunctions;
+import com.opengamma.strata.calc.runner.CalculationTasks;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
@@ -51,6 +60,31 @@ public class DefaultCalculationRunnerTest {
     }
   }
 
+  //-------------------------------------------------------------------------
+  public void calculateIncremental_tasks() {
+    ImmutableList<CalculationTarget> targets = ImmutableList.of(TARGET);
+    ImmutableList<Column> columns = ImmutableList.of(Column.of(TestingMeasures.PRESENT_VALUE));
+    CalculationRules rules = CalculationRules.of(CalculationFunctions.empty());
+    CalculationTasks tasks = CalculationTasks.of(rules, targets, columns);
+    MarketData md = MarketData.empty(date(2016, 6, 30));
+    ScenarioMarketData smd = ScenarioMarketData.empty();
+    MarketDataFactory mdFactory = MarketDataFactory.of(ObservableDataProvider.none(), TimeSeriesProvider.none());
+    MarketDataConfig mdConfig = MarketDataConfig.empty();
+    Set<TestId> changedIds = ImmutableSet.of(TestId.of("1"));
+
+    try (CalculationRunner test = CalculationRunner.of(MoreExecutors.newDirectExecutorService())) {
+      Results previous = test.calculate(rules, targets, columns, md, REF_DATA);
+      // the same tasks are used for each run, retaining their market data requirements
+      Results results1 = test.calculateIncremental(tasks, md, REF_DATA, previous, changedIds, mdFactory, mdConfig);
+      Results results2 = test.calculateIncremental(tasks, md, REF_DATA, results1, changedIds, mdFactory, mdConfig);
+      assertThat(results1).isEqualTo(previous);
+      assertThat(results2).isEqualTo(previous);
+      Results results3 =
+          test.calculateMultiScenarioIncremental(tasks, smd, REF_DATA, previous, changedIds, mdFactory, mdConfig);
+      assertThat(results3).isEqualTo(previous);
+    }
+  }
+
   //-------------------------------------------------------------------------
   private static class TestTarget implements CalculationTarget {
   }
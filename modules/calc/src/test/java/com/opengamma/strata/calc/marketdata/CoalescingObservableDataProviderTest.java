@@ -0,0 +1,156 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableMap;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.ObservableId;
+
+/**
+ * Test {@link CoalescingObservableDataProvider}.
+ */
+@Test
+public class CoalescingObservableDataProviderTest {
+
+  private static final TestObservableId ID1 = TestObservableId.of("1");
+  private static final TestObservableId ID2 = TestObservableId.of("2");
+  private static final TestObservableId ID3 = TestObservableId.of("3");
+  private static final Executor DIRECT = MoreExecutors.directExecutor();
+
+  //-------------------------------------------------------------------------
+  public void test_of_alreadyCoalescing() {
+    CoalescingObservableDataProvider test = CoalescingObservableDataProvider.of(ObservableDataProvider.none());
+    assertThat(CoalescingObservableDataProvider.of(test)).isSameAs(test);
+  }
+
+  public void test_provideObservableData() {
+    TestAsyncProvider underlying = new TestAsyncProvider(true);
+    CoalescingObservableDataProvider test = CoalescingObservableDataProvider.of(underlying);
+    Map<ObservableId, Result<Double>> result = test.provideObservableData(ImmutableSet.of(ID1, ID2));
+    assertThat(result).isEqualTo(ImmutableMap.of(ID1, Result.success(1d), ID2, Result.success(2d)));
+    // completed requests are not cached
+    test.provideObservableData(ImmutableSet.of(ID1));
+    assertThat(underlying.requests).containsExactly(ImmutableSet.of(ID1, ID2), ImmutableSet.of(ID1));
+  }
+
+  public void test_provideObservableDataAsync_coalesced() {
+    TestAsyncProvider underlying = new TestAsyncProvider(false);
+    CoalescingObservableDataProvider test = CoalescingObservableDataProvider.of(underlying);
+    CompletableFuture<Map<ObservableId, Result<Double>>> future1 =
+        test.provideObservableDataAsync(ImmutableSet.of(ID1, ID2), DIRECT);
+    CompletableFuture<Map<ObservableId, Result<Double>>> future2 =
+        test.provideObservableDataAsync(ImmutableSet.of(ID2, ID3), DIRECT);
+    // only the identifier without an outstanding request is requested again
+    assertThat(underlying.requests).containsExactly(ImmutableSet.of(ID1, ID2), ImmutableSet.of(ID3));
+
+    underlying.completeRequest(0);
+    assertThat(future1.join()).isEqualTo(ImmutableMap.of(ID1, Result.success(1d), ID2, Result.success(2d)));
+    assertThat(future2.isDone()).isFalse();
+    underlying.completeRequest(1);
+    assertThat(future2.join()).isEqualTo(ImmutableMap.of(ID2, Result.success(2d), ID3, Result.success(3d)));
+  }
+
+  public void test_provideObservableData_missingResult() {
+    ObservableDataProvider underlying = ids -> ImmutableMap.of();
+    CoalescingObservableDataProvider test = CoalescingObservableDataProvider.of(underlying);
+    Map<ObservableId, Result<Double>> result = test.provideObservableData(ImmutableSet.of(ID1));
+    assertThat(result.get(ID1).isFailure()).isTrue();
+    assertThat(result.get(ID1).getFailure().getReason()).isEqualTo(FailureReason.MISSING_DATA);
+  }
+
+  public void test_provideObservableData_exception() {
+    int[] count = {0};
+    ObservableDataProvider underlying = ids -> {
+      count[0]++;
+      throw new IllegalStateException("Provider failed");
+    };
+    CoalescingObservableDataProvider test = CoalescingObservableDataProvider.of(underlying);
+    assertThrows(
+        () -> test.provideObservableData(ImmutableSet.of(ID1)), IllegalStateException.class, "Provider failed");
+    // the failed request is no longer outstanding
+    assertThrows(() -> test.provideObservableData(ImmutableSet.of(ID1)), IllegalStateException.class);
+    assertThat(count[0]).isEqualTo(2);
+  }
+
+  public void test_provideObservableDataAsync_exception() {
+    ObservableDataProvider underlying = new ObservableDataProvider() {
+      @Override
+      public Map<ObservableId, Result<Double>> provideObservableData(Set<? extends ObservableId> identifiers) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public CompletableFuture<Map<ObservableId, Result<Double>>> provideObservableDataAsync(
+          Set<? extends ObservableId> identifiers,
+          Executor executor) {
+        throw new IllegalStateException("Provider failed");
+      }
+    };
+    CoalescingObservableDataProvider test = CoalescingObservableDataProvider.of(underlying);
+    CompletableFuture<Map<ObservableId, Result<Double>>> future =
+        test.provideObservableDataAsync(ImmutableSet.of(ID1), DIRECT);
+    assertThat(future.isCompletedExceptionally()).isTrue();
+    assertThrows(() -> future.join(), CompletionException.class);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Provider whose requests are completed on demand, parsing the value of the standard ID.
+   */
+  private static final class TestAsyncProvider implements ObservableDataProvider {
+
+    private final boolean completeImmediately;
+    private final List<Set<? extends ObservableId>> requests = new ArrayList<>();
+    private final List<CompletableFuture<Map<ObservableId, Result<Double>>>> futures = new ArrayList<>();
+
+    private TestAsyncProvider(boolean completeImmediately) {
+      this.completeImmediately = completeImmediately;
+    }
+
+    @Override
+    public Map<ObservableId, Result<Double>> provideObservableData(Set<? extends ObservableId> identifiers) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CompletableFuture<Map<ObservableId, Result<Double>>> provideObservableDataAsync(
+        Set<? extends ObservableId> identifiers,
+        Executor executor) {
+
+      requests.add(identifiers);
+      CompletableFuture<Map<ObservableId, Result<Double>>> future = new CompletableFuture<>();
+      futures.add(future);
+      if (completeImmediately) {
+        completeRequest(futures.size() - 1);
+      }
+      return future;
+    }
+
+    private void completeRequest(int index) {
+      Map<ObservableId, Result<Double>> results = requests.get(index).stream()
+          .collect(toImmutableMap(id -> id, id -> Result.success(Double.parseDouble(id.getStandardId().getValue()))));
+      futures.get(index).complete(results);
+    }
+  }
+
+}
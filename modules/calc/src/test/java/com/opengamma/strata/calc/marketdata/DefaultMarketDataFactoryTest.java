@@ -7,12 +7,19 @@ package com.opengamma.strata.calc.marketdata;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
@@ -355,6 +362,171 @@ public class DefaultMarketDataFactoryTest {
     assertThat(marketData.getValue(new TestIdC("2"))).isEqualTo(expectedC2);
   }
 
+  /**
+   * Tests building independent values in parallel using an executor.
+   */
+  public void buildWithExecutor() {
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(new TestIdB("1"), new TestIdB("2"), new TestIdB("3"))
+        .build();
+
+    LocalDateDoubleTimeSeries timeSeries1 = LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 1);
+    LocalDateDoubleTimeSeries timeSeries2 = LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 2);
+    LocalDateDoubleTimeSeries timeSeries3 = LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 3);
+    Map<TestIdA, LocalDateDoubleTimeSeries> timeSeriesMap = ImmutableMap.of(
+        new TestIdA("1"), timeSeries1,
+        new TestIdA("2"), timeSeries2,
+        new TestIdA("3"), timeSeries3);
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      MarketDataFactory factory = MarketDataFactory.of(
+          new TestObservableDataProvider(),
+          new TestTimeSeriesProvider(timeSeriesMap),
+          executor,
+          ImmutableList.of(new TestMarketDataFunctionB(), new TestMarketDataFunctionC()));
+
+      MarketData suppliedData = MarketData.empty(date(2011, 3, 8));
+      BuiltMarketData marketData = factory.create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA);
+
+      assertThat(marketData.getValueFailures()).isEmpty();
+      assertThat(marketData.getTimeSeriesFailures()).isEmpty();
+      TestMarketDataB expectedB1 = new TestMarketDataB(1, new TestMarketDataC(timeSeries1));
+      assertThat(marketData.getValue(new TestIdB("1"))).isEqualTo(expectedB1);
+      TestMarketDataB expectedB2 = new TestMarketDataB(2, new TestMarketDataC(timeSeries2));
+      assertThat(marketData.getValue(new TestIdB("2"))).isEqualTo(expectedB2);
+      TestMarketDataB expectedB3 = new TestMarketDataB(3, new TestMarketDataC(timeSeries3));
+      assertThat(marketData.getValue(new TestIdB("3"))).isEqualTo(expectedB3);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Tests that observable data is requested once, before building starts, using an asynchronous provider.
+   */
+  public void buildWithAsyncObservableDataProvider() {
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(new TestIdB("1"), new TestIdB("2"), new TestIdA("3"))
+        .build();
+
+    LocalDateDoubleTimeSeries timeSeries1 = LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 1);
+    LocalDateDoubleTimeSeries timeSeries2 = LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 2);
+    Map<TestIdA, LocalDateDoubleTimeSeries> timeSeriesMap = ImmutableMap.of(
+        new TestIdA("1"), timeSeries1,
+        new TestIdA("2"), timeSeries2);
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      TestAsyncObservableDataProvider provider = new TestAsyncObservableDataProvider();
+      MarketDataFactory factory = MarketDataFactory.of(
+          provider,
+          new TestTimeSeriesProvider(timeSeriesMap),
+          executor,
+          ImmutableList.of(new TestMarketDataFunctionB(), new TestMarketDataFunctionC()));
+
+      MarketData suppliedData = MarketData.empty(date(2011, 3, 8));
+      BuiltMarketData marketData = factory.create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA);
+
+      assertThat(marketData.getValueFailures()).isEmpty();
+      assertThat(marketData.getValue(new TestIdA("3"))).isEqualTo(3d);
+      TestMarketDataB expectedB1 = new TestMarketDataB(1, new TestMarketDataC(timeSeries1));
+      assertThat(marketData.getValue(new TestIdB("1"))).isEqualTo(expectedB1);
+      TestMarketDataB expectedB2 = new TestMarketDataB(2, new TestMarketDataC(timeSeries2));
+      assertThat(marketData.getValue(new TestIdB("2"))).isEqualTo(expectedB2);
+      assertThat(provider.requests)
+          .containsExactly(ImmutableSet.of(new TestIdA("1"), new TestIdA("2"), new TestIdA("3")));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Tests that an exception thrown by the observable data provider is propagated.
+   */
+  public void buildWithObservableDataProviderException() {
+    MarketDataFactory factory = MarketDataFactory.of(
+        ids -> {
+          throw new IllegalStateException("Provider failed");
+        },
+        new TestTimeSeriesProvider(ImmutableMap.of()));
+    MarketDataRequirements requirements = MarketDataRequirements.builder().addValues(new TestIdA("1")).build();
+    MarketData suppliedData = MarketData.empty(date(2011, 3, 8));
+
+    assertThrows(
+        () -> factory.create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA),
+        IllegalStateException.class,
+        "Provider failed");
+  }
+
+  /**
+   * Tests that only the data depending on a changed value is rebuilt.
+   */
+  public void buildIncremental() {
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(new TestIdB("1"), new TestIdB("2"))
+        .build();
+
+    LocalDateDoubleTimeSeries timeSeries1 = LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 1);
+    LocalDateDoubleTimeSeries timeSeries2 = LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 2);
+    Map<TestIdA, LocalDateDoubleTimeSeries> timeSeriesMap = ImmutableMap.of(
+        new TestIdA("1"), timeSeries1,
+        new TestIdA("2"), timeSeries2);
+
+    MarketDataFactory factory = MarketDataFactory.of(
+        new TestObservableDataProvider(),
+        new TestTimeSeriesProvider(timeSeriesMap),
+        new TestMarketDataFunctionB(),
+        new TestMarketDataFunctionC());
+
+    MarketData suppliedData = MarketData.empty(date(2011, 3, 8));
+    BuiltMarketData previous = factory.create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA);
+
+    MarketData updatedData = ImmutableMarketData.builder(date(2011, 3, 8))
+        .addValue(new TestIdA("1"), 5d)
+        .build();
+    BuiltMarketData marketData = factory.createIncremental(
+        requirements, MARKET_DATA_CONFIG, updatedData, REF_DATA, previous, ImmutableSet.of(new TestIdA("1")));
+
+    assertThat(marketData.getValueFailures()).isEmpty();
+    assertThat(marketData.getValue(new TestIdA("1"))).isEqualTo(5d);
+    TestMarketDataB expectedB1 = new TestMarketDataB(5, new TestMarketDataC(timeSeries1));
+    assertThat(marketData.getValue(new TestIdB("1"))).isEqualTo(expectedB1);
+    // the data that does not depend on the changed value is reused
+    assertThat(marketData.getValue(new TestIdB("2"))).isSameAs(previous.getValue(new TestIdB("2")));
+    assertThat(marketData.getValue(new TestIdC("1"))).isSameAs(previous.getValue(new TestIdC("1")));
+    assertThat(marketData.getValue(new TestIdC("2"))).isSameAs(previous.getValue(new TestIdC("2")));
+  }
+
+  public void findDependents() {
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(new TestIdB("1"), new TestIdB("2"))
+        .build();
+    MarketDataFactory factory = MarketDataFactory.of(
+        new TestObservableDataProvider(),
+        new TestTimeSeriesProvider(ImmutableMap.of()),
+        new TestMarketDataFunctionB(),
+        new TestMarketDataFunctionC());
+
+    assertThat(factory.findDependents(requirements, MARKET_DATA_CONFIG, ImmutableSet.of(new TestIdA("1"))))
+        .containsOnly(new TestIdA("1"), new TestIdB("1"));
+    assertThat(factory.findDependents(requirements, MARKET_DATA_CONFIG, ImmutableSet.of(new TestIdC("2"))))
+        .containsOnly(new TestIdC("2"), new TestIdB("2"));
+    assertThat(factory.findDependents(requirements, MARKET_DATA_CONFIG, ImmutableSet.of(new TestIdA("3")))).isEmpty();
+  }
+
+  public void buildIncrementalValuationDateMismatch() {
+    MarketDataFactory factory = MarketDataFactory.of(
+        new TestObservableDataProvider(),
+        new TestTimeSeriesProvider(ImmutableMap.of()));
+    MarketDataRequirements requirements = MarketDataRequirements.builder().build();
+    BuiltMarketData previous =
+        factory.create(requirements, MARKET_DATA_CONFIG, MarketData.empty(date(2011, 3, 8)), REF_DATA);
+
+    assertThrowsIllegalArg(() -> factory.createIncremental(
+        requirements, MARKET_DATA_CONFIG, MarketData.empty(date(2011, 3, 9)), REF_DATA, previous, ImmutableSet.of()));
+  }
+
   /**
    * Tests building multiple observable values for scenarios where the values aren't perturbed.
    */
@@ -895,6 +1067,29 @@ public class DefaultMarketDataFactoryTest {
     }
   }
 
+  /**
+   * Asynchronous provider that parses the value of the standard ID in another thread, recording the requests.
+   */
+  private static final class TestAsyncObservableDataProvider implements ObservableDataProvider {
+
+    private final List<Set<? extends ObservableId>> requests = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Map<ObservableId, Result<Double>> provideObservableData(Set<? extends ObservableId> identifiers) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CompletableFuture<Map<ObservableId, Result<Double>>> provideObservableDataAsync(
+        Set<? extends ObservableId> identifiers,
+        Executor executor) {
+
+      requests.add(identifiers);
+      return CompletableFuture.supplyAsync(() -> identifiers.stream()
+          .collect(toImmutableMap(id -> id, id -> Result.success(Double.parseDouble(id.getStandardId().getValue())))));
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Test ID A.
@@ -0,0 +1,134 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.util.Optional;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.IntArray;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+
+/**
+ * Test {@link TimeSeriesStore}.
+ */
+@Test
+public class TimeSeriesStoreTest {
+
+  private static final TestObservableId ID1 = TestObservableId.of("1");
+  private static final TestObservableId ID2 = TestObservableId.of("2");
+  private static final TestObservableId ID3 = TestObservableId.of("3");
+  private static final TestObservableId ID4 = TestObservableId.of("4");
+  private static final LocalDateDoubleTimeSeries SERIES1 = LocalDateDoubleTimeSeries.builder()
+      .put(date(2015, 1, 5), 1d)
+      .put(date(2015, 6, 1), 2d)
+      .put(date(2016, 6, 1), 3d)
+      .build();
+  private static final LocalDateDoubleTimeSeries SERIES2 = SERIES1.mapValues(value -> value * 10);
+  private static final LocalDateDoubleTimeSeries SERIES3 = LocalDateDoubleTimeSeries.builder()
+      .put(date(2016, 6, 27), 4d)
+      .put(date(2016, 6, 28), 5d)
+      .put(date(2016, 6, 29), 6d)
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    TimeSeriesStore test = TimeSeriesStore.of(ImmutableMap.of(ID1, SERIES1, ID2, SERIES2, ID3, SERIES3));
+    assertEquals(test.size(), 3);
+    assertEquals(test.getIds(), ImmutableSet.of(ID1, ID2, ID3));
+    assertEquals(test.dateAxisCount(), 2);
+    assertSameSeries(test.findTimeSeries(ID1).get(), SERIES1);
+    assertSameSeries(test.findTimeSeries(ID2).get(), SERIES2);
+    assertSameSeries(test.findTimeSeries(ID3).get(), SERIES3);
+    assertEquals(test.findTimeSeries(ID4), Optional.empty());
+    assertEquals(test.toMap().keySet(), ImmutableSet.of(ID1, ID2, ID3));
+    assertEquals(test.toString(), "TimeSeriesStore[size=3]");
+  }
+
+  public void test_builder_epochDays() {
+    IntArray dates = IntArray.of(16000, 16001, 16005);
+    TimeSeriesStore test = TimeSeriesStore.builder()
+        .add(ID1, dates, DoubleArray.of(1d, 2d, 3d))
+        .add(ID2, IntArray.of(16000, 16001, 16005), DoubleArray.of(4d, 5d, 6d))
+        .add(ID3, SERIES1)
+        .build();
+    assertEquals(test.dateAxisCount(), 2);
+    LocalDateDoubleTimeSeries series1 = test.findTimeSeries(ID1).get();
+    assertEquals(series1.getEarliestDate(), date(2013, 10, 22));
+    assertEquals(series1.get(date(2013, 10, 23)).getAsDouble(), 2d);
+    assertEquals(series1.get(date(2013, 10, 24)).isPresent(), false);
+    assertEquals(test.findTimeSeries(ID2).get().getLatestValue(), 6d);
+  }
+
+  public void test_builder_invalid() {
+    assertThrowsIllegalArg(() -> TimeSeriesStore.builder().add(ID1, IntArray.of(2, 1), DoubleArray.of(1d, 2d)));
+    assertThrowsIllegalArg(() -> TimeSeriesStore.builder().add(ID1, IntArray.of(1, 2), DoubleArray.of(1d)));
+    assertThrowsIllegalArg(() -> TimeSeriesStore.builder().add(null, SERIES1));
+  }
+
+  public void test_builder_replace() {
+    TimeSeriesStore test = TimeSeriesStore.builder()
+        .add(ID1, SERIES1)
+        .add(ID1, SERIES3)
+        .build();
+    assertEquals(test.size(), 1);
+    assertEquals(test.dateAxisCount(), 1);
+    assertSameSeries(test.findTimeSeries(ID1).get(), SERIES3);
+  }
+
+  public void test_builder_replace_sharedDates() {
+    TimeSeriesStoreBuilder builder = TimeSeriesStore.builder()
+        .add(ID1, SERIES1)
+        .add(ID2, SERIES2)
+        .add(ID1, SERIES3);
+    assertEquals(builder.build().dateAxisCount(), 2);
+    // the dates of the first series are discarded once no series uses them
+    TimeSeriesStore test = builder.add(ID2, SERIES3).build();
+    assertEquals(test.size(), 2);
+    assertEquals(test.dateAxisCount(), 1);
+    assertSameSeries(test.findTimeSeries(ID1).get(), SERIES3);
+    assertSameSeries(test.findTimeSeries(ID2).get(), SERIES3);
+    // replacing a series with the same dates retains the dates
+    assertEquals(builder.add(ID1, SERIES3).build().dateAxisCount(), 1);
+  }
+
+  public void test_empty() {
+    TimeSeriesStore test = TimeSeriesStore.empty();
+    assertEquals(test.size(), 0);
+    assertSame(TimeSeriesStore.builder().add(ID1, LocalDateDoubleTimeSeries.empty()).build()
+        .findTimeSeries(ID1).get(), LocalDateDoubleTimeSeries.empty());
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_provideTimeSeries() {
+    TimeSeriesStore test = TimeSeriesStore.of(ImmutableMap.of(ID1, SERIES1));
+    Result<LocalDateDoubleTimeSeries> found = test.provideTimeSeries(ID1);
+    assertThat(found.isSuccess()).isTrue();
+    assertSameSeries(found.getValue(), SERIES1);
+    Result<LocalDateDoubleTimeSeries> notFound = test.provideTimeSeries(ID2);
+    assertThat(notFound.isFailure()).isTrue();
+    assertEquals(notFound.getFailure().getReason(), FailureReason.MISSING_DATA);
+  }
+
+  //-------------------------------------------------------------------------
+  // the store changes the representation, thus compare the points
+  private static void assertSameSeries(LocalDateDoubleTimeSeries test, LocalDateDoubleTimeSeries expected) {
+    assertEquals(test.stream().collect(toList()), expected.stream().collect(toList()));
+  }
+
+}
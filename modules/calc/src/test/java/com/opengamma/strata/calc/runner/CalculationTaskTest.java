@@ -88,6 +88,17 @@ public class CalculationTaskTest {
     assertThat(observables.iterator().next()).isEqualTo(observableId);
   }
 
+  public void requiresAny() {
+    CalculationTaskCell cell = CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+    CalculationTask task = CalculationTask.of(TARGET, new TestFunction(), cell);
+    assertThat(task.requiresAny(ImmutableSet.of(new TestId("1")), REF_DATA)).isTrue();
+    assertThat(task.requiresAny(ImmutableSet.of(TestObservableId.of("2", OBS_SOURCE)), REF_DATA)).isTrue();
+    assertThat(task.requiresAny(ImmutableSet.of(TestObservableId.of("3", OBS_SOURCE)), REF_DATA)).isTrue();
+    assertThat(task.requiresAny(ImmutableSet.of(TestObservableId.of("5", OBS_SOURCE)), REF_DATA)).isFalse();
+    assertThat(task.requiresAny(ImmutableSet.of(new TestId("4")), REF_DATA)).isFalse();
+    assertThat(task.requiresAny(ImmutableSet.of(), REF_DATA)).isFalse();
+  }
+
   /**
    * Test that the result is converted to the reporting currency if it implements ScenarioFxConvertible and
    * the FX rates are available in the market data.
@@ -11,7 +11,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.testng.Assert.assertNotNull;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.testng.annotations.Test;
 
@@ -19,16 +21,20 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.calc.CalculationRules;
 import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
 import com.opengamma.strata.calc.TestingMeasures;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
 import com.opengamma.strata.calc.marketdata.TestId;
 import com.opengamma.strata.calc.marketdata.TestObservableId;
 import com.opengamma.strata.calc.runner.CalculationTaskTest.TestFunction;
 import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
 /**
  * Test {@link CalculationTasks}.
@@ -102,6 +108,24 @@ public class CalculationTasksTest {
     assertThat(timeSeries.iterator().next()).isEqualTo(timeSeriesId);
   }
 
+  public void test_dependentTasks() {
+    CountingFunction fn = new CountingFunction();
+    CalculationFunctions functions = CalculationFunctions.of(ImmutableMap.of(TestTarget.class, fn));
+    CalculationRules calculationRules = CalculationRules.of(functions, USD);
+    List<TestTarget> targets = ImmutableList.of(TARGET1, TARGET2);
+    List<Column> columns = ImmutableList.of(Column.of(TestingMeasures.PRESENT_VALUE));
+
+    CalculationTasks test = CalculationTasks.of(calculationRules, targets, columns);
+    assertThat(test.dependentTasks(ImmutableSet.of(TestId.of("1")), REF_DATA)).isEqualTo(test.getTasks());
+    assertThat(test.dependentTasks(ImmutableSet.of(TestId.of("4")), REF_DATA)).isEmpty();
+    assertThat(test.dependentTasks(ImmutableSet.of(), REF_DATA)).isEmpty();
+    test.requirements(REF_DATA);
+    // the requirements of each task are only obtained once for the same reference data
+    assertThat(fn.requirementsCount.get()).isEqualTo(2);
+    test.requirements(ReferenceData.empty());
+    assertThat(fn.requirementsCount.get()).isEqualTo(4);
+  }
+
   //-------------------------------------------------------------------------
   public void testToString() {
     List<TestTarget> targets = ImmutableList.of(TARGET1, TARGET1);
@@ -114,4 +138,49 @@ public class CalculationTasksTest {
     assertThat(task.toString()).isEqualTo("CalculationTasks[grid=2x3]");
   }
 
+  //-------------------------------------------------------------------------
+  // function that counts the number of times its requirements are obtained
+  private static final class CountingFunction implements CalculationFunction<TestTarget> {
+
+    private final TestFunction delegate = new TestFunction();
+    private final AtomicInteger requirementsCount = new AtomicInteger();
+
+    @Override
+    public Class<TestTarget> targetType() {
+      return delegate.targetType();
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return delegate.supportedMeasures();
+    }
+
+    @Override
+    public Currency naturalCurrency(TestTarget target, ReferenceData refData) {
+      return delegate.naturalCurrency(target, refData);
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      requirementsCount.incrementAndGet();
+      return delegate.requirements(target, measures, parameters, refData);
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      return delegate.calculate(target, measures, parameters, marketData, refData);
+    }
+  }
+
 }
@@ -11,9 +11,13 @@ import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
 import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.date;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.testng.annotations.Test;
 
@@ -23,16 +27,25 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.Resolvable;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.calc.Column;
 import com.opengamma.strata.calc.Measure;
 import com.opengamma.strata.calc.Results;
 import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.marketdata.MarketDataConfig;
+import com.opengamma.strata.calc.marketdata.MarketDataFactory;
+import com.opengamma.strata.calc.marketdata.MarketDataFunction;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
+import com.opengamma.strata.calc.marketdata.ObservableDataProvider;
 import com.opengamma.strata.calc.marketdata.TestId;
 import com.opengamma.strata.calc.marketdata.TestObservableId;
+import com.opengamma.strata.calc.marketdata.TimeSeriesProvider;
 import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.MarketDataBox;
 import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
@@ -46,6 +59,9 @@ public class DefaultCalculationTaskRunnerTest {
   private static final TestTarget TARGET = new TestTarget();
   private static final LocalDate VAL_DATE = date(2011, 3, 8);
   private static final Set<Measure> MEASURES = ImmutableSet.of(TestingMeasures.PRESENT_VALUE);
+  private static final MarketDataFactory MD_FACTORY =
+      MarketDataFactory.of(ObservableDataProvider.none(), TimeSeriesProvider.none());
+  private static final MarketDataConfig MD_CONFIG = MarketDataConfig.empty();
 
   //-------------------------------------------------------------------------
   /**
@@ -121,6 +137,216 @@ public class DefaultCalculationTaskRunnerTest {
     assertThat(result2).hasValue(scenarioResult);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Test that tasks run in batches produce the same grid of results.
+   */
+  public void batched() {
+    ScenarioArray<String> scenarioResult = ScenarioArray.of("foo");
+    ScenarioResultFunction fn = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, scenarioResult);
+    ImmutableList.Builder<CalculationTask> taskBuilder = ImmutableList.builder();
+    for (int i = 0; i < 50; i++) {
+      CalculationTaskCell cell = CalculationTaskCell.of(i, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+      taskBuilder.add(CalculationTask.of(TARGET, fn, cell));
+    }
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(taskBuilder.build(), ImmutableList.of(column));
+    MarketData marketData = MarketData.empty(VAL_DATE);
+
+    try (CalculationTaskRunner test = CalculationTaskRunner.ofBatched(2, 8)) {
+      Results results = test.calculate(tasks, marketData, REF_DATA);
+      assertThat(results.getRowCount()).isEqualTo(50);
+      for (int i = 0; i < 50; i++) {
+        assertThat(results.get(i, 0)).hasValue("foo");
+      }
+    }
+  }
+
+  /**
+   * Test that tasks run in batches on a direct executor produce the same grid of results.
+   */
+  public void batchedDirectExecutor() {
+    ScenarioArray<String> scenarioResult = ScenarioArray.of("foo");
+    ScenarioResultFunction fn = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, scenarioResult);
+    CalculationTaskCell cell1 = CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+    CalculationTaskCell cell2 = CalculationTaskCell.of(1, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+    CalculationTaskCell cell3 = CalculationTaskCell.of(2, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+    CalculationTasks tasks = CalculationTasks.of(
+        ImmutableList.of(CalculationTask.of(TARGET, fn, cell1), CalculationTask.of(TARGET, fn, cell2),
+            CalculationTask.of(TARGET, fn, cell3)),
+        ImmutableList.of(Column.of(TestingMeasures.PRESENT_VALUE)));
+
+    // using the direct executor means there is no need to close/shutdown the runner
+    CalculationTaskRunner test = CalculationTaskRunner.ofBatched(MoreExecutors.newDirectExecutorService(), 2);
+
+    ScenarioMarketData marketData = ScenarioMarketData.of(1, MarketData.empty(VAL_DATE));
+    Results results = test.calculateMultiScenario(tasks, marketData, REF_DATA);
+    assertThat(results.getRowCount()).isEqualTo(3);
+    assertThat(results.get(0, 0)).hasValue(scenarioResult);
+    assertThat(results.get(1, 0)).hasValue(scenarioResult);
+    assertThat(results.get(2, 0)).hasValue(scenarioResult);
+  }
+
+  /**
+   * Test that a task failing in a batch produces failure results, without affecting the rest of the batch.
+   */
+  public void batchedTaskFailure() {
+    PartialFailureFunction fn = new PartialFailureFunction();
+    ImmutableList.Builder<CalculationTask> taskBuilder = ImmutableList.builder();
+    for (int i = 0; i < 40; i++) {
+      Measure measure = (i % 5 == 0 ? TestingMeasures.PAR_RATE : TestingMeasures.PRESENT_VALUE);
+      taskBuilder.add(CalculationTask.of(TARGET, fn, CalculationTaskCell.of(i, 0, measure, NATURAL)));
+    }
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(taskBuilder.build(), ImmutableList.of(column));
+    MarketData marketData = MarketData.empty(VAL_DATE);
+
+    // batches of 8 tasks, each containing failing tasks
+    try (CalculationTaskRunner test = CalculationTaskRunner.ofBatched(1, 8)) {
+      Results results = test.calculate(tasks, marketData, REF_DATA);
+      assertThat(results.getRowCount()).isEqualTo(40);
+      for (int i = 0; i < 40; i++) {
+        if (i % 5 == 0) {
+          assertThat(results.get(i, 0)).isFailure(FailureReason.CALCULATION_FAILED);
+        } else {
+          assertThat(results.get(i, 0)).hasValue("foo");
+        }
+      }
+    }
+  }
+
+  /**
+   * Test that the listener is notified of each batch after its results, and before the calculations complete.
+   */
+  public void batchedListener() {
+    ScenarioArray<String> scenarioResult = ScenarioArray.of("foo");
+    ScenarioResultFunction fn = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, scenarioResult);
+    ImmutableList.Builder<CalculationTask> taskBuilder = ImmutableList.builder();
+    for (int i = 0; i < 5; i++) {
+      CalculationTaskCell cell = CalculationTaskCell.of(i, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+      taskBuilder.add(CalculationTask.of(TARGET, fn, cell));
+    }
+    CalculationTasks tasks = CalculationTasks.of(
+        taskBuilder.build(), ImmutableList.of(Column.of(TestingMeasures.PRESENT_VALUE)));
+    BatchListener listener = new BatchListener();
+
+    CalculationTaskRunner test = CalculationTaskRunner.ofBatched(MoreExecutors.newDirectExecutorService(), 2);
+    test.calculateAsync(tasks, MarketData.empty(VAL_DATE), REF_DATA, listener);
+    // the batch size is adapted to the number of processors, so each batch is checked against its results
+    assertThat(listener.events.get(listener.events.size() - 1)).isEqualTo("complete");
+    int resultCount = 0;
+    int taskCount = 0;
+    for (String event : listener.events.subList(0, listener.events.size() - 1)) {
+      if (event.equals("result")) {
+        resultCount++;
+      } else {
+        taskCount += Integer.parseInt(event.substring("batch ".length()));
+        assertThat(taskCount).isEqualTo(resultCount);
+      }
+    }
+    assertThat(taskCount).isEqualTo(5);
+  }
+
+  /**
+   * Test that a task whose function returns no results produces failure results when run without batching.
+   */
+  public void taskFailure() {
+    PartialFailureFunction fn = new PartialFailureFunction();
+    CalculationTaskCell cell = CalculationTaskCell.of(0, 0, TestingMeasures.PAR_RATE, NATURAL);
+    CalculationTasks tasks = CalculationTasks.of(
+        ImmutableList.of(CalculationTask.of(TARGET, fn, cell)), ImmutableList.of(Column.of(TestingMeasures.PAR_RATE)));
+
+    CalculationTaskRunner test = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService());
+    Results results = test.calculate(tasks, MarketData.empty(VAL_DATE), REF_DATA);
+    assertThat(results.get(0, 0)).isFailure(FailureReason.CALCULATION_FAILED);
+  }
+
+  public void batched_invalidBatchSize() {
+    assertThrowsIllegalArg(() -> CalculationTaskRunner.ofBatched(MoreExecutors.newDirectExecutorService(), 0));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Test that only the cells requiring the changed market data are recalculated.
+   */
+  public void calculateIncremental() {
+    CalculationTaskCell cell1 = CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+    CalculationTaskCell cell2 = CalculationTaskCell.of(1, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+    ScenarioResultFunction fn = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, ScenarioArray.of("foo"));
+    CalculationTask task1 = CalculationTask.of(TARGET, new TestFunction(), cell1);
+    CalculationTask task2 = CalculationTask.of(TARGET, fn, cell2);
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(ImmutableList.of(task1, task2), ImmutableList.of(column));
+    Results previous = Results.of(
+        ImmutableList.of(column.toHeader()),
+        ImmutableList.of(Result.success("old1"), Result.success("old2")));
+
+    // using the direct executor means there is no need to close/shutdown the runner
+    CalculationTaskRunner test = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService());
+    MarketData marketData = MarketData.empty(VAL_DATE);
+
+    Results results1 = test.calculateIncremental(
+        tasks, marketData, REF_DATA, previous, ImmutableSet.of(TestId.of("1")), MD_FACTORY, MD_CONFIG);
+    assertThat(results1.get(0, 0)).hasValue("bar");
+    assertThat(results1.get(1, 0)).hasValue("old2");
+
+    Results results2 = test.calculateIncremental(
+        tasks, marketData, REF_DATA, previous, ImmutableSet.of(TestId.of("9")), MD_FACTORY, MD_CONFIG);
+    assertThat(results2).isEqualTo(previous);
+
+    ScenarioMarketData scenarioData = ScenarioMarketData.of(1, marketData);
+    Results results3 = test.calculateMultiScenarioIncremental(
+        tasks, scenarioData, REF_DATA, previous, ImmutableSet.of(TestObservableId.of("2")), MD_FACTORY, MD_CONFIG);
+    assertThat(results3.get(0, 0)).hasValue(ScenarioArray.of("bar"));
+    assertThat(results3.get(1, 0)).hasValue("old2");
+  }
+
+  public void calculateIncremental_resultsMismatch() {
+    CalculationTaskCell cell = CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+    CalculationTask task = CalculationTask.of(TARGET, new TestFunction(), cell);
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(ImmutableList.of(task), ImmutableList.of(column));
+    Results previous = Results.of(
+        ImmutableList.of(column.toHeader()),
+        ImmutableList.of(Result.success("old1"), Result.success("old2")));
+
+    CalculationTaskRunner test = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService());
+    MarketData marketData = MarketData.empty(VAL_DATE);
+    assertThrowsIllegalArg(() -> test.calculateIncremental(
+        tasks, marketData, REF_DATA, previous, ImmutableSet.of(TestId.of("1")), MD_FACTORY, MD_CONFIG));
+  }
+
+  /**
+   * Test that a cell is recalculated when a value used to build the market data it requires has changed.
+   */
+  public void calculateIncremental_derivedMarketData() {
+    CalculationTaskCell cell1 = CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+    CalculationTaskCell cell2 = CalculationTaskCell.of(1, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+    ScenarioResultFunction fn = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, ScenarioArray.of("foo"));
+    CalculationTask task1 = CalculationTask.of(TARGET, new TestFunction(), cell1);
+    CalculationTask task2 = CalculationTask.of(TARGET, fn, cell2);
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(ImmutableList.of(task1, task2), ImmutableList.of(column));
+    Results previous = Results.of(
+        ImmutableList.of(column.toHeader()),
+        ImmutableList.of(Result.success("old1"), Result.success("old2")));
+
+    CalculationTaskRunner test = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService());
+    MarketData marketData = MarketData.empty(VAL_DATE);
+    // the market data required by the first cell is built from the changed quote
+    MarketDataFactory factory =
+        MarketDataFactory.of(ObservableDataProvider.none(), TimeSeriesProvider.none(), new TestIdFunction());
+    Set<TestObservableId> changedIds = ImmutableSet.of(TestObservableId.of("4"));
+
+    Results results = test.calculateIncremental(tasks, marketData, REF_DATA, previous, changedIds, factory, MD_CONFIG);
+    assertThat(results.get(0, 0)).hasValue("bar");
+    assertThat(results.get(1, 0)).hasValue("old2");
+
+    Results unaffected =
+        test.calculateIncremental(tasks, marketData, REF_DATA, previous, changedIds, MD_FACTORY, MD_CONFIG);
+    assertThat(unaffected).isEqualTo(previous);
+  }
+
   //-------------------------------------------------------------------------
   public static final class TestFunction implements CalculationFunction<TestTarget> {
 
@@ -185,6 +411,153 @@ public class DefaultCalculationTaskRunnerTest {
     assertThat(results.getColumns().get(0).getMeasure()).isEqualTo(TestingMeasures.PRESENT_VALUE);
   }
 
+  //-------------------------------------------------------------------------
+  // builds the value with ID TestId from the observable value with ID TestObservableId("4")
+  private static final class TestIdFunction implements MarketDataFunction<String, TestId> {
+
+    @Override
+    public MarketDataRequirements requirements(TestId id, MarketDataConfig marketDataConfig) {
+      return MarketDataRequirements.builder()
+          .addValues(TestObservableId.of("4"))
+          .build();
+    }
+
+    @Override
+    public MarketDataBox<String> build(
+        TestId id,
+        MarketDataConfig marketDataConfig,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      return MarketDataBox.ofSingleValue(id.toString());
+    }
+
+    @Override
+    public Class<TestId> getMarketDataIdType() {
+      return TestId.class;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Test that the cache of resolved targets is passed to the function.
+   */
+  public void resolvedTargetCache() {
+    ResolvingFunction fn = new ResolvingFunction();
+    CalculationTaskCell cell = CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+    CalculationTask task = CalculationTask.of(TARGET, fn, cell);
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(ImmutableList.of(task), ImmutableList.of(column));
+    MarketData marketData = MarketData.empty(VAL_DATE);
+
+    // without a cache the target is resolved every time
+    CalculationTaskRunner test1 = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService());
+    assertThat(test1.calculate(tasks, marketData, REF_DATA).get(0, 0)).hasValue(1);
+    assertThat(test1.calculate(tasks, marketData, REF_DATA).get(0, 0)).hasValue(2);
+
+    ResolvedTargetCache cache = ResolvedTargetCache.of(10);
+    CalculationTaskRunner test2 = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService(), cache);
+    assertThat(test2.calculate(tasks, marketData, REF_DATA).get(0, 0)).hasValue(3);
+    assertThat(test2.calculate(tasks, marketData, REF_DATA).get(0, 0)).hasValue(3);
+
+    // the cache is shared with a batched runner
+    CalculationTaskRunner test3 = CalculationTaskRunner.ofBatched(MoreExecutors.newDirectExecutorService(), 2, cache);
+    assertThat(test3.calculate(tasks, marketData, REF_DATA).get(0, 0)).hasValue(3);
+    assertThat(cache.getHitCount()).isEqualTo(2);
+  }
+
+  //-------------------------------------------------------------------------
+  // function that returns the number of times the target has been resolved
+  private static final class ResolvingFunction implements CalculationFunction<TestTarget> {
+
+    private final AtomicInteger count = new AtomicInteger();
+    private final Resolvable<String> resolvable = refData -> {
+      count.incrementAndGet();
+      return "resolved";
+    };
+
+    @Override
+    public Class<TestTarget> targetType() {
+      return TestTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return MEASURES;
+    }
+
+    @Override
+    public Currency naturalCurrency(TestTarget trade, ReferenceData refData) {
+      return USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return FunctionRequirements.empty();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      ResolvedTargetCache.resolveTarget(resolvable, parameters, refData);
+      return ImmutableMap.of(TestingMeasures.PRESENT_VALUE, Result.success(count.get()));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // function that returns no results at all when the par rate is requested, causing the task to fail
+  private static final class PartialFailureFunction implements CalculationFunction<TestTarget> {
+
+    @Override
+    public Class<TestTarget> targetType() {
+      return TestTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return ImmutableSet.of(TestingMeasures.PRESENT_VALUE, TestingMeasures.PAR_RATE);
+    }
+
+    @Override
+    public Currency naturalCurrency(TestTarget trade, ReferenceData refData) {
+      return USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return FunctionRequirements.empty();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      if (measures.contains(TestingMeasures.PAR_RATE)) {
+        return null;
+      }
+      return ImmutableMap.of(TestingMeasures.PRESENT_VALUE, Result.success("foo"));
+    }
+  }
+
   //-------------------------------------------------------------------------
   private static final class ScenarioResultFunction implements CalculationFunction<TestTarget> {
 
@@ -233,6 +606,36 @@ public class DefaultCalculationTaskRunnerTest {
     }
   }
 
+  //-------------------------------------------------------------------------
+  // listener that records the order in which it is notified
+  private static final class BatchListener implements CalculationListener {
+
+    private final List<String> events = new ArrayList<>();
+
+    @Override
+    public void resultReceived(CalculationTarget target, CalculationResult result) {
+      events.add("result");
+    }
+
+    @Override
+    public void batchCompleted(
+        Class<?> targetType,
+        CalculationFunction<?> function,
+        int taskCount,
+        Duration duration) {
+
+      assertThat(targetType).isEqualTo(TestTarget.class);
+      assertThat(function).isInstanceOf(ScenarioResultFunction.class);
+      assertThat(duration.isNegative()).isFalse();
+      events.add("batch " + taskCount);
+    }
+
+    @Override
+    public void calculationsComplete() {
+      events.add("complete");
+    }
+  }
+
   //-------------------------------------------------------------------------
   private static final class Listener implements CalculationListener {
 
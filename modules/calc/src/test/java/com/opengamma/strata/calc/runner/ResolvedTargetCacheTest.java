@@ -0,0 +1,139 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.Resolvable;
+
+/**
+ * Test {@link ResolvedTargetCache}.
+ */
+@Test
+public class ResolvedTargetCacheTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+
+  public void test_resolve() {
+    ResolvedTargetCache test = ResolvedTargetCache.of(10);
+    CountingTarget target = new CountingTarget("A");
+    assertThat(test.resolve(target, REF_DATA)).isEqualTo("A-resolved");
+    assertThat(test.resolve(target, REF_DATA)).isEqualTo("A-resolved");
+    assertThat(test.resolve(new CountingTarget("A"), REF_DATA)).isEqualTo("A-resolved");
+    assertThat(target.count.get()).isEqualTo(1);
+    assertThat(test.getHitCount()).isEqualTo(2);
+    assertThat(test.getMissCount()).isEqualTo(1);
+    assertThat(test.size()).isEqualTo(1);
+    assertThat(test.getMaxSize()).isEqualTo(10);
+  }
+
+  public void test_resolve_newReferenceData() {
+    ResolvedTargetCache test = ResolvedTargetCache.of(10);
+    CountingTarget target = new CountingTarget("A");
+    test.resolve(target, REF_DATA);
+    test.resolve(target, ReferenceData.empty());
+    assertThat(target.count.get()).isEqualTo(2);
+    assertThat(test.getMissCount()).isEqualTo(2);
+    assertThat(test.size()).isEqualTo(2);
+  }
+
+  public void test_resolve_eviction() {
+    ResolvedTargetCache test = ResolvedTargetCache.of(2);
+    for (int i = 0; i < 10; i++) {
+      test.resolve(new CountingTarget("T" + i), REF_DATA);
+    }
+    assertThat(test.size()).isLessThanOrEqualTo(2);
+    assertThat(test.getEvictionCount()).isEqualTo(10 - test.size());
+    assertThat(test.getMissCount()).isEqualTo(10);
+  }
+
+  public void test_resolveTarget() {
+    ResolvedTargetCache test = ResolvedTargetCache.of(10);
+    CountingTarget target = new CountingTarget("A");
+    CalculationParameters parameters = test.addTo(CalculationParameters.empty());
+    assertThat(ResolvedTargetCache.resolveTarget(target, parameters, REF_DATA)).isEqualTo("A-resolved");
+    assertThat(ResolvedTargetCache.resolveTarget(target, parameters, REF_DATA)).isEqualTo("A-resolved");
+    assertThat(target.count.get()).isEqualTo(1);
+    assertThat(test.getHitCount()).isEqualTo(1);
+    // without a cache in the parameters the target is resolved directly
+    assertThat(ResolvedTargetCache.resolveTarget(target, CalculationParameters.empty(), REF_DATA))
+        .isEqualTo("A-resolved");
+    assertThat(target.count.get()).isEqualTo(2);
+    CalculationParameters empty = CalculationParameters.empty();
+    assertThat(ResolvedTargetCache.none().addTo(empty)).isSameAs(empty);
+  }
+
+  public void test_resolve_softValues() {
+    ResolvedTargetCache test = ResolvedTargetCache.ofSoftValues(10);
+    CountingTarget target = new CountingTarget("A");
+    assertThat(test.resolve(target, REF_DATA)).isEqualTo("A-resolved");
+    assertThat(test.resolve(target, REF_DATA)).isEqualTo("A-resolved");
+    assertThat(target.count.get()).isLessThanOrEqualTo(2);
+    assertThat(test.getHitCount() + test.getMissCount()).isEqualTo(2);
+  }
+
+  public void test_invalidateAll() {
+    ResolvedTargetCache test = ResolvedTargetCache.of(10);
+    CountingTarget target = new CountingTarget("A");
+    test.resolve(target, REF_DATA);
+    test.invalidateAll();
+    assertThat(test.size()).isEqualTo(0);
+    test.resolve(target, REF_DATA);
+    assertThat(target.count.get()).isEqualTo(2);
+    assertThat(test.toString()).contains("misses=2");
+  }
+
+  public void test_none() {
+    ResolvedTargetCache test = ResolvedTargetCache.none();
+    CountingTarget target = new CountingTarget("A");
+    assertThat(test.resolve(target, REF_DATA)).isEqualTo("A-resolved");
+    assertThat(test.resolve(target, REF_DATA)).isEqualTo("A-resolved");
+    assertThat(target.count.get()).isEqualTo(2);
+    assertThat(test.size()).isEqualTo(0);
+    assertThat(test.getMissCount()).isEqualTo(0);
+    assertThat(test.getEvictionCount()).isEqualTo(0);
+  }
+
+  public void test_of_invalid() {
+    assertThrowsIllegalArg(() -> ResolvedTargetCache.of(0));
+    assertThrowsIllegalArg(() -> ResolvedTargetCache.ofSoftValues(-1));
+  }
+
+  //-------------------------------------------------------------------------
+  // a target that counts the number of times it is resolved
+  private static final class CountingTarget implements Resolvable<String> {
+    private final String name;
+    private final AtomicInteger count;
+
+    private CountingTarget(String name) {
+      this.name = name;
+      this.count = new AtomicInteger();
+    }
+
+    @Override
+    public String resolve(ReferenceData refData) {
+      count.incrementAndGet();
+      return name + "-resolved";
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof CountingTarget && ((CountingTarget) obj).name.equals(name);
+    }
+
+    @Override
+    public int hashCode() {
+      return name.hashCode();
+    }
+  }
+
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+
+/**
+ * Test {@link ScenarioTotalCalculationListener}.
+ */
+@Test
+public class ScenarioTotalCalculationListenerTest {
+
+  private static final CalculationTarget TARGET = new CalculationTarget() {};
+
+  public void test_totals() {
+    ScenarioTotalCalculationListener test = ScenarioTotalCalculationListener.of(2, 3);
+    test.resultReceived(TARGET, result(0, CurrencyScenarioArray.of(GBP, DoubleArray.of(1, 2, 3))));
+    test.resultReceived(TARGET, result(0, CurrencyScenarioArray.of(GBP, DoubleArray.of(10, 20, 30))));
+    MultiCurrencyScenarioArray multi = MultiCurrencyScenarioArray.of(ImmutableMap.of(USD, DoubleArray.of(4, 5, 6)));
+    test.resultReceived(TARGET, result(0, multi));
+    test.resultReceived(TARGET, result(0, CurrencyAmount.of(USD, 1)));
+    test.resultReceived(TARGET, result(1, MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 7))));
+    test.calculationsComplete();
+
+    List<Result<MultiCurrencyScenarioArray>> totals = test.result();
+    assertThat(totals).hasSize(2);
+    assertThat(totals.get(0).getValue()).isEqualTo(MultiCurrencyScenarioArray.of(ImmutableMap.of(
+        GBP, DoubleArray.of(11, 22, 33),
+        USD, DoubleArray.of(5, 6, 7))));
+    assertThat(totals.get(1).getValue()).isEqualTo(MultiCurrencyScenarioArray.of(ImmutableMap.of(
+        GBP, DoubleArray.of(7, 7, 7))));
+  }
+
+  public void test_failures() {
+    ScenarioTotalCalculationListener test = ScenarioTotalCalculationListener.of(3, 2);
+    test.resultReceived(TARGET, result(0, CurrencyScenarioArray.of(GBP, DoubleArray.of(1, 2))));
+    test.resultReceived(TARGET, CalculationResult.of(0, 0, Result.failure(FailureReason.ERROR, "Failed")));
+    test.resultReceived(TARGET, result(1, "Not an amount"));
+    test.resultReceived(TARGET, result(2, CurrencyScenarioArray.of(GBP, DoubleArray.of(1, 2, 3))));
+    test.calculationsComplete();
+
+    List<Result<MultiCurrencyScenarioArray>> totals = test.result();
+    assertThat(totals.get(0).isFailure()).isTrue();
+    assertThat(totals.get(0).getFailure().getReason()).isEqualTo(FailureReason.ERROR);
+    assertThat(totals.get(1).getFailure().getReason()).isEqualTo(FailureReason.INVALID);
+    assertThat(totals.get(2).getFailure().getReason()).isEqualTo(FailureReason.INVALID);
+  }
+
+  public void test_of_invalid() {
+    assertThrowsIllegalArg(() -> ScenarioTotalCalculationListener.of(1, 0));
+    assertThrowsIllegalArg(() -> ScenarioTotalCalculationListener.of(-1, 1));
+  }
+
+  //-------------------------------------------------------------------------
+  private static CalculationResult result(int columnIndex, Object value) {
+    return CalculationResult.of(0, columnIndex, Result.success(value));
+  }
+
+}
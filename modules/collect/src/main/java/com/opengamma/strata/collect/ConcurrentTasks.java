@@ -0,0 +1,128 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Utilities for evaluating independent tasks, optionally in parallel using an {@link Executor}.
+ * <p>
+ * The calling thread waits for the tasks to complete.
+ * As such, if the executor has a bounded number of threads, these methods must not be called
+ * from a task running in the same executor, as all the threads could end up waiting.
+ * <p>
+ * The executor is never shut down by these methods.
+ * It is the callers responsibility to manage the life-cycle of the executor.
+ */
+public final class ConcurrentTasks {
+
+  /**
+   * Restricted constructor.
+   */
+  private ConcurrentTasks() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Evaluates the function for each index from zero to the size, exclusive.
+   * <p>
+   * If the executor is null, or there is only one index, the function is evaluated
+   * sequentially in the calling thread. Otherwise the evaluation of each index is submitted to the executor.
+   * <p>
+   * The results are returned in index order, whatever the number of threads used by the executor.
+   * If the function throws an exception, the exception of the first failing index is rethrown,
+   * and the evaluations that have not yet started are cancelled.
+   *
+   * @param <T>  the type of the result
+   * @param size  the number of indices to evaluate
+   * @param function  the function to evaluate
+   * @param executor  the executor used to evaluate the function, null if evaluation is sequential
+   * @return the results, in index order
+   */
+  public static <T> ImmutableList<T> evaluate(int size, IntFunction<T> function, Executor executor) {
+    ArgChecker.notNegative(size, "size");
+    ArgChecker.notNull(function, "function");
+    if (executor == null || size <= 1) {
+      return IntStream.range(0, size).mapToObj(function).collect(toImmutableList());
+    }
+    List<CompletableFuture<T>> futures = IntStream.range(0, size)
+        .mapToObj(i -> CompletableFuture.supplyAsync(() -> function.apply(i), executor))
+        .collect(toImmutableList());
+    try {
+      return futures.stream().map(ConcurrentTasks::join).collect(toImmutableList());
+    } finally {
+      futures.forEach(future -> future.cancel(false));
+    }
+  }
+
+  /**
+   * Evaluates the function for each index from zero to the size, exclusive, returning the results as an array.
+   * <p>
+   * This behaves as {@link #evaluate(int, IntFunction, Executor)}, but each result is stored
+   * directly in the array at its index, without boxing.
+   *
+   * @param size  the number of indices to evaluate
+   * @param function  the function to evaluate
+   * @param executor  the executor used to evaluate the function, null if evaluation is sequential
+   * @return the results, in index order
+   */
+  public static double[] evaluateDoubles(int size, IntToDoubleFunction function, Executor executor) {
+    ArgChecker.notNegative(size, "size");
+    ArgChecker.notNull(function, "function");
+    double[] results = new double[size];
+    if (executor == null || size <= 1) {
+      for (int i = 0; i < size; i++) {
+        results[i] = function.applyAsDouble(i);
+      }
+      return results;
+    }
+    List<CompletableFuture<Void>> futures = IntStream.range(0, size)
+        .mapToObj(i -> CompletableFuture.runAsync(() -> results[i] = function.applyAsDouble(i), executor))
+        .collect(toImmutableList());
+    try {
+      futures.forEach(ConcurrentTasks::join);
+      return results;
+    } finally {
+      futures.forEach(future -> future.cancel(false));
+    }
+  }
+
+  /**
+   * Waits for the future to complete, returning its result.
+   * <p>
+   * If the future completed exceptionally with a runtime exception or an error,
+   * it is rethrown without the wrapping {@link CompletionException}.
+   *
+   * @param <T>  the type of the result
+   * @param future  the future
+   * @return the result of the future
+   * @throws CompletionException if the future completed exceptionally with a checked exception
+   */
+  public static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      if (ex.getCause() instanceof Error) {
+        throw (Error) ex.getCause();
+      }
+      throw ex;
+    }
+  }
+
+}
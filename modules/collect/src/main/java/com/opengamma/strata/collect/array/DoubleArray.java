@@ -499,6 +499,25 @@ public final class DoubleArray
     System.arraycopy(array, 0, destination, offset, array.length);
   }
 
+  /**
+   * Adds this array, multiplied by a factor, into the specified array.
+   * <p>
+   * Each element of the specified array is incremented by the matching element of this array
+   * multiplied by the factor. This allows many arrays, such as sensitivities, to be totalled
+   * without creating an array for each intermediate total.
+   *
+   * @param destination  the array to add into, of the same size as this array
+   * @param factor  the factor to multiply by
+   * @throws IllegalArgumentException if the destination array is not the same size as this array
+   */
+  public void addMultipliedInto(double[] destination, double factor) {
+    ArgChecker.isTrue(destination.length == array.length,
+        "Destination array must have length {} but has length {}", array.length, destination.length);
+    for (int i = 0; i < array.length; i++) {
+      destination[i] += array[i] * factor;
+    }
+  }
+
   /**
    * Returns an array holding the values from the specified index onwards.
    * 
@@ -0,0 +1,607 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.Messages;
+
+/**
+ * A cursor over the rows of a {@link MappedCsvFile}.
+ * <p>
+ * The cursor is positioned before the first row when created, and is moved using {@link #next()}.
+ * The fields of the current row are parsed in place, without copying the content of the file.
+ * Each field can be accessed as a {@link CharSequence} view, or parsed directly as a {@code double}
+ * or {@link LocalDate}. A {@code String} is only created if requested, or if the field contains
+ * escaped quotes or non-ASCII characters.
+ * <p>
+ * The views returned by {@link #field(int)} remain valid after the cursor has moved to the next row.
+ * <p>
+ * This class is mutable and must only be used by one thread.
+ */
+public final class MappedCsvCursor {
+
+  /**
+   * The maximum number of significant digits that can be parsed exactly using a {@code long}.
+   */
+  private static final int MAX_EXACT_DIGITS = 15;
+  /**
+   * The powers of ten that are exactly representable as a {@code double}.
+   */
+  private static final double[] POWERS_OF_TEN = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+      1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+  /**
+   * The file.
+   */
+  private final MappedCsvFile file;
+  /**
+   * The separator.
+   */
+  private final byte separator;
+  /**
+   * The position in the file at which the cursor stops.
+   */
+  private final long end;
+  /**
+   * The mapped window, null until the first row is read.
+   */
+  private ByteBuffer window;
+  /**
+   * The position in the file of the start of the window.
+   */
+  private long windowStart;
+  /**
+   * The position in the file of the next line.
+   */
+  private long position;
+  /**
+   * The number of fields in the current row.
+   */
+  private int fieldCount;
+  /**
+   * The start of each field, relative to the window.
+   */
+  private int[] fieldStarts = new int[16];
+  /**
+   * The end of each field, relative to the window.
+   */
+  private int[] fieldEnds = new int[16];
+  /**
+   * Whether each field is quoted and contains escaped quotes.
+   */
+  private boolean[] fieldEscaped = new boolean[16];
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance.
+   *
+   * @param file  the file
+   * @param start  the position in the file of the first line
+   * @param end  the position in the file at which the cursor stops, which must be the start of a line
+   */
+  MappedCsvCursor(MappedCsvFile file, long start, long end) {
+    this.file = file;
+    this.separator = (byte) file.separator();
+    this.position = start;
+    this.end = end;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the header row of the file.
+   * <p>
+   * If there is no header row, an empty list is returned.
+   *
+   * @return the header row
+   */
+  public ImmutableList<String> headers() {
+    return file.headers();
+  }
+
+  /**
+   * Gets the position in the file of the next line.
+   *
+   * @return the position of the next line
+   */
+  public long position() {
+    return position;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Moves the cursor to the next row.
+   * <p>
+   * Blank lines and comment lines are skipped.
+   *
+   * @return true if the cursor is now positioned on a row, false if there are no more rows
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the row cannot be parsed
+   */
+  public boolean next() {
+    while (position < end) {
+      if (window == null || position < windowStart || position >= windowStart + window.limit()) {
+        remap();
+      }
+      int lineStart = (int) (position - windowStart);
+      int limit = window.limit();
+      int lineEnd = lineStart;
+      while (lineEnd < limit && !isLineTerminator(window.get(lineEnd))) {
+        lineEnd++;
+      }
+      boolean windowTruncated = windowStart + limit < end;
+      if (windowTruncated && (lineEnd == limit || (lineEnd == limit - 1 && window.get(lineEnd) == '\r'))) {
+        // the line, or its terminator, may continue beyond the window
+        if (lineStart == 0) {
+          throw new IllegalArgumentException(Messages.format(
+              "Line at position {} is longer than the mapped window of {} bytes", position, file.windowSize()));
+        }
+        remap();
+        continue;
+      }
+      int next = lineEnd;
+      if (next < limit) {
+        next += (window.get(next) == '\r' && next + 1 < limit && window.get(next + 1) == '\n') ? 2 : 1;
+      }
+      position = windowStart + next;
+      if (parseLine(lineStart, lineEnd)) {
+        return true;
+      }
+    }
+    fieldCount = 0;
+    return false;
+  }
+
+  // maps the window starting at the current position
+  private void remap() {
+    window = file.map(position, end);
+    windowStart = position;
+  }
+
+  // checks if the byte is CR or LF
+  private static boolean isLineTerminator(byte b) {
+    return b == '\n' || b == '\r';
+  }
+
+  // checks if the byte is whitespace, as defined by String.trim()
+  private static boolean isWhitespace(byte b) {
+    return (b & 0xff) <= ' ';
+  }
+
+  // parses the line, matching CsvFile.parseLine(), returning false if the line has no content
+  private boolean parseLine(int lineStart, int lineEnd) {
+    fieldCount = 0;
+    if (lineStart == lineEnd || window.get(lineStart) == '#' || window.get(lineStart) == ';') {
+      return false;
+    }
+    boolean content = false;
+    int start = lineStart;
+    while (start <= lineEnd) {
+      int nextSeparator = indexOfSeparator(start, lineEnd);
+      int trimStart = trimStart(start, nextSeparator);
+      int trimEnd = trimEnd(trimStart, nextSeparator);
+      boolean escaped = false;
+      if (trimStart < trimEnd && window.get(trimStart) == '"') {
+        while (!isQuotedFieldComplete(trimStart, trimEnd)) {
+          if (nextSeparator >= lineEnd) {
+            throw new IllegalArgumentException("Mismatched quotes on line: " + lineString(lineStart, lineEnd));
+          }
+          nextSeparator = indexOfSeparator(nextSeparator + 1, lineEnd);
+          trimEnd = trimEnd(trimStart, nextSeparator);
+        }
+        trimStart++;
+        trimEnd--;
+        escaped = containsEscapedQuote(trimStart, trimEnd);
+      }
+      addField(trimStart, trimEnd, escaped);
+      content |= hasContent(trimStart, trimEnd);
+      start = nextSeparator + 1;
+    }
+    if (!content) {
+      fieldCount = 0;
+    }
+    return content;
+  }
+
+  // finds the next separator, returning the line end if not found
+  private int indexOfSeparator(int from, int lineEnd) {
+    int index = from;
+    while (index < lineEnd && window.get(index) != separator) {
+      index++;
+    }
+    return index;
+  }
+
+  // skips leading whitespace
+  private int trimStart(int start, int end) {
+    int index = start;
+    while (index < end && isWhitespace(window.get(index))) {
+      index++;
+    }
+    return index;
+  }
+
+  // skips trailing whitespace
+  private int trimEnd(int start, int end) {
+    int index = end;
+    while (index > start && isWhitespace(window.get(index - 1))) {
+      index--;
+    }
+    return index;
+  }
+
+  // checks if the quoted text, including the opening quote, ends with a closing quote
+  // once escaped quote pairs have been removed, matching CsvFile
+  private boolean isQuotedFieldComplete(int start, int end) {
+    boolean lastIsQuote = false;
+    for (int i = start + 1; i < end; i++) {
+      if (window.get(i) == '"') {
+        if (i + 1 < end && window.get(i + 1) == '"') {
+          i++;
+        } else {
+          lastIsQuote = true;
+        }
+      } else {
+        lastIsQuote = false;
+      }
+    }
+    return lastIsQuote;
+  }
+
+  // checks if the text contains a pair of quotes
+  private boolean containsEscapedQuote(int start, int end) {
+    for (int i = start; i < end - 1; i++) {
+      if (window.get(i) == '"' && window.get(i + 1) == '"') {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // checks if the text contains anything other than whitespace
+  private boolean hasContent(int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (!isWhitespace(window.get(i))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // adds a field to the current row
+  private void addField(int start, int end, boolean escaped) {
+    if (fieldCount == fieldStarts.length) {
+      fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+      fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+      fieldEscaped = Arrays.copyOf(fieldEscaped, fieldCount * 2);
+    }
+    fieldStarts[fieldCount] = start;
+    fieldEnds[fieldCount] = end;
+    fieldEscaped[fieldCount] = escaped;
+    fieldCount++;
+  }
+
+  // the line as a string, for error messages
+  private String lineString(int start, int end) {
+    return decode(start, end);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of fields in the current row.
+   * <p>
+   * This will never be less than the number of headers.
+   *
+   * @return the number of fields
+   */
+  public int fieldCount() {
+    return Math.max(fieldCount, file.headers().size());
+  }
+
+  /**
+   * Checks if the specified field of the current row is empty.
+   *
+   * @param index  the field index
+   * @return true if the field is empty
+   * @throws IndexOutOfBoundsException if the field index is invalid
+   */
+  public boolean isFieldEmpty(int index) {
+    if (isMissing(index)) {
+      return true;
+    }
+    return fieldStarts[index] == fieldEnds[index];
+  }
+
+  /**
+   * Gets the specified field of the current row as a character sequence.
+   * <p>
+   * The result is a view of the mapped file where possible, avoiding the creation of a {@code String}.
+   * The field is trimmed, and any quotes are removed, as per {@link CsvFile}.
+   *
+   * @param index  the field index
+   * @return the field
+   * @throws IndexOutOfBoundsException if the field index is invalid
+   */
+  public CharSequence field(int index) {
+    if (isMissing(index)) {
+      return "";
+    }
+    int start = fieldStarts[index];
+    int end = fieldEnds[index];
+    if (fieldEscaped[index] || !isAscii(start, end)) {
+      return fieldString(index);
+    }
+    return new AsciiView(window, start, end);
+  }
+
+  /**
+   * Gets the specified field of the current row as a string.
+   * <p>
+   * The field is trimmed, and any quotes are removed, as per {@link CsvFile}.
+   *
+   * @param index  the field index
+   * @return the field
+   * @throws IndexOutOfBoundsException if the field index is invalid
+   */
+  public String fieldString(int index) {
+    if (isMissing(index)) {
+      return "";
+    }
+    String str = decode(fieldStarts[index], fieldEnds[index]);
+    return fieldEscaped[index] ? str.replace("\"\"", "\"") : str;
+  }
+
+  /**
+   * Gets all the fields of the current row as strings.
+   *
+   * @return the fields
+   */
+  public ImmutableList<String> fieldStrings() {
+    ImmutableList.Builder<String> builder = ImmutableList.builder();
+    for (int i = 0; i < fieldCount; i++) {
+      builder.add(fieldString(i));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Gets the current row as a {@link CsvRow}.
+   * <p>
+   * This creates a {@code String} for each field, allowing existing row-based code to be used.
+   *
+   * @return the row
+   */
+  public CsvRow row() {
+    return new CsvRow(file.headers(), file.searchHeaders(), fieldStrings());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Parses the specified field of the current row as a {@code double}.
+   * <p>
+   * Simple decimal numbers, with an optional exponent, are parsed directly from the mapped file.
+   * Other formats are parsed using {@link Double#parseDouble(String)}.
+   * The result is the same as {@code Double.parseDouble(fieldString(index))}.
+   *
+   * @param index  the field index
+   * @return the value
+   * @throws IndexOutOfBoundsException if the field index is invalid
+   * @throws NumberFormatException if the field is not a number
+   */
+  public double fieldAsDouble(int index) {
+    if (!isMissing(index) && !fieldEscaped[index]) {
+      double value = parseSimpleDouble(fieldStarts[index], fieldEnds[index]);
+      if (!Double.isNaN(value)) {
+        return value;
+      }
+    }
+    return Double.parseDouble(fieldString(index));
+  }
+
+  // parses a simple decimal, returning NaN if the format is not simple or the value may not be exact
+  private double parseSimpleDouble(int start, int end) {
+    int i = start;
+    boolean negative = false;
+    if (i < end && (window.get(i) == '-' || window.get(i) == '+')) {
+      negative = window.get(i) == '-';
+      i++;
+    }
+    long mantissa = 0;
+    int digits = 0;
+    int significantDigits = 0;
+    int fractionDigits = 0;
+    boolean fraction = false;
+    for (; i < end; i++) {
+      byte b = window.get(i);
+      if (b >= '0' && b <= '9') {
+        digits++;
+        if (mantissa != 0 || b != '0') {
+          significantDigits++;
+          if (significantDigits > MAX_EXACT_DIGITS) {
+            return Double.NaN;
+          }
+        }
+        mantissa = mantissa * 10 + (b - '0');
+        if (fraction) {
+          fractionDigits++;
+        }
+      } else if (b == '.' && !fraction) {
+        fraction = true;
+      } else {
+        break;
+      }
+    }
+    if (digits == 0) {
+      return Double.NaN;
+    }
+    int exponent = 0;
+    if (i < end) {
+      if (window.get(i) != 'e' && window.get(i) != 'E') {
+        return Double.NaN;
+      }
+      i++;
+      boolean negativeExponent = false;
+      if (i < end && (window.get(i) == '-' || window.get(i) == '+')) {
+        negativeExponent = window.get(i) == '-';
+        i++;
+      }
+      if (i == end || end - i > 3) {
+        return Double.NaN;
+      }
+      for (; i < end; i++) {
+        byte b = window.get(i);
+        if (b < '0' || b > '9') {
+          return Double.NaN;
+        }
+        exponent = exponent * 10 + (b - '0');
+      }
+      exponent = negativeExponent ? -exponent : exponent;
+    }
+    int power = exponent - fractionDigits;
+    if (power < -POWERS_OF_TEN.length + 1 || power > POWERS_OF_TEN.length - 1) {
+      return mantissa == 0 ? (negative ? -0d : 0d) : Double.NaN;
+    }
+    // exact mantissa and power of ten, so one correctly rounded operation gives the correct result
+    double value = power >= 0 ? mantissa * POWERS_OF_TEN[power] : mantissa / POWERS_OF_TEN[-power];
+    return negative ? -value : value;
+  }
+
+  /**
+   * Parses the specified field of the current row as a date.
+   * <p>
+   * Dates in the ISO format 'yyyy-MM-dd' are parsed directly from the mapped file.
+   * Other formats are parsed using {@link LocalDate#parse(CharSequence)}.
+   * The result is the same as {@code LocalDate.parse(fieldString(index))}.
+   *
+   * @param index  the field index
+   * @return the date
+   * @throws IndexOutOfBoundsException if the field index is invalid
+   * @throws java.time.DateTimeException if the field is not a valid date
+   */
+  public LocalDate fieldAsDate(int index) {
+    if (!isMissing(index) && fieldEnds[index] - fieldStarts[index] == 10) {
+      int start = fieldStarts[index];
+      if (window.get(start + 4) == '-' && window.get(start + 7) == '-') {
+        int year = parseDigits(start, start + 4);
+        int month = parseDigits(start + 5, start + 7);
+        int day = parseDigits(start + 8, start + 10);
+        if (year >= 0 && month >= 0 && day >= 0) {
+          return LocalDate.of(year, month, day);
+        }
+      }
+    }
+    return LocalDate.parse(fieldString(index));
+  }
+
+  // parses digits, returning -1 if not all digits
+  private int parseDigits(int start, int end) {
+    int value = 0;
+    for (int i = start; i < end; i++) {
+      byte b = window.get(i);
+      if (b < '0' || b > '9') {
+        return -1;
+      }
+      value = value * 10 + (b - '0');
+    }
+    return value;
+  }
+
+  //-------------------------------------------------------------------------
+  // checks if the field is beyond the parsed fields, but within the headers
+  private boolean isMissing(int index) {
+    if (index >= fieldCount && index < file.headers().size()) {
+      return true;
+    }
+    if (index < 0 || index >= fieldCount) {
+      throw new IndexOutOfBoundsException("Invalid field index: " + index);
+    }
+    return false;
+  }
+
+  // checks if the text is ASCII
+  private boolean isAscii(int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (window.get(i) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // decodes the text as UTF-8
+  private String decode(int start, int end) {
+    byte[] bytes = new byte[end - start];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = window.get(start + i);
+    }
+    return new String(bytes, UTF_8);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a string describing the cursor.
+   *
+   * @return the descriptive string
+   */
+  @Override
+  public String toString() {
+    return "MappedCsvCursor[position=" + position + ", end=" + end + "]";
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * A view of ASCII text in a buffer.
+   */
+  private static final class AsciiView implements CharSequence {
+    private final ByteBuffer buffer;
+    private final int start;
+    private final int end;
+
+    private AsciiView(ByteBuffer buffer, int start, int end) {
+      this.buffer = buffer;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    public int length() {
+      return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+      if (index < 0 || index >= end - start) {
+        throw new IndexOutOfBoundsException("Invalid index: " + index);
+      }
+      return (char) buffer.get(start + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int startIndex, int endIndex) {
+      if (startIndex < 0 || endIndex > end - start || startIndex > endIndex) {
+        throw new IndexOutOfBoundsException("Invalid range: " + startIndex + " to " + endIndex);
+      }
+      return new AsciiView(buffer, start + startIndex, start + endIndex);
+    }
+
+    @Override
+    public String toString() {
+      char[] chars = new char[end - start];
+      for (int i = 0; i < chars.length; i++) {
+        chars[i] = (char) buffer.get(start + i);
+      }
+      return new String(chars);
+    }
+  }
+
+}
@@ -0,0 +1,346 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.OptionalInt;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Unchecked;
+
+/**
+ * A CSV file that is memory-mapped and parsed lazily.
+ * <p>
+ * Represents a CSV file on disk, accessed using NIO memory-mapping.
+ * Unlike {@link CsvFile}, the rows are not loaded into memory.
+ * Instead, the file is read using a {@link MappedCsvCursor}, which parses one row at a time.
+ * The fields of the current row can be accessed as {@link CharSequence} views of the mapped file,
+ * or parsed directly as {@code double} or {@link java.time.LocalDate} without creating a {@code String}.
+ * <p>
+ * The file can be {@linkplain #split(int) split} into chunks, each starting at the start of a line.
+ * Each chunk has its own cursor, allowing the chunks to be parsed in parallel.
+ * <p>
+ * The file format is the same as that parsed by {@link CsvFile}.
+ * The file must be encoded in UTF-8, or a compatible encoding such as ASCII, and the separator must be ASCII.
+ * Each line must be smaller than the size of the mapped window, 256Mb.
+ * Files larger than 2Gb are supported, with each cursor mapping the file one window at a time.
+ * <p>
+ * The file remains open until {@linkplain #close() closed}.
+ * Instances of this class are thread-safe, but each cursor must only be used by one thread.
+ */
+public final class MappedCsvFile implements AutoCloseable {
+
+  /**
+   * The default size of the mapped window.
+   */
+  static final int DEFAULT_WINDOW_SIZE = 1 << 28;
+
+  /**
+   * The channel used to map the file.
+   */
+  private final FileChannel channel;
+  /**
+   * The size of the file.
+   */
+  private final long size;
+  /**
+   * The separator.
+   */
+  private final char separator;
+  /**
+   * The size of the mapped window.
+   */
+  private final int windowSize;
+  /**
+   * The header row, ordered as the headers appear in the file.
+   */
+  private final ImmutableList<String> headers;
+  /**
+   * The header map, transformed for case-insensitive searching.
+   */
+  private final ImmutableMap<String, Integer> searchHeaders;
+  /**
+   * The position of the first data row.
+   */
+  private final long dataStart;
+
+  //------------------------------------------------------------------------
+  /**
+   * Opens the specified file as a CSV file.
+   * <p>
+   * If the file has a header row, it is parsed immediately.
+   * The file must be {@linkplain #close() closed} after use.
+   *
+   * @param file  the file
+   * @param headerRow  whether the file has a header row, an empty file must still contain the header
+   * @return the CSV file
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the header row cannot be parsed
+   */
+  public static MappedCsvFile of(Path file, boolean headerRow) {
+    return of(file, headerRow, ',');
+  }
+
+  /**
+   * Opens the specified file as a CSV file where the separator is specified and might not be a comma.
+   * <p>
+   * This overload allows the separator to be controlled.
+   * For example, a tab-separated file is very similar to a CSV file, the only difference is the separator.
+   *
+   * @param file  the file
+   * @param headerRow  whether the file has a header row, an empty file must still contain the header
+   * @param separator  the separator used to separate each field, typically a comma, but a tab is sometimes used
+   * @return the CSV file
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the header row cannot be parsed
+   */
+  public static MappedCsvFile of(Path file, boolean headerRow, char separator) {
+    return of(file, headerRow, separator, DEFAULT_WINDOW_SIZE);
+  }
+
+  // opens the file, specifying the size of the mapped window
+  static MappedCsvFile of(Path file, boolean headerRow, char separator, int windowSize) {
+    ArgChecker.notNull(file, "file");
+    ArgChecker.isTrue(separator < 128, "Separator must be an ASCII character");
+    ArgChecker.notNegativeOrZero(windowSize, "windowSize");
+    FileChannel channel = Unchecked.wrap(() -> FileChannel.open(file, StandardOpenOption.READ));
+    try {
+      long size = channel.size();
+      MappedCsvFile csv = new MappedCsvFile(
+          channel, size, separator, windowSize, ImmutableList.of(), ImmutableMap.of(), 0);
+      if (!headerRow) {
+        return csv;
+      }
+      MappedCsvCursor cursor = csv.cursor();
+      if (!cursor.next()) {
+        throw new IllegalArgumentException("Could not read header row from empty CSV file");
+      }
+      ImmutableList<String> headers = cursor.fieldStrings();
+      return new MappedCsvFile(
+          channel, size, separator, windowSize, headers, CsvFile.buildSearchHeaders(headers), cursor.position());
+
+    } catch (RuntimeException ex) {
+      try {
+        channel.close();
+      } catch (IOException ex2) {
+        ex.addSuppressed(ex2);
+      }
+      throw ex;
+
+    } catch (IOException ex) {
+      try {
+        channel.close();
+      } catch (IOException ex2) {
+        ex.addSuppressed(ex2);
+      }
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  //------------------------------------------------------------------------
+  /**
+   * Restricted constructor.
+   *
+   * @param channel  the channel
+   * @param size  the size of the file
+   * @param separator  the separator
+   * @param windowSize  the size of the mapped window
+   * @param headers  the header row
+   * @param searchHeaders  the search headers
+   * @param dataStart  the position of the first data row
+   */
+  private MappedCsvFile(
+      FileChannel channel,
+      long size,
+      char separator,
+      int windowSize,
+      ImmutableList<String> headers,
+      ImmutableMap<String, Integer> searchHeaders,
+      long dataStart) {
+
+    this.channel = channel;
+    this.size = size;
+    this.separator = separator;
+    this.windowSize = windowSize;
+    this.headers = headers;
+    this.searchHeaders = searchHeaders;
+    this.dataStart = dataStart;
+  }
+
+  //------------------------------------------------------------------------
+  /**
+   * Gets the header row.
+   * <p>
+   * If there is no header row, an empty list is returned.
+   *
+   * @return the header row
+   */
+  public ImmutableList<String> headers() {
+    return headers;
+  }
+
+  /**
+   * Finds the index of the first column with the specified header.
+   * <p>
+   * Matching is case insensitive.
+   *
+   * @param header  the column header
+   * @return the column index, empty if not found
+   */
+  public OptionalInt findHeaderIndex(String header) {
+    Integer index = searchHeaders.get(header.toLowerCase(Locale.ENGLISH));
+    return index != null ? OptionalInt.of(index) : OptionalInt.empty();
+  }
+
+  /**
+   * Gets the index of the first column with the specified header.
+   * <p>
+   * Matching is case insensitive.
+   * Looking up the index once allows the fields of each row to be accessed by index.
+   *
+   * @param header  the column header
+   * @return the column index
+   * @throws IllegalArgumentException if the header is not found
+   */
+  public int headerIndex(String header) {
+    OptionalInt index = findHeaderIndex(header);
+    if (!index.isPresent()) {
+      throw new IllegalArgumentException("Header not found: " + header);
+    }
+    return index.getAsInt();
+  }
+
+  /**
+   * Gets the size of the file in bytes.
+   *
+   * @return the size of the file
+   */
+  public long size() {
+    return size;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates a cursor over all the data rows in the file.
+   *
+   * @return the cursor
+   */
+  public MappedCsvCursor cursor() {
+    return new MappedCsvCursor(this, dataStart, size);
+  }
+
+  /**
+   * Splits the data rows of the file into chunks, returning a cursor for each chunk.
+   * <p>
+   * The chunks are of approximately equal size in bytes, and each starts at the start of a line.
+   * Together, the cursors cover all the data rows, in order, with each row read by exactly one cursor.
+   * Some cursors may have no rows if the file is small.
+   * The cursors are independent and may be used in parallel, one thread per cursor.
+   *
+   * @param chunkCount  the number of chunks
+   * @return the cursors, one for each chunk
+   * @throws UncheckedIOException if an IO exception occurs
+   */
+  public ImmutableList<MappedCsvCursor> split(int chunkCount) {
+    ArgChecker.notNegativeOrZero(chunkCount, "chunkCount");
+    ImmutableList.Builder<MappedCsvCursor> builder = ImmutableList.builder();
+    long dataSize = size - dataStart;
+    long start = dataStart;
+    for (int i = 1; i <= chunkCount; i++) {
+      long end = i == chunkCount ? size : Math.max(start, nextLineStart(dataStart + dataSize * i / chunkCount));
+      builder.add(new MappedCsvCursor(this, start, end));
+      start = end;
+    }
+    return builder.build();
+  }
+
+  // finds the start of the first line at or after the position
+  private long nextLineStart(long position) {
+    if (position <= dataStart || position >= size) {
+      return Math.min(Math.max(position, dataStart), size);
+    }
+    ByteBuffer buf = ByteBuffer.allocate(8192);
+    long bufStart = position - 1;
+    boolean afterCr = false;
+    while (bufStart < size) {
+      buf.clear();
+      long readPosition = bufStart;
+      int read = Unchecked.wrap(() -> channel.read(buf, readPosition));
+      if (read <= 0) {
+        break;
+      }
+      for (int i = 0; i < read; i++) {
+        byte b = buf.get(i);
+        if (afterCr) {
+          return b == '\n' ? bufStart + i + 1 : bufStart + i;
+        }
+        if (b == '\n') {
+          return bufStart + i + 1;
+        }
+        afterCr = b == '\r';
+      }
+      bufStart += read;
+    }
+    return size;
+  }
+
+  //-------------------------------------------------------------------------
+  // maps a window of the file
+  MappedByteBuffer map(long position, long end) {
+    long length = Math.min(windowSize, end - position);
+    return Unchecked.wrap(() -> channel.map(MapMode.READ_ONLY, position, length));
+  }
+
+  // the size of the mapped window
+  int windowSize() {
+    return windowSize;
+  }
+
+  // the separator
+  char separator() {
+    return separator;
+  }
+
+  // the search headers
+  ImmutableMap<String, Integer> searchHeaders() {
+    return searchHeaders;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Closes the file.
+   * <p>
+   * Cursors must not be used after the file is closed.
+   *
+   * @throws UncheckedIOException if an IO exception occurs
+   */
+  @Override
+  public void close() {
+    Unchecked.wrap(() -> channel.close());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a string describing the CSV file.
+   *
+   * @return the descriptive string
+   */
+  @Override
+  public String toString() {
+    return "MappedCsvFile" + headers.toString();
+  }
+
+}
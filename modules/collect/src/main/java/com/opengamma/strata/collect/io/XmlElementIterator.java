@@ -0,0 +1,218 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.google.common.io.ByteSource;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Unchecked;
+
+/**
+ * An iterator over the elements of an XML file that have a specific name at a specific depth.
+ * <p>
+ * This uses a StAX parser to read through an XML file, returning each matching element as an {@link XmlFile}.
+ * Only the current element is held in memory, allowing very large files to be processed.
+ * The elements between the matching elements are not retained.
+ * <p>
+ * The depth of the root element is zero, the depth of its children is one, and so on.
+ * <p>
+ * The references of each returned file contain only the elements within the matching element.
+ * See {@link XmlFile#ofSkipping(ByteSource, String, String)} for a way to parse the rest of the file.
+ * <p>
+ * The iterator must be closed once it is no longer needed, although it is closed automatically
+ * if all the elements are read.
+ */
+public final class XmlElementIterator implements Iterator<XmlFile>, AutoCloseable {
+
+  /**
+   * The input stream.
+   */
+  private final InputStream in;
+  /**
+   * The StAX reader.
+   */
+  private final XMLStreamReader reader;
+  /**
+   * The attribute name that should be parsed as a reference, null if not applicable.
+   */
+  private final String refAttrName;
+  /**
+   * The depth of the elements to return.
+   */
+  private final int depth;
+  /**
+   * The name of the elements to return.
+   */
+  private final String elementName;
+  /**
+   * The current depth of the reader.
+   */
+  private int currentDepth;
+  /**
+   * The next element, null if not yet read.
+   */
+  private XmlFile next;
+  /**
+   * Whether the end of the file has been reached.
+   */
+  private boolean finished;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an iterator over the elements with the specified name at the specified depth.
+   * <p>
+   * This parses the specified byte source expecting an XML file format.
+   * The depth of the root element is zero.
+   *
+   * @param source  the XML source data
+   * @param refAttrName  the attribute name that should be parsed as a reference, null if not applicable
+   * @param depth  the depth of the elements to return, zero or greater
+   * @param elementName  the name of the elements to return
+   * @return the iterator
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public static XmlElementIterator of(ByteSource source, String refAttrName, int depth, String elementName) {
+    ArgChecker.notNull(source, "source");
+    ArgChecker.notNegative(depth, "depth");
+    ArgChecker.notEmpty(elementName, "elementName");
+    InputStream in = Unchecked.wrap(() -> source.openBufferedStream());
+    try {
+      XMLStreamReader reader = XmlFile.xmlInputFactory().createXMLStreamReader(in);
+      return new XmlElementIterator(in, reader, refAttrName, depth, elementName);
+    } catch (XMLStreamException | RuntimeException ex) {
+      closeQuietly(in);
+      throw ex instanceof RuntimeException ? (RuntimeException) ex : new IllegalArgumentException(ex);
+    }
+  }
+
+  /**
+   * Restricted constructor.
+   */
+  private XmlElementIterator(
+      InputStream in,
+      XMLStreamReader reader,
+      String refAttrName,
+      int depth,
+      String elementName) {
+
+    this.in = in;
+    this.reader = reader;
+    this.refAttrName = refAttrName;
+    this.depth = depth;
+    this.elementName = elementName;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if there is another matching element.
+   *
+   * @return true if there is another matching element
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  @Override
+  public boolean hasNext() {
+    if (next == null && !finished) {
+      next = seek();
+    }
+    return next != null;
+  }
+
+  /**
+   * Returns the next matching element.
+   * <p>
+   * The returned file has the matching element as its root.
+   *
+   * @return the next matching element
+   * @throws NoSuchElementException if there are no more elements
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  @Override
+  public XmlFile next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException("No more elements in XML file");
+    }
+    XmlFile result = next;
+    next = null;
+    return result;
+  }
+
+  // reads forward to the next matching element, closing the file if there are none
+  private XmlFile seek() {
+    try {
+      while (reader.hasNext()) {
+        int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          if (currentDepth == depth && reader.getLocalName().equals(elementName)) {
+            HashMap<String, XmlElement> refs = new HashMap<>();
+            XmlElement element = XmlFile.parse(reader, refAttrName, refs, null);
+            return new XmlFile(element, refs);
+          }
+          currentDepth++;
+        } else if (event == XMLStreamConstants.END_ELEMENT) {
+          currentDepth--;
+        }
+      }
+      close();
+      return null;
+    } catch (XMLStreamException ex) {
+      close();
+      throw new IllegalArgumentException(ex);
+    } catch (RuntimeException ex) {
+      close();
+      throw ex;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Closes the underlying file.
+   * <p>
+   * Once closed, no further elements will be returned.
+   *
+   * @throws UncheckedIOException if an IO exception occurs
+   */
+  @Override
+  public void close() {
+    if (!finished) {
+      finished = true;
+      next = null;
+      try {
+        reader.close();
+      } catch (XMLStreamException ex) {
+        closeQuietly(in);
+        throw new IllegalArgumentException(ex);
+      }
+      try {
+        in.close();
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    }
+  }
+
+  // closes the stream, ignoring any errors
+  private static void closeQuietly(InputStream in) {
+    try {
+      in.close();
+    } catch (IOException ex) {
+      // ignore
+    }
+  }
+
+}
@@ -86,13 +86,35 @@ public final class XmlFile {
    * @throws IllegalArgumentException if the file cannot be parsed
    */
   public static XmlFile of(ByteSource source, String refAttrName) {
+    return ofSkipping(source, refAttrName, null);
+  }
+
+  /**
+   * Parses the specified source as an XML file to an in-memory DOM-like structure,
+   * skipping the content of elements with the specified name.
+   * <p>
+   * This parses the specified byte source expecting an XML file format.
+   * Each element with the specified name is included in the structure with its attributes,
+   * but without any content or children. Reference attributes within a skipped element are not captured.
+   * <p>
+   * This allows the overall structure of a large file to be parsed without holding the bulk of the data
+   * in memory. The skipped elements can then be read one at a time using {@link XmlElementIterator}.
+   * 
+   * @param source  the XML source data
+   * @param refAttrName  the attribute name that should be parsed as a reference
+   * @param skippedElementName  the name of the elements to skip, null to skip none
+   * @return the parsed file
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public static XmlFile ofSkipping(ByteSource source, String refAttrName, String skippedElementName) {
     ArgChecker.notNull(source, "source");
     return Unchecked.wrap(() -> {
       try (InputStream in = source.openBufferedStream()) {
         XMLStreamReader xmlReader = xmlInputFactory().createXMLStreamReader(in);
         try {
           HashMap<String, XmlElement> refs = new HashMap<>();
-          XmlElement root = parse(xmlReader, refAttrName, refs);
+          XmlElement root = parse(xmlReader, refAttrName, refs, skippedElementName);
           return new XmlFile(root, refs);
         } finally {
           xmlReader.close();
@@ -114,14 +136,24 @@ public final class XmlFile {
    * @param reader  the StAX stream reader, positioned at or before the element to be parsed
    * @param refAttr  the attribute name that should be parsed as a reference, null if not applicable
    * @param refs  the mutable map of references to update, null if not applicable
+   * @param skippedElementName  the name of the elements whose content is skipped, null if not applicable
    * @return the parsed element
    * @throws IllegalArgumentException if the input cannot be parsed
    */
-  private static XmlElement parse(XMLStreamReader reader, String refAttr, Map<String, XmlElement> refs) {
+  static XmlElement parse(
+      XMLStreamReader reader,
+      String refAttr,
+      Map<String, XmlElement> refs,
+      String skippedElementName) {
+
     try {
       // parse start element
       String elementName = parseElementName(reader);
       ImmutableMap<String, String> attrs = parseAttributes(reader);
+      if (elementName.equals(skippedElementName)) {
+        skipElement(reader);
+        return XmlElement.ofContent(elementName, attrs, "");
+      }
 
       // parse children or content
       ImmutableList.Builder<XmlElement> childBuilder = ImmutableList.builder();
@@ -131,7 +163,7 @@ public final class XmlFile {
         switch (event) {
         // parse child when start element found
           case XMLStreamConstants.START_ELEMENT:
-            childBuilder.add(parse(reader, refAttr, refs));
+            childBuilder.add(parse(reader, refAttr, refs, skippedElementName));
             break;
           // append content when characters found
           // since XMLStreamReader has IS_COALESCING=true means there should only be one content call
@@ -159,6 +191,20 @@ public final class XmlFile {
     }
   }
 
+  // skips the content of the current element, leaving the reader at the end element
+  private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+    int depth = 0;
+    int event = reader.next();
+    while (event != XMLStreamConstants.END_ELEMENT || depth > 0) {
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        depth++;
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        depth--;
+      }
+      event = reader.next();
+    }
+  }
+
   // find the start element and parses the name
   private static String parseElementName(XMLStreamReader reader) throws XMLStreamException {
     int event = reader.getEventType();
@@ -187,7 +233,7 @@ public final class XmlFile {
   //-------------------------------------------------------------------------
   // creates the XML input factory, recreated each time to avoid JDK-8028111
   // this also provides some protection against hackers attacking XML
-  private static XMLInputFactory xmlInputFactory() {
+  static XMLInputFactory xmlInputFactory() {
     XMLInputFactory factory = XMLInputFactory.newFactory();
     factory.setProperty(XMLInputFactory.IS_COALESCING, true);
     factory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, true);
@@ -200,7 +246,7 @@ public final class XmlFile {
   /**
    * Restricted constructor.
    */
-  private XmlFile(XmlElement root, Map<String, XmlElement> refs) {
+  XmlFile(XmlElement root, Map<String, XmlElement> refs) {
     this.root = ArgChecker.notNull(root, "root");
     this.refs = ImmutableMap.copyOf(refs);
   }
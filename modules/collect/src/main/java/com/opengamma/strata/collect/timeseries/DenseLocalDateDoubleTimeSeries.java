@@ -453,6 +453,26 @@ class DenseLocalDateDoubleTimeSeries
     return new LocalDateDoubleTimeSeriesBuilder(stream());
   }
 
+  //-------------------------------------------------------------------------
+  // creates an instance without cloning the points, used by TimeSeriesBinaryFormat
+  static DenseLocalDateDoubleTimeSeries ofPoints(
+      LocalDate startDate,
+      double[] points,
+      DenseTimeSeriesCalculation dateCalculation) {
+
+    return new DenseLocalDateDoubleTimeSeries(startDate, points, dateCalculation, true);
+  }
+
+  // the points, with NaN where there is no value, without cloning, used by TimeSeriesBinaryFormat
+  double[] pointArray() {
+    return points;
+  }
+
+  // the date calculation, used by TimeSeriesBinaryFormat
+  DenseTimeSeriesCalculation dateCalculation() {
+    return dateCalculation;
+  }
+
   //--------------------------------------------------------------------------------------------------
 
   /**
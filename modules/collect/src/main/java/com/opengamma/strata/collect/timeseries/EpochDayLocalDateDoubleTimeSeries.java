@@ -0,0 +1,619 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.ImmutableConstructor;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectFieldsBeanBuilder;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.IntArray;
+import com.opengamma.strata.collect.function.ObjDoublePredicate;
+
+/**
+ * An immutable implementation of {@code LocalDateDoubleTimeSeries} where the
+ * dates are stored as primitive epoch-days.
+ * <p>
+ * This implementation stores the dates as an {@link IntArray} of epoch-days, see {@link LocalDate#toEpochDay()},
+ * and the values as a {@link DoubleArray}. No object is held for each point, thus
+ * the time-series is suitable for long histories where memory use is important.
+ * Lookups use a binary search on the epoch-days.
+ * <p>
+ * As the arrays are immutable, the same array of dates can be shared between time-series.
+ * Operations that do not change the dates, such as {@link #mapValues(DoubleUnaryOperator)},
+ * share the dates with the original time-series.
+ */
+@BeanDefinition(builderScope = "private")
+final class EpochDayLocalDateDoubleTimeSeries
+    implements ImmutableBean, Serializable, LocalDateDoubleTimeSeries {
+
+  /**
+   * The dates in the series, as epoch-days.
+   * The dates are ordered from earliest to latest.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final IntArray dates;
+  /**
+   * The values in the series.
+   * The date for each value is at the matching array index.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleArray values;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a time-series from matching arrays of epoch-days and values.
+   * <p>
+   * The two arrays must be the same size and the dates must be sorted from earliest to latest.
+   *
+   * @param dates  the dates, as epoch-days
+   * @param values  the values
+   * @return the time-series
+   */
+  static EpochDayLocalDateDoubleTimeSeries of(IntArray dates, DoubleArray values) {
+    return new EpochDayLocalDateDoubleTimeSeries(dates, values);
+  }
+
+  // creates time-series by directly assigning the input arrays
+  // must only be called when safe to do so
+  private static EpochDayLocalDateDoubleTimeSeries createUnsafe(int[] dates, double[] values) {
+    return new EpochDayLocalDateDoubleTimeSeries(IntArray.ofUnsafe(dates), DoubleArray.ofUnsafe(values), true);
+  }
+
+  // creates time-series by directly assigning the input arrays
+  // must only be called when safe to do so
+  private static EpochDayLocalDateDoubleTimeSeries createUnsafe(IntArray dates, DoubleArray values) {
+    return new EpochDayLocalDateDoubleTimeSeries(dates, values, true);
+  }
+
+  // validates the arrays are same length and in order
+  private static void validate(IntArray dates, DoubleArray values) {
+    ArgChecker.isTrue(dates.size() == values.size(),
+        "Arrays are of different sizes - dates: {}, values: {}", dates.size(), values.size());
+    for (int i = 1; i < dates.size(); i++) {
+      if (dates.get(i) <= dates.get(i - 1)) {
+        throw new IllegalArgumentException(Messages.format(
+            "Dates must be in ascending order but: {} is not after: {}",
+            LocalDate.ofEpochDay(dates.get(i)),
+            LocalDate.ofEpochDay(dates.get(i - 1))));
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance, validating the supplied arrays.
+   *
+   * @param dates  the dates
+   * @param values  the values
+   */
+  @ImmutableConstructor
+  private EpochDayLocalDateDoubleTimeSeries(IntArray dates, DoubleArray values) {
+    JodaBeanUtils.notNull(dates, "dates");
+    JodaBeanUtils.notNull(values, "values");
+    validate(dates, values);
+    this.dates = dates;
+    this.values = values;
+  }
+
+  /**
+   * Creates an instance without validating the supplied arrays.
+   *
+   * @param dates  the dates
+   * @param values  the values
+   * @param trusted  flag to distinguish constructor
+   */
+  private EpochDayLocalDateDoubleTimeSeries(IntArray dates, DoubleArray values, boolean trusted) {
+    // constructor exists to avoid validation where possible
+    // because Joda-Beans owns the main constructor, this one has a weird flag
+    // use createUnsafe() instead of calling this directly
+    this.dates = dates;
+    this.values = values;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int size() {
+    return dates.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return dates.isEmpty();
+  }
+
+  @Override
+  public boolean containsDate(LocalDate date) {
+    return (findDatePosition(date.toEpochDay()) >= 0);
+  }
+
+  @Override
+  public OptionalDouble get(LocalDate date) {
+    int position = findDatePosition(date.toEpochDay());
+    return (position >= 0 ? OptionalDouble.of(values.get(position)) : OptionalDouble.empty());
+  }
+
+  // binary search for the epoch-day, returning the insertion point as per Arrays.binarySearch()
+  private int findDatePosition(long epochDay) {
+    if (epochDay > Integer.MAX_VALUE) {
+      return -size() - 1;
+    }
+    if (epochDay < Integer.MIN_VALUE) {
+      return -1;
+    }
+    return Arrays.binarySearch(dates.toArrayUnsafe(), (int) epochDay);
+  }
+
+  // the position of the first date on or after the specified date
+  private int findInsertionPosition(LocalDate date) {
+    int position = findDatePosition(date.toEpochDay());
+    return position >= 0 ? position : -position - 1;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDate getLatestDate() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return latest, time-series is empty");
+    }
+    return LocalDate.ofEpochDay(dates.get(size() - 1));
+  }
+
+  @Override
+  public double getLatestValue() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return latest, time-series is empty");
+    }
+    return values.get(size() - 1);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDateDoubleTimeSeries subSeries(LocalDate startInclusive, LocalDate endExclusive) {
+    ArgChecker.notNull(startInclusive, "startInclusive");
+    ArgChecker.notNull(endExclusive, "endExclusive");
+    if (endExclusive.isBefore(startInclusive)) {
+      throw new IllegalArgumentException(
+          "Invalid sub series, end before start: " + startInclusive + " to " + endExclusive);
+    }
+    // special case when this is empty or when the dates are the same
+    if (isEmpty() || startInclusive.equals(endExclusive)) {
+      return SparseLocalDateDoubleTimeSeries.EMPTY;
+    }
+    return createSubSeries(findInsertionPosition(startInclusive), findInsertionPosition(endExclusive));
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries headSeries(int numPoints) {
+    ArgChecker.notNegative(numPoints, "numPoints");
+    if (numPoints == 0) {
+      return SparseLocalDateDoubleTimeSeries.EMPTY;
+    } else if (numPoints >= size()) {
+      return this;
+    }
+    return createSubSeries(0, numPoints);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries tailSeries(int numPoints) {
+    ArgChecker.notNegative(numPoints, "numPoints");
+    if (numPoints == 0) {
+      return SparseLocalDateDoubleTimeSeries.EMPTY;
+    } else if (numPoints >= size()) {
+      return this;
+    }
+    return createSubSeries(size() - numPoints, size());
+  }
+
+  // creates a sub-series from the positions
+  private LocalDateDoubleTimeSeries createSubSeries(int startPos, int endPos) {
+    if (startPos >= endPos) {
+      return SparseLocalDateDoubleTimeSeries.EMPTY;
+    }
+    if (startPos == 0 && endPos == size()) {
+      return this;
+    }
+    return createUnsafe(dates.subArray(startPos, endPos), values.subArray(startPos, endPos));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Stream<LocalDateDoublePoint> stream() {
+    return IntStream.range(0, size())
+        .mapToObj(i -> LocalDateDoublePoint.of(LocalDate.ofEpochDay(dates.get(i)), values.get(i)));
+  }
+
+  @Override
+  public Stream<LocalDate> dates() {
+    return dates.stream().mapToObj(LocalDate::ofEpochDay);
+  }
+
+  @Override
+  public DoubleStream values() {
+    return values.stream();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void forEach(ObjDoubleConsumer<LocalDate> action) {
+    ArgChecker.notNull(action, "action");
+    for (int i = 0; i < size(); i++) {
+      action.accept(LocalDate.ofEpochDay(dates.get(i)), values.get(i));
+    }
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries mapDates(Function<? super LocalDate, ? extends LocalDate> mapper) {
+    ArgChecker.notNull(mapper, "mapper");
+    int[] resDates = new int[size()];
+    for (int i = 0; i < size(); i++) {
+      resDates[i] = Math.toIntExact(mapper.apply(LocalDate.ofEpochDay(dates.get(i))).toEpochDay());
+      // check the dates are still in ascending order after the mapping
+      if (i > 0 && resDates[i] <= resDates[i - 1]) {
+        throw new IllegalArgumentException(
+            Messages.format(
+                "Dates must be in ascending order after calling mapDates but {} and {} are not",
+                LocalDate.ofEpochDay(resDates[i - 1]),
+                LocalDate.ofEpochDay(resDates[i])));
+      }
+    }
+    return createUnsafe(IntArray.ofUnsafe(resDates), values);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries mapValues(DoubleUnaryOperator mapper) {
+    ArgChecker.notNull(mapper, "mapper");
+    return createUnsafe(dates, values.map(mapper));
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries filter(ObjDoublePredicate<LocalDate> predicate) {
+    ArgChecker.notNull(predicate, "predicate");
+    // build up result in arrays keeping track of count of retained dates
+    int[] resDates = new int[size()];
+    double[] resValues = new double[size()];
+    int resCount = 0;
+    for (int i = 0; i < size(); i++) {
+      int date = dates.get(i);
+      double value = values.get(i);
+      if (predicate.test(LocalDate.ofEpochDay(date), value)) {
+        resDates[resCount] = date;
+        resValues[resCount] = value;
+        resCount++;
+      }
+    }
+    if (resCount == size()) {
+      return this;
+    }
+    if (resCount == 0) {
+      return SparseLocalDateDoubleTimeSeries.EMPTY;
+    }
+    return createUnsafe(Arrays.copyOf(resDates, resCount), Arrays.copyOf(resValues, resCount));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDateDoubleTimeSeriesBuilder toBuilder() {
+    return new LocalDateDoubleTimeSeriesBuilder(
+        dates.stream().mapToObj(LocalDate::ofEpochDay).toArray(LocalDate[]::new),
+        values.toArray());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if this time-series is equal to another time-series.
+   * <p>
+   * Compares this {@code LocalDateDoubleTimeSeries} with another ensuring
+   * that the dates and values are the same.
+   *
+   * @param obj  the object to check, null returns false
+   * @return true if this is equal to the other date
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj instanceof EpochDayLocalDateDoubleTimeSeries) {
+      EpochDayLocalDateDoubleTimeSeries other = (EpochDayLocalDateDoubleTimeSeries) obj;
+      return dates.equals(other.dates) && values.equals(other.values);
+    }
+    return false;
+  }
+
+  /**
+   * A hash code for this time-series.
+   *
+   * @return a suitable hash code
+   */
+  @Override
+  public int hashCode() {
+    return 31 * dates.hashCode() + values.hashCode();
+  }
+
+  /**
+   * Returns a string representation of the time-series.
+   *
+   * @return the string
+   */
+  @Override
+  public String toString() {
+    return stream()
+        .map(LocalDateDoublePoint::toString)
+        .collect(Collectors.joining(", ", "[", "]"));
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code EpochDayLocalDateDoubleTimeSeries}.
+   * @return the meta-bean, not null
+   */
+  public static EpochDayLocalDateDoubleTimeSeries.Meta meta() {
+    return EpochDayLocalDateDoubleTimeSeries.Meta.INSTANCE;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(EpochDayLocalDateDoubleTimeSeries.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  @Override
+  public EpochDayLocalDateDoubleTimeSeries.Meta metaBean() {
+    return EpochDayLocalDateDoubleTimeSeries.Meta.INSTANCE;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the dates in the series, as epoch-days.
+   * The dates are ordered from earliest to latest.
+   * @return the value of the property, not null
+   */
+  public IntArray getDates() {
+    return dates;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the values in the series.
+   * The date for each value is at the matching array index.
+   * @return the value of the property, not null
+   */
+  public DoubleArray getValues() {
+    return values;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code EpochDayLocalDateDoubleTimeSeries}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code dates} property.
+     */
+    private final MetaProperty<IntArray> dates = DirectMetaProperty.ofImmutable(
+        this, "dates", EpochDayLocalDateDoubleTimeSeries.class, IntArray.class);
+    /**
+     * The meta-property for the {@code values} property.
+     */
+    private final MetaProperty<DoubleArray> values = DirectMetaProperty.ofImmutable(
+        this, "values", EpochDayLocalDateDoubleTimeSeries.class, DoubleArray.class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "dates",
+        "values");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 95356549:  // dates
+          return dates;
+        case -823812830:  // values
+          return values;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends EpochDayLocalDateDoubleTimeSeries> builder() {
+      return new EpochDayLocalDateDoubleTimeSeries.Builder();
+    }
+
+    @Override
+    public Class<? extends EpochDayLocalDateDoubleTimeSeries> beanType() {
+      return EpochDayLocalDateDoubleTimeSeries.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code dates} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<IntArray> dates() {
+      return dates;
+    }
+
+    /**
+     * The meta-property for the {@code values} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<DoubleArray> values() {
+      return values;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case 95356549:  // dates
+          return ((EpochDayLocalDateDoubleTimeSeries) bean).getDates();
+        case -823812830:  // values
+          return ((EpochDayLocalDateDoubleTimeSeries) bean).getValues();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code EpochDayLocalDateDoubleTimeSeries}.
+   */
+  private static final class Builder extends DirectFieldsBeanBuilder<EpochDayLocalDateDoubleTimeSeries> {
+
+    private IntArray dates;
+    private DoubleArray values;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 95356549:  // dates
+          return dates;
+        case -823812830:  // values
+          return values;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case 95356549:  // dates
+          this.dates = (IntArray) newValue;
+          break;
+        case -823812830:  // values
+          this.values = (DoubleArray) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public Builder set(MetaProperty<?> property, Object value) {
+      super.set(property, value);
+      return this;
+    }
+
+    @Override
+    public Builder setString(String propertyName, String value) {
+      setString(meta().metaProperty(propertyName), value);
+      return this;
+    }
+
+    @Override
+    public Builder setString(MetaProperty<?> property, String value) {
+      super.setString(property, value);
+      return this;
+    }
+
+    @Override
+    public Builder setAll(Map<String, ? extends Object> propertyValueMap) {
+      super.setAll(propertyValueMap);
+      return this;
+    }
+
+    @Override
+    public EpochDayLocalDateDoubleTimeSeries build() {
+      return new EpochDayLocalDateDoubleTimeSeries(
+          dates,
+          values);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(96);
+      buf.append("EpochDayLocalDateDoubleTimeSeries.Builder{");
+      buf.append("dates").append('=').append(JodaBeanUtils.toString(dates)).append(',').append(' ');
+      buf.append("values").append('=').append(JodaBeanUtils.toString(values));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -21,6 +21,8 @@ import java.util.stream.DoubleStream;
 import java.util.stream.Stream;
 
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.IntArray;
 import com.opengamma.strata.collect.function.ObjDoublePredicate;
 import com.opengamma.strata.collect.tuple.Pair;
 
@@ -64,6 +66,29 @@ public interface LocalDateDoubleTimeSeries {
     return builder().put(date, value).build();
   }
 
+  /**
+   * Obtains a time-series from matching arrays of dates, expressed as epoch-days, and values.
+   * <p>
+   * The returned time-series stores the dates as primitive epoch-days, see {@link LocalDate#toEpochDay()}.
+   * This avoids holding an object for each date, which is beneficial for very long histories.
+   * As the arrays are immutable, the same array of dates may be shared between many time-series.
+   * <p>
+   * The two arrays must be the same size and the dates must be sorted from earliest to latest.
+   *
+   * @param epochDays  the dates, as epoch-days
+   * @param values  the values
+   * @return the time-series
+   * @throws IllegalArgumentException if the arrays are of different sizes or the dates are not in order
+   */
+  public static LocalDateDoubleTimeSeries ofEpochDays(IntArray epochDays, DoubleArray values) {
+    ArgChecker.notNull(epochDays, "epochDays");
+    ArgChecker.notNull(values, "values");
+    if (epochDays.isEmpty() && values.isEmpty()) {
+      return empty();
+    }
+    return EpochDayLocalDateDoubleTimeSeries.of(epochDays, values);
+  }
+
   /**
    * Creates an empty builder, used to create time-series.
    * <p>
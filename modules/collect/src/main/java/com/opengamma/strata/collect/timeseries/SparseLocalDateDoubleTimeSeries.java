@@ -93,6 +93,21 @@ final class SparseLocalDateDoubleTimeSeries
     return createUnsafe(datesArray, valuesArray);
   }
 
+  /**
+   * Obtains a time-series from matching arrays of dates and values, without cloning the arrays.
+   * <p>
+   * The two arrays must be the same size and must be sorted from earliest to latest.
+   * This is used by {@link TimeSeriesBinaryFormat}, which creates the arrays.
+   *
+   * @param dates  the date array
+   * @param values  the value array
+   * @return the time-series
+   */
+  static SparseLocalDateDoubleTimeSeries ofArrays(LocalDate[] dates, double[] values) {
+    validate(dates, values);
+    return createUnsafe(dates, values);
+  }
+
   // creates time-series by directly assigning the input arrays
   // must only be called when safe to do so
   private static SparseLocalDateDoubleTimeSeries createUnsafe(LocalDate[] dates, double[] values) {
@@ -163,6 +178,16 @@ final class SparseLocalDateDoubleTimeSeries
     return values.clone();
   }
 
+  // the dates, without cloning, used by TimeSeriesBinaryFormat
+  LocalDate[] dateArray() {
+    return dates;
+  }
+
+  // the values, without cloning, used by TimeSeriesBinaryFormat
+  double[] valueArray() {
+    return values;
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public int size() {
@@ -0,0 +1,206 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.IntArray;
+import com.opengamma.strata.collect.timeseries.DenseLocalDateDoubleTimeSeries.DenseTimeSeriesCalculation;
+
+/**
+ * A compact binary format for {@link LocalDateDoubleTimeSeries}.
+ * <p>
+ * The time-series is written using a primitive columnar layout.
+ * A sparse time-series is written as a block of dates, each as an {@code int} epoch-day,
+ * followed by a block of {@code double} values.
+ * A time-series of epoch-days is written in the same way.
+ * A dense time-series is written as the epoch-day of the start date, followed by the block
+ * of {@code double} values, with NaN where there is no value.
+ * Values are written using their exact bit pattern, thus the time-series round-trips exactly,
+ * including the choice of internal representation.
+ * <p>
+ * The format is designed to be read from a {@link ByteBuffer}, such as a memory-mapped file.
+ * The byte order of the buffer is used for reading and writing.
+ * <p>
+ * This format does not include a version, and is intended to be embedded in a versioned file.
+ */
+public final class TimeSeriesBinaryFormat {
+
+  /**
+   * Type indicating a sparse time-series.
+   */
+  private static final byte SPARSE = 0;
+  /**
+   * Type indicating a dense time-series that includes weekends.
+   */
+  private static final byte DENSE_INCLUDE_WEEKENDS = 1;
+  /**
+   * Type indicating a dense time-series that skips weekends.
+   */
+  private static final byte DENSE_SKIP_WEEKENDS = 2;
+  /**
+   * Type indicating a time-series of epoch-days.
+   */
+  private static final byte EPOCH_DAYS = 3;
+
+  /**
+   * Restricted constructor.
+   */
+  private TimeSeriesBinaryFormat() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the number of bytes needed to write the time-series.
+   *
+   * @param series  the time-series
+   * @return the number of bytes
+   */
+  public static int sizeInBytes(LocalDateDoubleTimeSeries series) {
+    ArgChecker.notNull(series, "series");
+    if (series instanceof DenseLocalDateDoubleTimeSeries) {
+      DenseLocalDateDoubleTimeSeries dense = (DenseLocalDateDoubleTimeSeries) series;
+      return 1 + 4 + 4 + dense.pointArray().length * 8;
+    }
+    return 1 + 4 + series.size() * (4 + 8);
+  }
+
+  /**
+   * Writes the time-series to the buffer.
+   * <p>
+   * The buffer position is advanced by the number of bytes written.
+   *
+   * @param series  the time-series
+   * @param buffer  the buffer to write to
+   * @throws java.nio.BufferOverflowException if the buffer does not have enough space
+   */
+  public static void write(LocalDateDoubleTimeSeries series, ByteBuffer buffer) {
+    ArgChecker.notNull(series, "series");
+    ArgChecker.notNull(buffer, "buffer");
+    if (series instanceof DenseLocalDateDoubleTimeSeries) {
+      DenseLocalDateDoubleTimeSeries dense = (DenseLocalDateDoubleTimeSeries) series;
+      boolean skipWeekends = dense.dateCalculation() == DenseTimeSeriesCalculation.SKIP_WEEKENDS;
+      double[] points = dense.pointArray();
+      buffer.put(skipWeekends ? DENSE_SKIP_WEEKENDS : DENSE_INCLUDE_WEEKENDS);
+      buffer.putInt(Math.toIntExact(dense.getStartDate().toEpochDay()));
+      buffer.putInt(points.length);
+      putDoubles(buffer, points);
+
+    } else if (series instanceof EpochDayLocalDateDoubleTimeSeries) {
+      EpochDayLocalDateDoubleTimeSeries epochDay = (EpochDayLocalDateDoubleTimeSeries) series;
+      buffer.put(EPOCH_DAYS);
+      buffer.putInt(epochDay.size());
+      putInts(buffer, epochDay.getDates().toArrayUnsafe());
+      putDoubles(buffer, epochDay.getValues().toArrayUnsafe());
+
+    } else {
+      int size = series.size();
+      int[] epochDays = new int[size];
+      double[] values = new double[size];
+      if (series instanceof SparseLocalDateDoubleTimeSeries) {
+        SparseLocalDateDoubleTimeSeries sparse = (SparseLocalDateDoubleTimeSeries) series;
+        LocalDate[] dates = sparse.dateArray();
+        for (int i = 0; i < size; i++) {
+          epochDays[i] = Math.toIntExact(dates[i].toEpochDay());
+        }
+        System.arraycopy(sparse.valueArray(), 0, values, 0, size);
+      } else {
+        int[] index = {0};
+        series.forEach((date, value) -> {
+          epochDays[index[0]] = Math.toIntExact(date.toEpochDay());
+          values[index[0]++] = value;
+        });
+      }
+      buffer.put(SPARSE);
+      buffer.putInt(size);
+      putInts(buffer, epochDays);
+      putDoubles(buffer, values);
+    }
+  }
+
+  /**
+   * Reads a time-series from the buffer.
+   * <p>
+   * The buffer position is advanced by the number of bytes read.
+   *
+   * @param buffer  the buffer to read from
+   * @return the time-series
+   * @throws IllegalArgumentException if the buffer does not contain a valid time-series
+   * @throws java.nio.BufferUnderflowException if the buffer does not contain enough data
+   */
+  public static LocalDateDoubleTimeSeries read(ByteBuffer buffer) {
+    ArgChecker.notNull(buffer, "buffer");
+    byte type = buffer.get();
+    switch (type) {
+      case SPARSE: {
+        int size = buffer.getInt();
+        int[] epochDays = getInts(buffer, size);
+        double[] values = getDoubles(buffer, size);
+        if (size == 0) {
+          return LocalDateDoubleTimeSeries.empty();
+        }
+        LocalDate[] dates = new LocalDate[size];
+        for (int i = 0; i < size; i++) {
+          dates[i] = LocalDate.ofEpochDay(epochDays[i]);
+        }
+        return SparseLocalDateDoubleTimeSeries.ofArrays(dates, values);
+      }
+      case EPOCH_DAYS: {
+        int size = buffer.getInt();
+        int[] epochDays = getInts(buffer, size);
+        double[] values = getDoubles(buffer, size);
+        return LocalDateDoubleTimeSeries.ofEpochDays(IntArray.ofUnsafe(epochDays), DoubleArray.ofUnsafe(values));
+      }
+      case DENSE_INCLUDE_WEEKENDS:
+      case DENSE_SKIP_WEEKENDS: {
+        LocalDate startDate = LocalDate.ofEpochDay(buffer.getInt());
+        int size = buffer.getInt();
+        double[] points = getDoubles(buffer, size);
+        DenseTimeSeriesCalculation dateCalculation = type == DENSE_SKIP_WEEKENDS ?
+            DenseTimeSeriesCalculation.SKIP_WEEKENDS :
+            DenseTimeSeriesCalculation.INCLUDE_WEEKENDS;
+        return DenseLocalDateDoubleTimeSeries.ofPoints(startDate, points, dateCalculation);
+      }
+      default:
+        throw new IllegalArgumentException("Invalid time-series type: " + type);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // writes an array of ints, advancing the position
+  private static void putInts(ByteBuffer buffer, int[] array) {
+    buffer.asIntBuffer().put(array);
+    buffer.position(buffer.position() + array.length * 4);
+  }
+
+  // writes an array of doubles, advancing the position
+  private static void putDoubles(ByteBuffer buffer, double[] array) {
+    buffer.asDoubleBuffer().put(array);
+    buffer.position(buffer.position() + array.length * 8);
+  }
+
+  // reads an array of ints, advancing the position
+  private static int[] getInts(ByteBuffer buffer, int size) {
+    ArgChecker.notNegative(size, "size");
+    int[] array = new int[size];
+    buffer.asIntBuffer().get(array);
+    buffer.position(buffer.position() + size * 4);
+    return array;
+  }
+
+  // reads an array of doubles, advancing the position
+  private static double[] getDoubles(ByteBuffer buffer, int size) {
+    ArgChecker.notNegative(size, "size");
+    double[] array = new double[size];
+    buffer.asDoubleBuffer().get(array);
+    buffer.position(buffer.position() + size * 8);
+    return array;
+  }
+
+}
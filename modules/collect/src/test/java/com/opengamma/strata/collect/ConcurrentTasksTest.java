@@ -0,0 +1,134 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertUtilityClass;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Test {@link ConcurrentTasks}.
+ */
+@Test
+public class ConcurrentTasksTest {
+
+  public void test_evaluate_sequential() {
+    assertThat(ConcurrentTasks.evaluate(0, i -> i * 2, null)).isEmpty();
+    assertThat(ConcurrentTasks.evaluate(3, i -> i * 2, null)).containsExactly(0, 2, 4);
+  }
+
+  public void test_evaluate_executor() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      ImmutableList<Integer> expected = ConcurrentTasks.evaluate(100, i -> i * 2, null);
+      assertThat(ConcurrentTasks.evaluate(100, i -> i * 2, executor)).isEqualTo(expected);
+      assertThat(ConcurrentTasks.evaluate(1, i -> i * 2, executor)).containsExactly(0);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_evaluate_failure() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      assertThrows(
+          () -> ConcurrentTasks.evaluate(
+              10, i -> {
+                if (i >= 5) {
+                  throw new IllegalStateException("Fail " + i);
+                }
+                return i;
+              }, executor),
+          IllegalStateException.class,
+          "Fail 5");
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_evaluate_invalid() {
+    assertThrows(() -> ConcurrentTasks.evaluate(-1, i -> i, null), IllegalArgumentException.class);
+    assertThrows(() -> ConcurrentTasks.evaluate(1, null, null), IllegalArgumentException.class);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_evaluateDoubles_sequential() {
+    assertThat(ConcurrentTasks.evaluateDoubles(0, i -> i * 2d, null)).isEmpty();
+    assertThat(ConcurrentTasks.evaluateDoubles(3, i -> i * 2d, null)).containsExactly(0d, 2d, 4d);
+  }
+
+  public void test_evaluateDoubles_executor() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      double[] expected = ConcurrentTasks.evaluateDoubles(100, i -> i * 2d, null);
+      assertThat(ConcurrentTasks.evaluateDoubles(100, i -> i * 2d, executor)).containsExactly(expected);
+      assertThat(ConcurrentTasks.evaluateDoubles(1, i -> i * 2d, executor)).containsExactly(0d);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_evaluateDoubles_failure() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      assertThrows(
+          () -> ConcurrentTasks.evaluateDoubles(
+              10, i -> {
+                if (i >= 5) {
+                  throw new IllegalStateException("Fail " + i);
+                }
+                return i;
+              }, executor),
+          IllegalStateException.class,
+          "Fail 5");
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_evaluateDoubles_invalid() {
+    assertThrows(() -> ConcurrentTasks.evaluateDoubles(-1, i -> i, null), IllegalArgumentException.class);
+    assertThrows(() -> ConcurrentTasks.evaluateDoubles(1, null, null), IllegalArgumentException.class);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_join() {
+    assertThat(ConcurrentTasks.join(CompletableFuture.completedFuture("A"))).isEqualTo("A");
+  }
+
+  public void test_join_runtimeException() {
+    CompletableFuture<String> future = new CompletableFuture<>();
+    future.completeExceptionally(new IllegalStateException("Fail"));
+    assertThrows(() -> ConcurrentTasks.join(future), IllegalStateException.class, "Fail");
+  }
+
+  public void test_join_error() {
+    CompletableFuture<String> future = new CompletableFuture<>();
+    future.completeExceptionally(new StackOverflowError("Fail"));
+    assertThrows(() -> ConcurrentTasks.join(future), StackOverflowError.class, "Fail");
+  }
+
+  public void test_join_checkedException() {
+    CompletableFuture<String> future = new CompletableFuture<>();
+    future.completeExceptionally(new Exception("Fail"));
+    assertThrows(() -> ConcurrentTasks.join(future), CompletionException.class);
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    assertUtilityClass(ConcurrentTasks.class);
+  }
+
+}
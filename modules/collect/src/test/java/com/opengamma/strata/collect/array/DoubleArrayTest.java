@@ -159,6 +159,16 @@ public class DoubleArrayTest {
     assertThrows(() -> test.copyInto(dest3, -1), IndexOutOfBoundsException.class);
   }
 
+  public void test_addMultipliedInto() {
+    DoubleArray test = DoubleArray.of(1d, 2d, 3d);
+    double[] dest = new double[] {1d, 1d, 1d};
+    test.addMultipliedInto(dest, 2d);
+    assertTrue(Arrays.equals(dest, new double[] {3d, 5d, 7d}));
+    test.addMultipliedInto(dest, -1d);
+    assertTrue(Arrays.equals(dest, new double[] {2d, 3d, 4d}));
+    assertThrows(() -> test.addMultipliedInto(new double[4], 1d), IllegalArgumentException.class);
+  }
+
   //-------------------------------------------------------------------------
   public void test_subArray_from() {
     DoubleArray test = DoubleArray.of(1d, 2d, 3d);
@@ -0,0 +1,273 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.CharSource;
+
+/**
+ * Test {@link MappedCsvFile}.
+ */
+@Test
+public class MappedCsvFileTest {
+
+  private static final String CSV1 = "" +
+      "h1,h2\n" +
+      "r11,r12\n" +
+      "r21,r22";
+
+  private static final String CSV2 = "" +
+      "h1, H2 ,h3\r\n" +
+      "#r11,r12\n" +
+      ";r11,r12\n" +
+      "\n" +
+      " r21 , \"r,22\" ,\"a\"\"b\"\"c\"\r\n" +
+      " , , \n" +
+      "r31\n" +
+      "\u00e9,r42,r43\r\n";
+
+  private static final String CSV3 = "" +
+      "Date,Value\n" +
+      "2015-01-02,1.5\n" +
+      "2015-01-03,-2.25e-3\n" +
+      "2016-12-31,123456789012345678901\n" +
+      "2017-02-28,1e-30\n" +
+      "2017-03-01,-0\n";
+
+  private Path tempDir;
+
+  @BeforeClass
+  public void setUp() throws IOException {
+    tempDir = Files.createTempDirectory("MappedCsvFileTest");
+  }
+
+  @AfterClass
+  public void tearDown() throws IOException {
+    for (Path file : Files.newDirectoryStream(tempDir)) {
+      Files.delete(file);
+    }
+    Files.delete(tempDir);
+  }
+
+  private Path write(String name, String content) throws IOException {
+    return Files.write(tempDir.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  // reads all the rows, using the specified window size and number of chunks
+  private static List<List<String>> readAll(Path file, int windowSize, int chunkCount) {
+    List<List<String>> rows = new ArrayList<>();
+    try (MappedCsvFile csv = MappedCsvFile.of(file, true, ',', windowSize)) {
+      for (MappedCsvCursor cursor : csv.split(chunkCount)) {
+        while (cursor.next()) {
+          rows.add(cursor.fieldStrings());
+        }
+      }
+    }
+    return rows;
+  }
+
+  // reads all the rows using CsvFile
+  private static List<List<String>> readAllExpected(String content) {
+    List<List<String>> rows = new ArrayList<>();
+    CsvFile.of(CharSource.wrap(content), true).rows().forEach(row -> rows.add(row.fields()));
+    return rows;
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_of_ioException() {
+    assertThrows(() -> MappedCsvFile.of(Paths.get("src/test/resources/does-not-exist.csv"), false),
+        UncheckedIOException.class);
+  }
+
+  public void test_of_empty_no_header() throws IOException {
+    Path file = write("empty1.csv", "");
+    try (MappedCsvFile csv = MappedCsvFile.of(file, false)) {
+      assertEquals(csv.headers().size(), 0);
+      assertEquals(csv.size(), 0L);
+      MappedCsvCursor cursor = csv.cursor();
+      assertEquals(cursor.next(), false);
+      assertEquals(cursor.next(), false);
+    }
+  }
+
+  public void test_of_empty_with_header() throws IOException {
+    Path file = write("empty2.csv", "");
+    assertThrowsIllegalArg(() -> MappedCsvFile.of(file, true));
+  }
+
+  public void test_of_simple_no_header() throws IOException {
+    Path file = write("simple1.csv", CSV1);
+    try (MappedCsvFile csv = MappedCsvFile.of(file, false)) {
+      assertEquals(csv.headers().size(), 0);
+      MappedCsvCursor cursor = csv.cursor();
+      assertEquals(cursor.next(), true);
+      assertEquals(cursor.fieldStrings(), ImmutableList.of("h1", "h2"));
+      assertEquals(cursor.next(), true);
+      assertEquals(cursor.fieldCount(), 2);
+      assertEquals(cursor.fieldString(0), "r11");
+      assertEquals(cursor.field(1).toString(), "r12");
+      assertEquals(cursor.next(), true);
+      assertEquals(cursor.fieldStrings(), ImmutableList.of("r21", "r22"));
+      assertEquals(cursor.next(), false);
+    }
+  }
+
+  public void test_of_simple_with_header() throws IOException {
+    Path file = write("simple2.csv", CSV1);
+    try (MappedCsvFile csv = MappedCsvFile.of(file, true)) {
+      assertEquals(csv.headers(), ImmutableList.of("h1", "h2"));
+      assertEquals(csv.findHeaderIndex("H2"), OptionalInt.of(1));
+      assertEquals(csv.findHeaderIndex("h3"), OptionalInt.empty());
+      assertEquals(csv.headerIndex("h1"), 0);
+      assertThrowsIllegalArg(() -> csv.headerIndex("h3"));
+      MappedCsvCursor cursor = csv.cursor();
+      assertEquals(cursor.headers(), csv.headers());
+      assertEquals(cursor.next(), true);
+      CsvRow row = cursor.row();
+      assertEquals(row.getField("h2"), "r12");
+      assertEquals(cursor.next(), true);
+      assertEquals(cursor.fieldStrings(), ImmutableList.of("r21", "r22"));
+      assertEquals(cursor.next(), false);
+      assertEquals(csv.toString(), "MappedCsvFile[h1, h2]");
+    }
+  }
+
+  public void test_of_tabSeparated() throws IOException {
+    Path file = write("tab.csv", CSV1.replace(',', '\t'));
+    try (MappedCsvFile csv = MappedCsvFile.of(file, true, '\t')) {
+      MappedCsvCursor cursor = csv.cursor();
+      assertEquals(cursor.next(), true);
+      assertEquals(cursor.fieldStrings(), ImmutableList.of("r11", "r12"));
+    }
+  }
+
+  public void test_of_quotesCommentsAndBlankLines() throws IOException {
+    Path file = write("complex.csv", CSV2);
+    try (MappedCsvFile csv = MappedCsvFile.of(file, true)) {
+      assertEquals(csv.headers(), ImmutableList.of("h1", "H2", "h3"));
+      MappedCsvCursor cursor = csv.cursor();
+      assertEquals(cursor.next(), true);
+      assertEquals(cursor.fieldStrings(), ImmutableList.of("r21", "r,22", "a\"b\"c"));
+      assertEquals(cursor.field(1).toString(), "r,22");
+      assertEquals(cursor.field(2).toString(), "a\"b\"c");
+      assertEquals(cursor.next(), true);
+      assertEquals(cursor.fieldStrings(), ImmutableList.of("r31"));
+      assertEquals(cursor.fieldCount(), 3);
+      assertEquals(cursor.isFieldEmpty(0), false);
+      assertEquals(cursor.isFieldEmpty(2), true);
+      assertEquals(cursor.fieldString(2), "");
+      assertThrows(() -> cursor.fieldString(3), IndexOutOfBoundsException.class);
+      assertEquals(cursor.next(), true);
+      assertEquals(cursor.field(0).toString(), "\u00e9");
+      assertEquals(cursor.field(1).length(), 3);
+      assertEquals(cursor.field(1).charAt(1), '4');
+      assertEquals(cursor.field(1).subSequence(1, 3).toString(), "42");
+      assertEquals(cursor.next(), false);
+    }
+    assertEquals(readAll(file, MappedCsvFile.DEFAULT_WINDOW_SIZE, 1), readAllExpected(CSV2));
+  }
+
+  public void test_of_mismatchedQuotes() throws IOException {
+    Path file = write("mismatched.csv", "h1,h2\n\"r11,r12\n");
+    try (MappedCsvFile csv = MappedCsvFile.of(file, true)) {
+      MappedCsvCursor cursor = csv.cursor();
+      assertThrowsIllegalArg(() -> cursor.next(), "Mismatched quotes on line: \"r11,r12");
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_smallWindowAndSplit() throws IOException {
+    StringBuilder buf = new StringBuilder("Name,Value\n");
+    for (int i = 0; i < 500; i++) {
+      buf.append(i % 7 == 0 ? "\"N," + i + "\"" : "N" + i)
+          .append(',')
+          .append(i * 0.25)
+          .append(i % 3 == 0 ? "\r\n" : "\n");
+    }
+    String content = buf.toString();
+    Path file = write("large.csv", content);
+    List<List<String>> expected = readAllExpected(content);
+    for (int chunkCount = 1; chunkCount <= 8; chunkCount++) {
+      assertEquals(readAll(file, 32, chunkCount), expected);
+      assertEquals(readAll(file, MappedCsvFile.DEFAULT_WINDOW_SIZE, chunkCount), expected);
+    }
+  }
+
+  public void test_lineLongerThanWindow() throws IOException {
+    Path file = write("long.csv", "h1,h2\nr11,r12-long-value\nr21,r22\n");
+    try (MappedCsvFile csv = MappedCsvFile.of(file, true, ',', 8)) {
+      MappedCsvCursor cursor = csv.cursor();
+      assertThrowsIllegalArg(() -> cursor.next());
+    }
+  }
+
+  public void test_split_moreChunksThanRows() throws IOException {
+    Path file = write("split.csv", CSV1);
+    try (MappedCsvFile csv = MappedCsvFile.of(file, true)) {
+      ImmutableList<MappedCsvCursor> cursors = csv.split(10);
+      assertEquals(cursors.size(), 10);
+      assertThrowsIllegalArg(() -> csv.split(0));
+    }
+    assertEquals(readAll(file, MappedCsvFile.DEFAULT_WINDOW_SIZE, 10), readAllExpected(CSV1));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_fieldAsDoubleAndDate() throws IOException {
+    Path file = write("values.csv", CSV3);
+    try (MappedCsvFile csv = MappedCsvFile.of(file, true)) {
+      MappedCsvCursor cursor = csv.cursor();
+      while (cursor.next()) {
+        assertEquals(cursor.fieldAsDate(0), LocalDate.parse(cursor.fieldString(0)));
+        assertEquals(cursor.fieldAsDouble(1), Double.parseDouble(cursor.fieldString(1)));
+      }
+    }
+  }
+
+  public void test_fieldAsDouble_formats() throws IOException {
+    List<String> values = ImmutableList.of(
+        "0", "-0", "+1", "0.1", ".5", "5.", "1e22", "1E-22", "0.000000000000000000000000001",
+        "1.7976931348623157e308", "4.9e-324", "123456789012345", "1234567890123456789",
+        "0.30000000000000004", "NaN", "-Infinity", "1d", "0x1p3");
+    Path file = write("doubles.csv", "Value\n" + String.join("\n", values));
+    try (MappedCsvFile csv = MappedCsvFile.of(file, true)) {
+      MappedCsvCursor cursor = csv.cursor();
+      for (String value : values) {
+        assertEquals(cursor.next(), true);
+        assertEquals(cursor.fieldAsDouble(0), Double.parseDouble(value), value);
+      }
+    }
+  }
+
+  public void test_fieldAsDouble_invalid() throws IOException {
+    Path file = write("invalid.csv", "Date,Value\n2015-13-01,abc\n");
+    try (MappedCsvFile csv = MappedCsvFile.of(file, true)) {
+      MappedCsvCursor cursor = csv.cursor();
+      assertEquals(cursor.next(), true);
+      assertThrows(() -> cursor.fieldAsDouble(1), NumberFormatException.class);
+      assertThrows(() -> cursor.fieldAsDate(0), java.time.DateTimeException.class);
+    }
+  }
+
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteSource;
+import com.google.common.io.Files;
+
+/**
+ * Test {@link XmlElementIterator}.
+ */
+@Test
+public class XmlElementIteratorTest {
+
+  private static final String SAMPLE = "" +
+      "<?xml version=\"1.0\" encoding=\"utf-8\"?>" +
+      "<base>" +
+      " <item id=\"a\">" +
+      "  <leaf id=\"a1\">x</leaf>" +
+      "  <item>nested</item>" +
+      " </item>" +
+      " <other id=\"b\">y</other>" +
+      " <item id=\"c\">z</item>" +
+      "</base>";
+  private static final String SAMPLE_MISMATCHED_TAGS = "" +
+      "<?xml version=\"1.0\" encoding=\"utf-8\"?>" +
+      "<base>" +
+      " <item>" +
+      " </foo>" +
+      "</base>";
+  private static final ByteSource SOURCE = ByteSource.wrap(SAMPLE.getBytes(StandardCharsets.UTF_8));
+
+  private static final Map<String, String> ATTR_MAP_EMPTY = ImmutableMap.of();
+  private static final XmlElement LEAF = XmlElement.ofContent("leaf", ImmutableMap.of("id", "a1"), "x");
+  private static final XmlElement NESTED = XmlElement.ofContent("item", ATTR_MAP_EMPTY, "nested");
+  private static final XmlElement ITEM_A =
+      XmlElement.ofChildren("item", ImmutableMap.of("id", "a"), ImmutableList.of(LEAF, NESTED));
+  private static final XmlElement ITEM_C = XmlElement.ofContent("item", ImmutableMap.of("id", "c"), "z");
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    try (XmlElementIterator test = XmlElementIterator.of(SOURCE, "id", 1, "item")) {
+      assertTrue(test.hasNext());
+      assertTrue(test.hasNext());
+      XmlFile first = test.next();
+      assertEquals(first.getRoot(), ITEM_A);
+      assertEquals(first.getReferences(), ImmutableMap.of("a", ITEM_A, "a1", LEAF));
+      XmlFile second = test.next();
+      assertEquals(second.getRoot(), ITEM_C);
+      assertEquals(second.getReferences(), ImmutableMap.of("c", ITEM_C));
+      assertFalse(test.hasNext());
+      assertThrows(() -> test.next(), NoSuchElementException.class);
+    }
+  }
+
+  public void test_of_nestedDepth() {
+    try (XmlElementIterator test = XmlElementIterator.of(SOURCE, null, 2, "item")) {
+      assertEquals(test.next(), new XmlFile(NESTED, ImmutableMap.of()));
+      assertFalse(test.hasNext());
+    }
+  }
+
+  public void test_of_root() {
+    try (XmlElementIterator test = XmlElementIterator.of(SOURCE, "id", 0, "base")) {
+      XmlFile file = test.next();
+      assertEquals(file, XmlFile.of(SOURCE, "id"));
+      assertFalse(test.hasNext());
+    }
+  }
+
+  public void test_of_noMatch() {
+    try (XmlElementIterator test = XmlElementIterator.of(SOURCE, "id", 0, "item")) {
+      assertFalse(test.hasNext());
+    }
+  }
+
+  public void test_close() {
+    XmlElementIterator test = XmlElementIterator.of(SOURCE, "id", 1, "item");
+    test.close();
+    assertFalse(test.hasNext());
+    test.close();
+  }
+
+  public void test_of_mismatchedTags() {
+    ByteSource source = ByteSource.wrap(SAMPLE_MISMATCHED_TAGS.getBytes(StandardCharsets.UTF_8));
+    try (XmlElementIterator test = XmlElementIterator.of(source, "id", 1, "item")) {
+      assertThrowsIllegalArg(() -> test.hasNext());
+    }
+  }
+
+  public void test_of_invalid() {
+    assertThrowsIllegalArg(() -> XmlElementIterator.of(SOURCE, "id", -1, "item"));
+    assertThrowsIllegalArg(() -> XmlElementIterator.of(SOURCE, "id", 1, ""));
+    assertThrowsIllegalArg(() -> XmlElementIterator.of(null, "id", 1, "item"));
+  }
+
+  public void test_of_ioException() {
+    ByteSource source = Files.asByteSource(new File("/oh-dear-no-such-file"));
+    assertThrows(() -> XmlElementIterator.of(source, "id", 1, "item"), UncheckedIOException.class);
+  }
+
+}
@@ -130,6 +130,35 @@ public class XmlFileTest {
     assertThrows(() -> XmlFile.of(source, "key"), UncheckedIOException.class);
   }
 
+  public void test_ofSkipping() {
+    ByteSource source = ByteSource.wrap(SAMPLE.getBytes(StandardCharsets.UTF_8));
+    XmlFile test = XmlFile.ofSkipping(source, "key", "test");
+    XmlElement root = test.getRoot();
+    assertEquals(root.getName(), "base");
+    assertEquals(root.getChildren().size(), 1);
+    assertEquals(root.getChild(0), XmlElement.ofContent("test", ATTR_MAP, ""));
+    assertEquals(test.getReferences(), ImmutableMap.of());
+  }
+
+  public void test_ofSkipping_leaf() {
+    ByteSource source = ByteSource.wrap(SAMPLE.getBytes(StandardCharsets.UTF_8));
+    XmlFile test = XmlFile.ofSkipping(source, "key", "leaf2");
+    XmlElement child = test.getRoot().getChild(0);
+    XmlElement leaf2 = XmlElement.ofContent("leaf2", ATTR_MAP_EMPTY, "");
+    assertEquals(child, XmlElement.ofChildren("test", ATTR_MAP, ImmutableList.of(LEAF1, leaf2, leaf2)));
+    assertEquals(test.getReferences(), ImmutableMap.of("value", child));
+  }
+
+  public void test_ofSkipping_noMatch() {
+    ByteSource source = ByteSource.wrap(SAMPLE.getBytes(StandardCharsets.UTF_8));
+    assertEquals(XmlFile.ofSkipping(source, "key", "foo"), XmlFile.of(source, "key"));
+  }
+
+  public void test_ofSkipping_mismatchedTags() {
+    ByteSource source = ByteSource.wrap(SAMPLE_MISMATCHED_TAGS.getBytes(StandardCharsets.UTF_8));
+    assertThrowsIllegalArg(() -> XmlFile.ofSkipping(source, "key", "test"));
+  }
+
   //-------------------------------------------------------------------------
   public void test_equalsHashCodeToString() {
     ByteSource source = ByteSource.wrap(SAMPLE.getBytes(StandardCharsets.UTF_8));
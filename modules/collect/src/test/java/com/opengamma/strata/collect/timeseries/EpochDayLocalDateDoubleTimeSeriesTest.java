@@ -0,0 +1,238 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertSame;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalDouble;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.IntArray;
+
+/**
+ * Test {@link EpochDayLocalDateDoubleTimeSeries}.
+ */
+@Test
+public class EpochDayLocalDateDoubleTimeSeriesTest {
+
+  private static final LocalDate DATE_2010_01_01 = date(2010, 1, 1);
+  private static final LocalDate DATE_2011_01_01 = date(2011, 1, 1);
+  private static final LocalDate DATE_2012_01_01 = date(2012, 1, 1);
+  private static final LocalDate DATE_2013_01_01 = date(2013, 1, 1);
+  private static final LocalDate DATE_2014_01_01 = date(2014, 1, 1);
+  private static final ImmutableList<LocalDate> DATES_2010_14 = ImmutableList.of(
+      DATE_2010_01_01, DATE_2011_01_01, DATE_2012_01_01, DATE_2013_01_01, DATE_2014_01_01);
+  private static final IntArray EPOCH_DAYS_2010_14 = epochDays(DATES_2010_14);
+  private static final DoubleArray VALUES_10_14 = DoubleArray.of(10, 11, 12, 13, 14);
+  private static final LocalDateDoubleTimeSeries BASE =
+      LocalDateDoubleTimeSeries.ofEpochDays(EPOCH_DAYS_2010_14, VALUES_10_14);
+
+  //-------------------------------------------------------------------------
+  public void test_ofEpochDays() {
+    assertEquals(BASE.getClass(), EpochDayLocalDateDoubleTimeSeries.class);
+    assertEquals(BASE.size(), 5);
+    assertEquals(BASE.isEmpty(), false);
+    assertEquals(BASE.dates().collect(toList()), DATES_2010_14);
+    assertEquals(BASE.values().toArray(), VALUES_10_14.toArray());
+    for (int i = 0; i < DATES_2010_14.size(); i++) {
+      assertEquals(BASE.containsDate(DATES_2010_14.get(i)), true);
+      assertEquals(BASE.get(DATES_2010_14.get(i)), OptionalDouble.of(VALUES_10_14.get(i)));
+    }
+    assertEquals(BASE.containsDate(date(2010, 1, 2)), false);
+    assertEquals(BASE.get(date(2010, 1, 2)), OptionalDouble.empty());
+    assertEquals(BASE.get(LocalDate.MIN), OptionalDouble.empty());
+    assertEquals(BASE.get(LocalDate.MAX), OptionalDouble.empty());
+  }
+
+  public void test_ofEpochDays_empty() {
+    LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeries.ofEpochDays(IntArray.EMPTY, DoubleArray.EMPTY);
+    assertSame(test, LocalDateDoubleTimeSeries.empty());
+  }
+
+  public void test_ofEpochDays_invalid() {
+    assertThrowsIllegalArg(() -> LocalDateDoubleTimeSeries.ofEpochDays(IntArray.of(1, 2), DoubleArray.of(1d)));
+    assertThrowsIllegalArg(() -> LocalDateDoubleTimeSeries.ofEpochDays(IntArray.of(2, 1), DoubleArray.of(1d, 2d)));
+    assertThrowsIllegalArg(() -> LocalDateDoubleTimeSeries.ofEpochDays(IntArray.of(1, 1), DoubleArray.of(1d, 2d)));
+    assertThrowsIllegalArg(() -> LocalDateDoubleTimeSeries.ofEpochDays(null, DoubleArray.of(1d)));
+    assertThrowsIllegalArg(() -> LocalDateDoubleTimeSeries.ofEpochDays(IntArray.of(1), null));
+  }
+
+  public void test_equalsBuiltSeries() {
+    LocalDateDoubleTimeSeries built = LocalDateDoubleTimeSeries.builder()
+        .putAll(DATES_2010_14, VALUES_10_14.stream().boxed().collect(toList()))
+        .build();
+    assertEquals(BASE.stream().collect(toList()), built.stream().collect(toList()));
+    assertEquals(BASE.toBuilder().build(), built);
+    assertEquals(BASE.toString(), built.toString());
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_earliestLatest() {
+    assertEquals(BASE.getEarliestDate(), DATE_2010_01_01);
+    assertEquals(BASE.getEarliestValue(), 10d);
+    assertEquals(BASE.getLatestDate(), DATE_2014_01_01);
+    assertEquals(BASE.getLatestValue(), 14d);
+  }
+
+  //-------------------------------------------------------------------------
+  @DataProvider(name = "subSeries")
+  Object[][] data_subSeries() {
+    return new Object[][] {
+        // start = end -> empty
+        {DATE_2011_01_01, DATE_2011_01_01, new int[] {}},
+        // no overlap
+        {date(2006, 1, 1), date(2009, 1, 1), new int[] {}},
+        // single point
+        {DATE_2011_01_01, date(2011, 1, 2), new int[] {1}},
+        // include when start matches base, exclude when end matches base
+        {DATE_2011_01_01, DATE_2013_01_01, new int[] {1, 2}},
+        // include when start matches base
+        {DATE_2011_01_01, date(2013, 1, 2), new int[] {1, 2, 3}},
+        // neither start nor end match
+        {date(2010, 12, 31), date(2013, 1, 2), new int[] {1, 2, 3}},
+        // start date just after a base date
+        {date(2011, 1, 2), date(2013, 1, 2), new int[] {2, 3}},
+        // all
+        {LocalDate.MIN, LocalDate.MAX, new int[] {0, 1, 2, 3, 4}},
+    };
+  }
+
+  @Test(dataProvider = "subSeries")
+  public void test_subSeries(LocalDate start, LocalDate end, int[] expected) {
+    assertSeries(BASE.subSeries(start, end), expected);
+  }
+
+  public void test_subSeries_startAfterEnd() {
+    assertThrowsIllegalArg(() -> BASE.subSeries(date(2011, 1, 2), DATE_2011_01_01));
+  }
+
+  @DataProvider(name = "headSeries")
+  Object[][] data_headSeries() {
+    return new Object[][] {
+        {0, new int[] {}},
+        {1, new int[] {0}},
+        {4, new int[] {0, 1, 2, 3}},
+        {5, new int[] {0, 1, 2, 3, 4}},
+        {6, new int[] {0, 1, 2, 3, 4}},
+    };
+  }
+
+  @Test(dataProvider = "headSeries")
+  public void test_headSeries(int count, int[] expected) {
+    assertSeries(BASE.headSeries(count), expected);
+  }
+
+  @DataProvider(name = "tailSeries")
+  Object[][] data_tailSeries() {
+    return new Object[][] {
+        {0, new int[] {}},
+        {1, new int[] {4}},
+        {4, new int[] {1, 2, 3, 4}},
+        {5, new int[] {0, 1, 2, 3, 4}},
+        {6, new int[] {0, 1, 2, 3, 4}},
+    };
+  }
+
+  @Test(dataProvider = "tailSeries")
+  public void test_tailSeries(int count, int[] expected) {
+    assertSeries(BASE.tailSeries(count), expected);
+  }
+
+  public void test_headTailSeries_negative() {
+    assertThrowsIllegalArg(() -> BASE.headSeries(-1));
+    assertThrowsIllegalArg(() -> BASE.tailSeries(-1));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_forEach() {
+    List<LocalDate> dates = new ArrayList<>();
+    List<Double> values = new ArrayList<>();
+    BASE.forEach((date, value) -> {
+      dates.add(date);
+      values.add(value);
+    });
+    assertEquals(dates, DATES_2010_14);
+    assertEquals(values, VALUES_10_14.stream().boxed().collect(toList()));
+  }
+
+  public void test_mapValues_sharesDates() {
+    EpochDayLocalDateDoubleTimeSeries test = (EpochDayLocalDateDoubleTimeSeries) BASE.mapValues(d -> d * 2);
+    assertSame(test.getDates(), EPOCH_DAYS_2010_14);
+    assertEquals(test.getValues(), DoubleArray.of(20, 22, 24, 26, 28));
+  }
+
+  public void test_mapDates() {
+    LocalDateDoubleTimeSeries test = BASE.mapDates(date -> date.plusYears(1));
+    assertEquals(test.getEarliestDate(), DATE_2011_01_01);
+    assertEquals(test.getLatestDate(), date(2015, 1, 1));
+    assertEquals(test.values().toArray(), VALUES_10_14.toArray());
+  }
+
+  public void test_mapDates_notAscending() {
+    assertThrowsIllegalArg(() -> BASE.mapDates(date -> date(2016, 1, 1)));
+  }
+
+  public void test_filter() {
+    assertSeries(BASE.filter((date, value) -> date.getYear() % 2 == 0), new int[] {0, 2, 4});
+    assertSeries(BASE.filter((date, value) -> value > 12), new int[] {3, 4});
+    assertSame(BASE.filter((date, value) -> true), BASE);
+    assertSame(BASE.filter((date, value) -> false), LocalDateDoubleTimeSeries.empty());
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_equals() {
+    LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeries.ofEpochDays(
+        IntArray.copyOf(EPOCH_DAYS_2010_14.toArray()), VALUES_10_14);
+    assertEquals(test, BASE);
+    assertEquals(test.hashCode(), BASE.hashCode());
+    assertNotEquals(BASE.mapValues(d -> d + 1), BASE);
+    assertNotEquals(BASE, "");
+    assertNotEquals(BASE, null);
+  }
+
+  public void coverage() {
+    EpochDayLocalDateDoubleTimeSeries test =
+        EpochDayLocalDateDoubleTimeSeries.of(IntArray.of(1, 2), DoubleArray.of(1d, 2d));
+    coverImmutableBean(test);
+    EpochDayLocalDateDoubleTimeSeries test2 = EpochDayLocalDateDoubleTimeSeries.of(IntArray.of(3), DoubleArray.of(3d));
+    coverBeanEquals(test, test2);
+  }
+
+  //-------------------------------------------------------------------------
+  private static void assertSeries(LocalDateDoubleTimeSeries test, int[] expected) {
+    assertEquals(test.size(), expected.length);
+    for (int i = 0; i < DATES_2010_14.size(); i++) {
+      if (Arrays.binarySearch(expected, i) >= 0) {
+        assertEquals(test.get(DATES_2010_14.get(i)), OptionalDouble.of(VALUES_10_14.get(i)));
+      } else {
+        assertEquals(test.get(DATES_2010_14.get(i)), OptionalDouble.empty());
+      }
+    }
+  }
+
+  private static LocalDate date(int year, int month, int day) {
+    return LocalDate.of(year, month, day);
+  }
+
+  private static IntArray epochDays(List<LocalDate> dates) {
+    return IntArray.of(dates.size(), i -> (int) dates.get(i).toEpochDay());
+  }
+
+}
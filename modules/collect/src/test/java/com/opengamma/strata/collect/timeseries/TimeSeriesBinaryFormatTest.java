@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.assertUtilityClass;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.collect.timeseries.DenseLocalDateDoubleTimeSeries.DenseTimeSeriesCalculation.INCLUDE_WEEKENDS;
+import static com.opengamma.strata.collect.timeseries.DenseLocalDateDoubleTimeSeries.DenseTimeSeriesCalculation.SKIP_WEEKENDS;
+import static org.testng.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.IntArray;
+
+/**
+ * Test {@link TimeSeriesBinaryFormat}.
+ */
+@Test
+public class TimeSeriesBinaryFormatTest {
+
+  private static final LocalDate DATE_2015_01_05 = date(2015, 1, 5);  // Monday
+  private static final LocalDate DATE_2015_01_06 = date(2015, 1, 6);
+  private static final LocalDate DATE_2015_01_09 = date(2015, 1, 9);
+  private static final LocalDate DATE_2015_01_10 = date(2015, 1, 10);  // Saturday
+  private static final LocalDate DATE_2015_01_12 = date(2015, 1, 12);
+
+  @DataProvider(name = "series")
+  static Object[][] data_series() {
+    return new Object[][] {
+        {LocalDateDoubleTimeSeries.empty()},
+        {LocalDateDoubleTimeSeries.of(DATE_2015_01_05, 1.5d)},
+        {LocalDateDoubleTimeSeries.builder()
+            .put(date(1970, 1, 1), -0d)
+            .put(date(2010, 6, 1), Double.MAX_VALUE)
+            .put(date(2015, 6, 1), Double.MIN_VALUE)
+            .put(date(2500, 1, 1), 1e-300)
+            .build()},
+        {DenseLocalDateDoubleTimeSeries.of(
+            DATE_2015_01_05,
+            DATE_2015_01_12,
+            Stream.of(
+                LocalDateDoublePoint.of(DATE_2015_01_05, 1d),
+                LocalDateDoublePoint.of(DATE_2015_01_06, 0.1d),
+                LocalDateDoublePoint.of(DATE_2015_01_12, -3d)),
+            SKIP_WEEKENDS)},
+        {DenseLocalDateDoubleTimeSeries.of(
+            DATE_2015_01_09,
+            DATE_2015_01_12,
+            Stream.of(
+                LocalDateDoublePoint.of(DATE_2015_01_09, 1d),
+                LocalDateDoublePoint.of(DATE_2015_01_10, 2d),
+                LocalDateDoublePoint.of(DATE_2015_01_12, 4d)),
+            INCLUDE_WEEKENDS)},
+        {LocalDateDoubleTimeSeries.ofEpochDays(IntArray.of(-1, 0, 16000), DoubleArray.of(1d, 0.5d, -2d))},
+    };
+  }
+
+  @Test(dataProvider = "series")
+  public void test_roundTrip(LocalDateDoubleTimeSeries series) {
+    int size = TimeSeriesBinaryFormat.sizeInBytes(series);
+    ByteBuffer buffer = ByteBuffer.allocate(size + 3);
+    buffer.put((byte) 7);
+    TimeSeriesBinaryFormat.write(series, buffer);
+    assertEquals(buffer.position(), size + 1);
+    buffer.put((byte) 8);
+
+    buffer.flip();
+    assertEquals(buffer.get(), 7);
+    LocalDateDoubleTimeSeries test = TimeSeriesBinaryFormat.read(buffer);
+    assertEquals(buffer.position(), size + 1);
+    assertEquals(buffer.get(), 8);
+    assertEquals(test, series);
+    assertEquals(test.getClass(), series.getClass());
+  }
+
+  @Test(dataProvider = "series")
+  public void test_roundTrip_directBuffer(LocalDateDoubleTimeSeries series) {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(TimeSeriesBinaryFormat.sizeInBytes(series));
+    TimeSeriesBinaryFormat.write(series, buffer);
+    buffer.flip();
+    assertEquals(TimeSeriesBinaryFormat.read(buffer), series);
+  }
+
+  public void test_read_invalidType() {
+    ByteBuffer buffer = ByteBuffer.wrap(new byte[] {9, 0, 0, 0, 0});
+    assertThrowsIllegalArg(() -> TimeSeriesBinaryFormat.read(buffer));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    assertUtilityClass(TimeSeriesBinaryFormat.class);
+  }
+
+}
@@ -143,6 +143,65 @@ public final class CurrencyScenarioArray
     return of(reportingCurrency, convertedValues);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a new array containing the values from this array added to the values in the other array.
+   * <p>
+   * The amounts are added to the matching element in this array.
+   * The currency must be the same as the currency of this array.
+   * The arrays must have the same size.
+   *
+   * @param other  another array of currency values
+   * @return a new array containing the values from this array added to the values in the other array
+   * @throws IllegalArgumentException if the arrays have different sizes or currencies
+   */
+  public CurrencyScenarioArray plus(CurrencyScenarioArray other) {
+    return of(amounts.plus(other.getAmounts()));
+  }
+
+  /**
+   * Returns a new array containing the values from this array with the values from the amount added.
+   * <p>
+   * The amount is added to each element in this array.
+   * The currency must be the same as the currency of this array.
+   *
+   * @param amount  the amount to add
+   * @return a new array containing the values from this array with the values from the amount added
+   * @throws IllegalArgumentException if the currencies differ
+   */
+  public CurrencyScenarioArray plus(CurrencyAmount amount) {
+    return of(amounts.plus(amount));
+  }
+
+  /**
+   * Returns a new array containing the values from this array with the values from the other array subtracted.
+   * <p>
+   * The amounts are subtracted from the matching element in this array.
+   * The currency must be the same as the currency of this array.
+   * The arrays must have the same size.
+   *
+   * @param other  another array of currency values
+   * @return a new array containing the values from this array with the values from the other array subtracted
+   * @throws IllegalArgumentException if the arrays have different sizes or currencies
+   */
+  public CurrencyScenarioArray minus(CurrencyScenarioArray other) {
+    return of(amounts.minus(other.getAmounts()));
+  }
+
+  /**
+   * Returns a new array containing the values from this array with the values from the amount subtracted.
+   * <p>
+   * The amount is subtracted from each element in this array.
+   * The currency must be the same as the currency of this array.
+   *
+   * @param amount  the amount to subtract
+   * @return a new array containing the values from this array with the values from the amount subtracted
+   * @throws IllegalArgumentException if the currencies differ
+   */
+  public CurrencyScenarioArray minus(CurrencyAmount amount) {
+    return of(amounts.minus(amount));
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   ///CLOVER:OFF
   /**
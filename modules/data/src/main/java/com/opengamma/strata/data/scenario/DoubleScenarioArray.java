@@ -96,6 +96,33 @@ public final class DoubleScenarioArray
     return values.stream().boxed();
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a new array containing the values from this array added to the values in the other array.
+   * <p>
+   * The arrays must have the same size.
+   *
+   * @param other  another array of values
+   * @return a new array containing the values from this array added to the values in the other array
+   * @throws IllegalArgumentException if the arrays have different sizes
+   */
+  public DoubleScenarioArray plus(DoubleScenarioArray other) {
+    return of(values.plus(other.getValues()));
+  }
+
+  /**
+   * Returns a new array containing the values from this array with the values from the other array subtracted.
+   * <p>
+   * The arrays must have the same size.
+   *
+   * @param other  another array of values
+   * @return a new array containing the values from this array with the values from the other array subtracted
+   * @throws IllegalArgumentException if the arrays have different sizes
+   */
+  public DoubleScenarioArray minus(DoubleScenarioArray other) {
+    return of(values.minus(other.getValues()));
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   ///CLOVER:OFF
   /**
@@ -0,0 +1,268 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.function.ObjIntFunction;
+
+/**
+ * A market data box that derives the value for each scenario when it is requested.
+ * <p>
+ * The value for a scenario is created by applying a function to the value of the source box for that scenario.
+ * The function is only invoked when a scenario value is requested, and the most recently used values
+ * are cached up to a maximum number. Thus a perturbed curve that is never used is never built,
+ * and the memory used by the box is bounded no matter how many scenarios there are.
+ * <p>
+ * The function must be pure, as it may be invoked more than once for the same scenario.
+ * Mapping or combining this box returns another lazy box, thus the laziness is retained.
+ * The derived box obtains the values of this box via {@link #getValue(int)}, thus sharing its cache.
+ * <p>
+ * The market data type is specified when the box is created, so that it can be queried without deriving a value.
+ * Where it is not specified, as for the boxes derived by mapping or combining, it is the type of the first value.
+ * <p>
+ * Equality and hash code are based on the source box, the function and the market data type,
+ * thus comparing two boxes does not derive any value. Two boxes holding equal values but created
+ * by different function instances are not equal.
+ * When serialized, the box is replaced by a {@link ScenarioMarketDataBox} containing the value of every scenario.
+ *
+ * @param <S>  the type of data held in the source box
+ * @param <T>  the type of data held in the box
+ */
+final class LazyMarketDataBox<S, T> implements MarketDataBox<T>, Serializable {
+
+  /**
+   * Serialization version.
+   */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The source box.
+   */
+  private final transient MarketDataBox<S> source;
+  /**
+   * The number of scenarios.
+   */
+  private final int scenarioCount;
+  /**
+   * The function deriving the value of each scenario from the source value.
+   */
+  private final transient ObjIntFunction<S, T> fn;
+  /**
+   * The maximum number of values to cache.
+   */
+  private final int maxCachedValues;
+  /**
+   * The type of the market data value used in each scenario, null if it is the type of the first value.
+   */
+  private final transient Class<?> marketDataType;
+  /**
+   * The cached values, keyed by scenario index, in least recently used order.
+   */
+  private final transient Map<Integer, T> cache;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance that derives the value of each scenario from the source box.
+   * <p>
+   * The source box must contain a single value or have the specified number of scenarios.
+   *
+   * @param <S>  the type of data held in the source box
+   * @param <T>  the type of data held in the box
+   * @param source  the source box
+   * @param scenarioCount  the number of scenarios
+   * @param fn  the function deriving the value of each scenario from the source value
+   * @param maxCachedValues  the maximum number of values to cache, zero to disable caching
+   * @param marketDataType  the type of the market data value used in each scenario
+   * @return the box
+   */
+  static <S, T> LazyMarketDataBox<S, T> of(
+      MarketDataBox<S> source,
+      int scenarioCount,
+      ObjIntFunction<S, T> fn,
+      int maxCachedValues,
+      Class<?> marketDataType) {
+
+    ArgChecker.notNull(source, "source");
+    ArgChecker.notNegativeOrZero(scenarioCount, "scenarioCount");
+    ArgChecker.notNull(fn, "fn");
+    ArgChecker.notNegative(maxCachedValues, "maxCachedValues");
+    ArgChecker.notNull(marketDataType, "marketDataType");
+    checkScenarioCount(source, scenarioCount);
+    return new LazyMarketDataBox<>(source, scenarioCount, fn, maxCachedValues, marketDataType);
+  }
+
+  /**
+   * Restricted constructor.
+   */
+  private LazyMarketDataBox(
+      MarketDataBox<S> source,
+      int scenarioCount,
+      ObjIntFunction<S, T> fn,
+      int maxCachedValues,
+      Class<?> marketDataType) {
+
+    this.source = source;
+    this.scenarioCount = scenarioCount;
+    this.fn = fn;
+    this.maxCachedValues = maxCachedValues;
+    this.marketDataType = marketDataType;
+    this.cache = new LinkedHashMap<Integer, T>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, T> eldest) {
+        return size() > maxCachedValues;
+      }
+    };
+  }
+
+  // checks the scenario count of a box is compatible with the specified scenario count
+  static void checkScenarioCount(MarketDataBox<?> box, int scenarioCount) {
+    if (box.isScenarioValue() && box.getScenarioCount() != scenarioCount) {
+      throw new IllegalArgumentException(
+          Messages.format(
+              "Scenario count {} does not equal the scenario count of the value {}",
+              scenarioCount,
+              box.getScenarioCount()));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public T getSingleValue() {
+    throw new IllegalStateException("This box does not contain a single value");
+  }
+
+  /**
+   * Gets the market data value containing data for multiple scenarios.
+   * <p>
+   * This derives the value of every scenario.
+   *
+   * @return the market data value containing data for multiple scenarios
+   */
+  @Override
+  public ScenarioArray<T> getScenarioValue() {
+    return ScenarioArray.of(scenarioCount, this::getValue);
+  }
+
+  @Override
+  public T getValue(int scenarioIndex) {
+    ArgChecker.inRange(scenarioIndex, 0, scenarioCount, "scenarioIndex");
+    if (maxCachedValues == 0) {
+      return derive(scenarioIndex);
+    }
+    T value;
+    synchronized (cache) {
+      value = cache.get(scenarioIndex);
+    }
+    if (value == null) {
+      // the lock is not held while deriving the value, allowing scenarios to be derived in parallel
+      value = derive(scenarioIndex);
+      synchronized (cache) {
+        cache.put(scenarioIndex, value);
+      }
+    }
+    return value;
+  }
+
+  // derives the value of a scenario
+  private T derive(int scenarioIndex) {
+    return fn.apply(source.getValue(scenarioIndex), scenarioIndex);
+  }
+
+  @Override
+  public boolean isSingleValue() {
+    return false;
+  }
+
+  @Override
+  public int getScenarioCount() {
+    return scenarioCount;
+  }
+
+  @Override
+  public Class<?> getMarketDataType() {
+    return marketDataType != null ? marketDataType : getValue(0).getClass();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public <R> MarketDataBox<R> map(Function<T, R> mapFn) {
+    return new LazyMarketDataBox<>(this, scenarioCount, (value, idx) -> mapFn.apply(value), maxCachedValues, null);
+  }
+
+  @Override
+  public <R> MarketDataBox<R> mapWithIndex(int scenarioCount, ObjIntFunction<T, R> mapFn) {
+    checkScenarioCount(this, scenarioCount);
+    return new LazyMarketDataBox<>(this, scenarioCount, mapFn, maxCachedValues, null);
+  }
+
+  @Override
+  public <U, R> MarketDataBox<R> combineWith(MarketDataBox<U> other, BiFunction<T, U, R> combineFn) {
+    if (other.isScenarioValue() && other.getScenarioCount() != scenarioCount) {
+      throw new IllegalArgumentException(Messages.format(
+          "Scenario values must have the same number of scenarios. {} has {} scenarios, {} has {}",
+          this,
+          scenarioCount,
+          other,
+          other.getScenarioCount()));
+    }
+    return new LazyMarketDataBox<>(
+        this, scenarioCount, (value, idx) -> combineFn.apply(value, other.getValue(idx)), maxCachedValues, null);
+  }
+
+  @Override
+  public Stream<T> stream() {
+    return IntStream.range(0, scenarioCount).mapToObj(this::getValue);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Replaces this box by a box containing the value of every scenario when serialized.
+   *
+   * @return the replacement box
+   */
+  private Object writeReplace() {
+    return ScenarioMarketDataBox.of(getScenarioValue());
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      LazyMarketDataBox<?, ?> other = (LazyMarketDataBox<?, ?>) obj;
+      return scenarioCount == other.scenarioCount &&
+          source.equals(other.source) &&
+          fn.equals(other.fn) &&
+          Objects.equals(marketDataType, other.marketDataType);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(source, scenarioCount, fn, marketDataType);
+  }
+
+  @Override
+  public String toString() {
+    return Messages.format("LazyMarketDataBox[scenarioCount={}, source={}]", scenarioCount, source);
+  }
+
+}
@@ -0,0 +1,287 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.function.ObjIntFunction;
+
+/**
+ * A scenario perturbation that derives the perturbed value for each scenario only when it is requested.
+ * <p>
+ * The underlying perturbation is applied to a box whose {@link MarketDataBox#mapWithIndex(int, ObjIntFunction)}
+ * method returns a lazy box, rather than building the value for every scenario.
+ * The value for a scenario is then built when a calculation requests it, and the most recently used
+ * values are cached up to a maximum number.
+ * <p>
+ * This is suitable for perturbations that build each scenario value using {@code mapWithIndex},
+ * such as curve shifts. Other perturbations are applied as normal.
+ * Any exception thrown by the perturbation for a scenario is thrown when the value for the scenario is requested.
+ * <p>
+ * The perturbed values may be of a different class to the unperturbed value, for example a shifted curve.
+ * The market data type of a lazy box is therefore the type declared when this perturbation is created,
+ * which must be assignable from every perturbed value. Finding it does not perturb any value.
+ *
+ * @param <T>  the type of the market data handled by the perturbation
+ */
+@BeanDefinition(style = "light")
+final class LazyScenarioPerturbation<T>
+    implements ScenarioPerturbation<T>, ImmutableBean {
+
+  /**
+   * The underlying perturbation.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ScenarioPerturbation<T> underlying;
+  /**
+   * The type of the perturbed market data, assignable from every perturbed value.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Class<? extends T> marketDataType;
+  /**
+   * The maximum number of perturbed values to cache for each item of market data.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegative")
+  private final int maxCachedValues;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance wrapping the underlying perturbation.
+   *
+   * @param <T>  the type of the market data handled by the perturbation
+   * @param underlying  the underlying perturbation
+   * @param marketDataType  the type of the perturbed market data, assignable from every perturbed value
+   * @param maxCachedValues  the maximum number of perturbed values to cache for each item of market data
+   * @return the perturbation
+   */
+  static <T> LazyScenarioPerturbation<T> of(
+      ScenarioPerturbation<T> underlying,
+      Class<? extends T> marketDataType,
+      int maxCachedValues) {
+
+    if (underlying instanceof LazyScenarioPerturbation) {
+      return of(((LazyScenarioPerturbation<T>) underlying).getUnderlying(), marketDataType, maxCachedValues);
+    }
+    return new LazyScenarioPerturbation<>(underlying, marketDataType, maxCachedValues);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public MarketDataBox<T> applyTo(MarketDataBox<T> marketData, ReferenceData refData) {
+    MarketDataBox<T> result =
+        underlying.applyTo(new DeferringBox<>(marketData, marketDataType, maxCachedValues), refData);
+    if (result instanceof DeferringBox) {
+      return ((DeferringBox<T>) result).underlying;
+    }
+    return result;
+  }
+
+  @Override
+  public int getScenarioCount() {
+    return underlying.getScenarioCount();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * A box that delegates to an underlying box, except that {@code mapWithIndex} returns a lazy box.
+   * <p>
+   * The market data type of this box is that of the unperturbed market data it contains.
+   * The lazy box has the type declared for the perturbed market data.
+   *
+   * @param <T>  the type of data held in the box
+   */
+  private static final class DeferringBox<T> implements MarketDataBox<T> {
+
+    private final MarketDataBox<T> underlying;
+    private final Class<?> perturbedType;
+    private final int maxCachedValues;
+
+    private DeferringBox(MarketDataBox<T> underlying, Class<?> perturbedType, int maxCachedValues) {
+      this.underlying = underlying;
+      this.perturbedType = perturbedType;
+      this.maxCachedValues = maxCachedValues;
+    }
+
+    @Override
+    public T getSingleValue() {
+      return underlying.getSingleValue();
+    }
+
+    @Override
+    public ScenarioArray<T> getScenarioValue() {
+      return underlying.getScenarioValue();
+    }
+
+    @Override
+    public T getValue(int scenarioIndex) {
+      return underlying.getValue(scenarioIndex);
+    }
+
+    @Override
+    public boolean isSingleValue() {
+      return underlying.isSingleValue();
+    }
+
+    @Override
+    public int getScenarioCount() {
+      return underlying.getScenarioCount();
+    }
+
+    @Override
+    public Class<?> getMarketDataType() {
+      return underlying.getMarketDataType();
+    }
+
+    @Override
+    public <R> MarketDataBox<R> map(Function<T, R> fn) {
+      return underlying.map(fn);
+    }
+
+    @Override
+    public <R> MarketDataBox<R> mapWithIndex(int scenarioCount, ObjIntFunction<T, R> fn) {
+      return LazyMarketDataBox.of(underlying, scenarioCount, fn, maxCachedValues, perturbedType);
+    }
+
+    @Override
+    public <U, R> MarketDataBox<R> combineWith(MarketDataBox<U> other, BiFunction<T, U, R> fn) {
+      return underlying.combineWith(other, fn);
+    }
+
+    @Override
+    public Stream<T> stream() {
+      return underlying.stream();
+    }
+
+    @Override
+    public String toString() {
+      return underlying.toString();
+    }
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code LazyScenarioPerturbation}.
+   */
+  private static MetaBean META_BEAN = LightMetaBean.of(LazyScenarioPerturbation.class);
+
+  /**
+   * The meta-bean for {@code LazyScenarioPerturbation}.
+   * @return the meta-bean, not null
+   */
+  public static MetaBean meta() {
+    return META_BEAN;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(META_BEAN);
+  }
+
+  private LazyScenarioPerturbation(
+      ScenarioPerturbation<T> underlying,
+      Class<? extends T> marketDataType,
+      int maxCachedValues) {
+    JodaBeanUtils.notNull(underlying, "underlying");
+    JodaBeanUtils.notNull(marketDataType, "marketDataType");
+    ArgChecker.notNegative(maxCachedValues, "maxCachedValues");
+    this.underlying = underlying;
+    this.marketDataType = marketDataType;
+    this.maxCachedValues = maxCachedValues;
+  }
+
+  @Override
+  public MetaBean metaBean() {
+    return META_BEAN;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the underlying perturbation.
+   * @return the value of the property, not null
+   */
+  public ScenarioPerturbation<T> getUnderlying() {
+    return underlying;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the type of the perturbed market data, assignable from every perturbed value.
+   * @return the value of the property, not null
+   */
+  public Class<? extends T> getMarketDataType() {
+    return marketDataType;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the maximum number of perturbed values to cache for each item of market data.
+   * @return the value of the property
+   */
+  public int getMaxCachedValues() {
+    return maxCachedValues;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      LazyScenarioPerturbation<?> other = (LazyScenarioPerturbation<?>) obj;
+      return JodaBeanUtils.equal(underlying, other.underlying) &&
+          JodaBeanUtils.equal(marketDataType, other.marketDataType) &&
+          (maxCachedValues == other.maxCachedValues);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(underlying);
+    hash = hash * 31 + JodaBeanUtils.hashCode(marketDataType);
+    hash = hash * 31 + JodaBeanUtils.hashCode(maxCachedValues);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(128);
+    buf.append("LazyScenarioPerturbation{");
+    buf.append("underlying").append('=').append(underlying).append(',').append(' ');
+    buf.append("marketDataType").append('=').append(marketDataType).append(',').append(' ');
+    buf.append("maxCachedValues").append('=').append(JodaBeanUtils.toString(maxCachedValues));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -115,6 +115,19 @@ public final class MultiCurrencyScenarioArray
     return new MultiCurrencyScenarioArray(MultiCurrencyAmountArray.of(values));
   }
 
+  /**
+   * Returns a mutable builder that totals amounts for the specified number of scenarios.
+   * <p>
+   * The builder adds each amount into a primitive array for each currency,
+   * avoiding the creation of intermediate arrays when totalling a large number of amounts.
+   *
+   * @param scenarioCount  the number of scenarios
+   * @return the builder
+   */
+  public static MultiCurrencyScenarioArrayBuilder builder(int scenarioCount) {
+    return new MultiCurrencyScenarioArrayBuilder(scenarioCount);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Returns the set of currencies for which this object contains values.
@@ -203,6 +216,60 @@ public final class MultiCurrencyScenarioArray
     return CurrencyScenarioArray.of(reportingCurrency, DoubleArray.ofUnsafe(singleCurrencyValues));
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a new array containing the values from this array added to the values in the other array.
+   * <p>
+   * The amounts are added to the matching element in this array.
+   * The arrays must have the same size.
+   *
+   * @param other  another array of multiple currency values
+   * @return a new array containing the values from this array added to the values in the other array
+   * @throws IllegalArgumentException if the arrays have different sizes
+   */
+  public MultiCurrencyScenarioArray plus(MultiCurrencyScenarioArray other) {
+    return of(amounts.plus(other.getAmounts()));
+  }
+
+  /**
+   * Returns a new array containing the values from this array with the values from the amount added.
+   * <p>
+   * The amount is added to each element in this array.
+   *
+   * @param amount  the amount to add
+   * @return a new array containing the values from this array with the values from the amount added
+   */
+  public MultiCurrencyScenarioArray plus(MultiCurrencyAmount amount) {
+    return of(amounts.plus(amount));
+  }
+
+  /**
+   * Returns a new array containing the values from this array with the values from the other array subtracted.
+   * <p>
+   * The amounts are subtracted from the matching element in this array.
+   * The arrays must have the same size.
+   *
+   * @param other  another array of multiple currency values
+   * @return a new array containing the values from this array with the values from the other array subtracted
+   * @throws IllegalArgumentException if the arrays have different sizes
+   */
+  public MultiCurrencyScenarioArray minus(MultiCurrencyScenarioArray other) {
+    return of(amounts.minus(other.getAmounts()));
+  }
+
+  /**
+   * Returns a new array containing the values from this array with the values from the amount subtracted.
+   * <p>
+   * The amount is subtracted from each element in this array.
+   *
+   * @param amount  the amount to subtract
+   * @return a new array containing the values from this array with the values from the amount subtracted
+   */
+  public MultiCurrencyScenarioArray minus(MultiCurrencyAmount amount) {
+    return of(amounts.minus(amount));
+  }
+
+  //-------------------------------------------------------------------------
   /**
    * Returns a multi currency scenario array representing the total of the input arrays.
    * <p>
@@ -0,0 +1,179 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.CurrencyAmountArray;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmountArray;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.MapStream;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * A mutable builder that totals amounts into a {@link MultiCurrencyScenarioArray}.
+ * <p>
+ * The total for each currency is held in a primitive array, one element for each scenario.
+ * Each amount is added into the array in place, thus totalling a large number of amounts
+ * does not create any intermediate arrays or boxed values.
+ * <p>
+ * This class is not thread-safe.
+ */
+public final class MultiCurrencyScenarioArrayBuilder {
+
+  /**
+   * The number of scenarios.
+   */
+  private final int scenarioCount;
+  /**
+   * The total for each currency, one element for each scenario.
+   */
+  private final Map<Currency, double[]> totals = new HashMap<>();
+
+  //-------------------------------------------------------------------------
+  MultiCurrencyScenarioArrayBuilder(int scenarioCount) {
+    this.scenarioCount = ArgChecker.notNegativeOrZero(scenarioCount, "scenarioCount");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds the values of a currency, one for each scenario.
+   *
+   * @param currency  the currency of the values
+   * @param values  the values, one for each scenario
+   * @return this builder
+   * @throws IllegalArgumentException if the number of values does not match the scenario count
+   */
+  public MultiCurrencyScenarioArrayBuilder add(Currency currency, DoubleArray values) {
+    ArgChecker.notNull(currency, "currency");
+    ArgChecker.notNull(values, "values");
+    if (values.size() != scenarioCount) {
+      throw new IllegalArgumentException(Messages.format(
+          "Expected {} scenario values but received {}", scenarioCount, values.size()));
+    }
+    double[] total = total(currency);
+    double[] array = values.toArrayUnsafe();
+    for (int i = 0; i < scenarioCount; i++) {
+      total[i] += array[i];
+    }
+    return this;
+  }
+
+  /**
+   * Adds an amount to the value of every scenario.
+   *
+   * @param currency  the currency of the amount
+   * @param amount  the amount to add to every scenario
+   * @return this builder
+   */
+  public MultiCurrencyScenarioArrayBuilder add(Currency currency, double amount) {
+    ArgChecker.notNull(currency, "currency");
+    double[] total = total(currency);
+    for (int i = 0; i < scenarioCount; i++) {
+      total[i] += amount;
+    }
+    return this;
+  }
+
+  /**
+   * Adds a scenario array of amounts in a single currency.
+   *
+   * @param array  the array to add
+   * @return this builder
+   * @throws IllegalArgumentException if the size of the array does not match the scenario count
+   */
+  public MultiCurrencyScenarioArrayBuilder add(CurrencyScenarioArray array) {
+    ArgChecker.notNull(array, "array");
+    return add(array.getAmounts());
+  }
+
+  /**
+   * Adds a scenario array of amounts in multiple currencies.
+   *
+   * @param array  the array to add
+   * @return this builder
+   * @throws IllegalArgumentException if the size of the array does not match the scenario count
+   */
+  public MultiCurrencyScenarioArrayBuilder add(MultiCurrencyScenarioArray array) {
+    ArgChecker.notNull(array, "array");
+    return add(array.getAmounts());
+  }
+
+  /**
+   * Adds an array of amounts in a single currency, one for each scenario.
+   *
+   * @param amounts  the amounts to add
+   * @return this builder
+   * @throws IllegalArgumentException if the size of the array does not match the scenario count
+   */
+  public MultiCurrencyScenarioArrayBuilder add(CurrencyAmountArray amounts) {
+    ArgChecker.notNull(amounts, "amounts");
+    return add(amounts.getCurrency(), amounts.getValues());
+  }
+
+  /**
+   * Adds an array of amounts in multiple currencies, one for each scenario.
+   *
+   * @param amounts  the amounts to add
+   * @return this builder
+   * @throws IllegalArgumentException if the size of the array does not match the scenario count
+   */
+  public MultiCurrencyScenarioArrayBuilder add(MultiCurrencyAmountArray amounts) {
+    ArgChecker.notNull(amounts, "amounts");
+    amounts.getValues().forEach(this::add);
+    return this;
+  }
+
+  /**
+   * Adds an amount to the value of every scenario.
+   *
+   * @param amount  the amount to add to every scenario
+   * @return this builder
+   */
+  public MultiCurrencyScenarioArrayBuilder add(CurrencyAmount amount) {
+    ArgChecker.notNull(amount, "amount");
+    return add(amount.getCurrency(), amount.getAmount());
+  }
+
+  /**
+   * Adds an amount in multiple currencies to the value of every scenario.
+   *
+   * @param amount  the amount to add to every scenario
+   * @return this builder
+   */
+  public MultiCurrencyScenarioArrayBuilder add(MultiCurrencyAmount amount) {
+    ArgChecker.notNull(amount, "amount");
+    amount.getAmounts().forEach(this::add);
+    return this;
+  }
+
+  // finds the total for the currency, creating it if necessary
+  private double[] total(Currency currency) {
+    return totals.computeIfAbsent(currency, ccy -> new double[scenarioCount]);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Builds the total from the amounts added to the builder.
+   * <p>
+   * The builder can continue to be used after this method is called.
+   *
+   * @return the total
+   */
+  public MultiCurrencyScenarioArray build() {
+    if (totals.isEmpty()) {
+      // an empty map would result in an array of size zero
+      return MultiCurrencyScenarioArray.of(scenarioCount, i -> MultiCurrencyAmount.empty());
+    }
+    return MultiCurrencyScenarioArray.of(MapStream.of(totals).mapValues(v -> DoubleArray.copyOf(v)).toMap());
+  }
+
+}
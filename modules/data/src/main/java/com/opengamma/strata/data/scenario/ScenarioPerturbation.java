@@ -35,6 +35,41 @@ public interface ScenarioPerturbation<T> {
     return (ScenarioPerturbation<T>) NoOpScenarioPerturbation.INSTANCE;
   }
 
+  /**
+   * Returns an instance that derives the perturbed value for each scenario only when it is requested.
+   * <p>
+   * Normally a perturbation builds the value for every scenario when it is applied.
+   * When there are many scenarios and each calculation only uses a few items of market data,
+   * most of these values are never used. The returned perturbation instead builds the value
+   * for a scenario when it is first requested, caching the most recently used values.
+   * <p>
+   * The underlying perturbation must build each scenario value using
+   * {@link MarketDataBox#mapWithIndex(int, com.opengamma.strata.collect.function.ObjIntFunction) mapWithIndex},
+   * as the curve shift perturbations do, otherwise it is applied as normal.
+   * Any exception thrown by the underlying perturbation for a scenario is thrown
+   * when the value for the scenario is requested, rather than when the perturbation is applied.
+   * <p>
+   * The perturbed values can be of a different class to the unperturbed value, for example
+   * a parallel shift of an interpolated curve is not itself an interpolated curve.
+   * As no value is built when the perturbation is applied, the type of the perturbed market data
+   * must be specified. It must be assignable from every perturbed value, such as {@code Curve.class}.
+   * It is used to match the perturbed market data against later perturbation mappings and market data IDs.
+   *
+   * @param <T>  the type of the market data handled by the perturbation
+   * @param underlying  the underlying perturbation
+   * @param marketDataType  the type of the perturbed market data, assignable from every perturbed value
+   * @param maxCachedValues  the maximum number of perturbed values to cache for each item of market data,
+   *   zero to build the value every time it is requested
+   * @return a perturbation that derives the perturbed values on demand
+   */
+  public static <T> ScenarioPerturbation<T> lazy(
+      ScenarioPerturbation<T> underlying,
+      Class<? extends T> marketDataType,
+      int maxCachedValues) {
+
+    return LazyScenarioPerturbation.of(underlying, marketDataType, maxCachedValues);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Applies this perturbation to the market data in a box, returning a box containing new, modified data.
@@ -0,0 +1,389 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableSet;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.ImmutableValidator;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.data.NamedMarketDataId;
+import com.opengamma.strata.data.ObservableId;
+
+/**
+ * A set of scenario market data that shares a base set of data, storing only the values that differ.
+ * <p>
+ * In a large set of scenarios, each scenario typically differs from the base data in only a few values,
+ * such as a few perturbed curves. Rather than holding a complete copy of the data for each scenario,
+ * this holds the base data once, together with the overridden values.
+ * <p>
+ * Where a value is only overridden in some scenarios, the overrides are held in a compact structure
+ * that refers to the base value for the remaining scenarios. Scenarios with the same value share it.
+ * Finding the value of a scenario within such a structure is a constant time operation.
+ * Finding the structure for an identifier is a map lookup in each layer of overrides described below,
+ * thus its cost grows with the depth of the layers unless the data is built using {@link #toBuilder()}.
+ * <p>
+ * Instances are immutable. Methods such as {@link #withValue(MarketDataId, MarketDataBox)} and
+ * {@link #withScenarioValue(MarketDataId, int, Object)} return a new instance that refers to this
+ * instance as its underlying data, holding only the changed value. To keep lookups fast, the result
+ * is merged with the underlying instance when that holds no more overridden values than the change,
+ * and so on down the chain. Each change thus copies a logarithmic number of overridden values
+ * on average, and the chain has a logarithmic depth.
+ * The scenarios of the changed value are copied on each call, thus callers making many changes
+ * to the same value, such as one per scenario, should use {@link #toBuilder()} instead.
+ */
+@BeanDefinition(style = "light")
+public final class SharedScenarioMarketData
+    implements ScenarioMarketData, ImmutableBean, Serializable {
+
+  /**
+   * The underlying market data, shared by all scenarios.
+   * This has a single scenario or the same number of scenarios as this market data.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ScenarioMarketData underlying;
+  /**
+   * The number of scenarios.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegativeOrZero", overrideGet = true)
+  private final int scenarioCount;
+  /**
+   * The values that override the underlying market data, keyed by identifier.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableMap<MarketDataId<?>, MarketDataBox<?>> overrides;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance where every scenario shares the specified market data.
+   *
+   * @param scenarioCount  the number of scenarios, one or more
+   * @param marketData  the market data shared by all scenarios
+   * @return the scenario market data
+   */
+  public static SharedScenarioMarketData of(int scenarioCount, MarketData marketData) {
+    return of(scenarioCount, RepeatedScenarioMarketData.of(scenarioCount, marketData));
+  }
+
+  /**
+   * Obtains an instance where every scenario shares the specified underlying scenario market data.
+   * <p>
+   * The underlying market data must have a single scenario or the specified number of scenarios.
+   *
+   * @param scenarioCount  the number of scenarios, one or more
+   * @param underlying  the underlying market data
+   * @return the scenario market data
+   */
+  public static SharedScenarioMarketData of(int scenarioCount, ScenarioMarketData underlying) {
+    return new SharedScenarioMarketData(underlying, scenarioCount, ImmutableMap.of());
+  }
+
+  /**
+   * Returns a builder used to add values that override the specified underlying market data.
+   * <p>
+   * The underlying market data must have a single scenario or the specified number of scenarios.
+   *
+   * @param scenarioCount  the number of scenarios, one or more
+   * @param underlying  the underlying market data
+   * @return the builder
+   */
+  public static SharedScenarioMarketDataBuilder builder(int scenarioCount, ScenarioMarketData underlying) {
+    return of(scenarioCount, underlying).toBuilder();
+  }
+
+  @ImmutableValidator
+  private void validate() {
+    if (underlying.getScenarioCount() != 1 && underlying.getScenarioCount() != scenarioCount) {
+      throw new IllegalArgumentException(Messages.format(
+          "Scenario count mismatch: underlying market data has {} scenarios but this market data has {}",
+          underlying.getScenarioCount(), scenarioCount));
+    }
+    for (Map.Entry<MarketDataId<?>, MarketDataBox<?>> entry : overrides.entrySet()) {
+      MarketDataBox<?> value = entry.getValue();
+      if (value.isScenarioValue() && value.getScenarioCount() != scenarioCount) {
+        throw new IllegalArgumentException(Messages.format(
+            "Scenario count mismatch: value for '{}' has {} scenarios but this market data has {}",
+            entry.getKey(), value.getScenarioCount(), scenarioCount));
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a builder populated with the data in this instance.
+   * <p>
+   * The builder shares the data in this instance, only copying the values that are changed.
+   *
+   * @return the builder
+   */
+  public SharedScenarioMarketDataBuilder toBuilder() {
+    return new SharedScenarioMarketDataBuilder(underlying, scenarioCount, overrides);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public MarketDataBox<LocalDate> getValuationDate() {
+    return underlying.getValuationDate();
+  }
+
+  @Override
+  public boolean containsValue(MarketDataId<?> id) {
+    return overrides.containsKey(id) || underlying.containsValue(id);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> Optional<MarketDataBox<T>> findValue(MarketDataId<T> id) {
+    MarketDataBox<T> value = (MarketDataBox<T>) overrides.get(id);
+    if (value != null) {
+      return Optional.of(value);
+    }
+    return underlying.findValue(id);
+  }
+
+  @Override
+  public Set<MarketDataId<?>> getIds() {
+    if (overrides.isEmpty()) {
+      return underlying.getIds();
+    }
+    return ImmutableSet.<MarketDataId<?>>builder()
+        .addAll(underlying.getIds())
+        .addAll(overrides.keySet())
+        .build();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> Set<MarketDataId<T>> findIds(MarketDataName<T> name) {
+    Set<MarketDataId<T>> overrideIds = overrides.keySet().stream()
+        .filter(id -> id instanceof NamedMarketDataId)
+        .filter(id -> ((NamedMarketDataId<?>) id).getMarketDataName().equals(name))
+        .map(id -> (MarketDataId<T>) id)
+        .collect(toImmutableSet());
+    if (overrideIds.isEmpty()) {
+      return underlying.findIds(name);
+    }
+    return ImmutableSet.<MarketDataId<T>>builder()
+        .addAll(underlying.findIds(name))
+        .addAll(overrideIds)
+        .build();
+  }
+
+  @Override
+  public Set<ObservableId> getTimeSeriesIds() {
+    return underlying.getTimeSeriesIds();
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries getTimeSeries(ObservableId id) {
+    return underlying.getTimeSeries(id);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a copy of this market data with the specified value.
+   * <p>
+   * The result shares all other data with this instance, without copying the map of overridden values.
+   * The values of a scenario box that are the same instance as the underlying value,
+   * or as each other, are shared rather than held separately.
+   *
+   * @param <T>  the type of the market data value
+   * @param id  the identifier
+   * @param value  the value to associate with the identifier
+   * @return the derived market data with the specified identifier and value
+   * @throws IllegalArgumentException if the scenario count does not match
+   */
+  @Override
+  public <T> SharedScenarioMarketData withValue(MarketDataId<T> id, MarketDataBox<T> value) {
+    return withChanges(changeBuilder().addValue(id, value));
+  }
+
+  /**
+   * Returns a copy of this market data with the value of a single scenario overridden.
+   * <p>
+   * The other scenarios are unaffected, and all other data is shared with this instance.
+   * A value must already exist for the identifier.
+   * <p>
+   * This copies the scenarios of the value for the identifier, but not the map of overridden values.
+   * To override many scenarios, use {@link #toBuilder()} and {@link SharedScenarioMarketDataBuilder#build()}.
+   *
+   * @param <T>  the type of the market data value
+   * @param id  the identifier
+   * @param scenarioIndex  the index of the scenario
+   * @param value  the value to associate with the identifier in the scenario
+   * @return the derived market data with the specified identifier and value
+   * @throws IllegalArgumentException if the scenario index is invalid
+   * @throws MarketDataNotFoundException if there is no existing value for the identifier
+   */
+  public <T> SharedScenarioMarketData withScenarioValue(MarketDataId<T> id, int scenarioIndex, T value) {
+    return withChanges(changeBuilder().addScenarioValue(id, scenarioIndex, value));
+  }
+
+  // a builder for changes layered over this instance, comparing values to those of this instance
+  private SharedScenarioMarketDataBuilder changeBuilder() {
+    return new SharedScenarioMarketDataBuilder(this, scenarioCount, ImmutableMap.of());
+  }
+
+  // returns the changes layered over this instance
+  // the changes are merged with each underlying layer holding no more overridden values than the changes
+  private SharedScenarioMarketData withChanges(SharedScenarioMarketDataBuilder changes) {
+    Map<MarketDataId<?>, MarketDataBox<?>> merged = changes.build().overrides;
+    if (merged.isEmpty()) {
+      return this;
+    }
+    ScenarioMarketData parent = this;
+    while (parent instanceof SharedScenarioMarketData &&
+        ((SharedScenarioMarketData) parent).scenarioCount == scenarioCount &&
+        ((SharedScenarioMarketData) parent).overrides.size() <= merged.size()) {
+      SharedScenarioMarketData layer = (SharedScenarioMarketData) parent;
+      Map<MarketDataId<?>, MarketDataBox<?>> combined = new HashMap<>(layer.overrides);
+      combined.putAll(merged);
+      merged = combined;
+      parent = layer.underlying;
+    }
+    return new SharedScenarioMarketData(parent, scenarioCount, merged);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code SharedScenarioMarketData}.
+   */
+  private static MetaBean META_BEAN = LightMetaBean.of(SharedScenarioMarketData.class);
+
+  /**
+   * The meta-bean for {@code SharedScenarioMarketData}.
+   * @return the meta-bean, not null
+   */
+  public static MetaBean meta() {
+    return META_BEAN;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  SharedScenarioMarketData(
+      ScenarioMarketData underlying,
+      int scenarioCount,
+      Map<MarketDataId<?>, MarketDataBox<?>> overrides) {
+    JodaBeanUtils.notNull(underlying, "underlying");
+    ArgChecker.notNegativeOrZero(scenarioCount, "scenarioCount");
+    JodaBeanUtils.notNull(overrides, "overrides");
+    this.underlying = underlying;
+    this.scenarioCount = scenarioCount;
+    this.overrides = ImmutableMap.copyOf(overrides);
+    validate();
+  }
+
+  @Override
+  public MetaBean metaBean() {
+    return META_BEAN;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the underlying market data, shared by all scenarios.
+   * This has a single scenario or the same number of scenarios as this market data.
+   * @return the value of the property, not null
+   */
+  public ScenarioMarketData getUnderlying() {
+    return underlying;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the number of scenarios.
+   * @return the value of the property
+   */
+  @Override
+  public int getScenarioCount() {
+    return scenarioCount;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the values that override the underlying market data, keyed by identifier.
+   * @return the value of the property, not null
+   */
+  public ImmutableMap<MarketDataId<?>, MarketDataBox<?>> getOverrides() {
+    return overrides;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      SharedScenarioMarketData other = (SharedScenarioMarketData) obj;
+      return JodaBeanUtils.equal(underlying, other.underlying) &&
+          (scenarioCount == other.scenarioCount) &&
+          JodaBeanUtils.equal(overrides, other.overrides);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(underlying);
+    hash = hash * 31 + JodaBeanUtils.hashCode(scenarioCount);
+    hash = hash * 31 + JodaBeanUtils.hashCode(overrides);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(128);
+    buf.append("SharedScenarioMarketData{");
+    buf.append("underlying").append('=').append(underlying).append(',').append(' ');
+    buf.append("scenarioCount").append('=').append(scenarioCount).append(',').append(' ');
+    buf.append("overrides").append('=').append(JodaBeanUtils.toString(overrides));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
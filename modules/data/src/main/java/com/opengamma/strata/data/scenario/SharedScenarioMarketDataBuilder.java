@@ -0,0 +1,258 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.IntArray;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.MarketDataNotFoundException;
+
+/**
+ * A mutable builder for market data that shares a base set of data.
+ * <p>
+ * This is used to create instances of {@link SharedScenarioMarketData}.
+ * Values are compared by identity when deciding whether a scenario shares a value,
+ * thus a scenario that has not been perturbed will continue to refer to the base value.
+ */
+public final class SharedScenarioMarketDataBuilder {
+
+  /**
+   * The underlying market data.
+   */
+  private final ScenarioMarketData underlying;
+  /**
+   * The number of scenarios.
+   */
+  private final int scenarioCount;
+  /**
+   * The values that override the underlying market data.
+   */
+  private final Map<MarketDataId<?>, MarketDataBox<?>> overrides;
+  /**
+   * The columns being changed one scenario at a time, keyed by identifier.
+   */
+  private final Map<MarketDataId<?>, SparseColumn<?>> columns = new HashMap<>();
+
+  //-------------------------------------------------------------------------
+  SharedScenarioMarketDataBuilder(
+      ScenarioMarketData underlying,
+      int scenarioCount,
+      Map<MarketDataId<?>, MarketDataBox<?>> overrides) {
+
+    this.underlying = ArgChecker.notNull(underlying, "underlying");
+    this.scenarioCount = ArgChecker.notNegativeOrZero(scenarioCount, "scenarioCount");
+    this.overrides = new HashMap<>(overrides);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds a value that applies to all scenarios, replacing any existing value.
+   *
+   * @param <T>  the type of the market data value
+   * @param id  the identifier
+   * @param value  the value
+   * @return this builder
+   */
+  public <T> SharedScenarioMarketDataBuilder addValue(MarketDataId<T> id, T value) {
+    ArgChecker.notNull(value, "value");
+    return addValue(id, MarketDataBox.ofSingleValue(value));
+  }
+
+  /**
+   * Adds a box of values, replacing any existing value.
+   * <p>
+   * If the box contains a value for each scenario, the values that are the same instance
+   * as the underlying value, or as each other, are shared rather than held separately.
+   *
+   * @param <T>  the type of the market data value
+   * @param id  the identifier
+   * @param value  the box of values
+   * @return this builder
+   * @throws IllegalArgumentException if the scenario count does not match
+   */
+  public <T> SharedScenarioMarketDataBuilder addValue(MarketDataId<T> id, MarketDataBox<T> value) {
+    ArgChecker.notNull(id, "id");
+    ArgChecker.notNull(value, "value");
+    if (value.isScenarioValue() && value.getScenarioCount() != scenarioCount) {
+      throw new IllegalArgumentException(Messages.format(
+          "Scenario count mismatch: value for '{}' has {} scenarios but the market data has {}",
+          id, value.getScenarioCount(), scenarioCount));
+    }
+    columns.remove(id);
+    if (value.isSingleValue() || value instanceof SparseMarketDataBox) {
+      overrides.put(id, value);
+      return this;
+    }
+    Optional<MarketDataBox<T>> underlyingValue = underlying.findValue(id);
+    MarketDataBox<T> base = underlyingValue.orElse(MarketDataBox.ofSingleValue(value.getValue(0)));
+    SparseColumn<T> column = SparseColumn.of(base, scenarioCount);
+    for (int i = 0; i < scenarioCount; i++) {
+      column.set(i, value.getValue(i));
+    }
+    if (column.isEmpty() && underlyingValue.isPresent()) {
+      // every scenario is the same as the underlying value
+      overrides.remove(id);
+    } else if (column.values.size() == scenarioCount) {
+      // nothing is shared
+      overrides.put(id, value);
+    } else {
+      overrides.put(id, column.toBox());
+    }
+    return this;
+  }
+
+  /**
+   * Adds the value of a single scenario, replacing any existing value for that scenario.
+   * <p>
+   * The other scenarios are unaffected. A value must already exist for the identifier,
+   * either in the underlying market data or in this builder.
+   * The changes are held efficiently, thus calling this method once for each scenario is acceptable.
+   *
+   * @param <T>  the type of the market data value
+   * @param id  the identifier
+   * @param scenarioIndex  the index of the scenario
+   * @param value  the value of the scenario
+   * @return this builder
+   * @throws IllegalArgumentException if the scenario index is invalid
+   * @throws MarketDataNotFoundException if there is no existing value for the identifier
+   */
+  @SuppressWarnings("unchecked")
+  public <T> SharedScenarioMarketDataBuilder addScenarioValue(MarketDataId<T> id, int scenarioIndex, T value) {
+    ArgChecker.notNull(id, "id");
+    ArgChecker.inRange(scenarioIndex, 0, scenarioCount, "scenarioIndex");
+    ArgChecker.notNull(value, "value");
+    SparseColumn<T> column = (SparseColumn<T>) columns.get(id);
+    if (column == null) {
+      column = SparseColumn.of(currentValue(id), scenarioCount);
+      columns.put(id, column);
+    }
+    column.set(scenarioIndex, value);
+    return this;
+  }
+
+  // finds the current value, which is the starting point for changes to individual scenarios
+  @SuppressWarnings("unchecked")
+  private <T> MarketDataBox<T> currentValue(MarketDataId<T> id) {
+    MarketDataBox<T> value = (MarketDataBox<T>) overrides.get(id);
+    if (value != null) {
+      return value;
+    }
+    return underlying.findValue(id)
+        .orElseThrow(() -> new MarketDataNotFoundException(Messages.format(
+            "Market data not found for identifier '{}' of type '{}'", id, id.getClass().getSimpleName())));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Builds the market data from the builder.
+   * <p>
+   * The builder can be used again after this method is called.
+   *
+   * @return the market data
+   */
+  public SharedScenarioMarketData build() {
+    for (Map.Entry<MarketDataId<?>, SparseColumn<?>> entry : columns.entrySet()) {
+      overrides.put(entry.getKey(), entry.getValue().toBox());
+    }
+    return new SharedScenarioMarketData(underlying, scenarioCount, overrides);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * A mutable column of scenario values, held as slots referring to distinct values.
+   *
+   * @param <T>  the type of the market data value
+   */
+  private static final class SparseColumn<T> {
+
+    /**
+     * The base box, providing the value of each scenario with no slot.
+     */
+    private final MarketDataBox<T> base;
+    /**
+     * The slot of each scenario, -1 if the scenario uses the base value.
+     */
+    private final int[] slots;
+    /**
+     * The distinct values.
+     */
+    private final List<T> values;
+    /**
+     * The slot of each distinct value, keyed by identity.
+     */
+    private final Map<T, Integer> index = new IdentityHashMap<>();
+
+    // creates a column from the current value, sharing the base box
+    private static <T> SparseColumn<T> of(MarketDataBox<T> current, int scenarioCount) {
+      if (current instanceof SparseMarketDataBox) {
+        SparseMarketDataBox<T> sparse = (SparseMarketDataBox<T>) current;
+        return new SparseColumn<>(sparse.getBase(), sparse.getSlots().toArray(), sparse.getValues());
+      }
+      int[] slots = new int[scenarioCount];
+      Arrays.fill(slots, -1);
+      return new SparseColumn<>(current, slots, new ArrayList<>());
+    }
+
+    private SparseColumn(MarketDataBox<T> base, int[] slots, List<T> values) {
+      this.base = base;
+      this.slots = slots;
+      this.values = new ArrayList<>(values);
+      for (int i = 0; i < this.values.size(); i++) {
+        index.put(this.values.get(i), i);
+      }
+    }
+
+    // sets the value of a scenario, sharing the base value or an existing value where possible
+    private void set(int scenarioIndex, T value) {
+      if (value == base.getValue(scenarioIndex)) {
+        slots[scenarioIndex] = -1;
+        return;
+      }
+      Integer slot = index.get(value);
+      if (slot == null) {
+        slot = values.size();
+        values.add(value);
+        index.put(value, slot);
+      }
+      slots[scenarioIndex] = slot;
+    }
+
+    // checks if every scenario uses the base value
+    private boolean isEmpty() {
+      return Arrays.stream(slots).allMatch(slot -> slot < 0);
+    }
+
+    // creates the box, removing any values that are no longer referred to
+    private MarketDataBox<T> toBox() {
+      if (isEmpty()) {
+        return base;
+      }
+      int[] remap = new int[values.size()];
+      Arrays.fill(remap, -1);
+      List<T> used = new ArrayList<>();
+      int[] compacted = new int[slots.length];
+      for (int i = 0; i < slots.length; i++) {
+        int slot = slots[i];
+        if (slot >= 0 && remap[slot] < 0) {
+          remap[slot] = used.size();
+          used.add(values.get(slot));
+        }
+        compacted[i] = slot < 0 ? -1 : remap[slot];
+      }
+      return SparseMarketDataBox.of(base, IntArray.ofUnsafe(compacted), used);
+    }
+  }
+
+}
@@ -0,0 +1,337 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.ImmutableValidator;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.IntArray;
+import com.opengamma.strata.collect.function.ObjIntFunction;
+
+/**
+ * A market data box that stores only the scenarios that differ from a base box.
+ * <p>
+ * Each scenario refers to a slot in the list of distinct values, or to the base value if the slot is -1.
+ * Scenarios with the same value share a single slot, thus a value used by many scenarios is only held once.
+ * Looking up the value of a scenario is a constant time operation.
+ * <p>
+ * This is used by {@link SharedScenarioMarketData} where most scenarios are unchanged from the base data.
+ *
+ * @param <T>  the type of data held in the box
+ */
+@BeanDefinition(style = "light")
+final class SparseMarketDataBox<T>
+    implements MarketDataBox<T>, ImmutableBean, Serializable {
+
+  /**
+   * The base box, providing the value of each scenario that is not overridden.
+   * This has a single value or the same number of scenarios as this box.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final MarketDataBox<T> base;
+  /**
+   * The slot of each scenario in the list of values, -1 if the scenario uses the base value.
+   * The size of this array defines the number of scenarios.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final IntArray slots;
+  /**
+   * The distinct values referred to by the slots.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableList<T> values;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the base box, slots and values.
+   *
+   * @param <T>  the type of data held in the box
+   * @param base  the base box, providing the value of each scenario that is not overridden
+   * @param slots  the slot of each scenario in the list of values, -1 if the scenario uses the base value
+   * @param values  the distinct values referred to by the slots
+   * @return the box
+   */
+  static <T> SparseMarketDataBox<T> of(MarketDataBox<T> base, IntArray slots, List<T> values) {
+    return new SparseMarketDataBox<>(base, slots, values);
+  }
+
+  @ImmutableValidator
+  private void validate() {
+    ArgChecker.isTrue(slots.size() > 0, "Sparse box must have at least one scenario");
+    if (base.isScenarioValue() && base.getScenarioCount() != slots.size()) {
+      throw new IllegalArgumentException(Messages.format(
+          "Scenario count mismatch: base has {} scenarios but this box has {}",
+          base.getScenarioCount(), slots.size()));
+    }
+    slots.forEach((i, slot) -> ArgChecker.inRange(slot, -1, values.size(), "slot"));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public T getSingleValue() {
+    throw new IllegalStateException("This box does not contain a single value");
+  }
+
+  @Override
+  public ScenarioArray<T> getScenarioValue() {
+    return ScenarioArray.of(slots.size(), this::getValue);
+  }
+
+  @Override
+  public T getValue(int scenarioIndex) {
+    ArgChecker.inRange(scenarioIndex, 0, slots.size(), "scenarioIndex");
+    int slot = slots.get(scenarioIndex);
+    return slot < 0 ? base.getValue(scenarioIndex) : values.get(slot);
+  }
+
+  @Override
+  public boolean isSingleValue() {
+    return false;
+  }
+
+  @Override
+  public int getScenarioCount() {
+    return slots.size();
+  }
+
+  @Override
+  public Class<?> getMarketDataType() {
+    return getValue(0).getClass();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public <R> MarketDataBox<R> map(Function<T, R> fn) {
+    // the structure is retained, thus each distinct value is only mapped once
+    ImmutableList<R> mapped = values.stream().map(fn).collect(toImmutableList());
+    return new SparseMarketDataBox<>(base.map(fn), slots, mapped);
+  }
+
+  @Override
+  public <R> MarketDataBox<R> mapWithIndex(int scenarioCount, ObjIntFunction<T, R> fn) {
+    if (scenarioCount != getScenarioCount()) {
+      throw new IllegalArgumentException(
+          Messages.format(
+              "Scenario count {} does not equal the scenario count of the value {}",
+              scenarioCount,
+              getScenarioCount()));
+    }
+    List<R> perturbedValues = IntStream.range(0, scenarioCount)
+        .mapToObj(idx -> fn.apply(getValue(idx), idx))
+        .collect(toImmutableList());
+    return toBox(perturbedValues);
+  }
+
+  @Override
+  public <U, R> MarketDataBox<R> combineWith(MarketDataBox<U> other, BiFunction<T, U, R> fn) {
+    if (other.isSingleValue()) {
+      U otherValue = other.getSingleValue();
+      return map(value -> fn.apply(value, otherValue));
+    }
+    if (other.getScenarioCount() != getScenarioCount()) {
+      throw new IllegalArgumentException(Messages.format(
+          "Scenario values must have the same number of scenarios. {} has {} scenarios, {} has {}",
+          this,
+          getScenarioCount(),
+          other,
+          other.getScenarioCount()));
+    }
+    List<R> results = IntStream.range(0, getScenarioCount())
+        .mapToObj(idx -> fn.apply(getValue(idx), other.getValue(idx)))
+        .collect(toImmutableList());
+    return toBox(results);
+  }
+
+  // creates a box from the result of each scenario
+  // if the base is a single value and every scenario using it is unchanged, the result remains sparse
+  // the other scenarios then share a slot if their results are the same instance
+  @SuppressWarnings("unchecked")
+  private <R> MarketDataBox<R> toBox(List<R> results) {
+    if (!base.isSingleValue() || !isBaseUnchanged(results)) {
+      return MarketDataBox.ofScenarioValues(results);
+    }
+    Map<R, Integer> index = new IdentityHashMap<>();
+    List<R> distinct = new ArrayList<>();
+    int[] resultSlots = new int[results.size()];
+    for (int i = 0; i < resultSlots.length; i++) {
+      if (slots.get(i) < 0) {
+        resultSlots[i] = -1;
+      } else {
+        R result = results.get(i);
+        Integer slot = index.get(result);
+        if (slot == null) {
+          slot = distinct.size();
+          distinct.add(result);
+          index.put(result, slot);
+        }
+        resultSlots[i] = slot;
+      }
+    }
+    // the base value is the result of each scenario using it, thus it is of the result type
+    return new SparseMarketDataBox<>((MarketDataBox<R>) base, IntArray.ofUnsafe(resultSlots), distinct);
+  }
+
+  // checks if at least one scenario uses the single base value, and every such result is the same instance
+  private boolean isBaseUnchanged(List<?> results) {
+    T baseValue = base.getSingleValue();
+    boolean used = false;
+    for (int i = 0; i < results.size(); i++) {
+      if (slots.get(i) < 0) {
+        if (results.get(i) != baseValue) {
+          return false;
+        }
+        used = true;
+      }
+    }
+    return used;
+  }
+
+  @Override
+  public Stream<T> stream() {
+    return IntStream.range(0, slots.size()).mapToObj(this::getValue);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code SparseMarketDataBox}.
+   */
+  private static MetaBean META_BEAN = LightMetaBean.of(SparseMarketDataBox.class);
+
+  /**
+   * The meta-bean for {@code SparseMarketDataBox}.
+   * @return the meta-bean, not null
+   */
+  public static MetaBean meta() {
+    return META_BEAN;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private SparseMarketDataBox(
+      MarketDataBox<T> base,
+      IntArray slots,
+      List<T> values) {
+    JodaBeanUtils.notNull(base, "base");
+    JodaBeanUtils.notNull(slots, "slots");
+    JodaBeanUtils.notNull(values, "values");
+    this.base = base;
+    this.slots = slots;
+    this.values = ImmutableList.copyOf(values);
+    validate();
+  }
+
+  @Override
+  public MetaBean metaBean() {
+    return META_BEAN;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the base box, providing the value of each scenario that is not overridden.
+   * This has a single value or the same number of scenarios as this box.
+   * @return the value of the property, not null
+   */
+  public MarketDataBox<T> getBase() {
+    return base;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the slot of each scenario in the list of values, -1 if the scenario uses the base value.
+   * The size of this array defines the number of scenarios.
+   * @return the value of the property, not null
+   */
+  public IntArray getSlots() {
+    return slots;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the distinct values referred to by the slots.
+   * @return the value of the property, not null
+   */
+  public ImmutableList<T> getValues() {
+    return values;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      SparseMarketDataBox<?> other = (SparseMarketDataBox<?>) obj;
+      return JodaBeanUtils.equal(base, other.base) &&
+          JodaBeanUtils.equal(slots, other.slots) &&
+          JodaBeanUtils.equal(values, other.values);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(base);
+    hash = hash * 31 + JodaBeanUtils.hashCode(slots);
+    hash = hash * 31 + JodaBeanUtils.hashCode(values);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(128);
+    buf.append("SparseMarketDataBox{");
+    buf.append("base").append('=').append(base).append(',').append(' ');
+    buf.append("slots").append('=').append(slots).append(',').append(' ');
+    buf.append("values").append('=').append(JodaBeanUtils.toString(values));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -138,6 +138,18 @@ public class CurrencyScenarioArrayTest {
         "Expected 3 FX rates but received 2");
   }
 
+  public void plusMinus() {
+    CurrencyScenarioArray test = CurrencyScenarioArray.of(GBP, DoubleArray.of(1, 2, 3));
+    CurrencyScenarioArray other = CurrencyScenarioArray.of(GBP, DoubleArray.of(10, 20, 30));
+    assertThat(test.plus(other)).isEqualTo(CurrencyScenarioArray.of(GBP, DoubleArray.of(11, 22, 33)));
+    assertThat(test.minus(other)).isEqualTo(CurrencyScenarioArray.of(GBP, DoubleArray.of(-9, -18, -27)));
+    assertThat(test.plus(CurrencyAmount.of(GBP, 1)).getAmounts().getValues()).isEqualTo(DoubleArray.of(2, 3, 4));
+    assertThat(test.minus(CurrencyAmount.of(GBP, 1)).getAmounts().getValues()).isEqualTo(DoubleArray.of(0, 1, 2));
+    assertThrowsIllegalArg(() -> test.plus(CurrencyScenarioArray.of(USD, DoubleArray.of(1, 2, 3))));
+    assertThrowsIllegalArg(() -> test.minus(CurrencyScenarioArray.of(GBP, DoubleArray.of(1, 2))));
+    assertThrowsIllegalArg(() -> test.plus(CurrencyAmount.of(USD, 1)));
+  }
+
   public void coverage() {
     DoubleArray values = DoubleArray.of(1, 2, 3);
     CurrencyScenarioArray test = CurrencyScenarioArray.of(GBP, values);
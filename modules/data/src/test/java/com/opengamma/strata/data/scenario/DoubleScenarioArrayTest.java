@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.data.scenario;
 
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static java.util.stream.Collectors.toList;
@@ -56,6 +57,14 @@ public class DoubleScenarioArrayTest {
     assertThat(test.stream().collect(toList())).containsExactly(1d, 2d, 3d);
   }
 
+  public void plusMinus() {
+    DoubleScenarioArray test = DoubleScenarioArray.of(DoubleArray.of(1, 2, 3));
+    DoubleScenarioArray other = DoubleScenarioArray.of(DoubleArray.of(10, 20, 30));
+    assertThat(test.plus(other)).isEqualTo(DoubleScenarioArray.of(DoubleArray.of(11, 22, 33)));
+    assertThat(test.minus(other)).isEqualTo(DoubleScenarioArray.of(DoubleArray.of(-9, -18, -27)));
+    assertThrowsIllegalArg(() -> test.plus(DoubleScenarioArray.of(DoubleArray.of(1, 2))));
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     DoubleArray values = DoubleArray.of(1, 2, 3);
@@ -250,6 +250,56 @@ public class MultiCurrencyScenarioArrayTest {
     assertThrowsIllegalArg(() -> arrays.stream().collect(toMultiCurrencyScenarioArray()));
   }
 
+  public void plusMinus() {
+    MultiCurrencyScenarioArray other = MultiCurrencyScenarioArray.of(ImmutableMap.of(
+        GBP, DoubleArray.of(1, 2, 3),
+        CAD, DoubleArray.of(4, 5, 6)));
+    assertThat(VALUES_ARRAY.plus(other)).isEqualTo(MultiCurrencyScenarioArray.of(ImmutableMap.of(
+        GBP, DoubleArray.of(21, 23, 25),
+        USD, DoubleArray.of(30, 32, 33),
+        EUR, DoubleArray.of(40, 43, 44),
+        CAD, DoubleArray.of(4, 5, 6))));
+    assertThat(VALUES_ARRAY.minus(other)).isEqualTo(MultiCurrencyScenarioArray.of(ImmutableMap.of(
+        GBP, DoubleArray.of(19, 19, 19),
+        USD, DoubleArray.of(30, 32, 33),
+        EUR, DoubleArray.of(40, 43, 44),
+        CAD, DoubleArray.of(-4, -5, -6))));
+    MultiCurrencyAmount amount = MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 1), CurrencyAmount.of(CAD, 2));
+    assertThat(VALUES_ARRAY.plus(amount).getValues(GBP)).isEqualTo(DoubleArray.of(21, 22, 23));
+    assertThat(VALUES_ARRAY.plus(amount).getValues(CAD)).isEqualTo(DoubleArray.of(2, 2, 2));
+    assertThat(VALUES_ARRAY.minus(amount).getValues(GBP)).isEqualTo(DoubleArray.of(19, 20, 21));
+    assertThat(VALUES_ARRAY.minus(amount).getValues(CAD)).isEqualTo(DoubleArray.of(-2, -2, -2));
+    MultiCurrencyScenarioArray wrongSize = MultiCurrencyScenarioArray.of(ImmutableMap.of(GBP, DoubleArray.of(1, 2)));
+    assertThrowsIllegalArg(() -> VALUES_ARRAY.plus(wrongSize));
+  }
+
+  public void builder() {
+    MultiCurrencyScenarioArray test = MultiCurrencyScenarioArray.builder(3)
+        .add(CurrencyScenarioArray.of(USD, DoubleArray.of(10, 20, 30)))
+        .add(VALUES_ARRAY)
+        .add(CurrencyAmount.of(GBP, 1))
+        .add(MultiCurrencyAmount.of(CurrencyAmount.of(CAD, 2)))
+        .add(EUR, DoubleArray.of(1, 2, 3))
+        .build();
+    assertThat(test).isEqualTo(MultiCurrencyScenarioArray.of(ImmutableMap.of(
+        GBP, DoubleArray.of(21, 22, 23),
+        USD, DoubleArray.of(40, 52, 63),
+        EUR, DoubleArray.of(41, 45, 47),
+        CAD, DoubleArray.of(2, 2, 2))));
+  }
+
+  public void builder_empty() {
+    MultiCurrencyScenarioArray test = MultiCurrencyScenarioArray.builder(2).build();
+    assertThat(test.getScenarioCount()).isEqualTo(2);
+    assertThat(test.getCurrencies()).isEmpty();
+  }
+
+  public void builder_wrongSize() {
+    MultiCurrencyScenarioArrayBuilder builder = MultiCurrencyScenarioArray.builder(3);
+    assertThrowsIllegalArg(() -> builder.add(CurrencyScenarioArray.of(USD, DoubleArray.of(10, 20))));
+    assertThrowsIllegalArg(() -> MultiCurrencyScenarioArray.builder(0));
+  }
+
   public void coverage() {
     coverImmutableBean(VALUES_ARRAY);
     MultiCurrencyScenarioArray test2 = MultiCurrencyScenarioArray.of(
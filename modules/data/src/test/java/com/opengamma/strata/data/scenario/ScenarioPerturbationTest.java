@@ -5,13 +5,23 @@
  */
 package com.opengamma.strata.data.scenario;
 
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.joda.beans.ImmutableBean;
 import org.testng.annotations.Test;
 
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.function.ObjIntFunction;
 
 /**
  * Test {@link ScenarioPerturbation}.
@@ -30,6 +40,128 @@ public class ScenarioPerturbationTest {
     assertEquals(test.applyTo(box2, REF_DATA), box2);
   }
 
+  public void test_lazy() {
+    CountingPerturbation underlying = new CountingPerturbation();
+    ScenarioPerturbation<Double> test = ScenarioPerturbation.lazy(underlying, Double.class, 2);
+    assertEquals(test.getScenarioCount(), 3);
+    MarketDataBox<Double> box = test.applyTo(MarketDataBox.ofSingleValue(10d), REF_DATA);
+    // nothing is perturbed until a scenario is requested
+    assertEquals(box.getMarketDataType(), Double.class);
+    assertEquals(underlying.count.get(), 0);
+    assertEquals(box.getScenarioCount(), 3);
+    assertEquals(box.getValue(1), 11d);
+    assertEquals(box.getValue(1), 11d);
+    assertEquals(underlying.count.get(), 1);
+    assertEquals(box.getValue(0), 10d);
+    assertEquals(box.getValue(2), 12d);
+    assertEquals(underlying.count.get(), 3);
+    // scenario 1 has been evicted from the cache
+    assertEquals(box.getValue(1), 11d);
+    assertEquals(underlying.count.get(), 4);
+    assertEquals(box.getScenarioValue(), ScenarioArray.of(10d, 11d, 12d));
+    assertThrowsIllegalArg(() -> box.getValue(3));
+  }
+
+  public void test_lazy_map() {
+    CountingPerturbation underlying = new CountingPerturbation();
+    MarketDataBox<Double> box = ScenarioPerturbation.lazy(underlying, Double.class, 0)
+        .applyTo(MarketDataBox.ofScenarioValues(10d, 20d, 30d), REF_DATA);
+    MarketDataBox<Double> mapped = box.map(value -> value * 2);
+    assertEquals(underlying.count.get(), 0);
+    assertEquals(mapped.getValue(2), 64d);
+    assertEquals(mapped.mapWithIndex(3, (value, idx) -> value + idx).getValue(2), 66d);
+    assertEquals(box.combineWith(MarketDataBox.ofSingleValue(1d), Double::sum).getValue(0), 11d);
+    assertEquals(box.combineWith(MarketDataBox.ofScenarioValues(1d, 2d, 3d), Double::sum).getValue(1), 23d);
+    assertEquals(box.getMarketDataType(), Double.class);
+    assertThrowsIllegalArg(() -> box.combineWith(MarketDataBox.ofScenarioValues(1d, 2d), Double::sum));
+    assertThrowsIllegalArg(() -> box.mapWithIndex(2, (value, idx) -> value));
+  }
+
+  public void test_lazy_mapUsesCache() {
+    CountingPerturbation underlying = new CountingPerturbation();
+    MarketDataBox<Double> box = ScenarioPerturbation.lazy(underlying, Double.class, 3)
+        .applyTo(MarketDataBox.ofSingleValue(10d), REF_DATA);
+    assertEquals(box.getScenarioValue(), ScenarioArray.of(10d, 11d, 12d));
+    assertEquals(underlying.count.get(), 3);
+    // the derived boxes obtain the values from the cache of the box
+    assertEquals(box.map(value -> value * 2).getScenarioValue(), ScenarioArray.of(20d, 22d, 24d));
+    assertEquals(box.mapWithIndex(3, (value, idx) -> value + idx).getScenarioValue(), ScenarioArray.of(10d, 12d, 14d));
+    assertEquals(
+        box.combineWith(MarketDataBox.ofSingleValue(1d), Double::sum).getScenarioValue(),
+        ScenarioArray.of(11d, 12d, 13d));
+    assertEquals(underlying.count.get(), 3);
+  }
+
+  public void test_lazy_equalsHashCode() {
+    MarketDataBox<Double> source = MarketDataBox.ofSingleValue(10d);
+    ObjIntFunction<Double, Double> fn = (value, idx) -> value + idx;
+    MarketDataBox<Double> box1 = LazyMarketDataBox.of(source, 3, fn, 2, Double.class);
+    MarketDataBox<Double> box2 = LazyMarketDataBox.of(MarketDataBox.ofSingleValue(10d), 3, fn, 0, Double.class);
+    MarketDataBox<Double> box3 = LazyMarketDataBox.of(MarketDataBox.ofSingleValue(20d), 3, fn, 2, Double.class);
+    MarketDataBox<Double> box4 = LazyMarketDataBox.of(source, 3, (value, idx) -> value + idx, 2, Double.class);
+    MarketDataBox<Double> box5 = LazyMarketDataBox.of(source, 3, fn, 2, Number.class);
+    assertEquals(box1, box1);
+    assertEquals(box1, box2);
+    assertEquals(box1.hashCode(), box2.hashCode());
+    assertFalse(box1.equals(box3));
+    assertFalse(box1.equals(box4));
+    assertFalse(box1.equals(box5));
+    assertFalse(box1.equals(null));
+    assertFalse(box1.equals(MarketDataBox.ofScenarioValues(10d, 11d, 12d)));
+    assertEquals(box1.map(value -> value).getScenarioCount(), 3);
+  }
+
+  public void test_lazy_equalsDoesNotPerturb() {
+    CountingPerturbation underlying = new CountingPerturbation();
+    MarketDataBox<Double> box = ScenarioPerturbation.lazy(underlying, Double.class, 2)
+        .applyTo(MarketDataBox.ofSingleValue(10d), REF_DATA);
+    assertEquals(box, box);
+    box.hashCode();
+    assertFalse(box.equals(MarketDataBox.ofScenarioValues(10d, 11d, 12d)));
+    assertEquals(underlying.count.get(), 0);
+  }
+
+  public void test_lazy_chainedPerturbationsOfDifferentTypes() {
+    // the first perturbation returns long values, the second double values, neither the type of the input
+    ScenarioPerturbation<Number> toLong = ScenarioPerturbation.lazy(new ToLongPerturbation(), Number.class, 2);
+    ScenarioPerturbation<Number> halve = ScenarioPerturbation.lazy(new HalvingPerturbation(), Number.class, 2);
+    MarketDataBox<Number> input = MarketDataBox.ofSingleValue(10.5d);
+    assertEquals(input.getMarketDataType(), Double.class);
+    MarketDataBox<Number> first = toLong.applyTo(input, REF_DATA);
+    // the type is that declared for the perturbed values, not that of the unperturbed value
+    assertEquals(first.getMarketDataType(), Number.class);
+    assertFalse(Double.class.isAssignableFrom(first.getMarketDataType()));
+    MarketDataBox<Number> second = halve.applyTo(first, REF_DATA);
+    assertEquals(second.getMarketDataType(), Number.class);
+    assertEquals(first.getValue(2), 12L);
+    assertEquals(second.getValue(2), 6d);
+    assertEquals(second.getScenarioValue(), ScenarioArray.of(5d, 5.5d, 6d));
+  }
+
+  public void test_lazy_serialization() throws Exception {
+    MarketDataBox<Double> box = ScenarioPerturbation.lazy(new CountingPerturbation(), Double.class, 2)
+        .applyTo(MarketDataBox.ofSingleValue(10d), REF_DATA);
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+      oos.writeObject(box);
+    }
+    try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+      // the box is serialized as a box containing the value of every scenario
+      assertEquals(ois.readObject(), MarketDataBox.ofScenarioValues(10d, 11d, 12d));
+    }
+  }
+
+  public void test_lazy_scenarioCountMismatch() {
+    ScenarioPerturbation<Double> test = ScenarioPerturbation.lazy(new CountingPerturbation(), Double.class, 2);
+    assertThrowsIllegalArg(() -> test.applyTo(MarketDataBox.ofScenarioValues(1d, 2d), REF_DATA));
+  }
+
+  public void test_lazy_notMapWithIndex() {
+    ScenarioPerturbation<Double> test = ScenarioPerturbation.lazy(ScenarioPerturbation.none(), Double.class, 2);
+    MarketDataBox<Double> box = MarketDataBox.ofScenarioValues(1d, 2d, 3d);
+    assertSame(test.applyTo(box, REF_DATA), box);
+  }
+
 //  public void test_generics() {
 //    // Number perturbation should be able to alter a Double box, returning a Number box
 //    ScenarioPerturbation<Number> test = ScenarioPerturbation.none();
@@ -42,6 +174,61 @@ public class ScenarioPerturbationTest {
   public void coverage() {
     ScenarioPerturbation<Double> test = ScenarioPerturbation.none();
     coverImmutableBean((ImmutableBean) test);
+    coverImmutableBean((ImmutableBean) ScenarioPerturbation.lazy(test, Double.class, 2));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Perturbation that truncates the value to a long and adds the scenario index.
+   */
+  private static final class ToLongPerturbation implements ScenarioPerturbation<Number> {
+
+    @Override
+    public MarketDataBox<Number> applyTo(MarketDataBox<Number> marketData, ReferenceData refData) {
+      return marketData.mapWithIndex(3, (value, scenarioIndex) -> value.longValue() + scenarioIndex);
+    }
+
+    @Override
+    public int getScenarioCount() {
+      return 3;
+    }
+  }
+
+  /**
+   * Perturbation that halves the value, returning a double.
+   */
+  private static final class HalvingPerturbation implements ScenarioPerturbation<Number> {
+
+    @Override
+    public MarketDataBox<Number> applyTo(MarketDataBox<Number> marketData, ReferenceData refData) {
+      return marketData.mapWithIndex(3, (value, scenarioIndex) -> value.doubleValue() / 2);
+    }
+
+    @Override
+    public int getScenarioCount() {
+      return 3;
+    }
+  }
+
+  /**
+   * Perturbation that adds the scenario index to the value, counting the values built.
+   */
+  private static final class CountingPerturbation implements ScenarioPerturbation<Double> {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public MarketDataBox<Double> applyTo(MarketDataBox<Double> marketData, ReferenceData refData) {
+      return marketData.mapWithIndex(3, (value, scenarioIndex) -> {
+        count.incrementAndGet();
+        return value + scenarioIndex;
+      });
+    }
+
+    @Override
+    public int getScenarioCount() {
+      return 3;
+    }
   }
 
 }
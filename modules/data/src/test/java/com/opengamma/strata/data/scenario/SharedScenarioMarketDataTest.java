@@ -0,0 +1,258 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.array.IntArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.MarketDataNotFoundException;
+import com.opengamma.strata.data.TestingNamedId;
+import com.opengamma.strata.data.TestingObservableId;
+
+/**
+ * Test {@link SharedScenarioMarketData}.
+ */
+@Test
+public class SharedScenarioMarketDataTest {
+
+  private static final LocalDate VAL_DATE = date(2015, 6, 30);
+  private static final TestingNamedId ID1 = new TestingNamedId("1");
+  private static final TestingNamedId ID2 = new TestingNamedId("2");
+  private static final TestingNamedId ID3 = new TestingNamedId("3");
+  private static final TestingObservableId ID4 = new TestingObservableId("4");
+  private static final String VAL1 = "1";
+  private static final String VAL2 = "2";
+  private static final String VAL3 = "3";
+  private static final LocalDateDoubleTimeSeries TIME_SERIES = LocalDateDoubleTimeSeries.builder()
+      .put(date(2011, 3, 8), 1.1)
+      .put(date(2011, 3, 10), 1.2)
+      .build();
+  private static final ImmutableScenarioMarketData BASE_DATA = ImmutableScenarioMarketData.builder(VAL_DATE)
+      .addValue(ID1, VAL1)
+      .addValue(ID2, VAL2)
+      .addTimeSeries(ID4, TIME_SERIES)
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    SharedScenarioMarketData test = SharedScenarioMarketData.of(4, BASE_DATA);
+    assertEquals(test.getScenarioCount(), 4);
+    assertEquals(test.getValuationDate(), MarketDataBox.ofSingleValue(VAL_DATE));
+    assertEquals(test.getValue(ID1), MarketDataBox.ofSingleValue(VAL1));
+    assertEquals(test.getIds(), ImmutableSet.of(ID1, ID2));
+    assertEquals(test.getTimeSeriesIds(), ImmutableSet.of(ID4));
+    assertEquals(test.getTimeSeries(ID4), TIME_SERIES);
+    assertThrows(() -> test.getValue(ID3), MarketDataNotFoundException.class);
+  }
+
+  public void test_of_marketData() {
+    SharedScenarioMarketData test = SharedScenarioMarketData.of(2, BASE_DATA.scenario(0));
+    assertEquals(test.getScenarioCount(), 2);
+    assertEquals(test.getValue(ID2).getValue(1), VAL2);
+  }
+
+  public void test_of_scenarioCountMismatch() {
+    ScenarioMarketData underlying = ImmutableScenarioMarketData.of(3, VAL_DATE, ImmutableMap.of(), ImmutableMap.of());
+    assertThrowsIllegalArg(() -> SharedScenarioMarketData.of(4, underlying));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_withValue() {
+    SharedScenarioMarketData base = SharedScenarioMarketData.of(3, BASE_DATA);
+    SharedScenarioMarketData test = base.withValue(ID3, MarketDataBox.ofSingleValue(VAL3));
+    assertEquals(test.getValue(ID3), MarketDataBox.ofSingleValue(VAL3));
+    assertEquals(test.containsValue(ID3), true);
+    assertEquals(test.getIds(), ImmutableSet.of(ID1, ID2, ID3));
+    assertEquals(test.findIds(ID3.getMarketDataName()), ImmutableSet.of(ID3));
+    assertEquals(test.findIds(ID1.getMarketDataName()), ImmutableSet.of(ID1));
+    // the original is unchanged
+    assertEquals(base.containsValue(ID3), false);
+    assertSame(test.getUnderlying(), base.getUnderlying());
+  }
+
+  public void test_withValue_scenarios_sharesUnderlying() {
+    String perturbed = new String("1a");
+    SharedScenarioMarketData test = SharedScenarioMarketData.of(4, BASE_DATA)
+        .withValue(ID1, MarketDataBox.ofScenarioValues(VAL1, perturbed, VAL1, perturbed));
+    MarketDataBox<String> box = test.getValue(ID1);
+    assertEquals(box.getScenarioValue(), ScenarioArray.of(VAL1, perturbed, VAL1, perturbed));
+    SparseMarketDataBox<?> sparse = (SparseMarketDataBox<?>) box;
+    assertEquals(sparse.getSlots(), IntArray.of(-1, 0, -1, 0));
+    assertEquals(sparse.getValues().size(), 1);
+  }
+
+  public void test_withValue_scenarios_unchanged() {
+    SharedScenarioMarketData test = SharedScenarioMarketData.of(2, BASE_DATA)
+        .withValue(ID1, MarketDataBox.ofScenarioValues(VAL1, VAL1));
+    assertEquals(test.getOverrides(), ImmutableMap.of());
+  }
+
+  public void test_withValue_scenarioCountMismatch() {
+    SharedScenarioMarketData base = SharedScenarioMarketData.of(2, BASE_DATA);
+    assertThrowsIllegalArg(() -> base.withValue(ID1, MarketDataBox.ofScenarioValues(VAL1, VAL2, VAL3)));
+  }
+
+  public void test_withValue_many() {
+    // each change is layered over the previous data, with the layers merged to keep the chain short
+    SharedScenarioMarketData base = SharedScenarioMarketData.of(2, BASE_DATA);
+    SharedScenarioMarketData test = base;
+    for (int i = 0; i < 100; i++) {
+      test = test.withValue(new TestingNamedId("n" + i), MarketDataBox.ofSingleValue("v" + i));
+    }
+    for (int i = 0; i < 100; i++) {
+      assertEquals(test.getValue(new TestingNamedId("n" + i)), MarketDataBox.ofSingleValue("v" + i));
+    }
+    assertEquals(test.getValue(ID1), MarketDataBox.ofSingleValue(VAL1));
+    assertEquals(test.getIds().size(), 102);
+    int depth = 0;
+    for (ScenarioMarketData md = test; md instanceof SharedScenarioMarketData;
+        md = ((SharedScenarioMarketData) md).getUnderlying()) {
+      depth++;
+    }
+    assertTrue(depth <= 8);
+    // replacing a value in a later change is seen through the layers
+    SharedScenarioMarketData replaced = test.withValue(new TestingNamedId("n0"), MarketDataBox.ofSingleValue("x"));
+    assertEquals(replaced.getValue(new TestingNamedId("n0")), MarketDataBox.ofSingleValue("x"));
+    assertEquals(test.getValue(new TestingNamedId("n0")), MarketDataBox.ofSingleValue("v0"));
+    assertEquals(base.getIds(), ImmutableSet.of(ID1, ID2));
+  }
+
+  public void test_withScenarioValue() {
+    SharedScenarioMarketData base = SharedScenarioMarketData.of(3, BASE_DATA);
+    SharedScenarioMarketData test = base.withScenarioValue(ID1, 1, VAL3);
+    assertEquals(test.getValue(ID1).getScenarioValue(), ScenarioArray.of(VAL1, VAL3, VAL1));
+    SharedScenarioMarketData test2 = test.withScenarioValue(ID1, 2, VAL2);
+    assertEquals(test2.getValue(ID1).getScenarioValue(), ScenarioArray.of(VAL1, VAL3, VAL2));
+    // the original is unchanged
+    assertEquals(test.getValue(ID1).getScenarioValue(), ScenarioArray.of(VAL1, VAL3, VAL1));
+    assertEquals(base.getValue(ID1), MarketDataBox.ofSingleValue(VAL1));
+  }
+
+  public void test_withScenarioValue_invalid() {
+    SharedScenarioMarketData base = SharedScenarioMarketData.of(3, BASE_DATA);
+    assertThrowsIllegalArg(() -> base.withScenarioValue(ID1, 3, VAL3));
+    assertThrows(() -> base.withScenarioValue(ID3, 0, VAL3), MarketDataNotFoundException.class);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_builder() {
+    SharedScenarioMarketDataBuilder builder = SharedScenarioMarketData.builder(1000, BASE_DATA);
+    for (int i = 0; i < 1000; i += 2) {
+      builder.addScenarioValue(ID1, i, VAL3);
+    }
+    builder.addScenarioValue(ID2, 999, VAL3);
+    builder.addScenarioValue(ID2, 999, VAL2);
+    builder.addValue(ID3, VAL3);
+    SharedScenarioMarketData test = builder.build();
+    MarketDataBox<String> box1 = test.getValue(ID1);
+    assertEquals(box1.getScenarioCount(), 1000);
+    assertEquals(box1.getValue(0), VAL3);
+    assertEquals(box1.getValue(1), VAL1);
+    assertEquals(((SparseMarketDataBox<?>) box1).getValues().size(), 1);
+    // setting the value back to the base value leaves nothing to override
+    assertEquals(test.getValue(ID2), MarketDataBox.ofSingleValue(VAL2));
+    assertEquals(test.getValue(ID3), MarketDataBox.ofSingleValue(VAL3));
+  }
+
+  public void test_builder_manyScenarios() {
+    // overriding every scenario through the builder does not copy the data for each change
+    int scenarioCount = 10_000;
+    SharedScenarioMarketData base = SharedScenarioMarketData.of(scenarioCount, BASE_DATA)
+        .withScenarioValue(ID2, 0, VAL3);
+    String[] values = new String[100];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = "v" + i;
+    }
+    SharedScenarioMarketDataBuilder builder = base.toBuilder();
+    for (int i = 0; i < scenarioCount; i++) {
+      builder.addScenarioValue(ID1, i, values[i % 100]);
+      if (i % 10 == 0) {
+        builder.addScenarioValue(ID2, i, VAL1);
+      }
+    }
+    SharedScenarioMarketData test = builder.build();
+    MarketDataBox<String> box1 = test.getValue(ID1);
+    assertEquals(box1.getScenarioCount(), scenarioCount);
+    assertEquals(box1.getValue(1), "v1");
+    assertEquals(box1.getValue(9_999), "v99");
+    assertEquals(((SparseMarketDataBox<?>) box1).getValues().size(), 100);
+    MarketDataBox<String> box2 = test.getValue(ID2);
+    assertEquals(box2.getValue(0), VAL1);
+    assertEquals(box2.getValue(1), VAL2);
+    assertEquals(box2.getValue(9_990), VAL1);
+    assertEquals(((SparseMarketDataBox<?>) box2).getValues().size(), 1);
+    // the original is unchanged
+    assertEquals(base.getValue(ID1), MarketDataBox.ofSingleValue(VAL1));
+    assertEquals(base.getValue(ID2).getValue(0), VAL3);
+  }
+
+  public void test_box() {
+    SharedScenarioMarketData test = SharedScenarioMarketData.of(3, BASE_DATA).withScenarioValue(ID1, 1, VAL3);
+    MarketDataBox<String> box = test.getValue(ID1);
+    assertEquals(box.isScenarioValue(), true);
+    assertEquals(box.getMarketDataType(), String.class);
+    assertThrows(() -> box.getSingleValue(), IllegalStateException.class);
+    assertThrowsIllegalArg(() -> box.getValue(3));
+    assertEquals(box.map(value -> value + "x").getScenarioValue(), ScenarioArray.of("1x", "3x", "1x"));
+    assertEquals(
+        box.mapWithIndex(3, (value, idx) -> value + idx).getScenarioValue(),
+        ScenarioArray.of("10", "31", "12"));
+    assertEquals(
+        box.combineWith(MarketDataBox.ofSingleValue("y"), (a, b) -> a + b).getScenarioValue(),
+        ScenarioArray.of("1y", "3y", "1y"));
+    assertEquals(
+        box.combineWith(MarketDataBox.ofScenarioValues("a", "b", "c"), (a, b) -> a + b).getScenarioValue(),
+        ScenarioArray.of("1a", "3b", "1c"));
+  }
+
+  public void test_box_remainsSparse() {
+    SharedScenarioMarketData test = SharedScenarioMarketData.of(4, BASE_DATA)
+        .withScenarioValue(ID1, 1, VAL3)
+        .withScenarioValue(ID1, 3, VAL3);
+    MarketDataBox<String> box = test.getValue(ID1);
+    // the scenarios sharing the base value are unchanged, thus the result remains sparse
+    MarketDataBox<String> mapped = box.mapWithIndex(4, (value, idx) -> value == VAL1 ? value : value + idx);
+    assertEquals(mapped.getScenarioValue(), ScenarioArray.of(VAL1, "31", VAL1, "33"));
+    SparseMarketDataBox<?> sparse = (SparseMarketDataBox<?>) mapped;
+    assertEquals(sparse.getSlots(), IntArray.of(-1, 0, -1, 1));
+    String shared = new String("3x");
+    MarketDataBox<String> combined = box.combineWith(
+        MarketDataBox.ofScenarioValues("a", "b", "c", "d"), (a, b) -> a == VAL1 ? a : shared);
+    assertEquals(combined.getScenarioValue(), ScenarioArray.of(VAL1, shared, VAL1, shared));
+    assertEquals(((SparseMarketDataBox<?>) combined).getValues(), ImmutableList.of(shared));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    SharedScenarioMarketData test = SharedScenarioMarketData.of(3, BASE_DATA).withScenarioValue(ID1, 1, VAL3);
+    coverImmutableBean(test);
+    coverImmutableBean((SparseMarketDataBox<?>) test.getValue(ID1));
+    SharedScenarioMarketData test2 = SharedScenarioMarketData.of(2, BASE_DATA.scenario(0));
+    coverBeanEquals(test, test2);
+  }
+
+  public void serialization() {
+    SharedScenarioMarketData test = SharedScenarioMarketData.of(3, BASE_DATA).withScenarioValue(ID1, 1, VAL3);
+    assertSerialization(test);
+  }
+
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.loader.csv;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.io.MappedCsvFile;
+
+/**
+ * Manages the files of a CSV load, splitting them into parts that can be parsed in parallel.
+ * <p>
+ * The parts are evaluated using {@link com.opengamma.strata.collect.ConcurrentTasks}.
+ */
+final class CsvLoaderTasks {
+
+  /**
+   * The approximate size of each chunk when a file is split for parallel parsing, 8Mb.
+   */
+  private static final long CHUNK_SIZE = 1 << 23;
+
+  /**
+   * Restricted constructor.
+   */
+  private CsvLoaderTasks() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Opens each file as a memory-mapped CSV file with a header row.
+   * <p>
+   * If any file cannot be opened, the files already opened are closed.
+   *
+   * @param files  the files
+   * @return the opened files, which must be closed by the caller
+   * @throws IllegalArgumentException if a file cannot be opened, or its header row cannot be parsed
+   */
+  static List<MappedCsvFile> open(List<Path> files) {
+    List<MappedCsvFile> opened = new ArrayList<>(files.size());
+    for (Path file : files) {
+      try {
+        opened.add(MappedCsvFile.of(file, true));
+      } catch (RuntimeException ex) {
+        IllegalArgumentException wrapped = new IllegalArgumentException(
+            Messages.format("Error processing resource as CSV file: {}", file), ex);
+        close(opened, wrapped);
+        throw wrapped;
+      }
+    }
+    return opened;
+  }
+
+  /**
+   * Closes each file, adding any failure to the specified exception.
+   *
+   * @param files  the files to close
+   * @param ex  the exception that caused the files to be closed, null if none
+   * @throws UncheckedIOException if a file cannot be closed, and there is no exception to add the failure to
+   */
+  static void close(List<MappedCsvFile> files, RuntimeException ex) {
+    UncheckedIOException failure = null;
+    for (MappedCsvFile file : files) {
+      try {
+        file.close();
+      } catch (UncheckedIOException ex2) {
+        if (ex != null) {
+          ex.addSuppressed(ex2);
+        } else if (failure == null) {
+          failure = ex2;
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * Calculates the number of chunks to split a file into for parallel parsing.
+   * <p>
+   * Files are only split if there is an executor, with each chunk being approximately 8Mb.
+   *
+   * @param file  the file
+   * @param executor  the executor, null if parsing is sequential
+   * @return the number of chunks
+   */
+  static int chunkCount(MappedCsvFile file, Executor executor) {
+    if (executor == null) {
+      return 1;
+    }
+    return (int) Math.min(Integer.MAX_VALUE, Math.max(1, file.size() / CHUNK_SIZE));
+  }
+
+}
@@ -7,19 +7,30 @@ package com.opengamma.strata.loader.csv;
 
 import static java.util.stream.Collectors.toList;
 
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.CharSource;
 import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.ConcurrentTasks;
 import com.opengamma.strata.collect.MapStream;
 import com.opengamma.strata.collect.Messages;
-import com.opengamma.strata.collect.io.CsvFile;
+import com.opengamma.strata.collect.io.CsvIterator;
 import com.opengamma.strata.collect.io.CsvRow;
+import com.opengamma.strata.collect.io.MappedCsvCursor;
+import com.opengamma.strata.collect.io.MappedCsvFile;
 import com.opengamma.strata.collect.io.ResourceLocator;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
@@ -85,6 +96,29 @@ public final class FixingSeriesCsvLoader {
     return parse(charSources);
   }
 
+  /**
+   * Loads one or more CSV format fixing series files in parallel.
+   * <p>
+   * Each resource is parsed by a separate task on the executor, with the results merged
+   * once all the resources have been parsed. The result is the same as {@link #load(Collection)}.
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * <p>
+   * If the files contain a duplicate entry an exception will be thrown.
+   * 
+   * @param resources  the fixing series CSV resources
+   * @param executor  the executor used to parse the resources
+   * @return the loaded fixing series, mapped by {@linkplain ObservableId observable ID}
+   * @throws IllegalArgumentException if the files contain a duplicate entry
+   */
+  public static ImmutableMap<ObservableId, LocalDateDoubleTimeSeries> load(
+      Collection<ResourceLocator> resources,
+      Executor executor) {
+
+    ArgChecker.notNull(executor, "executor");
+    Collection<CharSource> charSources = resources.stream().map(r -> r.getCharSource()).collect(toList());
+    return parse(charSources, executor);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Parses one or more CSV format fixing series files.
@@ -96,21 +130,139 @@ public final class FixingSeriesCsvLoader {
    * @throws IllegalArgumentException if the files contain a duplicate entry
    */
   public static ImmutableMap<ObservableId, LocalDateDoubleTimeSeries> parse(Collection<CharSource> charSources) {
+    return parseSources(ImmutableList.copyOf(charSources), null);
+  }
+
+  /**
+   * Parses one or more CSV format fixing series files in parallel.
+   * <p>
+   * Each character source is parsed by a separate task on the executor, with the results merged
+   * once all the sources have been parsed. The result is the same as {@link #parse(Collection)}.
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * <p>
+   * If the files contain a duplicate entry an exception will be thrown.
+   * 
+   * @param charSources  the fixing series CSV character sources
+   * @param executor  the executor used to parse the character sources
+   * @return the loaded fixing series, mapped by {@linkplain ObservableId observable ID}
+   * @throws IllegalArgumentException if the files contain a duplicate entry
+   */
+  public static ImmutableMap<ObservableId, LocalDateDoubleTimeSeries> parse(
+      Collection<CharSource> charSources,
+      Executor executor) {
+
+    ArgChecker.notNull(executor, "executor");
+    return parseSources(ImmutableList.copyOf(charSources), executor);
+  }
+
+  /**
+   * Parses one or more CSV format fixing series files, reading the files using memory-mapping.
+   * <p>
+   * This produces the same result as {@link #parse(Collection)}.
+   * The files are read using {@link MappedCsvFile}, which avoids loading each file into memory
+   * and parses the dates and values directly from the file.
+   * This is more efficient for large fixing files.
+   * <p>
+   * If the files contain a duplicate entry an exception will be thrown.
+   * 
+   * @param files  the fixing series CSV files, encoded in UTF-8
+   * @return the loaded fixing series, mapped by {@linkplain ObservableId observable ID}
+   * @throws IllegalArgumentException if the files contain a duplicate entry
+   */
+  public static ImmutableMap<ObservableId, LocalDateDoubleTimeSeries> parseFiles(Collection<Path> files) {
+    return parseMappedFiles(ImmutableList.copyOf(files), null);
+  }
+
+  /**
+   * Parses one or more CSV format fixing series files in parallel, reading the files using memory-mapping.
+   * <p>
+   * This produces the same result as {@link #parseFiles(Collection)}.
+   * Each file is split into chunks of approximately 8Mb, with each chunk parsed by a separate
+   * task on the executor. The results are merged once all the chunks have been parsed.
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * <p>
+   * If the files contain a duplicate entry an exception will be thrown.
+   * 
+   * @param files  the fixing series CSV files, encoded in UTF-8
+   * @param executor  the executor used to parse the files
+   * @return the loaded fixing series, mapped by {@linkplain ObservableId observable ID}
+   * @throws IllegalArgumentException if the files contain a duplicate entry
+   */
+  public static ImmutableMap<ObservableId, LocalDateDoubleTimeSeries> parseFiles(
+      Collection<Path> files,
+      Executor executor) {
+
+    ArgChecker.notNull(executor, "executor");
+    return parseMappedFiles(ImmutableList.copyOf(files), executor);
+  }
+
+  //-------------------------------------------------------------------------
+  // parses the character sources, in parallel if there is an executor
+  private static ImmutableMap<ObservableId, LocalDateDoubleTimeSeries> parseSources(
+      List<CharSource> charSources,
+      Executor executor) {
+
+    List<ImmutableMap<ObservableId, LocalDateDoubleTimeSeries>> parsed =
+        ConcurrentTasks.evaluate(charSources.size(), i -> parseSingle(charSources.get(i)), executor);
     // builder ensures keys can only be seen once
     ImmutableMap.Builder<ObservableId, LocalDateDoubleTimeSeries> builder = ImmutableMap.builder();
-    for (CharSource charSource : charSources) {
-      builder.putAll(parseSingle(charSource));
+    for (ImmutableMap<ObservableId, LocalDateDoubleTimeSeries> fileSeries : parsed) {
+      builder.putAll(fileSeries);
     }
     return builder.build();
   }
 
-  //-------------------------------------------------------------------------
+  // parses the files, in parallel if there is an executor
+  private static ImmutableMap<ObservableId, LocalDateDoubleTimeSeries> parseMappedFiles(
+      List<Path> files,
+      Executor executor) {
+
+    List<MappedCsvFile> csvFiles = CsvLoaderTasks.open(files);
+    ImmutableMap<ObservableId, LocalDateDoubleTimeSeries> result;
+    try {
+      List<Supplier<Map<ObservableId, LocalDateDoubleTimeSeriesBuilder>>> tasks = new ArrayList<>();
+      List<Integer> taskFiles = new ArrayList<>();
+      for (int i = 0; i < files.size(); i++) {
+        Path file = files.get(i);
+        MappedCsvFile csv = csvFiles.get(i);
+        for (MappedCsvCursor cursor : csv.split(CsvLoaderTasks.chunkCount(csv, executor))) {
+          tasks.add(() -> parseChunk(file, csv, cursor));
+          taskFiles.add(i);
+        }
+      }
+      List<Map<ObservableId, LocalDateDoubleTimeSeriesBuilder>> parsed =
+          ConcurrentTasks.evaluate(tasks.size(), i -> tasks.get(i).get(), executor);
+
+      // a series may be split across the chunks of a file, but must not be in more than one file
+      ImmutableMap.Builder<ObservableId, LocalDateDoubleTimeSeries> builder = ImmutableMap.builder();
+      Map<ObservableId, LocalDateDoubleTimeSeriesBuilder> fileBuilders = new HashMap<>();
+      for (int i = 0; i < parsed.size(); i++) {
+        for (Entry<ObservableId, LocalDateDoubleTimeSeriesBuilder> entry : parsed.get(i).entrySet()) {
+          LocalDateDoubleTimeSeriesBuilder existing = fileBuilders.putIfAbsent(entry.getKey(), entry.getValue());
+          if (existing != null) {
+            existing.putAll(entry.getValue());
+          }
+        }
+        if (i == parsed.size() - 1 || !taskFiles.get(i).equals(taskFiles.get(i + 1))) {
+          builder.putAll(MapStream.of(fileBuilders).mapValues(b -> b.build()).toMap());
+          fileBuilders.clear();
+        }
+      }
+      result = builder.build();
+    } catch (RuntimeException ex) {
+      CsvLoaderTasks.close(csvFiles, ex);
+      throw ex;
+    }
+    CsvLoaderTasks.close(csvFiles, null);
+    return result;
+  }
+
   // loads a single fixing series CSV file
   private static ImmutableMap<ObservableId, LocalDateDoubleTimeSeries> parseSingle(CharSource resource) {
     Map<ObservableId, LocalDateDoubleTimeSeriesBuilder> builders = new HashMap<>();
-    try {
-      CsvFile csv = CsvFile.of(resource, true);
-      for (CsvRow row : csv.rows()) {
+    try (CsvIterator csv = CsvIterator.of(resource, true)) {
+      while (csv.hasNext()) {
+        CsvRow row = csv.next();
         String referenceStr = row.getField(REFERENCE_FIELD);
         String dateStr = row.getField(DATE_FIELD);
         String valueStr = row.getField(VALUE_FIELD);
@@ -130,6 +282,33 @@ public final class FixingSeriesCsvLoader {
     return MapStream.of(builders).mapValues(builder -> builder.build()).toMap();
   }
 
+  // loads a chunk of a memory-mapped fixing series CSV file
+  private static Map<ObservableId, LocalDateDoubleTimeSeriesBuilder> parseChunk(
+      Path file,
+      MappedCsvFile csv,
+      MappedCsvCursor cursor) {
+
+    Map<ObservableId, LocalDateDoubleTimeSeriesBuilder> builders = new HashMap<>();
+    try {
+      int referenceIndex = csv.headerIndex(REFERENCE_FIELD);
+      int dateIndex = csv.headerIndex(DATE_FIELD);
+      int valueIndex = csv.headerIndex(VALUE_FIELD);
+      while (cursor.next()) {
+        Index index = LoaderUtils.findIndex(cursor.fieldString(referenceIndex));
+        ObservableId id = IndexQuoteId.of(index);
+        LocalDate date = cursor.fieldAsDate(dateIndex);
+        double value = cursor.fieldAsDouble(valueIndex);
+
+        LocalDateDoubleTimeSeriesBuilder builder = builders.computeIfAbsent(id, k -> LocalDateDoubleTimeSeries.builder());
+        builder.put(date, value);
+      }
+    } catch (RuntimeException ex) {
+      throw new IllegalArgumentException(
+          Messages.format("Error processing resource as CSV file: {}", file), ex);
+    }
+    return builders;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Restricted constructor.
@@ -7,22 +7,32 @@ package com.opengamma.strata.loader.csv;
 
 import static java.util.stream.Collectors.toList;
 
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
 import com.google.common.io.CharSource;
 import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.ConcurrentTasks;
 import com.opengamma.strata.collect.Messages;
-import com.opengamma.strata.collect.io.CsvFile;
+import com.opengamma.strata.collect.io.CsvIterator;
 import com.opengamma.strata.collect.io.CsvRow;
+import com.opengamma.strata.collect.io.MappedCsvCursor;
+import com.opengamma.strata.collect.io.MappedCsvFile;
 import com.opengamma.strata.collect.io.ResourceLocator;
 import com.opengamma.strata.data.FieldName;
 import com.opengamma.strata.market.observable.QuoteId;
@@ -170,6 +180,31 @@ public final class QuotesCsvLoader {
     return parse(d -> true, charSources);
   }
 
+  /**
+   * Loads one or more CSV format quote files in parallel.
+   * <p>
+   * All dates that are found will be returned.
+   * Each resource is parsed by a separate task on the executor, with the results merged
+   * once all the resources have been parsed. The result is the same as {@link #loadAllDates(Collection)}.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * <p>
+   * If the files contain a duplicate entry an exception will be thrown.
+   * 
+   * @param resources  the CSV resources
+   * @param executor  the executor used to parse the resources
+   * @return the loaded quotes, mapped by {@link LocalDate} and {@linkplain QuoteId quote ID}
+   * @throws IllegalArgumentException if the files contain a duplicate entry
+   */
+  public static ImmutableMap<LocalDate, ImmutableMap<QuoteId, Double>> loadAllDates(
+      Collection<ResourceLocator> resources,
+      Executor executor) {
+
+    ArgChecker.notNull(executor, "executor");
+    Collection<CharSource> charSources = resources.stream().map(r -> r.getCharSource()).collect(toList());
+    return parse(d -> true, charSources, executor);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Parses one or more CSV format quote files.
@@ -188,10 +223,138 @@ public final class QuotesCsvLoader {
       Predicate<LocalDate> datePredicate,
       Collection<CharSource> charSources) {
 
+    return parseSources(datePredicate, ImmutableList.copyOf(charSources), null);
+  }
+
+  /**
+   * Parses one or more CSV format quote files in parallel.
+   * <p>
+   * A predicate is specified that is used to filter the dates that are returned.
+   * This could match a single date, a range of dates or all dates.
+   * Only the date of each row is parsed until the predicate has been checked.
+   * <p>
+   * Each character source is parsed by a separate task on the executor, with the results merged
+   * once all the sources have been parsed. The result is the same as {@link #parse(Predicate, Collection)}.
+   * The predicate must be thread-safe.
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * <p>
+   * If the files contain a duplicate entry an exception will be thrown.
+   * 
+   * @param datePredicate  the predicate used to select the dates
+   * @param charSources  the CSV character sources
+   * @param executor  the executor used to parse the character sources
+   * @return the loaded quotes, mapped by {@link LocalDate} and {@linkplain QuoteId quote ID}
+   * @throws IllegalArgumentException if the files contain a duplicate entry
+   */
+  public static ImmutableMap<LocalDate, ImmutableMap<QuoteId, Double>> parse(
+      Predicate<LocalDate> datePredicate,
+      Collection<CharSource> charSources,
+      Executor executor) {
+
+    ArgChecker.notNull(executor, "executor");
+    return parseSources(datePredicate, ImmutableList.copyOf(charSources), executor);
+  }
+
+  /**
+   * Parses one or more CSV format quote files, reading the files using memory-mapping.
+   * <p>
+   * This produces the same result as {@link #parse(Predicate, Collection)}.
+   * The files are read using {@link MappedCsvFile}, which avoids loading each file into memory
+   * and parses the dates and values directly from the file.
+   * This is more efficient for large quote files.
+   * <p>
+   * If the files contain a duplicate entry an exception will be thrown.
+   * 
+   * @param datePredicate  the predicate used to select the dates
+   * @param files  the CSV files, encoded in UTF-8
+   * @return the loaded quotes, mapped by {@link LocalDate} and {@linkplain QuoteId quote ID}
+   * @throws IllegalArgumentException if the files contain a duplicate entry
+   */
+  public static ImmutableMap<LocalDate, ImmutableMap<QuoteId, Double>> parseFiles(
+      Predicate<LocalDate> datePredicate,
+      Collection<Path> files) {
+
+    return parseMappedFiles(datePredicate, ImmutableList.copyOf(files), null);
+  }
+
+  /**
+   * Parses one or more CSV format quote files in parallel, reading the files using memory-mapping.
+   * <p>
+   * This produces the same result as {@link #parseFiles(Predicate, Collection)}.
+   * Each file is split into chunks of approximately 8Mb, with each chunk parsed by a separate
+   * task on the executor. The results are merged once all the chunks have been parsed.
+   * Only the date of each row is parsed until the predicate has been checked.
+   * The predicate must be thread-safe.
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * <p>
+   * If the files contain a duplicate entry an exception will be thrown.
+   * 
+   * @param datePredicate  the predicate used to select the dates
+   * @param files  the CSV files, encoded in UTF-8
+   * @param executor  the executor used to parse the files
+   * @return the loaded quotes, mapped by {@link LocalDate} and {@linkplain QuoteId quote ID}
+   * @throws IllegalArgumentException if the files contain a duplicate entry
+   */
+  public static ImmutableMap<LocalDate, ImmutableMap<QuoteId, Double>> parseFiles(
+      Predicate<LocalDate> datePredicate,
+      Collection<Path> files,
+      Executor executor) {
+
+    ArgChecker.notNull(executor, "executor");
+    return parseMappedFiles(datePredicate, ImmutableList.copyOf(files), executor);
+  }
+
+  //-------------------------------------------------------------------------
+  // parses the character sources, in parallel if there is an executor
+  private static ImmutableMap<LocalDate, ImmutableMap<QuoteId, Double>> parseSources(
+      Predicate<LocalDate> datePredicate,
+      List<CharSource> charSources,
+      Executor executor) {
+
+    List<Map<LocalDate, ImmutableMap.Builder<QuoteId, Double>>> parsed = ConcurrentTasks.evaluate(
+        charSources.size(), i -> parseSingle(datePredicate, charSources.get(i)), executor);
+    return merge(parsed);
+  }
+
+  // parses the files, in parallel if there is an executor
+  private static ImmutableMap<LocalDate, ImmutableMap<QuoteId, Double>> parseMappedFiles(
+      Predicate<LocalDate> datePredicate,
+      List<Path> files,
+      Executor executor) {
+
+    List<MappedCsvFile> csvFiles = CsvLoaderTasks.open(files);
+    ImmutableMap<LocalDate, ImmutableMap<QuoteId, Double>> result;
+    try {
+      List<Supplier<Map<LocalDate, ImmutableMap.Builder<QuoteId, Double>>>> tasks = new ArrayList<>();
+      for (int i = 0; i < files.size(); i++) {
+        Path file = files.get(i);
+        MappedCsvFile csv = csvFiles.get(i);
+        for (MappedCsvCursor cursor : csv.split(CsvLoaderTasks.chunkCount(csv, executor))) {
+          tasks.add(() -> parseChunk(datePredicate, file, csv, cursor));
+        }
+      }
+      result = merge(ConcurrentTasks.evaluate(tasks.size(), i -> tasks.get(i).get(), executor));
+    } catch (RuntimeException ex) {
+      CsvLoaderTasks.close(csvFiles, ex);
+      throw ex;
+    }
+    CsvLoaderTasks.close(csvFiles, null);
+    return result;
+  }
+
+  // merges the parsed quotes, in order, without copying the quotes of dates that are only in one part
+  private static ImmutableMap<LocalDate, ImmutableMap<QuoteId, Double>> merge(
+      List<Map<LocalDate, ImmutableMap.Builder<QuoteId, Double>>> parsed) {
+
     // builder ensures keys can only be seen once
     Map<LocalDate, ImmutableMap.Builder<QuoteId, Double>> mutableMap = new HashMap<>();
-    for (CharSource charSource : charSources) {
-      parseSingle(datePredicate, charSource, mutableMap);
+    for (Map<LocalDate, ImmutableMap.Builder<QuoteId, Double>> part : parsed) {
+      for (Entry<LocalDate, Builder<QuoteId, Double>> entry : part.entrySet()) {
+        Builder<QuoteId, Double> existing = mutableMap.putIfAbsent(entry.getKey(), entry.getValue());
+        if (existing != null) {
+          existing.putAll(entry.getValue().build());
+        }
+      }
     }
     ImmutableMap.Builder<LocalDate, ImmutableMap<QuoteId, Double>> builder = ImmutableMap.builder();
     for (Entry<LocalDate, Builder<QuoteId, Double>> entry : mutableMap.entrySet()) {
@@ -201,14 +364,14 @@ public final class QuotesCsvLoader {
   }
 
   // loads a single CSV file, filtering by date
-  private static void parseSingle(
+  private static Map<LocalDate, ImmutableMap.Builder<QuoteId, Double>> parseSingle(
       Predicate<LocalDate> datePredicate,
-      CharSource resource,
-      Map<LocalDate, ImmutableMap.Builder<QuoteId, Double>> mutableMap) {
+      CharSource resource) {
 
-    try {
-      CsvFile csv = CsvFile.of(resource, true);
-      for (CsvRow row : csv.rows()) {
+    Map<LocalDate, ImmutableMap.Builder<QuoteId, Double>> mutableMap = new HashMap<>();
+    try (CsvIterator csv = CsvIterator.of(resource, true)) {
+      while (csv.hasNext()) {
+        CsvRow row = csv.next();
         String dateText = row.getField(DATE_FIELD);
         LocalDate date = LocalDate.parse(dateText);
         if (datePredicate.test(date)) {
@@ -229,6 +392,41 @@ public final class QuotesCsvLoader {
       throw new IllegalArgumentException(
           Messages.format("Error processing resource as CSV file: {}", resource), ex);
     }
+    return mutableMap;
+  }
+
+  // loads a chunk of a memory-mapped CSV file, filtering by date
+  private static Map<LocalDate, ImmutableMap.Builder<QuoteId, Double>> parseChunk(
+      Predicate<LocalDate> datePredicate,
+      Path file,
+      MappedCsvFile csv,
+      MappedCsvCursor cursor) {
+
+    Map<LocalDate, ImmutableMap.Builder<QuoteId, Double>> mutableMap = new HashMap<>();
+    try {
+      int dateIndex = csv.headerIndex(DATE_FIELD);
+      int symbologyIndex = csv.headerIndex(SYMBOLOGY_FIELD);
+      int tickerIndex = csv.headerIndex(TICKER_FIELD);
+      int fieldNameIndex = csv.headerIndex(FIELD_NAME_FIELD);
+      int valueIndex = csv.headerIndex(VALUE_FIELD);
+      while (cursor.next()) {
+        LocalDate date = cursor.fieldAsDate(dateIndex);
+        if (datePredicate.test(date)) {
+          double value = cursor.fieldAsDouble(valueIndex);
+          StandardId id = StandardId.of(cursor.fieldString(symbologyIndex), cursor.fieldString(tickerIndex));
+          FieldName fieldName = cursor.isFieldEmpty(fieldNameIndex) ?
+              FieldName.MARKET_VALUE :
+              FieldName.of(cursor.fieldString(fieldNameIndex));
+
+          ImmutableMap.Builder<QuoteId, Double> builderForDate = mutableMap.computeIfAbsent(date, k -> ImmutableMap.builder());
+          builderForDate.put(QuoteId.of(id, fieldName), value);
+        }
+      }
+    } catch (RuntimeException ex) {
+      throw new IllegalArgumentException(
+          Messages.format("Error processing resource as CSV file: {}", file), ex);
+    }
+    return mutableMap;
   }
 
   //-------------------------------------------------------------------------
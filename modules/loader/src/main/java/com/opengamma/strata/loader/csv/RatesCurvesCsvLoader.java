@@ -15,6 +15,7 @@ import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -26,6 +27,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.function.BiFunction;
 import java.util.function.Predicate;
 
 import com.google.common.collect.BiMap;
@@ -45,6 +47,8 @@ import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.io.CsvFile;
 import com.opengamma.strata.collect.io.CsvOutput;
 import com.opengamma.strata.collect.io.CsvRow;
+import com.opengamma.strata.collect.io.MappedCsvCursor;
+import com.opengamma.strata.collect.io.MappedCsvFile;
 import com.opengamma.strata.collect.io.ResourceLocator;
 import com.opengamma.strata.market.ValueType;
 import com.opengamma.strata.market.curve.Curve;
@@ -203,10 +207,49 @@ public final class RatesCurvesCsvLoader {
       Collection<CharSource> curveValueCharSources) {
 
     List<CurveGroupDefinition> curveGroups = CurveGroupDefinitionCsvLoader.parseCurveGroupDefinitions(groupsCharSource);
-    Map<LocalDate, Map<CurveName, Curve>> curves =
-        parseCurves(datePredicate, settingsCharSource, curveValueCharSources);
-    ImmutableListMultimap.Builder<LocalDate, CurveGroup> builder = ImmutableListMultimap.builder();
+    Map<LocalDate, Map<CurveName, Curve>> curves = parseCurves(
+        settingsCharSource,
+        curveValueCharSources,
+        (curvesResource, settingsMap) -> parseSingle(datePredicate, curvesResource, settingsMap));
+    return buildCurveGroups(curveGroups, curves);
+  }
+
+  /**
+   * Parses one or more CSV format curve files for all available dates, reading the curve files using memory-mapping.
+   * <p>
+   * This produces the same result as {@link #parse(Predicate, CharSource, CharSource, Collection)}.
+   * The curve files are read using {@link MappedCsvFile}, which avoids loading each file into memory.
+   * This is more efficient for large curve files.
+   * <p>
+   * If the files contain a duplicate entry an exception will be thrown.
+   *
+   * @param datePredicate  the predicate used to select the dates
+   * @param groupsCharSource  the curve groups CSV character source
+   * @param settingsCharSource  the curve settings CSV character source
+   * @param curveValueFiles  the CSV files for curves, encoded in UTF-8
+   * @return the loaded curves, mapped by date and identifier
+   * @throws IllegalArgumentException if the files contain a duplicate entry
+   */
+  public static ImmutableListMultimap<LocalDate, CurveGroup> parseFiles(
+      Predicate<LocalDate> datePredicate,
+      CharSource groupsCharSource,
+      CharSource settingsCharSource,
+      Collection<Path> curveValueFiles) {
 
+    List<CurveGroupDefinition> curveGroups = CurveGroupDefinitionCsvLoader.parseCurveGroupDefinitions(groupsCharSource);
+    Map<LocalDate, Map<CurveName, Curve>> curves = parseCurves(
+        settingsCharSource,
+        curveValueFiles,
+        (curvesFile, settingsMap) -> parseSingleFile(datePredicate, curvesFile, settingsMap));
+    return buildCurveGroups(curveGroups, curves);
+  }
+
+  // combines the curve group definitions with the curves
+  private static ImmutableListMultimap<LocalDate, CurveGroup> buildCurveGroups(
+      List<CurveGroupDefinition> curveGroups,
+      Map<LocalDate, Map<CurveName, Curve>> curves) {
+
+    ImmutableListMultimap.Builder<LocalDate, CurveGroup> builder = ImmutableListMultimap.builder();
     for (CurveGroupDefinition groupDefinition : curveGroups) {
       for (Map.Entry<LocalDate, Map<CurveName, Curve>> entry : curves.entrySet()) {
         CurveGroup curveGroup = CurveGroup.ofCurves(groupDefinition, entry.getValue().values());
@@ -217,19 +260,19 @@ public final class RatesCurvesCsvLoader {
   }
 
   //-------------------------------------------------------------------------
-  // loads the curves, filtering by date
-  private static Map<LocalDate, Map<CurveName, Curve>> parseCurves(
-      Predicate<LocalDate> datePredicate,
+  // loads the curves using the specified parser
+  private static <T> Map<LocalDate, Map<CurveName, Curve>> parseCurves(
       CharSource settingsResource,
-      Collection<CharSource> curvesResources) {
+      Collection<T> curvesResources,
+      BiFunction<T, Map<CurveName, LoadedCurveSettings>, Multimap<LocalDate, Curve>> curvesParser) {
 
     // load curve settings
     Map<CurveName, LoadedCurveSettings> settingsMap = parseCurveSettings(settingsResource);
 
     // load curves, ensuring curves only be seen once within a date
     Map<LocalDate, Map<CurveName, Curve>> resultMap = new TreeMap<>();
-    for (CharSource curvesResource : curvesResources) {
-      Multimap<LocalDate, Curve> fileCurvesByDate = parseSingle(datePredicate, curvesResource, settingsMap);
+    for (T curvesResource : curvesResources) {
+      Multimap<LocalDate, Curve> fileCurvesByDate = curvesParser.apply(curvesResource, settingsMap);
       // Ensure curve names are unique, with a good error message
       for (LocalDate date : fileCurvesByDate.keySet()) {
         Collection<Curve> fileCurves = fileCurvesByDate.get(date);
@@ -307,6 +350,36 @@ public final class RatesCurvesCsvLoader {
     return buildCurves(settingsMap, allNodes);
   }
 
+  // loads a single curves CSV file using memory-mapping
+  private static Multimap<LocalDate, Curve> parseSingleFile(
+      Predicate<LocalDate> datePredicate,
+      Path curvesFile,
+      Map<CurveName, LoadedCurveSettings> settingsMap) {
+
+    Map<LoadedCurveKey, List<LoadedCurveNode>> allNodes = new HashMap<>();
+    try (MappedCsvFile csv = MappedCsvFile.of(curvesFile, true)) {
+      int dateIndex = csv.headerIndex(CURVE_DATE);
+      int curveNameIndex = csv.headerIndex(CURVE_NAME);
+      int pointDateIndex = csv.headerIndex(CURVE_POINT_DATE);
+      int pointValueIndex = csv.headerIndex(CURVE_POINT_VALUE);
+      int pointLabelIndex = csv.headerIndex(CURVE_POINT_LABEL);
+      MappedCsvCursor cursor = csv.cursor();
+      while (cursor.next()) {
+        LocalDate date = cursor.fieldAsDate(dateIndex);
+        if (datePredicate.test(date)) {
+          LocalDate pointDate = cursor.fieldAsDate(pointDateIndex);
+          double pointValue = cursor.fieldAsDouble(pointValueIndex);
+          String pointLabel = cursor.fieldString(pointLabelIndex);
+
+          LoadedCurveKey key = LoadedCurveKey.of(date, CurveName.of(cursor.fieldString(curveNameIndex)));
+          List<LoadedCurveNode> curveNodes = allNodes.computeIfAbsent(key, k -> new ArrayList<>());
+          curveNodes.add(LoadedCurveNode.of(pointDate, pointValue, pointLabel));
+        }
+      }
+    }
+    return buildCurves(settingsMap, allNodes);
+  }
+
   // build the curves
   private static Multimap<LocalDate, Curve> buildCurves(
       Map<CurveName, LoadedCurveSettings> settingsMap,
@@ -7,18 +7,32 @@ package com.opengamma.strata.loader.fpml;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.io.ByteSource;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.ConcurrentTasks;
 import com.opengamma.strata.collect.io.XmlElement;
+import com.opengamma.strata.collect.io.XmlElementIterator;
 import com.opengamma.strata.collect.io.XmlFile;
 import com.opengamma.strata.collect.named.ExtendedEnum;
+import com.opengamma.strata.collect.tuple.ObjIntPair;
 import com.opengamma.strata.product.Trade;
 
 /**
@@ -32,7 +46,13 @@ import com.opengamma.strata.product.Trade;
  */
 public final class FpmlDocumentParser {
   // Notes: Streaming trades directly from the file is difficult due to the
-  // need to parse the party element at the root, which is after the trades
+  // need to parse the party element at the root, which is after the trades.
+  // As such, streaming reads the file twice, once skipping the trades and once reading only the trades
+
+  /**
+   * The maximum number of trades parsed ahead of the consumer when streaming in parallel.
+   */
+  private static final int STREAM_WINDOW = 256;
 
   /**
    * The lookup of trade parsers.
@@ -193,22 +213,75 @@ public final class FpmlDocumentParser {
     return parseTrades(root, xmlFile.getReferences());
   }
 
+  /**
+   * Parses FpML from the specified source, streaming the trades.
+   * <p>
+   * This parses the specified byte source which must be an XML document.
+   * Unlike {@link #parseTrades(ByteSource)}, the whole document is not held in memory.
+   * Instead, the document is read twice, once to parse the parties and other document-level
+   * elements, and once to parse the trades one at a time as the stream is consumed.
+   * <p>
+   * The references available to each trade are those outside the trades together with
+   * those within the trade itself. References from one trade to an element within another
+   * trade are not supported.
+   * <p>
+   * The stream must be closed once it is no longer needed, although the file is closed
+   * automatically if all the trades are read.
+   * 
+   * @param source  the source of the FpML XML document
+   * @return the stream of parsed trades
+   * @throws RuntimeException if a parse error occurred
+   */
+  public Stream<Trade> streamTrades(ByteSource source) {
+    return streamTrades(source, null);
+  }
+
+  /**
+   * Parses FpML from the specified source, streaming the trades and parsing them in parallel.
+   * <p>
+   * This operates as per {@link #streamTrades(ByteSource)}, but parses the trades using the executor.
+   * The trades are returned in the order of the file, with a bounded number of trades parsed
+   * ahead of the consumer of the stream.
+   * 
+   * @param source  the source of the FpML XML document
+   * @param executor  the executor used to parse the trades, null if parsing is sequential
+   * @return the stream of parsed trades
+   * @throws RuntimeException if a parse error occurred
+   */
+  public Stream<Trade> streamTrades(ByteSource source, Executor executor) {
+    ArgChecker.notNull(source, "source");
+    XmlFile xmlFile = XmlFile.ofSkipping(source, FpmlDocument.ID, "trade");
+    ObjIntPair<XmlElement> root = findFpmlRootAndDepth(xmlFile.getRoot());
+    FpmlDocument document =
+        new FpmlDocument(root.getFirst(), xmlFile.getReferences(), ourPartySelector, tradeInfoParser, refData);
+    XmlElementIterator tradeEls = XmlElementIterator.of(source, FpmlDocument.ID, root.getSecond() + 1, "trade");
+    TradeIterator trades = new TradeIterator(document, tradeEls, executor);
+    Spliterator<Trade> spliterator =
+        Spliterators.spliteratorUnknownSize(trades, Spliterator.ORDERED | Spliterator.NONNULL);
+    return StreamSupport.stream(spliterator, false).onClose(trades::close);
+  }
+
   // intelligently finds the FpML root element
   private static XmlElement findFpmlRoot(XmlElement root) {
+    return findFpmlRootAndDepth(root).getFirst();
+  }
+
+  // intelligently finds the FpML root element and its depth
+  private static ObjIntPair<XmlElement> findFpmlRootAndDepth(XmlElement root) {
     if (isFpmlRoot(root)) {
-      return root;
+      return ObjIntPair.of(root, 0);
     }
     // try children of root element
     for (XmlElement el : root.getChildren()) {
       if (isFpmlRoot(el)) {
-        return el;
+        return ObjIntPair.of(el, 1);
       }
     }
     // try grandchildren of root element
     for (XmlElement el1 : root.getChildren()) {
       for (XmlElement el2 : el1.getChildren()) {
         if (isFpmlRoot(el2)) {
-          return el2;
+          return ObjIntPair.of(el2, 2);
         }
       }
     }
@@ -261,4 +334,62 @@ public final class FpmlDocumentParser {
     throw new FpmlParseException("Unknown product type: " + childNames);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Iterator that parses each trade element as it is read from the file.
+   * <p>
+   * When an executor is specified, up to {@link #STREAM_WINDOW} trades are parsed ahead of the consumer.
+   */
+  private final class TradeIterator implements Iterator<Trade> {
+    /** The document, containing the references outside the trades. */
+    private final FpmlDocument document;
+    /** The trade elements. */
+    private final XmlElementIterator tradeEls;
+    /** The executor, null if parsing is sequential. */
+    private final Executor executor;
+    /** The trades being parsed, in file order. */
+    private final Deque<CompletableFuture<Trade>> pending = new ArrayDeque<>();
+
+    private TradeIterator(FpmlDocument document, XmlElementIterator tradeEls, Executor executor) {
+      this.document = document;
+      this.tradeEls = tradeEls;
+      this.executor = executor;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return !pending.isEmpty() || tradeEls.hasNext();
+    }
+
+    @Override
+    public Trade next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException("No more trades in FpML document");
+      }
+      if (executor == null) {
+        return parseTrade(tradeEls.next());
+      }
+      while (pending.size() < STREAM_WINDOW && tradeEls.hasNext()) {
+        XmlFile tradeFile = tradeEls.next();
+        pending.add(CompletableFuture.supplyAsync(() -> parseTrade(tradeFile), executor));
+      }
+      return ConcurrentTasks.join(pending.remove());
+    }
+
+    // cancels the trades being parsed ahead of the consumer and closes the file
+    private void close() {
+      for (CompletableFuture<Trade> future : pending) {
+        future.cancel(false);
+      }
+      pending.clear();
+      tradeEls.close();
+    }
+
+    // parses one trade, combining the references of the trade with those of the document
+    private Trade parseTrade(XmlFile tradeFile) {
+      FpmlDocument tradeDocument = document.withReferences(tradeFile.getReferences());
+      return FpmlDocumentParser.this.parseTrade(tradeDocument, tradeFile.getRoot());
+    }
+  }
+
 }
@@ -0,0 +1,284 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.loader.snapshot;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.joda.beans.Bean;
+import org.joda.beans.ser.JodaBeanSer;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.Unchecked;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.TimeSeriesBinaryFormat;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.ObservableId;
+
+/**
+ * Loads and writes market data snapshots in a compact binary format.
+ * <p>
+ * A snapshot contains all the data in an {@link ImmutableMarketData}, including the time-series.
+ * It is intended to allow market data, such as quotes, fixings and calibrated curves,
+ * to be saved once and then reloaded quickly, without needing access to the original source.
+ * <p>
+ * The format is versioned and consists of a header followed by three sections:
+ * <ul>
+ * <li>values of type {@code Double}, written as a block of identifiers followed by a block of values
+ * <li>other values, written as pairs of identifier and value
+ * <li>time-series, written as a block of identifiers followed by each time-series
+ * </ul>
+ * Each identifier and each non-{@code double} value is written using the Joda-Beans binary format,
+ * thus they must implement {@link Bean}.
+ * This is true of the identifiers and values in Strata, including calibrated curves and curve groups.
+ * Dates are written as {@code int} epoch-days and values are written using their exact bit pattern,
+ * see {@link TimeSeriesBinaryFormat}.
+ * Loading a snapshot that was written returns market data equal to the original.
+ * <p>
+ * Snapshot files are read using memory-mapping, and must be smaller than 2Gb.
+ */
+public final class MarketDataSnapshotLoader {
+
+  /**
+   * The magic number at the start of a snapshot, 'OGSN'.
+   */
+  private static final int MAGIC = 0x4F47534E;
+  /**
+   * The version of the format.
+   */
+  private static final int VERSION = 1;
+
+  /**
+   * Restricted constructor.
+   */
+  private MarketDataSnapshotLoader() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Loads a snapshot from the specified file.
+   * <p>
+   * The file is read using memory-mapping.
+   *
+   * @param file  the file containing the snapshot
+   * @return the market data
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file is not a valid snapshot
+   */
+  public static ImmutableMarketData load(Path file) {
+    ArgChecker.notNull(file, "file");
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("Market data snapshot must be smaller than 2Gb");
+      }
+      ByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, size);
+      return parse(buffer);
+
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    } catch (RuntimeException ex) {
+      throw new IllegalArgumentException(
+          Messages.format("Error processing resource as market data snapshot: {}", file), ex);
+    }
+  }
+
+  /**
+   * Parses a snapshot from the specified buffer.
+   * <p>
+   * The snapshot is read from the current position of the buffer.
+   *
+   * @param buffer  the buffer containing the snapshot
+   * @return the market data
+   * @throws IllegalArgumentException if the buffer does not contain a valid snapshot
+   */
+  public static ImmutableMarketData parse(ByteBuffer buffer) {
+    ArgChecker.notNull(buffer, "buffer");
+    try {
+      return parseSnapshot(buffer.slice());
+    } catch (BufferUnderflowException ex) {
+      throw new IllegalArgumentException("Invalid market data snapshot, unexpected end of data", ex);
+    }
+  }
+
+  // parses the snapshot
+  private static ImmutableMarketData parseSnapshot(ByteBuffer buf) {
+    int magic = buf.getInt();
+    if (magic != MAGIC) {
+      throw new IllegalArgumentException("Invalid market data snapshot, unknown file type");
+    }
+    int version = buf.getInt();
+    if (version != VERSION) {
+      throw new IllegalArgumentException(
+          Messages.format("Invalid market data snapshot, unsupported version: {}", version));
+    }
+    LocalDate valuationDate = LocalDate.ofEpochDay(buf.getInt());
+
+    // double values
+    Map<MarketDataId<?>, Object> values = new HashMap<>();
+    int doubleCount = buf.getInt();
+    List<MarketDataId<?>> doubleIds = new ArrayList<>(doubleCount);
+    for (int i = 0; i < doubleCount; i++) {
+      doubleIds.add(readBean(buf, MarketDataId.class));
+    }
+    for (MarketDataId<?> id : doubleIds) {
+      values.put(id, buf.getDouble());
+    }
+    // other values
+    int objectCount = buf.getInt();
+    for (int i = 0; i < objectCount; i++) {
+      MarketDataId<?> id = readBean(buf, MarketDataId.class);
+      values.put(id, readBean(buf, Object.class));
+    }
+    // time-series
+    Map<ObservableId, LocalDateDoubleTimeSeries> timeSeries = new HashMap<>();
+    int timeSeriesCount = buf.getInt();
+    List<ObservableId> timeSeriesIds = new ArrayList<>(timeSeriesCount);
+    for (int i = 0; i < timeSeriesCount; i++) {
+      timeSeriesIds.add(readBean(buf, ObservableId.class));
+    }
+    for (ObservableId id : timeSeriesIds) {
+      timeSeries.put(id, TimeSeriesBinaryFormat.read(buf));
+    }
+    return ImmutableMarketData.builder(valuationDate)
+        .values(values)
+        .timeSeries(timeSeries)
+        .build();
+  }
+
+  // reads a length-prefixed bean
+  private static <T> T readBean(ByteBuffer buf, Class<T> type) {
+    int length = buf.getInt();
+    ArgChecker.notNegative(length, "length");
+    byte[] bytes = new byte[length];
+    buf.get(bytes);
+    Object obj = JodaBeanSer.COMPACT.binReader().read(bytes);
+    if (!type.isInstance(obj)) {
+      throw new IllegalArgumentException(Messages.format(
+          "Invalid market data snapshot, expected {} but found {}", type.getSimpleName(), obj.getClass().getName()));
+    }
+    return type.cast(obj);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes a snapshot of the market data to the specified file.
+   * <p>
+   * If the file exists, it is replaced.
+   *
+   * @param marketData  the market data
+   * @param file  the file to write to
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if an identifier or value cannot be written
+   */
+  public static void write(ImmutableMarketData marketData, Path file) {
+    ArgChecker.notNull(file, "file");
+    byte[] bytes = toBytes(marketData);
+    Unchecked.wrap(() -> Files.write(file, bytes));
+  }
+
+  /**
+   * Writes a snapshot of the market data to the specified output stream.
+   * <p>
+   * The stream is not closed.
+   *
+   * @param marketData  the market data
+   * @param out  the output stream to write to
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if an identifier or value cannot be written
+   */
+  public static void write(ImmutableMarketData marketData, OutputStream out) {
+    ArgChecker.notNull(out, "out");
+    byte[] bytes = toBytes(marketData);
+    Unchecked.wrap(() -> out.write(bytes));
+  }
+
+  /**
+   * Writes a snapshot of the market data to a byte array.
+   *
+   * @param marketData  the market data
+   * @return the snapshot
+   * @throws IllegalArgumentException if an identifier or value cannot be written
+   */
+  public static byte[] toBytes(ImmutableMarketData marketData) {
+    ArgChecker.notNull(marketData, "marketData");
+    // convert identifiers and values to bytes, calculating the total size
+    // the header is the magic number, version and valuation date, followed by the three counts
+    int size = 6 * 4;
+    List<byte[]> doubleIds = new ArrayList<>();
+    List<Double> doubleValues = new ArrayList<>();
+    List<byte[]> objects = new ArrayList<>();
+    for (Entry<MarketDataId<?>, Object> entry : marketData.getValues().entrySet()) {
+      byte[] id = writeBean(entry.getKey());
+      Object value = entry.getValue();
+      if (value instanceof Double) {
+        doubleIds.add(id);
+        doubleValues.add((Double) value);
+        size += 4 + id.length + 8;
+      } else {
+        byte[] bytes = writeBean(value);
+        objects.add(id);
+        objects.add(bytes);
+        size += 4 + id.length + 4 + bytes.length;
+      }
+    }
+    List<byte[]> timeSeriesIds = new ArrayList<>();
+    List<LocalDateDoubleTimeSeries> timeSeries = new ArrayList<>();
+    for (Entry<ObservableId, LocalDateDoubleTimeSeries> entry : marketData.getTimeSeries().entrySet()) {
+      byte[] id = writeBean(entry.getKey());
+      timeSeriesIds.add(id);
+      timeSeries.add(entry.getValue());
+      size += 4 + id.length + TimeSeriesBinaryFormat.sizeInBytes(entry.getValue());
+    }
+
+    // write the snapshot
+    ByteBuffer buf = ByteBuffer.allocate(size);
+    buf.putInt(MAGIC);
+    buf.putInt(VERSION);
+    buf.putInt(Math.toIntExact(marketData.getValuationDate().toEpochDay()));
+    buf.putInt(doubleIds.size());
+    doubleIds.forEach(id -> putBytes(buf, id));
+    doubleValues.forEach(value -> buf.putDouble(value));
+    buf.putInt(objects.size() / 2);
+    objects.forEach(bytes -> putBytes(buf, bytes));
+    buf.putInt(timeSeriesIds.size());
+    timeSeriesIds.forEach(id -> putBytes(buf, id));
+    timeSeries.forEach(series -> TimeSeriesBinaryFormat.write(series, buf));
+    return buf.array();
+  }
+
+  // writes a bean to bytes
+  private static byte[] writeBean(Object obj) {
+    if (!(obj instanceof Bean)) {
+      throw new IllegalArgumentException(
+          Messages.format("Unable to write market data snapshot, {} is not a Bean", obj.getClass().getName()));
+    }
+    return JodaBeanSer.COMPACT.binWriter().write((Bean) obj);
+  }
+
+  // writes length-prefixed bytes
+  private static void putBytes(ByteBuffer buf, byte[] bytes) {
+    buf.putInt(bytes.length);
+    buf.put(bytes);
+  }
+
+}
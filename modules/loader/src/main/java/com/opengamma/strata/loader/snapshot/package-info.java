@@ -0,0 +1,12 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+
+/**
+ * Loader that reads and writes market data snapshots in a compact binary format.
+ * <p>
+ * The main loader is {@link com.opengamma.strata.loader.snapshot.MarketDataSnapshotLoader}.
+ */
+package com.opengamma.strata.loader.snapshot;
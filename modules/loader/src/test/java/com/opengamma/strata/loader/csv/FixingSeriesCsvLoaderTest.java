@@ -10,8 +10,11 @@ import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
@@ -76,6 +79,50 @@ public class FixingSeriesCsvLoaderTest {
         "Error processing resource as CSV file: .*");
   }
 
+  public void test_parseFiles() {
+    Map<ObservableId, LocalDateDoubleTimeSeries> ts = FixingSeriesCsvLoader.parseFiles(ImmutableList.of(
+        Paths.get("src/test/resources/com/opengamma/strata/loader/csv/fixings-1.csv"),
+        Paths.get("src/test/resources/com/opengamma/strata/loader/csv/fixings-2.csv")));
+    assertLibor3m6mSeries(ts);
+  }
+
+  public void test_load_parallel() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Map<ObservableId, LocalDateDoubleTimeSeries> ts =
+          FixingSeriesCsvLoader.load(ImmutableList.of(FIXING_SERIES_1, FIXING_SERIES_2), executor);
+      assertLibor3m6mSeries(ts);
+      assertThrows(
+          () -> FixingSeriesCsvLoader.load(ImmutableList.of(FIXING_SERIES_1, FIXING_SERIES_1), executor),
+          IllegalArgumentException.class,
+          "Multiple entries with same key: .*");
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_parseFiles_parallel() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Map<ObservableId, LocalDateDoubleTimeSeries> ts = FixingSeriesCsvLoader.parseFiles(
+          ImmutableList.of(
+              Paths.get("src/test/resources/com/opengamma/strata/loader/csv/fixings-1.csv"),
+              Paths.get("src/test/resources/com/opengamma/strata/loader/csv/fixings-2.csv")),
+          executor);
+      assertLibor3m6mSeries(ts);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_parseFiles_invalidDate() {
+    assertThrows(
+        () -> FixingSeriesCsvLoader.parseFiles(
+            ImmutableList.of(Paths.get("src/test/resources/com/opengamma/strata/loader/csv/fixings-invalid-date.csv"))),
+        IllegalArgumentException.class,
+        "Error processing resource as CSV file: .*");
+  }
+
   //-------------------------------------------------------------------------
   private void assertLibor3m6mSeries(Map<ObservableId, LocalDateDoubleTimeSeries> ts) {
     assertEquals(ts.size(), 2);
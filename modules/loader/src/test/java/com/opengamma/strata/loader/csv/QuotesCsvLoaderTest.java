@@ -12,8 +12,12 @@ import static com.opengamma.strata.collect.TestHelper.date;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
@@ -45,6 +49,12 @@ public class QuotesCsvLoaderTest {
       ResourceLocator.of("classpath:com/opengamma/strata/loader/csv/quotes-invalid-date.csv");
   private static final ResourceLocator QUOTES_INVALID_DUPLICATE =
       ResourceLocator.of("classpath:com/opengamma/strata/loader/csv/quotes-invalid-duplicate.csv");
+  private static final Path QUOTES_1_FILE =
+      Paths.get("src/test/resources/com/opengamma/strata/loader/csv/quotes-1.csv");
+  private static final Path QUOTES_2_FILE =
+      Paths.get("src/test/resources/com/opengamma/strata/loader/csv/quotes-2.csv");
+  private static final Path QUOTES_INVALID_DATE_FILE =
+      Paths.get("src/test/resources/com/opengamma/strata/loader/csv/quotes-invalid-date.csv");
 
   //-------------------------------------------------------------------------
   public void test_noFiles() {
@@ -102,6 +112,66 @@ public class QuotesCsvLoaderTest {
     assertFile1Date2(map.get(DATE2));
   }
 
+  public void test_parseFiles_file1file2() {
+    Map<LocalDate, ImmutableMap<QuoteId, Double>> map =
+        QuotesCsvLoader.parseFiles(d -> true, ImmutableList.of(QUOTES_1_FILE, QUOTES_2_FILE));
+    assertEquals(map, QuotesCsvLoader.loadAllDates(QUOTES_1, QUOTES_2));
+    assertFile1Date2(map.get(DATE2));
+  }
+
+  public void test_loadAllDates_parallel() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Map<LocalDate, ImmutableMap<QuoteId, Double>> map =
+          QuotesCsvLoader.loadAllDates(ImmutableList.of(QUOTES_1, QUOTES_2), executor);
+      assertEquals(map, QuotesCsvLoader.loadAllDates(QUOTES_1, QUOTES_2));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_parse_parallel_dateFiltering() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Map<LocalDate, ImmutableMap<QuoteId, Double>> map = QuotesCsvLoader.parse(
+          d -> d.isAfter(DATE1),
+          ImmutableList.of(QUOTES_1.getCharSource(), QUOTES_2.getCharSource()),
+          executor);
+      assertEquals(map.size(), 1);
+      assertFile1Date2(map.get(DATE2));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_parse_parallel_invalidDuplicate() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      assertThrowsIllegalArg(() -> QuotesCsvLoader.parse(
+          d -> true, ImmutableList.of(QUOTES_1.getCharSource(), QUOTES_1.getCharSource()), executor));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_parseFiles_parallel() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Map<LocalDate, ImmutableMap<QuoteId, Double>> map =
+          QuotesCsvLoader.parseFiles(d -> true, ImmutableList.of(QUOTES_1_FILE, QUOTES_2_FILE), executor);
+      assertEquals(map, QuotesCsvLoader.loadAllDates(QUOTES_1, QUOTES_2));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_parseFiles_invalidDate() {
+    assertThrows(
+        () -> QuotesCsvLoader.parseFiles(d -> true, ImmutableList.of(QUOTES_INVALID_DATE_FILE)),
+        IllegalArgumentException.class,
+        "Error processing resource as CSV file: .*");
+  }
+
   //-------------------------------------------------------------------------
   private void assertFile1Date1(Map<QuoteId, Double> map) {
     assertTrue(map.containsKey(FGBL_MAR14));
@@ -14,6 +14,7 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -235,6 +236,22 @@ public class RatesCurvesCsvLoaderTest {
     assertTrue(usd3mlNodal.getYValues().equalZeroWithTolerance(0d));
   }
 
+  public void test_parseFiles() {
+    ListMultimap<LocalDate, CurveGroup> allGroups = RatesCurvesCsvLoader.parseFiles(
+        d -> true,
+        ResourceLocator.of(GROUPS_1).getCharSource(),
+        ResourceLocator.of(SETTINGS_1).getCharSource(),
+        ImmutableList.of(
+            Paths.get("src/test/resources/com/opengamma/strata/loader/csv/curves-1.csv"),
+            Paths.get("src/test/resources/com/opengamma/strata/loader/csv/curves-2.csv"),
+            Paths.get("src/test/resources/com/opengamma/strata/loader/csv/curves-3.csv")));
+    ListMultimap<LocalDate, CurveGroup> expected = RatesCurvesCsvLoader.loadAllDates(
+        ResourceLocator.of(GROUPS_1),
+        ResourceLocator.of(SETTINGS_1),
+        ImmutableList.of(ResourceLocator.of(CURVES_1), ResourceLocator.of(CURVES_2), ResourceLocator.of(CURVES_3)));
+    assertEquals(allGroups, expected);
+  }
+
   public void test_load_curves_date_filtering() {
     List<CurveGroup> curves = RatesCurvesCsvLoader.load(
         CURVE_DATE,
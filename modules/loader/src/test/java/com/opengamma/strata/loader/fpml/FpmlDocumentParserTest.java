@@ -38,18 +38,28 @@ import static com.opengamma.strata.product.common.BuySell.BUY;
 import static com.opengamma.strata.product.common.BuySell.SELL;
 import static com.opengamma.strata.product.common.PayReceive.PAY;
 import static com.opengamma.strata.product.common.PayReceive.RECEIVE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.fail;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.Period;
 import java.time.ZoneId;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import org.joda.beans.Bean;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableList;
@@ -1260,6 +1270,97 @@ public class FpmlDocumentParserTest {
         "Unable to find FpML root element.*");
   }
 
+  //-------------------------------------------------------------------------
+  @DataProvider(name = "stream")
+  Object[][] data_stream() {
+    return new Object[][] {
+        {"ird-ex01-vanilla-swap.xml", "Party1"},
+        {"ird-ex02-stub-amort-swap.xml", "Party1"},
+        {"ird-ex08-fra.xml", "Party2"},
+        {"ird-ex08-fra-namespace.xml", "Party2"},
+        {"ird-ex08-fra-wrapper1.xml", "Party2"},
+        {"ird-ex08-fra-wrapper2.xml", "Party2"},
+        {"ird-ex10-euro-swaption-relative.xml", "Party1"},
+        {"ird-ex28-bullet-payments.xml", "Party1"},
+        {"fx-ex08-fx-swap.xml", "Party1"},
+        {"td-ex01-simple-term-deposit.xml", "Party1"},
+    };
+  }
+
+  @Test(dataProvider = "stream")
+  public void streamTrades(String file, String party) {
+    ByteSource resource = ResourceLocator.of("classpath:com/opengamma/strata/loader/fpml/" + file).getByteSource();
+    FpmlDocumentParser parser = FpmlDocumentParser.of(FpmlPartySelector.matching(party));
+    List<Trade> expected = parser.parseTrades(resource);
+    try (Stream<Trade> stream = parser.streamTrades(resource)) {
+      assertEquals(stream.collect(toList()), expected);
+    }
+  }
+
+  @Test(dataProvider = "stream")
+  public void streamTrades_parallel(String file, String party) {
+    ByteSource resource = ResourceLocator.of("classpath:com/opengamma/strata/loader/fpml/" + file).getByteSource();
+    FpmlDocumentParser parser = FpmlDocumentParser.of(FpmlPartySelector.matching(party));
+    List<Trade> expected = parser.parseTrades(resource);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try (Stream<Trade> stream = parser.streamTrades(resource, executor)) {
+      assertEquals(stream.collect(toList()), expected);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void streamTrades_parallel_close() throws IOException {
+    // a document containing the same FRA trade twice
+    String location = "classpath:com/opengamma/strata/loader/fpml/ird-ex08-fra.xml";
+    String xml = ResourceLocator.of(location).getCharSource().read();
+    String tradeXml = xml.substring(xml.indexOf("<trade>"), xml.indexOf("</trade>") + "</trade>".length());
+    ByteSource resource = ByteSource.wrap(xml.replace(tradeXml, tradeXml + tradeXml).getBytes(UTF_8));
+    FpmlParserPlugin fraParser = FpmlParserPlugin.of("fra");
+    AtomicInteger parsed = new AtomicInteger();
+    FpmlParserPlugin countingParser = new FpmlParserPlugin() {
+      @Override
+      public Trade parseTrade(FpmlDocument document, XmlElement tradeEl) {
+        parsed.incrementAndGet();
+        return fraParser.parseTrade(document, tradeEl);
+      }
+
+      @Override
+      public String getName() {
+        return fraParser.getName();
+      }
+    };
+    FpmlDocumentParser parser = FpmlDocumentParser.of(
+        FpmlPartySelector.matching("Party2"),
+        FpmlTradeInfoParserPlugin.standard(),
+        ImmutableMap.of("fra", countingParser));
+    // the first trade is parsed immediately, the second is only queued
+    List<Runnable> queued = new ArrayList<>();
+    Executor executor = task -> {
+      if (parsed.get() == 0 && queued.isEmpty()) {
+        task.run();
+      } else {
+        queued.add(task);
+      }
+    };
+    try (Stream<Trade> stream = parser.streamTrades(resource, executor)) {
+      stream.iterator().next();
+    }
+    assertEquals(queued.size(), 1);
+    queued.forEach(Runnable::run);
+    assertEquals(parsed.get(), 1);
+  }
+
+  public void streamTrades_notFpml() {
+    String location = "classpath:com/opengamma/strata/loader/fpml/not-fpml.xml";
+    ByteSource resource = ResourceLocator.of(location).getByteSource();
+    FpmlDocumentParser parser = FpmlDocumentParser.of(FpmlPartySelector.any());
+    assertThrows(
+        () -> parser.streamTrades(resource),
+        FpmlParseException.class,
+        "Unable to find FpML root element.*");
+  }
+
   //-------------------------------------------------------------------------
   public void document() {
     XmlElement tradeDateEl = XmlElement.ofContent("tradeDate", "2000-06-30");
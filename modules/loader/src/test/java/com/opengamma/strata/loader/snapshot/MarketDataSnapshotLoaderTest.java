@@ -0,0 +1,161 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.loader.snapshot;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.basics.date.DayCounts;
+import com.opengamma.strata.basics.index.IborIndices;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.FxRateId;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.market.curve.CurveId;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.observable.IndexQuoteId;
+import com.opengamma.strata.market.observable.QuoteId;
+
+/**
+ * Test {@link MarketDataSnapshotLoader}.
+ */
+@Test
+public class MarketDataSnapshotLoaderTest {
+
+  private static final LocalDate VAL_DATE = date(2016, 6, 30);
+  private static final QuoteId QUOTE_ID1 = QuoteId.of(StandardId.of("OG-Future", "Eurex-FGBL-Mar14"));
+  private static final QuoteId QUOTE_ID2 = QuoteId.of(StandardId.of("OG-Future", "CME-ED-Mar14"));
+  private static final FxRateId FX_ID = FxRateId.of(Currency.EUR, Currency.USD);
+  private static final IndexQuoteId INDEX_ID1 = IndexQuoteId.of(IborIndices.USD_LIBOR_3M);
+  private static final IndexQuoteId INDEX_ID2 = IndexQuoteId.of(IborIndices.USD_LIBOR_6M);
+  private static final CurveId CURVE_ID = CurveId.of("Group", "USD-Disc");
+  private static final InterpolatedNodalCurve CURVE = InterpolatedNodalCurve.of(
+      Curves.zeroRates("USD-Disc", DayCounts.ACT_365F),
+      DoubleArray.of(0.25d, 1d, 5d),
+      DoubleArray.of(0.01d, 0.0123456789d, 0.02d),
+      CurveInterpolators.LINEAR);
+  private static final LocalDateDoubleTimeSeries SERIES_SPARSE = LocalDateDoubleTimeSeries.builder()
+      .put(date(2015, 1, 5), 0.1d)
+      .put(date(2015, 6, 1), 0.2d)
+      .put(date(2016, 6, 1), -0d)
+      .build();
+  private static final LocalDateDoubleTimeSeries SERIES_DENSE = LocalDateDoubleTimeSeries.builder()
+      .put(date(2016, 6, 27), 0.3d)
+      .put(date(2016, 6, 28), 0.30000000000000004d)
+      .put(date(2016, 6, 30), 0.35d)
+      .build();
+
+  private static final ImmutableMarketData MARKET_DATA = ImmutableMarketData.builder(VAL_DATE)
+      .addValue(QUOTE_ID1, 150.43d)
+      .addValue(QUOTE_ID2, Double.NaN)
+      .addValue(FX_ID, FxRate.of(Currency.EUR, Currency.USD, 1.1d))
+      .addValue(CURVE_ID, CURVE)
+      .addTimeSeries(INDEX_ID1, SERIES_SPARSE)
+      .addTimeSeries(INDEX_ID2, SERIES_DENSE)
+      .addTimeSeries(QUOTE_ID1, LocalDateDoubleTimeSeries.empty())
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_roundTrip_bytes() {
+    byte[] bytes = MarketDataSnapshotLoader.toBytes(MARKET_DATA);
+    ImmutableMarketData test = MarketDataSnapshotLoader.parse(ByteBuffer.wrap(bytes));
+    assertEquals(test, MARKET_DATA);
+    assertEquals(test.getTimeSeries(INDEX_ID2).getClass(), SERIES_DENSE.getClass());
+  }
+
+  public void test_roundTrip_empty() {
+    ImmutableMarketData marketData = ImmutableMarketData.builder(VAL_DATE).build();
+    byte[] bytes = MarketDataSnapshotLoader.toBytes(marketData);
+    assertEquals(MarketDataSnapshotLoader.parse(ByteBuffer.wrap(bytes)), marketData);
+  }
+
+  public void test_roundTrip_outputStream() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    MarketDataSnapshotLoader.write(MARKET_DATA, out);
+    assertEquals(out.toByteArray(), MarketDataSnapshotLoader.toBytes(MARKET_DATA));
+  }
+
+  public void test_roundTrip_file() throws IOException {
+    Path file = Files.createTempFile("MarketDataSnapshotLoaderTest", ".bin");
+    try {
+      MarketDataSnapshotLoader.write(MARKET_DATA, file);
+      assertEquals(MarketDataSnapshotLoader.load(file), MARKET_DATA);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_parse_invalidMagic() {
+    byte[] bytes = MarketDataSnapshotLoader.toBytes(MARKET_DATA);
+    bytes[0] = 0;
+    assertThrowsIllegalArg(() -> MarketDataSnapshotLoader.parse(ByteBuffer.wrap(bytes)), ".*unknown file type.*");
+  }
+
+  public void test_parse_invalidVersion() {
+    byte[] bytes = MarketDataSnapshotLoader.toBytes(MARKET_DATA);
+    bytes[7] = 99;
+    assertThrowsIllegalArg(() -> MarketDataSnapshotLoader.parse(ByteBuffer.wrap(bytes)), ".*version: 99.*");
+  }
+
+  public void test_parse_truncated() {
+    byte[] bytes = MarketDataSnapshotLoader.toBytes(MARKET_DATA);
+    byte[] truncated = Arrays.copyOf(bytes, bytes.length - 5);
+    assertThrowsIllegalArg(() -> MarketDataSnapshotLoader.parse(ByteBuffer.wrap(truncated)));
+  }
+
+  public void test_load_invalidFile() throws IOException {
+    Path file = Files.createTempFile("MarketDataSnapshotLoaderTest", ".bin");
+    try {
+      Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+      assertThrowsIllegalArg(() -> MarketDataSnapshotLoader.load(file));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  public void test_write_notBean() {
+    ImmutableMarketData marketData = ImmutableMarketData.builder(VAL_DATE)
+        .addValue(TestId.INSTANCE, "Value")
+        .build();
+    assertThrowsIllegalArg(() -> MarketDataSnapshotLoader.toBytes(marketData), ".*not a Bean.*");
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    coverPrivateConstructor(MarketDataSnapshotLoader.class);
+  }
+
+  //-------------------------------------------------------------------------
+  // an identifier that is not a bean
+  private static final class TestId implements MarketDataId<String> {
+    private static final TestId INSTANCE = new TestId();
+
+    @Override
+    public Class<String> getMarketDataType() {
+      return String.class;
+    }
+  }
+
+}
@@ -12,6 +12,7 @@ import java.util.List;
 import java.util.stream.IntStream;
 
 import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.param.ParameterMetadata;
@@ -113,6 +114,43 @@ public interface Curve extends ParameterizedData {
    */
   public abstract double firstDerivative(double x);
 
+  /**
+   * Computes the y-values for the specified x-values, storing them in the specified array.
+   * <p>
+   * The result is the same as calling {@link #yValue(double)} for each x-value.
+   * This allows many y-values to be obtained without creating any objects, for example the discount factors
+   * of all the cash flows of a trade. Implementations may locate the nodes more efficiently when
+   * the x-values are sorted in ascending order.
+   * 
+   * @param xValues  the x-values to find the y-values for
+   * @param result  the array to store the y-values in, at least as long as the x-values
+   * @throws RuntimeException if a y-value cannot be calculated
+   */
+  public default void yValues(double[] xValues, double[] result) {
+    ArgChecker.isTrue(result.length >= xValues.length, "Result array must be at least as long as the x-values");
+    for (int i = 0; i < xValues.length; i++) {
+      result[i] = yValue(xValues[i]);
+    }
+  }
+
+  /**
+   * Adds the sensitivity of the y-value with respect to the curve parameters, multiplied by a factor, to a buffer.
+   * <p>
+   * The buffer has one element for each parameter of the curve.
+   * The result is the same as adding {@code factor} times the sensitivity of
+   * {@link #yValueParameterSensitivity(double)} to the buffer. This allows the sensitivity to many x-values,
+   * such as the cash flows of a trade, to be totalled without creating a sensitivity object for each x-value.
+   * 
+   * @param x  the x-value at which the parameter sensitivity is computed
+   * @param factor  the factor to multiply the sensitivity by, such as the sensitivity to the y-value
+   * @param buffer  the buffer to add the sensitivity to, with one element for each parameter
+   * @throws RuntimeException if the sensitivity cannot be calculated
+   */
+  public default void addYValueParameterSensitivity(double x, double factor, double[] buffer) {
+    ArgChecker.isTrue(buffer.length == getParameterCount(), "Buffer must have one element for each parameter");
+    yValueParameterSensitivity(x).getSensitivity().addMultipliedInto(buffer, factor);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates a parameter sensitivity instance for this curve when the sensitivity values are known.
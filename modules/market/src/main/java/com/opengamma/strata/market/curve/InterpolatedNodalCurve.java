@@ -254,6 +254,16 @@ public final class InterpolatedNodalCurve
     return boundInterpolator.firstDerivative(x);
   }
 
+  @Override
+  public void yValues(double[] xValues, double[] result) {
+    boundInterpolator.interpolate(xValues, result);
+  }
+
+  @Override
+  public void addYValueParameterSensitivity(double x, double factor, double[] buffer) {
+    boundInterpolator.addParameterSensitivity(x, factor, buffer);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public InterpolatedNodalCurve withMetadata(CurveMetadata metadata) {
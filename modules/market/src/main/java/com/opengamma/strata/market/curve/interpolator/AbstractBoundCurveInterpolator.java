@@ -16,6 +16,11 @@ import com.opengamma.strata.collect.array.DoubleArray;
 public abstract class AbstractBoundCurveInterpolator
     implements BoundCurveInterpolator {
 
+  /**
+   * The number of intervals searched forward from the previous interval when bracketing many x-values.
+   */
+  private static final int SEARCH_FORWARD_INTERVALS = 4;
+
   /**
    * The left extrapolator.
    */
@@ -24,6 +29,10 @@ public abstract class AbstractBoundCurveInterpolator
    * The right extrapolator.
    */
   private final BoundCurveExtrapolator extrapolatorRight;
+  /**
+   * The x-values of the nodes.
+   */
+  private final double[] nodeXValues;
   /**
    * The x-value of the first node.
    */
@@ -51,6 +60,7 @@ public abstract class AbstractBoundCurveInterpolator
     ArgChecker.isTrue(size > 1, "Curve node arrays must have at least two nodes");
     this.extrapolatorLeft = ExceptionCurveExtrapolator.INSTANCE;
     this.extrapolatorRight = ExceptionCurveExtrapolator.INSTANCE;
+    this.nodeXValues = xValues.toArrayUnsafe();
     this.firstXValue = xValues.get(0);
     this.lastXValue = xValues.get(size - 1);
     this.lastYValue = yValues.get(size - 1);
@@ -70,6 +80,7 @@ public abstract class AbstractBoundCurveInterpolator
 
     this.extrapolatorLeft = ArgChecker.notNull(extrapolatorLeft, "extrapolatorLeft");
     this.extrapolatorRight = ArgChecker.notNull(extrapolatorRight, "extrapolatorRight");
+    this.nodeXValues = base.nodeXValues;
     this.firstXValue = base.firstXValue;
     this.lastXValue = base.lastXValue;
     this.lastYValue = base.lastYValue;
@@ -96,6 +107,49 @@ public abstract class AbstractBoundCurveInterpolator
    */
   protected abstract double doInterpolate(double xValue);
 
+  /**
+   * Computes the y-values for the specified x-values by interpolation.
+   * <p>
+   * The interval containing each x-value is found by searching forward from the interval
+   * of the previous x-value, falling back to a binary search. This is efficient when the
+   * x-values are sorted, while still producing the correct result when they are not.
+   * 
+   * @param xValues  the x-values to find the y-values for
+   * @param result  the array to store the y-values in, at least as long as the x-values
+   */
+  @Override
+  public final void interpolate(double[] xValues, double[] result) {
+    ArgChecker.isTrue(result.length >= xValues.length, "Result array must be at least as long as the x-values");
+    int lowerIndex = 0;
+    for (int i = 0; i < xValues.length; i++) {
+      double xValue = xValues[i];
+      if (xValue < firstXValue) {
+        result[i] = extrapolatorLeft.leftExtrapolate(xValue);
+      } else if (xValue > lastXValue) {
+        result[i] = extrapolatorRight.rightExtrapolate(xValue);
+      } else if (xValue == lastXValue) {
+        result[i] = lastYValue;
+      } else {
+        lowerIndex = lowerBoundIndex(xValue, nodeXValues, lowerIndex);
+        result[i] = doInterpolate(xValue, lowerIndex);
+      }
+    }
+  }
+
+  /**
+   * Method for subclasses to calculate the interpolated value when the interval is known.
+   * <p>
+   * This is used when interpolating many x-values, where the interval has already been found.
+   * The default implementation ignores the interval and calls {@link #doInterpolate(double)}.
+   * 
+   * @param xValue  the x-value
+   * @param lowerIndex  the index of the last node whose x-value is lower than or equal to the x-value
+   * @return the interpolated y-value
+   */
+  protected double doInterpolate(double xValue, int lowerIndex) {
+    return doInterpolate(xValue);
+  }
+
   @Override
   public final double firstDerivative(double xValue) {
     if (xValue < firstXValue) {
@@ -132,6 +186,32 @@ public abstract class AbstractBoundCurveInterpolator
    */
   protected abstract DoubleArray doParameterSensitivity(double xValue);
 
+  @Override
+  public final void addParameterSensitivity(double xValue, double factor, double[] buffer) {
+    if (xValue < firstXValue) {
+      extrapolatorLeft.leftExtrapolateParameterSensitivity(xValue).addMultipliedInto(buffer, factor);
+    } else if (xValue > lastXValue) {
+      extrapolatorRight.rightExtrapolateParameterSensitivity(xValue).addMultipliedInto(buffer, factor);
+    } else {
+      ArgChecker.isTrue(buffer.length == nodeXValues.length, "Buffer must have one element for each node");
+      doAddParameterSensitivity(xValue, factor, buffer);
+    }
+  }
+
+  /**
+   * Method for subclasses to add the parameter sensitivity, multiplied by a factor, to a buffer.
+   * <p>
+   * The default implementation calls {@link #doParameterSensitivity(double)}, which creates an array.
+   * Subclasses may override this to avoid creating an array, as the linear and log-linear interpolators do.
+   * 
+   * @param xValue  the x-value
+   * @param factor  the factor to multiply the sensitivity by
+   * @param buffer  the buffer to add the sensitivity to, with one element for each node
+   */
+  protected void doAddParameterSensitivity(double xValue, double factor, double[] buffer) {
+    doParameterSensitivity(xValue).addMultipliedInto(buffer, factor);
+  }
+
   //-------------------------------------------------------------------------
 
   /**
@@ -165,4 +245,30 @@ public abstract class AbstractBoundCurveInterpolator
     return index;
   }
 
+  /**
+   * Returns the index of the last value in the input array which is lower than the specified value,
+   * searching forward from a previously found index.
+   * <p>
+   * The same conditions as {@link #lowerBoundIndex(double, double[])} apply, and the same result is returned.
+   * A few intervals following the specified index are checked before falling back to a binary search,
+   * which is efficient when the method is called for x-values sorted in ascending order.
+   *
+   * @param xValue  a value which is less than the last element in {@code xValues}
+   * @param xValues  an array of values sorted in ascending order
+   * @param fromIndex  the index to search forward from, typically the result for the previous x-value
+   * @return the index of the last value in {@code xValues} which is lower than {@code xValue}
+   */
+  protected static int lowerBoundIndex(double xValue, double[] xValues, int fromIndex) {
+    int last = xValues.length - 1;
+    if (fromIndex >= 0 && fromIndex < last && xValues[fromIndex] <= xValue) {
+      int limit = Math.min(last, fromIndex + SEARCH_FORWARD_INTERVALS);
+      for (int index = fromIndex; index < limit; index++) {
+        if (xValues[index + 1] > xValue) {
+          return index;
+        }
+      }
+    }
+    return lowerBoundIndex(xValue, xValues);
+  }
+
 }
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.market.curve.interpolator;
 
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 
 /**
@@ -52,6 +53,42 @@ public interface BoundCurveInterpolator {
    */
   public abstract DoubleArray parameterSensitivity(double x);
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the y-values for the specified x-values by interpolation, storing them in the specified array.
+   * <p>
+   * The result is the same as calling {@link #interpolate(double)} for each x-value.
+   * Implementations may locate the nodes more efficiently when the x-values are sorted in ascending order,
+   * and should not create any objects.
+   * 
+   * @param xValues  the x-values to find the y-values for
+   * @param result  the array to store the y-values in, at least as long as the x-values
+   * @throws RuntimeException if a y-value cannot be calculated
+   */
+  public default void interpolate(double[] xValues, double[] result) {
+    ArgChecker.isTrue(result.length >= xValues.length, "Result array must be at least as long as the x-values");
+    for (int i = 0; i < xValues.length; i++) {
+      result[i] = interpolate(xValues[i]);
+    }
+  }
+
+  /**
+   * Adds the sensitivity of the y-value with respect to the curve parameters, multiplied by a factor, to a buffer.
+   * <p>
+   * The buffer has one element for each parameter of the curve.
+   * The result is the same as adding {@code factor} times {@link #parameterSensitivity(double)} to the buffer,
+   * however implementations should avoid creating any objects. This allows the sensitivity to many x-values
+   * to be totalled in a single buffer.
+   * 
+   * @param x  the x-value at which the parameter sensitivity is computed
+   * @param factor  the factor to multiply the sensitivity by
+   * @param buffer  the buffer to add the sensitivity to, with one element for each parameter
+   * @throws RuntimeException if the sensitivity cannot be calculated
+   */
+  public default void addParameterSensitivity(double x, double factor, double[] buffer) {
+    parameterSensitivity(x).addMultipliedInto(buffer, factor);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Binds this interpolator to the specified extrapolators.
@@ -147,6 +147,11 @@ final class DoubleQuadraticCurveInterpolator
     protected double doInterpolate(double xValue) {
       // x-value is less than the x-value of the last node (lowerIndex < intervalCount)
       int lowerIndex = lowerBoundIndex(xValue, xValues);
+      return doInterpolate(xValue, lowerIndex);
+    }
+
+    @Override
+    protected double doInterpolate(double xValue, int lowerIndex) {
       int higherIndex = lowerIndex + 1;
       // at start of curve
       if (lowerIndex == 0) {
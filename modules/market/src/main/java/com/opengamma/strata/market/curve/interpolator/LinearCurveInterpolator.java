@@ -100,6 +100,11 @@ final class LinearCurveInterpolator
     protected double doInterpolate(double xValue) {
       // x-value is less than the x-value of the last node (lowerIndex < intervalCount)
       int lowerIndex = lowerBoundIndex(xValue, xValues);
+      return doInterpolate(xValue, lowerIndex);
+    }
+
+    @Override
+    protected double doInterpolate(double xValue, int lowerIndex) {
       double x1 = xValues[lowerIndex];
       double y1 = yValues[lowerIndex];
       return y1 + (xValue - x1) * gradients[lowerIndex];
@@ -119,20 +124,25 @@ final class LinearCurveInterpolator
     @Override
     protected DoubleArray doParameterSensitivity(double xValue) {
       double[] result = new double[yValues.length];
+      doAddParameterSensitivity(xValue, 1d, result);
+      return DoubleArray.ofUnsafe(result);
+    }
+
+    @Override
+    protected void doAddParameterSensitivity(double xValue, double factor, double[] buffer) {
       int lowerIndex = lowerBoundIndex(xValue, xValues);
       // check if x-value is at the last node
       if (lowerIndex == intervalCount) {
         // sensitivity is entirely to the last node
-        result[intervalCount] = 1d;
+        buffer[intervalCount] += factor;
       } else {
         double x1 = xValues[lowerIndex];
         double x2 = xValues[lowerIndex + 1];
         double dx = x2 - x1;
         double a = (x2 - xValue) / dx;
-        result[lowerIndex] = a;
-        result[lowerIndex + 1] = 1 - a;
+        buffer[lowerIndex] += factor * a;
+        buffer[lowerIndex + 1] += factor * (1 - a);
       }
-      return DoubleArray.ofUnsafe(result);
     }
 
     @Override
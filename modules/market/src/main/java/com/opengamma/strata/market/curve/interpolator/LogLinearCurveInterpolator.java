@@ -91,6 +91,11 @@ final class LogLinearCurveInterpolator
     protected double doInterpolate(double xValue) {
       // x-value is less than the x-value of the last node (lowerIndex < intervalCount)
       int lowerIndex = lowerBoundIndex(xValue, xValues);
+      return doInterpolate(xValue, lowerIndex);
+    }
+
+    @Override
+    protected double doInterpolate(double xValue, int lowerIndex) {
       double x1 = xValues[lowerIndex];
       double x2 = xValues[lowerIndex + 1];
       double y1 = yValues[lowerIndex];
@@ -122,11 +127,17 @@ final class LogLinearCurveInterpolator
     @Override
     protected DoubleArray doParameterSensitivity(double xValue) {
       double[] result = new double[yValues.length];
+      doAddParameterSensitivity(xValue, 1d, result);
+      return DoubleArray.ofUnsafe(result);
+    }
+
+    @Override
+    protected void doAddParameterSensitivity(double xValue, double factor, double[] buffer) {
       int lowerIndex = lowerBoundIndex(xValue, xValues);
       // check if x-value is at the last node
       if (lowerIndex == intervalCount) {
         // sensitivity is entirely to the last node
-        result[intervalCount] = 1d;
+        buffer[intervalCount] += factor;
       } else {
         double x1 = xValues[lowerIndex];
         double x2 = xValues[lowerIndex + 1];
@@ -136,10 +147,9 @@ final class LogLinearCurveInterpolator
         double x1diffInv = (xValue - x1) * diffInv;
         double x2diffInv = (x2 - xValue) * diffInv;
         double yDiv = y1 / y2;
-        result[lowerIndex] = Math.pow(yDiv, -x1diffInv) * x2diffInv;
-        result[lowerIndex + 1] = Math.pow(yDiv, x2diffInv) * x1diffInv;
+        buffer[lowerIndex] += factor * Math.pow(yDiv, -x1diffInv) * x2diffInv;
+        buffer[lowerIndex + 1] += factor * Math.pow(yDiv, x2diffInv) * x1diffInv;
       }
-      return DoubleArray.ofUnsafe(result);
     }
 
     @Override
@@ -88,6 +88,11 @@ final class SquareLinearCurveInterpolator implements CurveInterpolator, Serializ
     protected double doInterpolate(double xValue) {
       // x-value is less than the x-value of the last node (lowerIndex < intervalCount)
       int lowerIndex = lowerBoundIndex(xValue, xValues);
+      return doInterpolate(xValue, lowerIndex);
+    }
+
+    @Override
+    protected double doInterpolate(double xValue, int lowerIndex) {
       double x1 = xValues[lowerIndex];
       double y1 = yValues[lowerIndex];
 
@@ -6,6 +6,7 @@
 package com.opengamma.strata.market.curve;
 
 import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -80,6 +81,20 @@ public class ConstantCurveTest {
     assertThat(test.firstDerivative(100d)).isEqualTo(0d);
   }
 
+  public void test_lookup_bulk() {
+    ConstantCurve test = ConstantCurve.of(CURVE_NAME, VALUE);
+    double[] result = new double[3];
+    test.yValues(new double[] {0d, -10d, 100d}, result);
+    assertThat(result).containsExactly(VALUE, VALUE, VALUE);
+
+    double[] buffer = new double[] {1d};
+    test.addYValueParameterSensitivity(0d, 2d, buffer);
+    test.addYValueParameterSensitivity(100d, 3d, buffer);
+    assertThat(buffer).containsExactly(6d);
+    assertThrowsIllegalArg(() -> test.yValues(new double[] {0d, 1d}, new double[1]));
+    assertThrowsIllegalArg(() -> test.addYValueParameterSensitivity(0d, 1d, new double[2]));
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     ConstantCurve test = ConstantCurve.of(CURVE_NAME, VALUE);
@@ -125,6 +125,23 @@ public class InterpolatedNodalCurveTest {
     assertThat(test.firstDerivative(10d)).isEqualTo(interp.firstDerivative(10d));
   }
 
+  public void test_lookup_bulk() {
+    InterpolatedNodalCurve test = InterpolatedNodalCurve.of(METADATA, XVALUES, YVALUES, INTERPOLATOR);
+    double[] xValues = {0.5d, 1d, 1.25d, 1.5d, 2d, 2.5d, 3d, 10d};
+    double[] result = new double[xValues.length];
+    test.yValues(xValues, result);
+    double[] buffer = new double[SIZE];
+    for (int i = 0; i < xValues.length; i++) {
+      assertThat(result[i]).isEqualTo(test.yValue(xValues[i]));
+      test.addYValueParameterSensitivity(xValues[i], i, buffer);
+    }
+    DoubleArray expected = DoubleArray.filled(SIZE);
+    for (int i = 0; i < xValues.length; i++) {
+      expected = expected.plus(test.yValueParameterSensitivity(xValues[i]).getSensitivity().multipliedBy(i));
+    }
+    assertThat(DoubleArray.ofUnsafe(buffer).equalWithTolerance(expected, 1e-12)).isTrue();
+  }
+
   //-------------------------------------------------------------------------
   public void test_withMetadata() {
     InterpolatedNodalCurve base = InterpolatedNodalCurve.of(METADATA, XVALUES, YVALUES, INTERPOLATOR);
@@ -106,6 +106,32 @@ public class CurveInterpolatorTest {
     assertNotNull(bound.toString());
   }
 
+  @Test(dataProvider = "name")
+  public void test_bind_bulk(CurveInterpolator convention, String name) {
+    DoubleArray xValues = DoubleArray.of(0.5, 1, 2, 3, 5, 7);
+    DoubleArray yValues = DoubleArray.of(2, 2.5, 3.5, 4, 4.25, 4.5);
+    BoundCurveInterpolator bound = convention.bind(xValues, yValues, CurveExtrapolators.FLAT, CurveExtrapolators.FLAT);
+    double[] sorted = {0.1, 0.5, 0.6, 0.75, 1, 1.5, 2, 2.01, 2.99, 3, 4.5, 6.5, 7, 8};
+    double[] unsorted = {6.5, 0.6, 3, 8, 2.01, 0.1, 7, 1.5, 0.5, 4.5, 1, 0.75, 2.99, 2};
+    for (double[] test : new double[][] {sorted, unsorted}) {
+      double[] result = new double[test.length + 1];
+      bound.interpolate(test, result);
+      for (int i = 0; i < test.length; i++) {
+        assertEquals(result[i], bound.interpolate(test[i]), 0d);
+      }
+      for (int i = 0; i < test.length; i++) {
+        double[] buffer = new double[] {1, 1, 1, 1, 1, 1};
+        bound.addParameterSensitivity(test[i], 2d, buffer);
+        DoubleArray expected = bound.parameterSensitivity(test[i]).multipliedBy(2d).plus(1d);
+        for (int j = 0; j < buffer.length; j++) {
+          assertEquals(buffer[j], expected.get(j), 1e-14);
+        }
+      }
+    }
+    assertThrowsIllegalArg(() -> bound.interpolate(sorted, new double[1]));
+    assertThrowsIllegalArg(() -> bound.addParameterSensitivity(1.5, 1d, new double[2]));
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     coverPrivateConstructor(CurveInterpolators.class);
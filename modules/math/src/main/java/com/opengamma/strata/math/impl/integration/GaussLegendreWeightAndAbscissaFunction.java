@@ -43,7 +43,7 @@ public class GaussLegendreWeightAndAbscissaFunction implements QuadratureWeightA
     DoubleFunction1D function = pair.getFirst();
     DoubleFunction1D derivative = pair.getSecond();
     for (int i = 0; i < mid; i++) {
-      double root = ROOT_FINDER.getRoot(function, derivative, getInitialRootGuess(i, n));
+      double root = ROOT_FINDER.getRootPrimitive(function, derivative, getInitialRootGuess(i, n));
       x[i] = -root;
       x[n - i - 1] = root;
       double dp = derivative.applyAsDouble(root);
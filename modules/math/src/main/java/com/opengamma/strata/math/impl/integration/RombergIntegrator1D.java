@@ -5,8 +5,10 @@
  */
 package com.opengamma.strata.math.impl.integration;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
+import org.apache.commons.math3.analysis.UnivariateFunction;
 import org.apache.commons.math3.analysis.integration.RombergIntegrator;
 import org.apache.commons.math3.analysis.integration.UnivariateIntegrator;
 import org.apache.commons.math3.exception.MathIllegalArgumentException;
@@ -46,12 +48,33 @@ public class RombergIntegrator1D extends Integrator1D<Double, Double> {
     ArgChecker.notNull(lower, "lower bound");
     ArgChecker.notNull(upper, "upper bound");
 
+    return integrateUnivariate(CommonsMathWrapper.wrapUnivariate(f), lower, upper);
+  }
+
+  /**
+   * Romberg integration method for a function of primitive doubles.
+   * <p>
+   * Using this method avoids boxing the argument and value of the function on each evaluation.
+   * If the lower bound is larger than the upper, the bounds are reversed and the result negated.
+   * 
+   * @param f  the function to integrate, not null
+   * @param lower  the lower bound
+   * @param upper  the upper bound
+   * @return the result of the integration
+   */
+  public double integratePrimitive(DoubleUnaryOperator f, double lower, double upper) {
+    ArgChecker.notNull(f, "f");
+    return integrateUnivariate(f::applyAsDouble, lower, upper);
+  }
+
+  // integrates the function, once the inputs have been checked
+  private double integrateUnivariate(UnivariateFunction f, double lower, double upper) {
     try {
       if (lower < upper) {
-        return _integrator.integrate(MAX_EVAL, CommonsMathWrapper.wrapUnivariate(f), lower, upper);
+        return _integrator.integrate(MAX_EVAL, f, lower, upper);
       }
       s_logger.info("Upper bound was less than lower bound; swapping bounds and negating result");
-      return -_integrator.integrate(MAX_EVAL, CommonsMathWrapper.wrapUnivariate(f), upper, lower);
+      return -_integrator.integrate(MAX_EVAL, f, upper, lower);
     } catch (MaxCountExceededException | MathIllegalArgumentException e) {
       throw new MathException(e);
     }
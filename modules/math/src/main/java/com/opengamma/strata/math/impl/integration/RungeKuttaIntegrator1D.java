@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.integration;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.opengamma.strata.collect.ArgChecker;
@@ -76,6 +77,22 @@ public class RungeKuttaIntegrator1D extends Integrator1D<Double, Double> {
   public Double integrate(Function<Double, Double> f, Double lower, Double upper) {
     ArgChecker.notNull(lower, "lower");
     ArgChecker.notNull(upper, "upper");
+    DoubleUnaryOperator unboxed = x -> f.apply(x);
+    return integratePrimitive(unboxed, lower.doubleValue(), upper.doubleValue());
+  }
+
+  /**
+   * Integrates a function of primitive doubles.
+   * <p>
+   * Using this method avoids boxing the argument and value of the function on each evaluation.
+   * 
+   * @param f  the function to integrate, not null
+   * @param lower  the lower bound
+   * @param upper  the upper bound
+   * @return the result of the integration
+   */
+  public double integratePrimitive(DoubleUnaryOperator f, double lower, double upper) {
+    ArgChecker.notNull(f, "f");
     if (Double.isNaN(lower) || Double.isInfinite(lower) || Double.isInfinite(upper) || Double.isNaN(upper)) {
       throw new IllegalArgumentException("lower or upper was NaN or Inf");
     }
@@ -83,18 +100,18 @@ public class RungeKuttaIntegrator1D extends Integrator1D<Double, Double> {
     double h = (upper - lower) / _minSteps;
     double f1, f2, f3, x;
     x = lower;
-    f1 = f.apply(x);
+    f1 = f.applyAsDouble(x);
     if (Double.isNaN(f1) || Double.isInfinite(f1)) {
       throw new IllegalArgumentException("function evaluation returned NaN or Inf");
     }
 
     double result = 0.0;
     for (int i = 0; i < _minSteps; i++) {
-      f2 = f.apply(x + h / 2.0);
+      f2 = f.applyAsDouble(x + h / 2.0);
       if (Double.isNaN(f2) || Double.isInfinite(f2)) {
         throw new IllegalArgumentException("function evaluation returned NaN or Inf");
       }
-      f3 = f.apply(x + h);
+      f3 = f.applyAsDouble(x + h);
       if (Double.isNaN(f3) || Double.isInfinite(f3)) {
         throw new IllegalArgumentException("function evaluation returned NaN or Inf");
       }
@@ -107,7 +124,7 @@ public class RungeKuttaIntegrator1D extends Integrator1D<Double, Double> {
   }
 
   private double calculateRungeKuttaFourthOrder(
-      Function<Double, Double> f,
+      DoubleUnaryOperator f,
       double x,
       double h,
       double fl,
@@ -119,11 +136,11 @@ public class RungeKuttaIntegrator1D extends Integrator1D<Double, Double> {
     //        Double.isNaN(fu) || Double.isInfinite(fu)) {
     //      throw new OpenGammaRuntimeException("h was Inf or NaN");
     //    }
-    double f1 = f.apply(x + 0.25 * h);
+    double f1 = f.applyAsDouble(x + 0.25 * h);
     if (Double.isNaN(f1) || Double.isInfinite(f1)) {
       throw new IllegalStateException("f.evaluate returned NaN or Inf");
     }
-    double f2 = f.apply(x + 0.75 * h);
+    double f2 = f.applyAsDouble(x + 0.75 * h);
     if (Double.isNaN(f2) || Double.isInfinite(f2)) {
       throw new IllegalStateException("f.evaluate returned NaN or Inf");
     }
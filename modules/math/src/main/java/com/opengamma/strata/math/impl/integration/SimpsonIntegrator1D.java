@@ -5,8 +5,10 @@
  */
 package com.opengamma.strata.math.impl.integration;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
+import org.apache.commons.math3.analysis.UnivariateFunction;
 import org.apache.commons.math3.analysis.integration.SimpsonIntegrator;
 import org.apache.commons.math3.analysis.integration.UnivariateIntegrator;
 import org.apache.commons.math3.exception.NumberIsTooLargeException;
@@ -54,12 +56,33 @@ public class SimpsonIntegrator1D extends Integrator1D<Double, Double> {
     ArgChecker.notNull(f, "function");
     ArgChecker.notNull(lower, "lower bound");
     ArgChecker.notNull(upper, "upper bound");
+    return integrateUnivariate(CommonsMathWrapper.wrapUnivariate(f), lower, upper);
+  }
+
+  /**
+   * Simpson's integration method for a function of primitive doubles.
+   * <p>
+   * Using this method avoids boxing the argument and value of the function on each evaluation.
+   * If the lower bound is larger than the upper, the bounds are reversed and the result negated.
+   * 
+   * @param f  the function to integrate, not null
+   * @param lower  the lower bound
+   * @param upper  the upper bound
+   * @return the result of the integration
+   */
+  public double integratePrimitive(DoubleUnaryOperator f, double lower, double upper) {
+    ArgChecker.notNull(f, "function");
+    return integrateUnivariate(f::applyAsDouble, lower, upper);
+  }
+
+  // integrates the function, once the inputs have been checked
+  private double integrateUnivariate(UnivariateFunction f, double lower, double upper) {
     try {
       if (lower < upper) {
-        return _integrator.integrate(MAX_EVAL, CommonsMathWrapper.wrapUnivariate(f), lower, upper);
+        return _integrator.integrate(MAX_EVAL, f, lower, upper);
       }
       s_logger.info("Upper bound was less than lower bound; swapping bounds and negating result");
-      return -_integrator.integrate(MAX_EVAL, CommonsMathWrapper.wrapUnivariate(f), upper, lower);
+      return -_integrator.integrate(MAX_EVAL, f, upper, lower);
     } catch (NumberIsTooSmallException | NumberIsTooLargeException e) {
       throw new MathException(e);
     }
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.minimization;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.google.common.math.DoubleMath;
@@ -22,8 +23,29 @@ public abstract class MinimumBracketer {
 
   public abstract double[] getBracketedPoints(Function<Double, Double> f, double xLower, double xUpper);
 
+  /**
+   * Brackets a minimum of a primitive function.
+   * <p>
+   * This avoids boxing when the function is evaluated.
+   * The default implementation delegates to {@link #getBracketedPoints(Function, double, double)}.
+   * 
+   * @param f  the function, not null
+   * @param xLower  the initial lower value
+   * @param xUpper  the initial upper value
+   * @return the bracketed points
+   */
+  public double[] getBracketedPointsPrimitive(DoubleUnaryOperator f, double xLower, double xUpper) {
+    ArgChecker.notNull(f, "function");
+    Function<Double, Double> boxed = f::applyAsDouble;
+    return getBracketedPoints(boxed, xLower, xUpper);
+  }
+
   protected void checkInputs(Function<Double, Double> f, double xLower, double xUpper) {
     ArgChecker.notNull(f, "function");
+    checkDistinct(xLower, xUpper);
+  }
+
+  protected void checkDistinct(double xLower, double xUpper) {
     if (DoubleMath.fuzzyEquals(xLower, xUpper, ZERO)) {
       throw new IllegalArgumentException("Lower and upper values were not distinct");
     }
@@ -5,8 +5,10 @@
  */
 package com.opengamma.strata.math.impl.minimization;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.math.MathException;
 
 /**
@@ -22,11 +24,23 @@ public class ParabolicMinimumBracketer extends MinimumBracketer {
   @Override
   public double[] getBracketedPoints(Function<Double, Double> f, double xLower, double xUpper) {
     checkInputs(f, xLower, xUpper);
+    return findBracket(x -> f.apply(x), xLower, xUpper);
+  }
+
+  @Override
+  public double[] getBracketedPointsPrimitive(DoubleUnaryOperator f, double xLower, double xUpper) {
+    ArgChecker.notNull(f, "function");
+    checkDistinct(xLower, xUpper);
+    return findBracket(f, xLower, xUpper);
+  }
+
+  // brackets the minimum, evaluating the function without boxing
+  private double[] findBracket(DoubleUnaryOperator f, double xLower, double xUpper) {
     double temp;
     double x1 = xLower;
     double x2 = xUpper;
-    double f1 = f.apply(x1);
-    double f2 = f.apply(x2);
+    double f1 = f.applyAsDouble(x1);
+    double f2 = f.applyAsDouble(x2);
     if (f2 > f1) {
       temp = x2;
       x2 = x1;
@@ -36,7 +50,7 @@ public class ParabolicMinimumBracketer extends MinimumBracketer {
       f1 = temp;
     }
     double x3 = x2 + MAGNIFICATION * (x2 - x1);
-    double f3 = f.apply(x3);
+    double f3 = f.applyAsDouble(x3);
     if (x1 < x2 && x2 < x3 && f2 < f1 && f2 < f3 || x1 > x2 && x2 > x3 && f2 < f1 && f2 < f3) {
       return new double[] {x1, x2, x3};
     }
@@ -52,7 +66,7 @@ public class ParabolicMinimumBracketer extends MinimumBracketer {
       u = x2 - ((x2 - x3) * q - (x2 - x1) * r) / (2 * Math.copySign(Math.max(Math.abs(q - r), ZERO), q - r));
       uLim = x2 + MAX_MAGNIFICATION * (x3 - x2);
       if ((x2 - u) * (u - x3) > 0) {
-        fu = f.apply(u);
+        fu = f.applyAsDouble(u);
         if (fu < f3) {
           x1 = x2;
           x2 = u;
@@ -62,9 +76,9 @@ public class ParabolicMinimumBracketer extends MinimumBracketer {
           return new double[] {x1, x2, x3};
         }
         u = x3 + MAGNIFICATION * (x3 - x2);
-        fu = f.apply(u);
+        fu = f.applyAsDouble(u);
       } else if ((x3 - u) * (u - uLim) > 0) {
-        fu = f.apply(u);
+        fu = f.applyAsDouble(u);
         if (fu < f3) {
           temp = u + MAGNIFICATION * (u - x3);
           x2 = x3;
@@ -72,14 +86,14 @@ public class ParabolicMinimumBracketer extends MinimumBracketer {
           u = temp;
           f2 = f3;
           f3 = fu;
-          fu = f.apply(u);
+          fu = f.applyAsDouble(u);
         }
       } else if ((u - uLim) * (uLim - x3) >= 0) {
         u = uLim;
-        fu = f.apply(u);
+        fu = f.applyAsDouble(u);
       } else {
         u = x3 + MAGNIFICATION * (x3 - x2);
-        fu = f.apply(u);
+        fu = f.applyAsDouble(u);
       }
       x1 = x2;
       x2 = x3;
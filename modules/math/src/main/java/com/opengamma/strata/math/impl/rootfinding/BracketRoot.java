@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.rootfinding;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.opengamma.strata.collect.ArgChecker;
@@ -32,13 +33,31 @@ public class BracketRoot {
    * @throws MathException If a root is not bracketed in 50 attempts.
    */
   public double[] getBracketedPoints(Function<Double, Double> f, double xLower, double xUpper) {
+    ArgChecker.notNull(f, "f");
+    DoubleUnaryOperator unboxed = x -> f.apply(x);
+    return getBracketedPointsPrimitive(unboxed, xLower, xUpper);
+  }
+
+  /**
+   * Brackets a root of a function of primitive doubles.
+   * <p>
+   * Using this method avoids boxing the argument and value of the function on each evaluation.
+   * 
+   * @param f The function, not null
+   * @param xLower Initial value of lower bracket
+   * @param xUpper Initial value of upper bracket
+   * @return The bracketed points as an array, where the first element is the lower bracket
+   *  and the second the upper bracket.
+   * @throws MathException If a root is not bracketed in 50 attempts.
+   */
+  public double[] getBracketedPointsPrimitive(DoubleUnaryOperator f, double xLower, double xUpper) {
     ArgChecker.notNull(f, "f");
     double x1 = xLower;
     double x2 = xUpper;
     double f1 = 0;
     double f2 = 0;
-    f1 = f.apply(x1);
-    f2 = f.apply(x2);
+    f1 = f.applyAsDouble(x1);
+    f2 = f.applyAsDouble(x2);
     if (Double.isNaN(f1)) {
       throw new MathException("Failed to bracket root: function invalid at x = " + x1 + " f(x) = " + f1);
     }
@@ -52,13 +71,13 @@ public class BracketRoot {
       }
       if (Math.abs(f1) < Math.abs(f2)) {
         x1 += RATIO * (x1 - x2);
-        f1 = f.apply(x1);
+        f1 = f.applyAsDouble(x1);
         if (Double.isNaN(f1)) {
           throw new MathException("Failed to bracket root: function invalid at x = " + x1 + " f(x) = " + f1);
         }
       } else {
         x2 += RATIO * (x2 - x1);
-        f2 = f.apply(x2);
+        f2 = f.applyAsDouble(x2);
         if (Double.isNaN(f2)) {
           throw new MathException("Failed to bracket root: function invalid at x = " + x2 + " f(x) = " + f2);
         }
@@ -68,6 +87,32 @@ public class BracketRoot {
   }
 
   public double[] getBracketedPoints(Function<Double, Double> f, double xLower, double xUpper, double minX, double maxX) {
+    ArgChecker.notNull(f, "f");
+    DoubleUnaryOperator unboxed = x -> f.apply(x);
+    return getBracketedPointsPrimitive(unboxed, xLower, xUpper, minX, maxX);
+  }
+
+  /**
+   * Brackets a root of a function of primitive doubles, restricting the brackets to lie within limits.
+   * <p>
+   * Using this method avoids boxing the argument and value of the function on each evaluation.
+   * 
+   * @param f The function, not null
+   * @param xLower Initial value of lower bracket
+   * @param xUpper Initial value of upper bracket
+   * @param minX The minimum value of the lower bracket
+   * @param maxX The maximum value of the upper bracket
+   * @return The bracketed points as an array, where the first element is the lower bracket
+   *  and the second the upper bracket.
+   * @throws MathException If a root is not bracketed in 50 attempts, or between the limits.
+   */
+  public double[] getBracketedPointsPrimitive(
+      DoubleUnaryOperator f,
+      double xLower,
+      double xUpper,
+      double minX,
+      double maxX) {
+
     ArgChecker.notNull(f, "f");
     ArgChecker.isTrue(xLower >= minX, "xLower < minX");
     ArgChecker.isTrue(xUpper <= maxX, "xUpper < maxX");
@@ -77,8 +122,8 @@ public class BracketRoot {
     double f2 = 0;
     boolean lowerLimitReached = false;
     boolean upperLimitReached = false;
-    f1 = f.apply(x1);
-    f2 = f.apply(x2);
+    f1 = f.applyAsDouble(x1);
+    f2 = f.applyAsDouble(x2);
     if (Double.isNaN(f1)) {
       throw new MathException("Failed to bracket root: function invalid at x = " + x1 + " f(x) = " + f1);
     }
@@ -98,7 +143,7 @@ public class BracketRoot {
           x1 = minX;
           lowerLimitReached = true;
         }
-        f1 = f.apply(x1);
+        f1 = f.applyAsDouble(x1);
         if (Double.isNaN(f1)) {
           throw new MathException("Failed to bracket root: function invalid at x = " + x1 + " f(x) = " + f1);
         }
@@ -108,7 +153,7 @@ public class BracketRoot {
           x2 = maxX;
           upperLimitReached = true;
         }
-        f2 = f.apply(x2);
+        f2 = f.applyAsDouble(x2);
         if (Double.isNaN(f2)) {
           throw new MathException("Failed to bracket root: function invalid at x = " + x2 + " f(x) = " + f2);
         }
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.rootfinding;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.opengamma.strata.math.MathException;
@@ -39,13 +40,27 @@ public class BrentSingleRootFinder extends RealSingleRootFinder {
     if (xLower.equals(xUpper)) {
       return xLower;
     }
+    return findRoot(x -> function.apply(x), xLower, xUpper);
+  }
+
+  @Override
+  public double getRootPrimitive(DoubleUnaryOperator function, double xLower, double xUpper) {
+    checkInputs(function, xLower, xUpper);
+    if (xLower == xUpper) {
+      return xLower;
+    }
+    return findRoot(function, xLower, xUpper);
+  }
+
+  // finds the root, once the inputs have been checked
+  private double findRoot(DoubleUnaryOperator function, double xLower, double xUpper) {
     double x1 = xLower;
     double x2 = xUpper;
     double x3 = xUpper;
     double delta = 0;
     double oldDelta = 0;
-    double f1 = function.apply(x1);
-    double f2 = function.apply(x2);
+    double f1 = function.applyAsDouble(x1);
+    double f2 = function.applyAsDouble(x2);
     double f3 = f2;
     double r1, r2, r3, r4, eps, xMid, min1, min2;
     for (int i = 0; i < MAX_ITER; i++) {
@@ -102,9 +117,9 @@ public class BrentSingleRootFinder extends RealSingleRootFinder {
       } else {
         x2 += Math.copySign(eps, xMid);
       }
-      f1 = function.apply(x1);
-      f2 = function.apply(x2);
-      f3 = function.apply(x3);
+      f1 = function.applyAsDouble(x1);
+      f2 = function.applyAsDouble(x2);
+      f3 = function.applyAsDouble(x3);
     }
     throw new MathException("Could not converge to root in " + MAX_ITER + " attempts");
   }
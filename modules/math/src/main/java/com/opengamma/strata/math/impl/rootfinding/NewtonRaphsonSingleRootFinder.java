@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.rootfinding;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.opengamma.strata.collect.ArgChecker;
@@ -110,6 +111,42 @@ public class NewtonRaphsonSingleRootFinder extends RealSingleRootFinder {
     return getRoot(function, function.derivative(), x);
   }
 
+  /**
+   * Finds the root of a function of primitive doubles between two bounds.
+   * <p>
+   * If the function is a {@link DoubleFunction1D}, its {@link DoubleFunction1D#derivative()} method is used,
+   * otherwise the derivative is approximated using finite difference.
+   * <i>x<sub>1</sub></i> and <i>x<sub>2</sub></i> do not have to be increasing.
+   * 
+   * @param function The function, not null
+   * @param x1 The first bound of the root
+   * @param x2 The second bound of the root
+   * @return The root
+   * @throws MathException If the root is not found in 1000 attempts; if the Newton
+   *  step takes the estimate for the root outside the original bounds.
+   */
+  @Override
+  public double getRootPrimitive(DoubleUnaryOperator function, double x1, double x2) {
+    DoubleFunction1D f = toFunction1D(function);
+    return getRootPrimitive(f, f.derivative(), x1, x2);
+  }
+
+  /**
+   * Finds the root of a function of primitive doubles from an initial guess.
+   * <p>
+   * If the function is a {@link DoubleFunction1D}, its {@link DoubleFunction1D#derivative()} method is used,
+   * otherwise the derivative is approximated using finite difference.
+   * 
+   * @param function The function, not null
+   * @param x The initial guess for the root
+   * @return The root
+   * @throws MathException If the root is not found in 1000 attempts.
+   */
+  public double getRootPrimitive(DoubleUnaryOperator function, double x) {
+    DoubleFunction1D f = toFunction1D(function);
+    return getRootPrimitive(f, f.derivative(), x);
+  }
+
   /**
    * Uses the function and its derivative. 
    * @param function The function, not null
@@ -151,6 +188,27 @@ public class NewtonRaphsonSingleRootFinder extends RealSingleRootFinder {
   public Double getRoot(DoubleFunction1D function, DoubleFunction1D derivative, Double x1, Double x2) {
     checkInputs(function, x1, x2);
     ArgChecker.notNull(derivative, "derivative function");
+    return findRoot(function, derivative, x1, x2);
+  }
+
+  /**
+   * Uses the function and its derivative, both of primitive doubles.
+   * @param function The function, not null
+   * @param derivative The derivative, not null
+   * @param x1 The first bound of the root
+   * @param x2 The second bound of the root
+   * @return The root
+   * @throws MathException If the root is not found in 1000 attempts; if the Newton
+   *  step takes the estimate for the root outside the original bounds.
+   */
+  public double getRootPrimitive(DoubleUnaryOperator function, DoubleUnaryOperator derivative, double x1, double x2) {
+    checkInputs(function, x1, x2);
+    ArgChecker.notNull(derivative, "derivative function");
+    return findRoot(function, derivative, x1, x2);
+  }
+
+  // finds the root between the bounds, once the inputs have been checked
+  private double findRoot(DoubleUnaryOperator function, DoubleUnaryOperator derivative, double x1, double x2) {
     double y1 = function.applyAsDouble(x1);
     if (Math.abs(y1) < _accuracy) {
       return x1;
@@ -197,6 +255,21 @@ public class NewtonRaphsonSingleRootFinder extends RealSingleRootFinder {
     ArgChecker.notNull(function, "function");
     ArgChecker.notNull(derivative, "derivative function");
     ArgChecker.notNull(x, "x");
+    return getRootPrimitive(function, derivative, x.doubleValue());
+  }
+
+  /**
+   * Uses the function and its derivative, both of primitive doubles.
+   * This method uses an initial guess for the root, rather than bounds.
+   * @param function The function, not null
+   * @param derivative The derivative, not null
+   * @param x The initial guess for the root
+   * @return The root
+   * @throws MathException If the root is not found in 1000 attempts.
+   */
+  public double getRootPrimitive(DoubleUnaryOperator function, DoubleUnaryOperator derivative, double x) {
+    ArgChecker.notNull(function, "function");
+    ArgChecker.notNull(derivative, "derivative function");
     double root = x;
     for (int i = 0; i < MAX_ITER; i++) {
       double y = function.applyAsDouble(root);
@@ -210,4 +283,13 @@ public class NewtonRaphsonSingleRootFinder extends RealSingleRootFinder {
     throw new MathException("Could not find root in " + MAX_ITER + " attempts");
   }
 
+  // views the function as a DoubleFunction1D, retaining any derivative it provides
+  private static DoubleFunction1D toFunction1D(DoubleUnaryOperator function) {
+    ArgChecker.notNull(function, "function");
+    if (function instanceof DoubleFunction1D) {
+      return (DoubleFunction1D) function;
+    }
+    return function::applyAsDouble;
+  }
+
 }
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.rootfinding;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.opengamma.strata.collect.ArgChecker;
@@ -24,6 +25,23 @@ public abstract class RealSingleRootFinder implements SingleRootFinder<Double, D
 
   public abstract Double getRoot(Function<Double, Double> function, Double x1, Double x2);
 
+  /**
+   * Finds the root of a function of primitive doubles that lies between two bounds.
+   * <p>
+   * Using this method avoids boxing the argument and value of the function on each evaluation.
+   * The default implementation delegates to {@link #getRoot(Function, Double, Double)}.
+   * 
+   * @param function  the function, not null
+   * @param x1  the first bound
+   * @param x2  the second bound
+   * @return a root lying between x1 and x2
+   */
+  public double getRootPrimitive(DoubleUnaryOperator function, double x1, double x2) {
+    ArgChecker.notNull(function, "function");
+    Function<Double, Double> boxed = x -> function.applyAsDouble(x);
+    return getRoot(boxed, x1, x2);
+  }
+
   /**
    * Tests that the inputs to the root-finder are not null, and that a root is bracketed by the bounding values.
    * 
@@ -56,4 +74,18 @@ public abstract class RealSingleRootFinder implements SingleRootFinder<Double, D
     ArgChecker.isTrue(function.applyAsDouble(x1) * function.applyAsDouble(x2) <= 0, "x1 and x2 do not bracket a root");
   }
 
+  /**
+   * Tests that the function is not null, and that a root is bracketed by the bounding values.
+   * 
+   * @param function The function, not null
+   * @param x1 The first bound
+   * @param x2 The second bound, must be greater than x1
+   * @throws IllegalArgumentException if x1 and x2 do not bracket a root
+   */
+  protected void checkInputs(DoubleUnaryOperator function, double x1, double x2) {
+    ArgChecker.notNull(function, "function");
+    ArgChecker.isTrue(x1 <= x2, "x1 must be less or equal to  x2");
+    ArgChecker.isTrue(function.applyAsDouble(x1) * function.applyAsDouble(x2) <= 0, "x1 and x2 do not bracket a root");
+  }
+
 }
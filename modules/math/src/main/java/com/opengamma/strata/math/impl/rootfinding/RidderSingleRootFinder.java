@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.rootfinding;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import org.apache.commons.math3.analysis.UnivariateFunction;
@@ -55,9 +56,24 @@ public class RidderSingleRootFinder extends RealSingleRootFinder {
   @Override
   public Double getRoot(Function<Double, Double> function, Double xLow, Double xHigh) {
     checkInputs(function, xLow, xHigh);
-    UnivariateFunction wrapped = CommonsMathWrapper.wrapUnivariate(function);
+    return findRoot(CommonsMathWrapper.wrapUnivariate(function), xLow, xHigh);
+  }
+
+  /**
+   * {@inheritDoc}
+   * @throws MathException If the Commons method could not evaluate the function;
+   *  if the Commons method could not converge.
+   */
+  @Override
+  public double getRootPrimitive(DoubleUnaryOperator function, double xLow, double xHigh) {
+    checkInputs(function, xLow, xHigh);
+    return findRoot(function::applyAsDouble, xLow, xHigh);
+  }
+
+  // finds the root, once the inputs have been checked
+  private double findRoot(UnivariateFunction function, double xLow, double xHigh) {
     try {
-      return _ridder.solve(MAX_ITER, wrapped, xLow, xHigh);
+      return _ridder.solve(MAX_ITER, function, xLow, xHigh);
     } catch (TooManyEvaluationsException | NoBracketingException e) {
       throw new MathException(e);
     }
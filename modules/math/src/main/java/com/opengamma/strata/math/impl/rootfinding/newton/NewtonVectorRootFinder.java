@@ -69,17 +69,46 @@ public class NewtonVectorRootFinder extends VectorRootFinder {
   * @return the vector root of the collection of functions 
    */
 
-  @SuppressWarnings("synthetic-access")
   public DoubleArray getRoot(Function<DoubleArray, DoubleArray> function,
       Function<DoubleArray, DoubleMatrix> jacobianFunction, DoubleArray startPosition) {
     checkInputs(function, startPosition);
+    DoubleMatrix estimate = _initializationFunction.getInitializedMatrix(jacobianFunction, startPosition);
+    return findRoot(function, jacobianFunction, startPosition, estimate);
+  }
+
+  /**
+   * Finds the root, using a known estimate of the Jacobian at the start position.
+   * <p>
+   * This avoids the initial calculation of the Jacobian, which is useful when the root of a similar
+   * function has been found previously, for example when recalibrating after small changes to the inputs.
+   * The Jacobian function is still used if the estimate needs to be reset during the search.
+   *
+   *@param function a vector function (i.e. vector to vector) 
+   *@param jacobianFunction calculates the Jacobian
+   *@param startPosition where to start the root finder for.
+   *  Note if multiple roots exist which one if found (if at all) will depend on startPosition 
+   *@param initialJacobian  the estimate of the Jacobian at the start position
+   *@return the vector root of the collection of functions 
+   */
+  public DoubleArray getRoot(Function<DoubleArray, DoubleArray> function,
+      Function<DoubleArray, DoubleMatrix> jacobianFunction, DoubleArray startPosition, DoubleMatrix initialJacobian) {
+    checkInputs(function, startPosition);
+    ArgChecker.notNull(initialJacobian, "initialJacobian");
+    ArgChecker.isTrue(initialJacobian.columnCount() == startPosition.size(),
+        "Initial Jacobian must have {} columns but has {}", startPosition.size(), initialJacobian.columnCount());
+    return findRoot(function, jacobianFunction, startPosition, initialJacobian);
+  }
+
+  @SuppressWarnings("synthetic-access")
+  private DoubleArray findRoot(Function<DoubleArray, DoubleArray> function,
+      Function<DoubleArray, DoubleMatrix> jacobianFunction, DoubleArray startPosition, DoubleMatrix initialJacobian) {
 
     DataBundle data = new DataBundle();
     DoubleArray y = function.apply(startPosition);
     data.setX(startPosition);
     data.setY(y);
     data.setG0(_algebra.getInnerProduct(y, y));
-    DoubleMatrix estimate = _initializationFunction.getInitializedMatrix(jacobianFunction, startPosition);
+    DoubleMatrix estimate = initialJacobian;
 
     if (!getNextPosition(function, estimate, data)) {
       if (isConverged(data)) {
@@ -5,6 +5,10 @@
  */
 package com.opengamma.strata.math.impl.minimization;
 
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.function.DoubleUnaryOperator;
+
 import org.testng.annotations.Test;
 
 /**
@@ -19,4 +23,11 @@ public class GoldenSectionMinimizer1DTest extends Minimizer1DTestCase {
     super.assertInputs(MINIMIZER);
     super.assertMinimizer(MINIMIZER);
   }
+
+  @Test
+  public void test_primitive() {
+    GoldenSectionMinimizer1D minimizer = new GoldenSectionMinimizer1D();
+    DoubleUnaryOperator quadratic = x -> x * x + 7 * x + 12;
+    assertEquals(-3.5, minimizer.minimizePrimitive(quadratic, -10d, 10d), 1e-5);
+  }
 }
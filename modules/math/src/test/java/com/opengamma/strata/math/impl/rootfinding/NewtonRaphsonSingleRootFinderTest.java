@@ -192,4 +192,14 @@ public class NewtonRaphsonSingleRootFinderTest {
     assertEquals(ROOT_FINDER.getRoot(F2, X), ROOT, EPS);
     assertEquals(ROOT_FINDER.getRoot(F2, DF2, X), ROOT, EPS);
   }
+
+  @Test
+  public void test_primitive() {
+    assertEquals(ROOT_FINDER.getRootPrimitive(F1, X1, X2), ROOT, EPS);
+    assertEquals(ROOT_FINDER.getRootPrimitive(F1, DF1, X1, X2), ROOT, EPS);
+    assertEquals(ROOT_FINDER.getRootPrimitive(x -> F2.apply(x), X1, X2), ROOT, EPS);
+    assertEquals(ROOT_FINDER.getRootPrimitive(F1, X), ROOT, EPS);
+    assertEquals(ROOT_FINDER.getRootPrimitive(F1, DF1, X), ROOT, EPS);
+    assertEquals(ROOT_FINDER.getRootPrimitive(x -> F2.apply(x), X), ROOT, EPS);
+  }
 }
@@ -7,6 +7,7 @@ package com.opengamma.strata.math.impl.rootfinding;
 
 import static org.testng.AssertJUnit.assertEquals;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import org.testng.annotations.Test;
@@ -60,4 +61,19 @@ public abstract class RealSingleRootFinderTestCase {
     assertEquals(finder.getRoot(F, 1.5, 2.5), 2, EPS);
     assertEquals(finder.getRoot(F, -1.5, 0.5), -1, EPS);
   }
+
+  @Test
+  public void test_primitive() {
+    RealSingleRootFinder finder = getRootFinder();
+    DoubleUnaryOperator f = x -> x * x * x - 4 * x * x + x + 6;
+    assertEquals(finder.getRootPrimitive(f, 2.5, 3.5), 3, EPS);
+    assertEquals(finder.getRootPrimitive(f, 1.5, 2.5), 2, EPS);
+    assertEquals(finder.getRootPrimitive(f, -1.5, 0.5), -1, EPS);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_primitive_outsideRoots() {
+    DoubleUnaryOperator f = x -> x * x * x - 4 * x * x + x + 6;
+    getRootFinder().getRootPrimitive(f, 10., 100.);
+  }
 }
@@ -5,8 +5,12 @@
  */
 package com.opengamma.strata.math.impl.rootfinding.newton;
 
+import static org.testng.AssertJUnit.assertEquals;
+
 import org.testng.annotations.Test;
 
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.math.impl.linearalgebra.SVDecompositionCommons;
 
 /**
@@ -43,4 +47,18 @@ public class BroydenVectorRootFinderTest extends VectorRootFinderTest {
     assertFunction3D(SV_JACOBIAN_3D, EPS);
     assertYieldCurveBootstrap(DEFAULT, EPS);
   }
+
+  @Test
+  public void testInitialJacobian() {
+    DoubleArray x0 = DoubleArray.of(0.8, 0.2, -0.7);
+    DoubleArray x1 = DEFAULT.getRoot(FUNCTION3D, JACOBIAN3D, x0, JACOBIAN3D.apply(x0));
+    assertEquals(1.0, x1.get(0), EPS);
+    assertEquals(0.0, x1.get(1), EPS);
+    assertEquals(-1.0, x1.get(2), EPS);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testInitialJacobianWrongSize() {
+    DEFAULT.getRoot(FUNCTION3D, JACOBIAN3D, DoubleArray.of(0.8, 0.2, -0.7), DoubleMatrix.identity(2));
+  }
 }
@@ -10,6 +10,7 @@ import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 import static java.util.stream.Collectors.toList;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -80,6 +81,12 @@ final class SwapMeasureCalculations {
    * Pricer for {@link ResolvedSwapTrade}.
    */
   private final DiscountingSwapTradePricer tradePricer;
+  /**
+   * Whether present value and leg present value can be calculated for all scenarios at once
+   * using {@link SwapScenarioCashFlows}.
+   * This is only possible when using the standard pricer, as the formulas of the standard pricer are used.
+   */
+  private final boolean scenarioCashFlows;
 
   /**
    * Creates an instance.
@@ -89,6 +96,7 @@ final class SwapMeasureCalculations {
   SwapMeasureCalculations(
       DiscountingSwapTradePricer tradePricer) {
     this.tradePricer = ArgChecker.notNull(tradePricer, "tradePricer");
+    this.scenarioCashFlows = tradePricer == DiscountingSwapTradePricer.DEFAULT;
   }
 
   //-------------------------------------------------------------------------
@@ -97,6 +105,13 @@ final class SwapMeasureCalculations {
       ResolvedSwapTrade trade,
       RatesScenarioMarketData marketData) {
 
+    // simple swaps are priced for all scenarios at once, resolving the cash flows only once
+    if (scenarioCashFlows) {
+      Optional<SwapScenarioCashFlows> cashFlows = SwapScenarioCashFlows.of(trade.getProduct());
+      if (cashFlows.isPresent()) {
+        return cashFlows.get().presentValue(marketData);
+      }
+    }
     return MultiCurrencyScenarioArray.of(
         marketData.getScenarioCount(),
         i -> presentValue(trade, marketData.scenario(i).ratesProvider()));
@@ -395,6 +410,13 @@ final class SwapMeasureCalculations {
       ResolvedSwapTrade trade,
       RatesScenarioMarketData marketData) {
 
+    // simple swaps are priced for all scenarios at once, resolving the cash flows only once
+    if (scenarioCashFlows) {
+      Optional<SwapScenarioCashFlows> cashFlows = SwapScenarioCashFlows.of(trade.getProduct());
+      if (cashFlows.isPresent()) {
+        return cashFlows.get().legPresentValue(marketData);
+      }
+    }
     return ScenarioArray.of(
         marketData.getScenarioCount(),
         i -> legPresentValue(trade, marketData.scenario(i).ratesProvider()));
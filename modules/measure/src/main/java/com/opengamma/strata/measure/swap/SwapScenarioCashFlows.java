@@ -0,0 +1,335 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.swap;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.market.amount.LegAmount;
+import com.opengamma.strata.market.amount.LegAmounts;
+import com.opengamma.strata.market.amount.SwapLegAmount;
+import com.opengamma.strata.measure.rate.RatesScenarioMarketData;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.rate.IborIndexRates;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.rate.FixedRateComputation;
+import com.opengamma.strata.product.rate.IborRateComputation;
+import com.opengamma.strata.product.swap.NegativeRateMethod;
+import com.opengamma.strata.product.swap.NotionalExchange;
+import com.opengamma.strata.product.swap.RateAccrualPeriod;
+import com.opengamma.strata.product.swap.RatePaymentPeriod;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swap.SwapPaymentPeriod;
+
+/**
+ * The cash flows of a swap, flattened to allow pricing across many scenarios at once.
+ * <p>
+ * The payment periods and payment events of each leg are resolved once into primitive arrays.
+ * The present value is then calculated for all scenarios in tight loops.
+ * The discount factors and Ibor index rates of each scenario are only looked up once.
+ * For each scenario, the year fractions of all the payment dates of a leg are calculated in one pass,
+ * and the discount factors are then obtained in one bulk call, see
+ * {@link DiscountFactors#discountFactors(double[], double[])}.
+ * <p>
+ * Present value and leg present value are supported. The other measures, such as par rate and PV01,
+ * need the annuity of the fixed leg or point sensitivities, which are not held here, and so continue
+ * to use the standard pricers for each scenario.
+ * <p>
+ * Only simple swaps are supported, where each payment period is a {@link RatePaymentPeriod} with a single
+ * accrual period and no FX reset, whose rate is either fixed or a single Ibor fixing, and where each
+ * payment event is a {@link NotionalExchange}. These are priced using the same formulas as the
+ * standard discounting pricers, producing the same results.
+ */
+final class SwapScenarioCashFlows {
+
+  /**
+   * Whether the swap is cross-currency.
+   */
+  private final boolean crossCurrency;
+  /**
+   * The cash flows of each leg.
+   */
+  private final ImmutableList<LegCashFlows> legs;
+  /**
+   * The Ibor indices referred to by the legs.
+   * The index of each floating period refers to this list.
+   */
+  private final ImmutableList<IborIndex> indices;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the cash flows of the swap, if the swap is supported.
+   * <p>
+   * An empty result is returned if any period or event of the swap is not supported.
+   *
+   * @param swap  the swap
+   * @return the cash flows, empty if the swap is not supported
+   */
+  static Optional<SwapScenarioCashFlows> of(ResolvedSwap swap) {
+    Map<IborIndex, Integer> indices = new LinkedHashMap<>();
+    ImmutableList.Builder<LegCashFlows> legs = ImmutableList.builder();
+    for (ResolvedSwapLeg leg : swap.getLegs()) {
+      Optional<LegCashFlows> legCashFlows = LegCashFlows.of(leg, indices);
+      if (!legCashFlows.isPresent()) {
+        return Optional.empty();
+      }
+      legs.add(legCashFlows.get());
+    }
+    return Optional.of(
+        new SwapScenarioCashFlows(swap.isCrossCurrency(), legs.build(), ImmutableList.copyOf(indices.keySet())));
+  }
+
+  // restricted constructor
+  private SwapScenarioCashFlows(
+      boolean crossCurrency,
+      ImmutableList<LegCashFlows> legs,
+      ImmutableList<IborIndex> indices) {
+
+    this.crossCurrency = crossCurrency;
+    this.legs = legs;
+    this.indices = indices;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the swap for all scenarios.
+   * <p>
+   * The result is expressed using the payment currency of each leg.
+   *
+   * @param marketData  the market data for all scenarios
+   * @return the present value for all scenarios
+   */
+  MultiCurrencyScenarioArray presentValue(RatesScenarioMarketData marketData) {
+    int scenarioCount = marketData.getScenarioCount();
+    double[][] legValues = legPresentValues(marketData);
+    Map<Currency, double[]> totals = new LinkedHashMap<>();
+    for (int legIndex = 0; legIndex < legs.size(); legIndex++) {
+      Currency currency = crossCurrency ? legs.get(legIndex).currency : legs.get(0).currency;
+      double[] total = totals.computeIfAbsent(currency, ccy -> new double[scenarioCount]);
+      for (int s = 0; s < scenarioCount; s++) {
+        total[s] += legValues[legIndex][s];
+      }
+    }
+    Map<Currency, DoubleArray> values = new LinkedHashMap<>();
+    totals.forEach((currency, total) -> values.put(currency, DoubleArray.ofUnsafe(total)));
+    return MultiCurrencyScenarioArray.of(values);
+  }
+
+  /**
+   * Calculates the present value of each leg of the swap for all scenarios.
+   * <p>
+   * The present value of each leg is expressed using the payment currency of the leg.
+   *
+   * @param marketData  the market data for all scenarios
+   * @return the present value of each leg for all scenarios
+   */
+  ScenarioArray<LegAmounts> legPresentValue(RatesScenarioMarketData marketData) {
+    double[][] legValues = legPresentValues(marketData);
+    return ScenarioArray.of(marketData.getScenarioCount(), s -> {
+      List<LegAmount> legAmounts = new ArrayList<>(legs.size());
+      for (int legIndex = 0; legIndex < legs.size(); legIndex++) {
+        LegCashFlows leg = legs.get(legIndex);
+        legAmounts.add(SwapLegAmount.of(leg.leg, CurrencyAmount.of(leg.currency, legValues[legIndex][s])));
+      }
+      return LegAmounts.of(legAmounts);
+    });
+  }
+
+  // calculates the present value of each leg for all scenarios, in the currency of the leg
+  private double[][] legPresentValues(RatesScenarioMarketData marketData) {
+    int scenarioCount = marketData.getScenarioCount();
+    LocalDate[] valuationDates = new LocalDate[scenarioCount];
+    IborIndexRates[][] indexRates = new IborIndexRates[indices.size()][scenarioCount];
+    RatesProvider[] providers = new RatesProvider[scenarioCount];
+    for (int s = 0; s < scenarioCount; s++) {
+      RatesProvider provider = marketData.scenario(s).ratesProvider();
+      providers[s] = provider;
+      valuationDates[s] = provider.getValuationDate();
+      for (int i = 0; i < indices.size(); i++) {
+        indexRates[i][s] = provider.iborIndexRates(indices.get(i));
+      }
+    }
+    double[][] legValues = new double[legs.size()][];
+    DiscountFactors[] discountFactors = new DiscountFactors[scenarioCount];
+    for (int legIndex = 0; legIndex < legs.size(); legIndex++) {
+      LegCashFlows leg = legs.get(legIndex);
+      for (int s = 0; s < scenarioCount; s++) {
+        discountFactors[s] = providers[s].discountFactors(leg.currency);
+      }
+      legValues[legIndex] = leg.presentValue(discountFactors, indexRates, valuationDates);
+    }
+    return legValues;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The cash flows of a single leg.
+   */
+  private static final class LegCashFlows {
+    /** The leg. */
+    private final ResolvedSwapLeg leg;
+    /** The currency of the leg. */
+    private final Currency currency;
+    /** The payment date of each period, followed by the payment date of each event. */
+    private final LocalDate[] paymentDates;
+    /** The notional of each period. */
+    private final double[] notionals;
+    /** The year fraction of each period. */
+    private final double[] yearFractions;
+    /** The gearing of each period. */
+    private final double[] gearings;
+    /** The spread of each period. */
+    private final double[] spreads;
+    /** The negative rate method of each period. */
+    private final NegativeRateMethod[] negativeRateMethods;
+    /** The fixed rate of each period, only used if the index position is negative. */
+    private final double[] fixedRates;
+    /** The index of each period, referring to the list of indices, negative if the period is fixed. */
+    private final int[] indexPositions;
+    /** The Ibor observation of each period, null if the period is fixed. */
+    private final IborIndexObservation[] observations;
+    /** The amount of each event. */
+    private final double[] eventAmounts;
+
+    // obtains the cash flows of the leg, adding the indices found to the map
+    private static Optional<LegCashFlows> of(ResolvedSwapLeg leg, Map<IborIndex, Integer> indices) {
+      ImmutableList<RatePaymentPeriod> periods = leg.getPaymentPeriods().stream()
+          .filter(LegCashFlows::isSupported)
+          .map(RatePaymentPeriod.class::cast)
+          .collect(toImmutableList());
+      ImmutableList<NotionalExchange> events = leg.getPaymentEvents().stream()
+          .filter(NotionalExchange.class::isInstance)
+          .map(NotionalExchange.class::cast)
+          .collect(toImmutableList());
+      if (periods.size() != leg.getPaymentPeriods().size() || events.size() != leg.getPaymentEvents().size()) {
+        return Optional.empty();
+      }
+      return Optional.of(new LegCashFlows(leg, periods, events, indices));
+    }
+
+    // checks if the period is supported
+    private static boolean isSupported(SwapPaymentPeriod period) {
+      if (!(period instanceof RatePaymentPeriod)) {
+        return false;
+      }
+      RatePaymentPeriod ratePeriod = (RatePaymentPeriod) period;
+      if (ratePeriod.getFxReset().isPresent() || ratePeriod.getAccrualPeriods().size() != 1) {
+        return false;
+      }
+      RateAccrualPeriod accrualPeriod = ratePeriod.getAccrualPeriods().get(0);
+      return accrualPeriod.getRateComputation() instanceof FixedRateComputation ||
+          accrualPeriod.getRateComputation() instanceof IborRateComputation;
+    }
+
+    private LegCashFlows(
+        ResolvedSwapLeg leg,
+        ImmutableList<RatePaymentPeriod> periods,
+        ImmutableList<NotionalExchange> events,
+        Map<IborIndex, Integer> indices) {
+
+      this.leg = leg;
+      this.currency = leg.getCurrency();
+      int periodCount = periods.size();
+      this.paymentDates = new LocalDate[periodCount + events.size()];
+      this.notionals = new double[periodCount];
+      this.yearFractions = new double[periodCount];
+      this.gearings = new double[periodCount];
+      this.spreads = new double[periodCount];
+      this.negativeRateMethods = new NegativeRateMethod[periodCount];
+      this.fixedRates = new double[periodCount];
+      this.indexPositions = new int[periodCount];
+      this.observations = new IborIndexObservation[periodCount];
+      for (int i = 0; i < periodCount; i++) {
+        RatePaymentPeriod period = periods.get(i);
+        RateAccrualPeriod accrualPeriod = period.getAccrualPeriods().get(0);
+        paymentDates[i] = period.getPaymentDate();
+        notionals[i] = period.getNotional();
+        yearFractions[i] = accrualPeriod.getYearFraction();
+        gearings[i] = accrualPeriod.getGearing();
+        spreads[i] = accrualPeriod.getSpread();
+        negativeRateMethods[i] = accrualPeriod.getNegativeRateMethod();
+        if (accrualPeriod.getRateComputation() instanceof IborRateComputation) {
+          IborRateComputation computation = (IborRateComputation) accrualPeriod.getRateComputation();
+          IborIndexObservation observation = computation.getObservation();
+          indexPositions[i] = indices.computeIfAbsent(observation.getIndex(), index -> indices.size());
+          observations[i] = observation;
+        } else {
+          indexPositions[i] = -1;
+          fixedRates[i] = ((FixedRateComputation) accrualPeriod.getRateComputation()).getRate();
+        }
+      }
+      for (int i = 0; i < events.size(); i++) {
+        paymentDates[periodCount + i] = events.get(i).getPaymentDate();
+      }
+      this.eventAmounts = events.stream().mapToDouble(event -> event.getPayment().getAmount()).toArray();
+    }
+
+    // calculates the present value of the leg for each scenario
+    // the order of operations matches the standard pricers
+    private double[] presentValue(
+        DiscountFactors[] discountFactors,
+        IborIndexRates[][] indexRates,
+        LocalDate[] valuationDates) {
+
+      int scenarioCount = discountFactors.length;
+      int periodCount = notionals.length;
+      // the arrays are reused for each scenario
+      boolean[] live = new boolean[paymentDates.length];
+      double[] paymentYearFractions = new double[paymentDates.length];
+      double[] dfs = new double[paymentDates.length];
+      double[] values = new double[scenarioCount];
+      for (int s = 0; s < scenarioCount; s++) {
+        // the cash flows paid on or after the valuation date only change if the valuation date changes
+        if (s == 0 || !valuationDates[s].equals(valuationDates[s - 1])) {
+          for (int i = 0; i < paymentDates.length; i++) {
+            live[i] = !paymentDates[i].isBefore(valuationDates[s]);
+          }
+        }
+        // the discount factors of all the cash flows are obtained in one bulk operation
+        // cash flows paid before the valuation date use a year fraction of zero and are then ignored
+        DiscountFactors scenarioDiscountFactors = discountFactors[s];
+        for (int i = 0; i < paymentDates.length; i++) {
+          paymentYearFractions[i] = live[i] ? scenarioDiscountFactors.relativeYearFraction(paymentDates[i]) : 0d;
+        }
+        scenarioDiscountFactors.discountFactors(paymentYearFractions, dfs);
+        double periodsValue = 0d;
+        for (int i = 0; i < periodCount; i++) {
+          if (live[i]) {
+            int indexPosition = indexPositions[i];
+            double rawRate = indexPosition < 0 ? fixedRates[i] : indexRates[indexPosition][s].rate(observations[i]);
+            double treatedRate = rawRate * gearings[i] + spreads[i];
+            double forecastValue = negativeRateMethods[i].adjust(treatedRate * yearFractions[i]) * notionals[i];
+            periodsValue += forecastValue * dfs[i];
+          }
+        }
+        double eventsValue = 0d;
+        for (int i = 0; i < eventAmounts.length; i++) {
+          if (live[periodCount + i]) {
+            eventsValue += eventAmounts[i] * dfs[periodCount + i];
+          }
+        }
+        values[s] = periodsValue + eventsValue;
+      }
+      return values;
+    }
+  }
+
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.swap;
+
+import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.market.amount.LegAmounts;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveId;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
+import com.opengamma.strata.measure.rate.RatesScenarioMarketData;
+import com.opengamma.strata.pricer.swap.DiscountingSwapTradePricer;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.swap.ResolvedSwapTrade;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConventions;
+import com.opengamma.strata.product.swap.type.FixedOvernightSwapConventions;
+
+/**
+ * Test {@link SwapScenarioCashFlows}.
+ */
+@Test
+public class SwapScenarioCashFlowsTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final ResolvedSwapTrade RTRADE = FixedIborSwapConventions.GBP_FIXED_6M_LIBOR_6M
+      .createTrade(date(2016, 6, 30), Tenor.TENOR_10Y, BuySell.BUY, 1_000_000, 0.01, REF_DATA)
+      .resolve(REF_DATA);
+  private static final Currency CURRENCY = RTRADE.getProduct().getLegs().get(0).getCurrency();
+  private static final IborIndex INDEX = (IborIndex) RTRADE.getProduct().allIndices().iterator().next();
+  private static final CurveId DISCOUNT_CURVE_ID = CurveId.of("Default", "Discount");
+  private static final CurveId FORWARD_CURVE_ID = CurveId.of("Default", "Forward");
+  private static final RatesMarketDataLookup RATES_LOOKUP = RatesMarketDataLookup.of(
+      ImmutableMap.of(CURRENCY, DISCOUNT_CURVE_ID),
+      ImmutableMap.of(INDEX, FORWARD_CURVE_ID));
+  private static final LocalDate VAL_DATE = date(2016, 6, 23);
+
+  //-------------------------------------------------------------------------
+  public void test_presentValue() {
+    RatesScenarioMarketData md = marketData();
+    DiscountingSwapTradePricer pricer = DiscountingSwapTradePricer.DEFAULT;
+    List<MultiCurrencyAmount> expected = ImmutableList.of(
+        pricer.presentValue(RTRADE, md.scenario(0).ratesProvider()),
+        pricer.presentValue(RTRADE, md.scenario(1).ratesProvider()),
+        pricer.presentValue(RTRADE, md.scenario(2).ratesProvider()));
+
+    SwapScenarioCashFlows test = SwapScenarioCashFlows.of(RTRADE.getProduct()).get();
+    assertEquals(test.presentValue(md), MultiCurrencyScenarioArray.of(expected));
+    assertEquals(SwapMeasureCalculations.DEFAULT.presentValue(RTRADE, md), MultiCurrencyScenarioArray.of(expected));
+  }
+
+  public void test_legPresentValue() {
+    RatesScenarioMarketData md = marketData();
+    SwapMeasureCalculations calcs = SwapMeasureCalculations.DEFAULT;
+    List<LegAmounts> expected = ImmutableList.of(
+        calcs.legPresentValue(RTRADE, md.scenario(0).ratesProvider()),
+        calcs.legPresentValue(RTRADE, md.scenario(1).ratesProvider()),
+        calcs.legPresentValue(RTRADE, md.scenario(2).ratesProvider()));
+
+    SwapScenarioCashFlows test = SwapScenarioCashFlows.of(RTRADE.getProduct()).get();
+    assertEquals(test.legPresentValue(md), ScenarioArray.of(expected));
+    assertEquals(SwapMeasureCalculations.DEFAULT.legPresentValue(RTRADE, md), ScenarioArray.of(expected));
+  }
+
+  public void test_of_supported() {
+    assertTrue(SwapScenarioCashFlows.of(RTRADE.getProduct()).isPresent());
+    ResolvedSwapTrade overnight = FixedOvernightSwapConventions.GBP_FIXED_1Y_SONIA_OIS
+        .createTrade(date(2016, 6, 30), Tenor.TENOR_2Y, BuySell.BUY, 1_000_000, 0.01, REF_DATA)
+        .resolve(REF_DATA);
+    assertFalse(SwapScenarioCashFlows.of(overnight.getProduct()).isPresent());
+  }
+
+  //-------------------------------------------------------------------------
+  private static RatesScenarioMarketData marketData() {
+    ImmutableScenarioMarketData md = ImmutableScenarioMarketData.builder(VAL_DATE)
+        .addScenarioValue(DISCOUNT_CURVE_ID, ImmutableList.of(curve(0d), curve(0.001), curve(-0.002)))
+        .addScenarioValue(FORWARD_CURVE_ID, ImmutableList.of(curve(0.001), curve(0.003), curve(0d)))
+        .build();
+    return RATES_LOOKUP.marketDataView(md);
+  }
+
+  private static Curve curve(double shift) {
+    return InterpolatedNodalCurve.of(
+        Curves.zeroRates("Test", ACT_360),
+        DoubleArray.of(0d, 1d, 5d, 10d),
+        DoubleArray.of(0.01 + shift, 0.012 + shift, 0.018 + shift, 0.021 + shift),
+        CurveInterpolators.LINEAR);
+  }
+
+}
@@ -10,6 +10,7 @@ import java.util.Optional;
 
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.MarketDataView;
@@ -118,6 +119,27 @@ public interface DiscountFactors
    */
   public abstract double discountFactor(double yearFraction);
 
+  /**
+   * Gets the discount factors for the specified year fractions, storing them in the specified array.
+   * <p>
+   * The result is the same as calling {@link #discountFactor(double)} for each year fraction.
+   * This allows the discount factors of many cash flows to be obtained without creating any objects.
+   * Implementations may locate the curve nodes more efficiently when the year fractions are sorted.
+   * <p>
+   * The year fractions must be based on {@code #relativeYearFraction(LocalDate)}.
+   * 
+   * @param yearFractions  the year fractions
+   * @param result  the array to store the discount factors in, at least as long as the year fractions
+   * @throws RuntimeException if the values cannot be obtained
+   */
+  public default void discountFactors(double[] yearFractions, double[] result) {
+    ArgChecker.isTrue(
+        result.length >= yearFractions.length, "Result array must be at least as long as the year fractions");
+    for (int i = 0; i < yearFractions.length; i++) {
+      result[i] = discountFactor(yearFractions[i]);
+    }
+  }
+
   /**
    * Gets the discount factor for the specified date with z-spread.
    * <p>
@@ -404,6 +426,29 @@ public interface DiscountFactors
    */
   public abstract CurrencyParameterSensitivities parameterSensitivity(ZeroRateSensitivity pointSensitivity);
 
+  /**
+   * Adds the parameter sensitivity of the point sensitivity to a buffer.
+   * <p>
+   * The buffer has one element for each parameter of this instance, see {@link #getParameterCount()}.
+   * The result is the same as adding the sensitivity of {@link #parameterSensitivity(ZeroRateSensitivity)}
+   * to the buffer. This allows the sensitivity of many points, such as the cash flows of a trade,
+   * to be totalled without creating a sensitivity object for each point. The total can then be
+   * converted using {@link #createParameterSensitivity(Currency, DoubleArray)}.
+   * <p>
+   * The default implementation calls {@link #parameterSensitivity(ZeroRateSensitivity)},
+   * and requires the result to be based on the parameters of this instance.
+   * 
+   * @param pointSensitivity  the point sensitivity to convert
+   * @param buffer  the buffer to add the sensitivity to, with one element for each parameter
+   * @throws RuntimeException if the result cannot be calculated
+   */
+  public default void addParameterSensitivity(ZeroRateSensitivity pointSensitivity, double[] buffer) {
+    ArgChecker.isTrue(buffer.length == getParameterCount(), "Buffer must have one element for each parameter");
+    for (CurrencyParameterSensitivity sens : parameterSensitivity(pointSensitivity).getSensitivities()) {
+      sens.getSensitivity().addMultipliedInto(buffer, 1d);
+    }
+  }
+
   /**
    * Creates the parameter sensitivity when the sensitivity values are known.
    * <p>
@@ -163,6 +163,12 @@ public final class SimpleDiscountFactors
     return curve.yValue(yearFraction);
   }
 
+  @Override
+  public void discountFactors(double[] yearFractions, double[] result) {
+    // read discount factors directly off curve
+    curve.yValues(yearFractions, result);
+  }
+
   @Override
   public double discountFactorWithSpread(
       double yearFraction,
@@ -236,6 +242,17 @@ public final class SimpleDiscountFactors
     return CurrencyParameterSensitivities.of(curSens);
   }
 
+  @Override
+  public void addParameterSensitivity(ZeroRateSensitivity pointSens, double[] buffer) {
+    double yearFraction = pointSens.getYearFraction();
+    if (Math.abs(yearFraction) < EFFECTIVE_ZERO) {
+      return; // Discount factor in 0 is always 1, no sensitivity.
+    }
+    double discountFactor = discountFactor(yearFraction);
+    double factor = -1d / (yearFraction * discountFactor) * pointSens.getSensitivity();
+    curve.addYValueParameterSensitivity(yearFraction, factor, buffer);
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return CurrencyParameterSensitivities.of(curve.createParameterSensitivity(currency, sensitivities));
@@ -164,6 +164,15 @@ public final class ZeroRateDiscountFactors
     return Math.exp(-yearFraction * curve.yValue(yearFraction));
   }
 
+  @Override
+  public void discountFactors(double[] yearFractions, double[] result) {
+    // convert zero rates to discount factors in place
+    curve.yValues(yearFractions, result);
+    for (int i = 0; i < yearFractions.length; i++) {
+      result[i] = Math.exp(-yearFractions[i] * result[i]);
+    }
+  }
+
   @Override
   public double discountFactorWithSpread(
       double yearFraction,
@@ -228,6 +237,11 @@ public final class ZeroRateDiscountFactors
     return CurrencyParameterSensitivities.of(curSens);
   }
 
+  @Override
+  public void addParameterSensitivity(ZeroRateSensitivity pointSens, double[] buffer) {
+    curve.addYValueParameterSensitivity(pointSens.getYearFraction(), pointSens.getSensitivity(), buffer);
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return CurrencyParameterSensitivities.of(curve.createParameterSensitivity(currency, sensitivities));
@@ -173,6 +173,15 @@ public final class ZeroRatePeriodicDiscountFactors
     return Math.pow(1d + curve.yValue(relativeYearFraction) / frequency, -relativeYearFraction * frequency);
   }
 
+  @Override
+  public void discountFactors(double[] yearFractions, double[] result) {
+    // convert zero rates periodically compounded to discount factors in place
+    curve.yValues(yearFractions, result);
+    for (int i = 0; i < yearFractions.length; i++) {
+      result[i] = Math.pow(1d + result[i] / frequency, -yearFractions[i] * frequency);
+    }
+  }
+
   @Override
   public double discountFactorWithSpread(
       double yearFraction,
@@ -241,6 +250,14 @@ public final class ZeroRatePeriodicDiscountFactors
     return CurrencyParameterSensitivities.of(curSens);
   }
 
+  @Override
+  public void addParameterSensitivity(ZeroRateSensitivity pointSens, double[] buffer) {
+    double yearFraction = pointSens.getYearFraction();
+    double rp = curve.yValue(yearFraction);
+    double rpBar = 1.0 / (1 + rp / frequency);
+    curve.addYValueParameterSensitivity(yearFraction, rpBar * pointSens.getSensitivity(), buffer);
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return CurrencyParameterSensitivities.of(curve.createParameterSensitivity(currency, sensitivities));
@@ -11,7 +11,7 @@ import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.G
 import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.US_STREET;
 
 import java.time.LocalDate;
-import java.util.function.Function;
+import java.util.function.DoubleUnaryOperator;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
@@ -316,15 +316,15 @@ public class DiscountingFixedCouponBondProductPricer {
       CompoundedRateType compoundedRateType,
       int periodsPerYear) {
 
-    final Function<Double, Double> residual = new Function<Double, Double>() {
+    final DoubleUnaryOperator residual = new DoubleUnaryOperator() {
       @Override
-      public Double apply(final Double z) {
+      public double applyAsDouble(final double z) {
         return dirtyPriceFromCurvesWithZSpread(
             bond, provider, refData, z, compoundedRateType, periodsPerYear) - dirtyPrice;
       }
     };
-    double[] range = ROOT_BRACKETER.getBracketedPoints(residual, -0.01, 0.01); // Starting range is [-1%, 1%]
-    return ROOT_FINDER.getRoot(residual, range[0], range[1]);
+    double[] range = ROOT_BRACKETER.getBracketedPointsPrimitive(residual, -0.01, 0.01); // Starting range is [-1%, 1%]
+    return ROOT_FINDER.getRootPrimitive(residual, range[0], range[1]);
   }
 
   //-------------------------------------------------------------------------
@@ -612,14 +612,14 @@ public class DiscountingFixedCouponBondProductPricer {
       return (bond.getFixedRate() + (1d - cleanPrice) / maturity) / cleanPrice;
     }
 
-    final Function<Double, Double> priceResidual = new Function<Double, Double>() {
+    final DoubleUnaryOperator priceResidual = new DoubleUnaryOperator() {
       @Override
-      public Double apply(final Double y) {
+      public double applyAsDouble(final double y) {
         return dirtyPriceFromYield(bond, settlementDate, y) - dirtyPrice;
       }
     };
-    double[] range = ROOT_BRACKETER.getBracketedPoints(priceResidual, 0.00, 0.20);
-    double yield = ROOT_FINDER.getRoot(priceResidual, range[0], range[1]);
+    double[] range = ROOT_BRACKETER.getBracketedPointsPrimitive(priceResidual, 0.00, 0.20);
+    double yield = ROOT_FINDER.getRootPrimitive(priceResidual, range[0], range[1]);
     return yield;
   }
 
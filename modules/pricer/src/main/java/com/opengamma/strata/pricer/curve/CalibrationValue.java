@@ -6,8 +6,10 @@
 package com.opengamma.strata.pricer.curve;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
+import com.opengamma.strata.collect.ConcurrentTasks;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 import com.opengamma.strata.product.ResolvedTrade;
@@ -34,6 +36,10 @@ class CalibrationValue
    * The provider generator, used to create child providers.
    */
   private final RatesProviderGenerator providerGenerator;
+  /**
+   * The executor used to value the trades, null if the trades are valued sequentially.
+   */
+  private final Executor executor;
 
   /**
    * Creates an instance.
@@ -41,15 +47,18 @@ class CalibrationValue
    * @param trades  the trades
    * @param measures  the calibration measures
    * @param providerGenerator  the provider generator, used to create child providers
+   * @param executor  the executor used to value the trades, null if the trades are valued sequentially
    */
   CalibrationValue(
       List<ResolvedTrade> trades,
       CalibrationMeasures measures,
-      RatesProviderGenerator providerGenerator) {
+      RatesProviderGenerator providerGenerator,
+      Executor executor) {
 
     this.trades = trades;
     this.measures = measures;
     this.providerGenerator = providerGenerator;
+    this.executor = executor;
   }
 
   //-------------------------------------------------------------------------
@@ -58,7 +67,12 @@ class CalibrationValue
     // create child provider from matrix
     ImmutableRatesProvider childProvider = providerGenerator.generate(x);
     // calculate value for each trade using the child provider
-    return DoubleArray.of(trades.size(), i -> measures.value(trades.get(i), childProvider));
+    if (executor == null) {
+      return DoubleArray.of(trades.size(), i -> measures.value(trades.get(i), childProvider));
+    }
+    List<Double> values = ConcurrentTasks.evaluate(
+        trades.size(), i -> measures.value(trades.get(i), childProvider), executor);
+    return DoubleArray.of(values.size(), i -> values.get(i));
   }
 
 }
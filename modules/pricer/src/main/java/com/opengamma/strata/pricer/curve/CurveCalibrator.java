@@ -8,22 +8,31 @@ package com.opengamma.strata.pricer.curve;
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.ConcurrentTasks;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.MarketDataFxRateProvider;
+import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveGroupDefinition;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveInfoType;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.CurveNode;
 import com.opengamma.strata.market.curve.CurveParameterSize;
@@ -51,6 +60,10 @@ import com.opengamma.strata.product.ResolvedTrade;
  * <p>
  * Once calibrated, the curves are then available for use.
  * Each node in the curve definition becomes a parameter in the matching output curve.
+ * <p>
+ * An executor may optionally be specified, in which case the calibration trades are
+ * priced in parallel on each iteration of the root finder, and independent curve groups
+ * passed to {@link #calibrateGroups(List, MarketData, ReferenceData)} are calibrated concurrently.
  */
 public final class CurveCalibrator {
 
@@ -78,6 +91,11 @@ public final class CurveCalibrator {
    * This is used to compute the present value sensitivity to market quotes stored in the metadata.
    */
   private final CalibrationMeasures pvMeasures;
+  /**
+   * The executor used to perform the calibration in parallel.
+   * This is null if the calibration is performed sequentially in the calling thread.
+   */
+  private final Executor executor;
 
   //-------------------------------------------------------------------------
   /**
@@ -125,7 +143,7 @@ public final class CurveCalibrator {
       int stepMaximum,
       CalibrationMeasures measures) {
 
-    return new CurveCalibrator(toleranceAbs, toleranceRel, stepMaximum, measures, CalibrationMeasures.PRESENT_VALUE);
+    return of(toleranceAbs, toleranceRel, stepMaximum, measures, CalibrationMeasures.PRESENT_VALUE);
   }
 
   /**
@@ -146,25 +164,61 @@ public final class CurveCalibrator {
       CalibrationMeasures measures,
       CalibrationMeasures pvMeasures) {
 
-    return new CurveCalibrator(toleranceAbs, toleranceRel, stepMaximum, measures, pvMeasures);
+    return new CurveCalibrator(rootFinder(toleranceAbs, toleranceRel, stepMaximum), measures, pvMeasures, null);
   }
 
-  //-------------------------------------------------------------------------
-  // restricted constructor
-  private CurveCalibrator(
+  /**
+   * Obtains an instance specifying tolerances, measures and an executor to use.
+   * <p>
+   * The executor is used to price the calibration trades in parallel on each iteration of the root finder.
+   * It is also used to calibrate independent curve groups concurrently in
+   * {@link #calibrateGroups(List, MarketData, ReferenceData)}.
+   * <p>
+   * Parallel calibration is worthwhile when the curve groups contain many trades or are expensive to price.
+   * The results are the same as those of the sequential calibration.
+   *
+   * @param toleranceAbs  the absolute tolerance
+   * @param toleranceRel  the relative tolerance
+   * @param stepMaximum  the maximum steps
+   * @param measures  the calibration measures, used to compute the function for which the root is found
+   * @param pvMeasures  the present value measures, used to compute the present value sensitivity to market quotes 
+   * stored in the metadata.
+   * @param executor  the executor used to perform the calibration in parallel
+   * @return the curve calibrator
+   */
+  public static CurveCalibrator of(
       double toleranceAbs,
       double toleranceRel,
       int stepMaximum,
       CalibrationMeasures measures,
-      CalibrationMeasures pvMeasures) {
+      CalibrationMeasures pvMeasures,
+      Executor executor) {
 
-    this.rootFinder = new BroydenVectorRootFinder(
+    ArgChecker.notNull(executor, "executor");
+    return new CurveCalibrator(rootFinder(toleranceAbs, toleranceRel, stepMaximum), measures, pvMeasures, executor);
+  }
+
+  // creates the root finder
+  private static BroydenVectorRootFinder rootFinder(double toleranceAbs, double toleranceRel, int stepMaximum) {
+    return new BroydenVectorRootFinder(
         toleranceAbs,
         toleranceRel,
         stepMaximum,
         DecompositionFactory.getDecomposition(DecompositionFactory.SV_COMMONS_NAME));
+  }
+
+  //-------------------------------------------------------------------------
+  // restricted constructor
+  private CurveCalibrator(
+      BroydenVectorRootFinder rootFinder,
+      CalibrationMeasures measures,
+      CalibrationMeasures pvMeasures,
+      Executor executor) {
+
+    this.rootFinder = rootFinder;
     this.measures = measures;
     this.pvMeasures = pvMeasures;
+    this.executor = executor;
   }
 
   //-------------------------------------------------------------------------
@@ -197,15 +251,93 @@ public final class CurveCalibrator {
       MarketData marketData,
       ReferenceData refData) {
 
+    ImmutableRatesProvider knownData = knownData(marketData);
+    return calibrate(ImmutableList.of(curveGroupDefn), knownData, marketData, refData);
+  }
+
+  /**
+   * Calibrates a list of independent curve groups.
+   * <p>
+   * Each group is calibrated separately, as though by
+   * {@link #calibrate(CurveGroupDefinition, MarketData, ReferenceData)}.
+   * The groups must be independent, with no curve of one group being needed to calibrate another,
+   * for example the curves of different currencies in a multi-currency calibration.
+   * <p>
+   * If this calibrator has an executor, the groups are calibrated concurrently.
+   * In that case the trades within each group are priced sequentially, so that tasks
+   * running in the executor never wait for other tasks submitted to the same executor.
+   *
+   * @param curveGroupDefns  the curve group definitions, which must have distinct names
+   * @param marketData  the market data required to build a trade for the instrument, including time-series
+   * @param refData  the reference data, used to resolve the trades
+   * @return the rates providers resulting from the calibration, keyed by curve group name
+   * @throws IllegalArgumentException if the group names are not distinct
+   */
+  public ImmutableMap<CurveGroupName, ImmutableRatesProvider> calibrateGroups(
+      List<CurveGroupDefinition> curveGroupDefns,
+      MarketData marketData,
+      ReferenceData refData) {
+
+    ArgChecker.noNulls(curveGroupDefns, "curveGroupDefns");
+    long distinctNames = curveGroupDefns.stream().map(defn -> defn.getName()).distinct().count();
+    ArgChecker.isTrue(distinctNames == curveGroupDefns.size(), "Curve group names must be distinct");
+    ImmutableRatesProvider knownData = knownData(marketData);
+    CurveCalibrator groupCalibrator = new CurveCalibrator(rootFinder, measures, pvMeasures, null);
+    List<ImmutableRatesProvider> providers = ConcurrentTasks.evaluate(
+        curveGroupDefns.size(),
+        i -> groupCalibrator.calibrate(ImmutableList.of(curveGroupDefns.get(i)), knownData, marketData, refData),
+        executor);
+    return IntStream.range(0, curveGroupDefns.size()).boxed()
+        .collect(toImmutableMap(i -> curveGroupDefns.get(i).getName(), i -> providers.get(i)));
+  }
+
+  /**
+   * Recalibrates a single curve group, starting from a previous calibration of the same group.
+   * <p>
+   * The calibration is defined using {@link CurveGroupDefinition}.
+   * Observable market data, time-series and FX are also needed to complete the calibration.
+   * The valuation date is defined by the market data.
+   * <p>
+   * This is intended for use when the market data has changed slightly since the previous calibration.
+   * Instead of starting from the initial guesses of the definition, the root finder starts from the
+   * parameters of the previously calibrated curves. If the previous curves contain Jacobian matrices,
+   * these are used to provide the initial estimate of the derivative of the calibration measures,
+   * avoiding the need to compute it. As the previous solution is close to the new one,
+   * the calibration typically converges in one or two iterations.
+   * <p>
+   * If a curve of the group is not found in the previous calibration, or has a different number of parameters,
+   * the group is calibrated from the initial guesses of the definition.
+   * The result is the same as {@link #calibrate(CurveGroupDefinition, MarketData, ReferenceData)}
+   * to within the tolerance of the root finder.
+   *
+   * @param curveGroupDefn  the curve group definition
+   * @param marketData  the market data required to build a trade for the instrument, including time-series
+   * @param refData  the reference data, used to resolve the trades
+   * @param previousCalibration  the rates provider resulting from a previous calibration of the group
+   * @return the rates provider resulting from the calibration
+   */
+  public ImmutableRatesProvider recalibrate(
+      CurveGroupDefinition curveGroupDefn,
+      MarketData marketData,
+      ReferenceData refData,
+      ImmutableRatesProvider previousCalibration) {
+
+    ArgChecker.notNull(previousCalibration, "previousCalibration");
+    ImmutableRatesProvider knownData = knownData(marketData);
+    return calibrate(
+        ImmutableList.of(curveGroupDefn), knownData, marketData, refData, Optional.of(previousCalibration));
+  }
+
+  // the known data used as the starting point for the calibration
+  private static ImmutableRatesProvider knownData(MarketData marketData) {
     Map<Index, LocalDateDoubleTimeSeries> timeSeries = marketData.getTimeSeriesIds().stream()
         .filter(IndexQuoteId.class::isInstance)
         .map(IndexQuoteId.class::cast)
         .collect(toImmutableMap(id -> id.getIndex(), id -> marketData.getTimeSeries(id)));
-    ImmutableRatesProvider knownData = ImmutableRatesProvider.builder(marketData.getValuationDate())
+    return ImmutableRatesProvider.builder(marketData.getValuationDate())
         .fxRateProvider(MarketDataFxRateProvider.of(marketData))
         .timeSeries(timeSeries)
         .build();
-    return calibrate(ImmutableList.of(curveGroupDefn), knownData, marketData, refData);
   }
 
   /**
@@ -227,6 +359,17 @@ public final class CurveCalibrator {
       ImmutableRatesProvider knownData,
       MarketData marketData,
       ReferenceData refData) {
+
+    return calibrate(allGroupsDefn, knownData, marketData, refData, Optional.empty());
+  }
+
+  // calibrates, optionally starting from a previous calibration
+  private ImmutableRatesProvider calibrate(
+      List<CurveGroupDefinition> allGroupsDefn,
+      ImmutableRatesProvider knownData,
+      MarketData marketData,
+      ReferenceData refData,
+      Optional<ImmutableRatesProvider> previousCalibration) {
     // this method effectively takes one CurveGroupDefinition
     // the list is a split of the definition, not multiple independent definitions
 
@@ -250,7 +393,11 @@ public final class CurveCalibrator {
 
       // calibrate
       RatesProviderGenerator providerGenerator = ImmutableRatesProviderGenerator.of(providerCombined, groupDefn, refData);
-      DoubleArray calibratedGroupParams = calibrateGroup(providerGenerator, trades, initialGuesses, orderGroup);
+      DoubleArray calibratedGroupParams = previousCalibration
+          .flatMap(previous -> previousParameters(previous, orderGroup))
+          .map(previousParams -> recalibrateGroup(
+              providerGenerator, trades, previousParams, previousCalibration.get(), orderGroup))
+          .orElseGet(() -> calibrateGroup(providerGenerator, trades, initialGuesses, orderGroup));
       ImmutableRatesProvider calibratedProvider = providerGenerator.generate(calibratedGroupParams);
 
       // use calibration to build Jacobian matrices
@@ -286,15 +433,94 @@ public final class CurveCalibrator {
       ImmutableList<CurveParameterSize> curveOrder) {
 
     // setup for calibration
-    Function<DoubleArray, DoubleArray> valueCalculator = new CalibrationValue(trades, measures, providerGenerator);
+    Function<DoubleArray, DoubleArray> valueCalculator =
+        new CalibrationValue(trades, measures, providerGenerator, executor);
     Function<DoubleArray, DoubleMatrix> derivativeCalculator =
-        new CalibrationDerivative(trades, measures, providerGenerator, curveOrder);
+        new CalibrationDerivative(trades, measures, providerGenerator, curveOrder, executor);
 
     // calibrate
     DoubleArray initGuessMatrix = DoubleArray.copyOf(initialGuesses);
     return rootFinder.getRoot(valueCalculator, derivativeCalculator, initGuessMatrix);
   }
 
+  // recalibrates a single group, starting from the parameters and Jacobian of a previous calibration
+  private DoubleArray recalibrateGroup(
+      RatesProviderGenerator providerGenerator,
+      ImmutableList<ResolvedTrade> trades,
+      DoubleArray previousParams,
+      ImmutableRatesProvider previousCalibration,
+      ImmutableList<CurveParameterSize> curveOrder) {
+
+    // setup for calibration
+    Function<DoubleArray, DoubleArray> valueCalculator =
+        new CalibrationValue(trades, measures, providerGenerator, executor);
+    Function<DoubleArray, DoubleMatrix> derivativeCalculator =
+        new CalibrationDerivative(trades, measures, providerGenerator, curveOrder, executor);
+
+    // calibrate, using the previous Jacobian as the initial estimate if available
+    Optional<DoubleMatrix> previousDerivative = previousDerivative(previousCalibration, curveOrder);
+    if (previousDerivative.isPresent()) {
+      return rootFinder.getRoot(valueCalculator, derivativeCalculator, previousParams, previousDerivative.get());
+    }
+    return rootFinder.getRoot(valueCalculator, derivativeCalculator, previousParams);
+  }
+
+  // obtains the parameters of the curves in the group from a previous calibration
+  // empty if a curve is not found or has a different number of parameters
+  private static Optional<DoubleArray> previousParameters(
+      ImmutableRatesProvider previousCalibration,
+      ImmutableList<CurveParameterSize> orderGroup) {
+
+    int totalParamsGroup = orderGroup.stream().mapToInt(e -> e.getParameterCount()).sum();
+    double[] params = new double[totalParamsGroup];
+    int startIndex = 0;
+    for (CurveParameterSize order : orderGroup) {
+      Optional<Curve> curve = previousCalibration.findData(order.getName());
+      if (!curve.isPresent() || curve.get().getParameterCount() != order.getParameterCount()) {
+        return Optional.empty();
+      }
+      for (int p = 0; p < order.getParameterCount(); p++) {
+        params[startIndex + p] = curve.get().getParameter(p);
+      }
+      startIndex += order.getParameterCount();
+    }
+    return Optional.of(DoubleArray.ofUnsafe(params));
+  }
+
+  // obtains the derivative of the calibration measures with respect to the parameters of the group
+  // this is the inverse of the direct part of the Jacobian matrices stored in the previously calibrated curves
+  // empty if the Jacobian matrices are not available for all curves in the group
+  private static Optional<DoubleMatrix> previousDerivative(
+      ImmutableRatesProvider previousCalibration,
+      ImmutableList<CurveParameterSize> orderGroup) {
+
+    int totalParamsGroup = orderGroup.stream().mapToInt(e -> e.getParameterCount()).sum();
+    double[][] pDmGroup = new double[totalParamsGroup][];
+    int startIndex = 0;
+    for (CurveParameterSize order : orderGroup) {
+      Optional<JacobianCalibrationMatrix> jacobian = previousCalibration.findData(order.getName())
+          .flatMap(curve -> curve.getMetadata().findInfo(CurveInfoType.JACOBIAN));
+      if (!jacobian.isPresent()) {
+        return Optional.empty();
+      }
+      // the curves of the group must appear together in the Jacobian, in the same order
+      ImmutableList<CurveParameterSize> jacobianOrder = jacobian.get().getOrder();
+      int groupStart = jacobianOrder.indexOf(orderGroup.get(0));
+      if (groupStart < 0 ||
+          groupStart + orderGroup.size() > jacobianOrder.size() ||
+          !jacobianOrder.subList(groupStart, groupStart + orderGroup.size()).equals(orderGroup)) {
+        return Optional.empty();
+      }
+      int columnStart = jacobianOrder.subList(0, groupStart).stream().mapToInt(e -> e.getParameterCount()).sum();
+      DoubleMatrix matrix = jacobian.get().getJacobianMatrix();
+      for (int p = 0; p < order.getParameterCount(); p++) {
+        pDmGroup[startIndex + p] = Arrays.copyOfRange(matrix.rowArray(p), columnStart, columnStart + totalParamsGroup);
+      }
+      startIndex += order.getParameterCount();
+    }
+    return Optional.of(MATRIX_ALGEBRA.getInverse(DoubleMatrix.ofUnsafe(pDmGroup)));
+  }
+
   //-------------------------------------------------------------------------
   // calculates the Jacobian and builds the result, called once per group
   // this uses, but does not alter, data from previous groups
@@ -372,10 +598,15 @@ public final class CurveCalibrator {
       ImmutableList<CurveParameterSize> orderAll,
       int totalParamsAll) {
 
-    return DoubleMatrix.ofArrayObjects(
-        trades.size(),
-        totalParamsAll,
-        i -> measures.derivative(trades.get(i), provider, orderAll));
+    if (executor == null) {
+      return DoubleMatrix.ofArrayObjects(
+          trades.size(),
+          totalParamsAll,
+          i -> measures.derivative(trades.get(i), provider, orderAll));
+    }
+    List<DoubleArray> derivatives = ConcurrentTasks.evaluate(
+        trades.size(), i -> measures.derivative(trades.get(i), provider, orderAll), executor);
+    return DoubleMatrix.ofArrayObjects(trades.size(), totalParamsAll, i -> derivatives.get(i));
   }
 
   // jacobian direct, for the current group
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.pricer.fxopt;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.opengamma.strata.basics.currency.Currency;
@@ -95,18 +96,8 @@ public class ImpliedTrinomialTreeFxOptionCalibrator {
     double todayFx = ratesProvider.fxRate(currencyPair);
     DiscountFactors baseDiscountFactors = ratesProvider.discountFactors(ccyBase);
     DiscountFactors counterDiscountFactors = ratesProvider.discountFactors(ccyCounter);
-    Function<Double, Double> interestRate = new Function<Double, Double>() {
-      @Override
-      public Double apply(Double t) {
-        return counterDiscountFactors.zeroRate(t);
-      }
-    };
-    Function<Double, Double> dividendRate = new Function<Double, Double>() {
-      @Override
-      public Double apply(Double t) {
-        return baseDiscountFactors.zeroRate(t);
-      }
-    };
+    DoubleUnaryOperator interestRate = counterDiscountFactors::zeroRate;
+    DoubleUnaryOperator dividendRate = baseDiscountFactors::zeroRate;
     Function<DoublesPair, Double> impliedVolSurface = new Function<DoublesPair, Double>() {
       @Override
       public Double apply(DoublesPair tk) {
@@ -118,7 +109,7 @@ public class ImpliedTrinomialTreeFxOptionCalibrator {
     };
     ImpliedTrinomialTreeLocalVolatilityCalculator localVol =
         new ImpliedTrinomialTreeLocalVolatilityCalculator(nSteps, timeToExpiry);
-    return localVol.calibrateImpliedVolatility(impliedVolSurface, todayFx, interestRate, dividendRate);
+    return localVol.calibrateImpliedVolatilityPrimitive(impliedVolSurface, todayFx, interestRate, dividendRate);
   }
 
   //-------------------------------------------------------------------------
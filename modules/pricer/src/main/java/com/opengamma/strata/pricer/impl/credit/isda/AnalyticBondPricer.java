@@ -8,6 +8,7 @@ package com.opengamma.strata.pricer.impl.credit.isda;
 import static com.opengamma.strata.math.impl.util.Epsilon.epsilon;
 
 import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.opengamma.strata.collect.ArgChecker;
@@ -66,9 +67,9 @@ public class AnalyticBondPricer {
       CdsPriceType cleanOrDirty) {
 
     ArgChecker.isTrue(bondPrice > 0.0, "Bond price must be positive");
-    Function<Double, Double> priceFunc = getBondPriceForHazardRateFunction(bond, yieldCurve, cleanOrDirty);
+    DoubleUnaryOperator priceFunc = bondPriceForHazardRateFunction(bond, yieldCurve, cleanOrDirty);
 
-    double zeroRiskPrice = priceFunc.apply(0.);
+    double zeroRiskPrice = priceFunc.applyAsDouble(0.);
     if (bondPrice == zeroRiskPrice) {
       return 0.0;
     }
@@ -82,15 +83,10 @@ public class AnalyticBondPricer {
           bond.getRecoveryRate() + ". Please check inputs");
     }
 
-    Function<Double, Double> func = new Function<Double, Double>() {
-      @Override
-      public Double apply(Double lambda) {
-        return priceFunc.apply(lambda) - bondPrice;
-      }
-    };
+    DoubleUnaryOperator func = lambda -> priceFunc.applyAsDouble(lambda) - bondPrice;
 
     double guess = 0.01;
-    return ROOTFINDER.getRoot(func, guess);
+    return ROOTFINDER.getRootPrimitive(func, guess);
   }
 
   //-------------------------------------------------------------------------
@@ -106,7 +102,7 @@ public class AnalyticBondPricer {
    */
   public double bondPriceForHazardRate(
       BondAnalytic bond, IsdaCompliantYieldCurve yieldCurve, double hazardRate, CdsPriceType cleanOrDirty) {
-    return getBondPriceForHazardRateFunction(bond, yieldCurve, cleanOrDirty).apply(hazardRate);
+    return bondPriceForHazardRateFunction(bond, yieldCurve, cleanOrDirty).applyAsDouble(hazardRate);
   }
 
   //-------------------------------------------------------------------------
@@ -123,6 +119,16 @@ public class AnalyticBondPricer {
       IsdaCompliantYieldCurve yieldCurve,
       CdsPriceType cleanOrDirty) {
 
+    DoubleUnaryOperator priceFunc = bondPriceForHazardRateFunction(bond, yieldCurve, cleanOrDirty);
+    return lambda -> priceFunc.applyAsDouble(lambda);
+  }
+
+  // the function of hazard rate to bond price, evaluated without boxing
+  private DoubleUnaryOperator bondPriceForHazardRateFunction(
+      BondAnalytic bond,
+      IsdaCompliantYieldCurve yieldCurve,
+      CdsPriceType cleanOrDirty) {
+
     ArgChecker.notNull(bond, "bond");
     ArgChecker.notNull(yieldCurve, "yieldCurve");
     ArgChecker.notNull(cleanOrDirty, "cleanOrDirty");
@@ -154,10 +160,10 @@ public class AnalyticBondPricer {
       rt[i] = yieldCurve.getRT(intNodes[i]);
     }
 
-    return new Function<Double, Double>() {
+    return new DoubleUnaryOperator() {
 
       @Override
-      public Double apply(Double lambda) {
+      public double applyAsDouble(double lambda) {
 
         double riskyDisPayments = cleanOrDirty == CdsPriceType.CLEAN ? -bond.getAccruedInterest() : 0.0;
         for (int i = 0; i < nPayments; i++) {
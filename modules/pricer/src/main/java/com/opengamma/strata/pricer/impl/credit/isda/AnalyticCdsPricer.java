@@ -10,7 +10,10 @@ import static com.opengamma.strata.math.impl.util.Epsilon.epsilonP;
 import static com.opengamma.strata.math.impl.util.Epsilon.epsilonPP;
 import static com.opengamma.strata.pricer.impl.credit.isda.DoublesScheduleGenerator.getIntegrationsPoints;
 
+import java.util.concurrent.Executor;
+
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.ConcurrentTasks;
 
 /**
  *
@@ -147,6 +150,152 @@ public class AnalyticCdsPricer {
     return proLeg / rpv01;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * CDS values of many names for the payer of premiums (i.e. the buyer of protection) at the cash-settle date.
+   * <p>
+   * The names share the CDS schedule and the yield curve, and differ by their credit curves, spreads and
+   * recovery rates. The values are returned in the order of the names.
+   * 
+   * @param cds  the analytic description of a CDS traded at a certain time
+   * @param yieldCurve  the yield (or discount) curve
+   * @param creditCurves  the credit (or survival) curve of each name
+   * @param fractionalSpreads  the <b>fraction</b> spread of each name
+   * @param recoveryRates  the recovery rate of each name
+   * @param cleanOrDirty  the clean or dirty price
+   * @return the value of a unit notional payer CDS on the cash-settle date, for each name
+   */
+  public double[] pv(
+      CdsAnalytic cds,
+      IsdaCompliantYieldCurve yieldCurve,
+      IsdaCompliantCreditCurve[] creditCurves,
+      double[] fractionalSpreads,
+      double[] recoveryRates,
+      CdsPriceType cleanOrDirty) {
+
+    validateNames(cds, yieldCurve, creditCurves, recoveryRates);
+    ArgChecker.notNull(fractionalSpreads, "fractionalSpreads");
+    ArgChecker.isTrue(
+        fractionalSpreads.length == recoveryRates.length, "Number of names does not match number of spreads");
+    int nNames = recoveryRates.length;
+    double[] pvs = new double[nNames];
+    for (int i = 0; i < nNames; i++) {
+      pvs[i] = pv(
+          cds.withRecoveryRate(recoveryRates[i]), yieldCurve, creditCurves[i], fractionalSpreads[i], cleanOrDirty);
+    }
+    return pvs;
+  }
+
+  /**
+   * CDS values of many names for the payer of premiums (i.e. the buyer of protection) at the cash-settle date,
+   * valuing the names in parallel.
+   * <p>
+   * The value of each name is computed by the executor, and the values are identical to those of
+   * {@link #pv(CdsAnalytic, IsdaCompliantYieldCurve, IsdaCompliantCreditCurve[], double[], double[], CdsPriceType)}.
+   * The executor is not shut down by this method.
+   * 
+   * @param cds  the analytic description of a CDS traded at a certain time
+   * @param yieldCurve  the yield (or discount) curve
+   * @param creditCurves  the credit (or survival) curve of each name
+   * @param fractionalSpreads  the <b>fraction</b> spread of each name
+   * @param recoveryRates  the recovery rate of each name
+   * @param cleanOrDirty  the clean or dirty price
+   * @param executor  the executor used to value the names
+   * @return the value of a unit notional payer CDS on the cash-settle date, for each name
+   */
+  public double[] pv(
+      CdsAnalytic cds,
+      IsdaCompliantYieldCurve yieldCurve,
+      IsdaCompliantCreditCurve[] creditCurves,
+      double[] fractionalSpreads,
+      double[] recoveryRates,
+      CdsPriceType cleanOrDirty,
+      Executor executor) {
+
+    validateNames(cds, yieldCurve, creditCurves, recoveryRates);
+    ArgChecker.notNull(fractionalSpreads, "fractionalSpreads");
+    ArgChecker.isTrue(
+        fractionalSpreads.length == recoveryRates.length, "Number of names does not match number of spreads");
+    ArgChecker.notNull(executor, "executor");
+    return ConcurrentTasks.evaluateDoubles(
+        recoveryRates.length,
+        i -> pv(
+            cds.withRecoveryRate(recoveryRates[i]), yieldCurve, creditCurves[i], fractionalSpreads[i], cleanOrDirty),
+        executor);
+  }
+
+  /**
+   * The par spreads of many names for a given yield curve and the credit curve of each name.
+   * <p>
+   * The names share the CDS schedule and the yield curve, and differ by their credit curves and
+   * recovery rates. The par spreads are returned in the order of the names.
+   * 
+   * @param cds  the analytic description of a CDS traded at a certain time
+   * @param yieldCurve  the yield (or discount) curve
+   * @param creditCurves  the credit (or survival) curve of each name
+   * @param recoveryRates  the recovery rate of each name
+   * @return the par spread of each name
+   */
+  public double[] parSpread(
+      CdsAnalytic cds,
+      IsdaCompliantYieldCurve yieldCurve,
+      IsdaCompliantCreditCurve[] creditCurves,
+      double[] recoveryRates) {
+
+    validateNames(cds, yieldCurve, creditCurves, recoveryRates);
+    int nNames = recoveryRates.length;
+    double[] spreads = new double[nNames];
+    for (int i = 0; i < nNames; i++) {
+      spreads[i] = parSpread(cds.withRecoveryRate(recoveryRates[i]), yieldCurve, creditCurves[i]);
+    }
+    return spreads;
+  }
+
+  /**
+   * The par spreads of many names for a given yield curve and the credit curve of each name,
+   * computing the names in parallel.
+   * <p>
+   * The par spread of each name is computed by the executor, and the par spreads are identical to those of
+   * {@link #parSpread(CdsAnalytic, IsdaCompliantYieldCurve, IsdaCompliantCreditCurve[], double[])}.
+   * The executor is not shut down by this method.
+   * 
+   * @param cds  the analytic description of a CDS traded at a certain time
+   * @param yieldCurve  the yield (or discount) curve
+   * @param creditCurves  the credit (or survival) curve of each name
+   * @param recoveryRates  the recovery rate of each name
+   * @param executor  the executor used to value the names
+   * @return the par spread of each name
+   */
+  public double[] parSpread(
+      CdsAnalytic cds,
+      IsdaCompliantYieldCurve yieldCurve,
+      IsdaCompliantCreditCurve[] creditCurves,
+      double[] recoveryRates,
+      Executor executor) {
+
+    validateNames(cds, yieldCurve, creditCurves, recoveryRates);
+    ArgChecker.notNull(executor, "executor");
+    return ConcurrentTasks.evaluateDoubles(
+        recoveryRates.length,
+        i -> parSpread(cds.withRecoveryRate(recoveryRates[i]), yieldCurve, creditCurves[i]),
+        executor);
+  }
+
+  // checks the inputs of the valuation of many names
+  private static void validateNames(
+      CdsAnalytic cds,
+      IsdaCompliantYieldCurve yieldCurve,
+      IsdaCompliantCreditCurve[] creditCurves,
+      double[] recoveryRates) {
+
+    ArgChecker.notNull(cds, "cds");
+    ArgChecker.notNull(yieldCurve, "yieldCurve");
+    ArgChecker.noNulls(creditCurves, "creditCurves");
+    ArgChecker.notNull(recoveryRates, "recoveryRates");
+    ArgChecker.isTrue(
+        creditCurves.length == recoveryRates.length, "Number of names does not match number of credit curves");
+  }
+
   /**
    * Compute the present value of the protection leg with a notional of 1, which is given by the integral
    * $\frac{1-R}{P(T_{v})} \int_{T_a} ^{T_b} P(t) \frac{dQ(t)}{dt} dt$ where $P(t)$ and $Q(t)$ are the discount
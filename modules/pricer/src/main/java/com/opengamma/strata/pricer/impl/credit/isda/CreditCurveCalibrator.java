@@ -10,7 +10,7 @@ import static com.opengamma.strata.pricer.impl.credit.isda.DoublesScheduleGenera
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.function.Function;
+import java.util.function.DoubleUnaryOperator;
 
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.math.impl.rootfinding.NewtonRaphsonSingleRootFinder;
@@ -270,7 +270,7 @@ public class CreditCurveCalibrator {
     ArgChecker.isTrue(_nCDS == premiums.length, "premiums wrong length");
     double[] puf = new double[_nCDS];
     CalibrationImpl imp = new CalibrationImpl();
-    return imp.calibrate(premiums, puf);
+    return imp.calibrate(premiums, puf, _lgd);
   }
 
   public IsdaCompliantCreditCurve calibrate(double[] premiums, double[] puf) {
@@ -280,7 +280,32 @@ public class CreditCurveCalibrator {
     ArgChecker.isTrue(_nCDS == puf.length, "puf wrong length");
 
     CalibrationImpl imp = new CalibrationImpl();
-    return imp.calibrate(premiums, puf);
+    return imp.calibrate(premiums, puf, _lgd);
+  }
+
+  /**
+   * Calibrate the credit curve of a name with the specified recovery rate.
+   * <p>
+   * The precomputed leg elements depend only on the schedules of the calibration CDSs and the yield curve,
+   * thus a single calibrator can be used to calibrate many names that only differ by their quotes and recovery rates.
+   * This method may be called by many threads at the same time.
+   * 
+   * @param premiums  the premiums (coupons) as fractions
+   * @param puf  the points up-front as fractions of notional
+   * @param recoveryRate  the recovery rate of the name
+   * @return the credit curve
+   */
+  public IsdaCompliantCreditCurve calibrate(double[] premiums, double[] puf, double recoveryRate) {
+    ArgChecker.notEmpty(premiums, "premiums");
+    ArgChecker.notEmpty(puf, "puf");
+    ArgChecker.isTrue(_nCDS == premiums.length, "premiums wrong length");
+    ArgChecker.isTrue(_nCDS == puf.length, "puf wrong length");
+    ArgChecker.inRangeInclusive(recoveryRate, 0d, 1d, "recoveryRate");
+
+    double[] lgd = new double[_nCDS];
+    Arrays.fill(lgd, 1 - recoveryRate);
+    CalibrationImpl imp = new CalibrationImpl();
+    return imp.calibrate(premiums, puf, lgd);
   }
 
   private class CalibrationImpl {
@@ -289,29 +314,29 @@ public class CreditCurveCalibrator {
     private double[][] _premLegElmtPV;
     private IsdaCompliantCreditCurve _creditCurve;
 
-    public IsdaCompliantCreditCurve calibrate(double[] premiums, double[] puf) {
+    public IsdaCompliantCreditCurve calibrate(double[] premiums, double[] puf, double[] lgd) {
       _protLegElmtPV = new double[_nCDS][2];
       _premLegElmtPV = new double[_nCoupons][2];
 
       // use continuous premiums as initial guess
       double[] guess = new double[_nCDS];
       for (int i = 0; i < _nCDS; i++) {
-        guess[i] = (premiums[i] + puf[i] / _t[i]) / _lgd[i];
+        guess[i] = (premiums[i] + puf[i] / _t[i]) / lgd[i];
       }
 
       _creditCurve = new IsdaCompliantCreditCurve(_t, guess);
       for (int i = 0; i < _nCDS; i++) {
-        Function<Double, Double> func = getPointFunction(i, premiums[i], puf[i]);
-        Function<Double, Double> grad = getPointDerivative(i, premiums[i]);
+        DoubleUnaryOperator func = getPointFunction(i, premiums[i], puf[i], lgd[i]);
+        DoubleUnaryOperator grad = getPointDerivative(i, premiums[i], lgd[i]);
         switch (_arbHandle) {
           case Ignore: {
-            double zeroRate = ROOTFINDER.getRoot(func, grad, guess[i]);
+            double zeroRate = ROOTFINDER.getRootPrimitive(func, grad, guess[i]);
             updateAll(zeroRate, i);
             break;
           }
           case Fail: {
             double minValue = i == 0 ? 0.0 : _creditCurve.getRTAtIndex(i - 1) / _creditCurve.getTimeAtIndex(i);
-            if (i > 0 && func.apply(minValue) > 0.0) { //can never fail on the first spread
+            if (i > 0 && func.applyAsDouble(minValue) > 0.0) { //can never fail on the first spread
               StringBuilder msg = new StringBuilder();
               if (puf[i] == 0.0) {
                 msg.append("The par spread of " + premiums[i] + " at index " + i);
@@ -322,18 +347,18 @@ public class CreditCurveCalibrator {
               throw new IllegalArgumentException(msg.toString());
             }
             guess[i] = Math.max(minValue, guess[i]);
-            double zeroRate = ROOTFINDER.getRoot(func, grad, guess[i]);
+            double zeroRate = ROOTFINDER.getRootPrimitive(func, grad, guess[i]);
             updateAll(zeroRate, i);
             break;
           }
           case ZeroHazardRate: {
             double minValue = i == 0 ? 0.0 : _creditCurve.getRTAtIndex(i - 1) / _creditCurve.getTimeAtIndex(i);
-            if (i > 0 && func.apply(minValue) > 0.0) { //can never fail on the first spread
+            if (i > 0 && func.applyAsDouble(minValue) > 0.0) { //can never fail on the first spread
               // this is setting the forward hazard rate for this period to zero, rather than letting it go negative
               updateAll(minValue, i);
             } else {
               guess[i] = Math.max(minValue, guess[i]);
-              double zeroRate = ROOTFINDER.getRoot(func, grad, guess[i]);
+              double zeroRate = ROOTFINDER.getRootPrimitive(func, grad, guess[i]);
               updateAll(zeroRate, i);
             }
             break;
@@ -344,14 +369,13 @@ public class CreditCurveCalibrator {
       return _creditCurve;
     }
 
-    private Function<Double, Double> getPointFunction(int index, double premium, double puf) {
+    private DoubleUnaryOperator getPointFunction(int index, double premium, double puf, double lgd) {
       int[] iCoupons = _cds2CouponsMap[index];
       int nCoupons = iCoupons.length;
       double dirtyPV = puf - premium * _unitAccured[index];
-      double lgd = _lgd[index];
-      return new Function<Double, Double>() {
+      return new DoubleUnaryOperator() {
         @Override
-        public Double apply(Double h) {
+        public double applyAsDouble(double h) {
           update(h, index);
           double protLegPV = 0.0;
           for (int i = 0; i <= index; i++) {
@@ -368,13 +392,12 @@ public class CreditCurveCalibrator {
       };
     }
 
-    private Function<Double, Double> getPointDerivative(int index, double premium) {
+    private DoubleUnaryOperator getPointDerivative(int index, double premium, double lgd) {
       int[] iCoupons = _cdsCouponsUpdateMap[index];
       int nCoupons = iCoupons.length;
-      double lgd = _lgd[index];
-      return new Function<Double, Double>() {
+      return new DoubleUnaryOperator() {
         @Override
-        public Double apply(Double x) {
+        public double applyAsDouble(double x) {
           //do not call update - all ready called for getting the value 
 
           double protLegPVSense = _protLegElmtPV[index][1];
@@ -10,9 +10,11 @@ import static com.opengamma.strata.math.impl.util.Epsilon.epsilonP;
 import static com.opengamma.strata.pricer.impl.credit.isda.DoublesScheduleGenerator.getIntegrationsPoints;
 import static com.opengamma.strata.pricer.impl.credit.isda.DoublesScheduleGenerator.truncateSetInclusive;
 
-import java.util.function.Function;
+import java.util.concurrent.Executor;
+import java.util.function.DoubleUnaryOperator;
 
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.ConcurrentTasks;
 import com.opengamma.strata.math.MathException;
 import com.opengamma.strata.math.impl.rootfinding.BracketRoot;
 import com.opengamma.strata.math.impl.rootfinding.BrentSingleRootFinder;
@@ -82,36 +84,109 @@ public class FastCreditCurveBuilder extends IsdaCompliantCreditCurveBuilder {
     int n = cds.length;
     ArgChecker.isTrue(n == premiums.length, "Number of CDSs does not match number of spreads");
     ArgChecker.isTrue(n == pointsUpfront.length, "Number of CDSs does not match number of pointsUpfront");
+    double[] t = protectionEnds(cds);
+
+    // use continuous premiums as initial guess
+    double[] guess = new double[n];
+    Pricer[] pricers = new Pricer[n];
+    for (int i = 0; i < n; i++) {
+      guess[i] = (premiums[i] + pointsUpfront[i] / t[i]) / cds[i].getLGD();
+      pricers[i] = new Pricer(cds[i], yieldCurve, t, premiums[i], pointsUpfront[i]);
+    }
+    return bootstrap(pricers, t, guess, premiums, pointsUpfront);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The yield curve integration knots and discount factors of the calibration CDSs, which depend only
+   * on their schedules and the yield curve, are computed once and shared by the calibration of all names.
+   */
+  @Override
+  public IsdaCompliantCreditCurve[] calibrateCreditCurves(
+      CdsAnalytic[] calibrationCDSs,
+      double[][] premiums,
+      IsdaCompliantYieldCurve yieldCurve,
+      double[][] pointsUpfront,
+      double[] recoveryRates,
+      Executor executor) {
+
+    validateNames(calibrationCDSs, premiums, yieldCurve, pointsUpfront, recoveryRates);
+    ArgChecker.notNull(executor, "executor");
+    int n = calibrationCDSs.length;
+    double[] t = protectionEnds(calibrationCDSs);
+    Pricer[] legs = new Pricer[n];
+    for (int i = 0; i < n; i++) {
+      legs[i] = new Pricer(calibrationCDSs[i], yieldCurve, t, 0.0, 0.0);
+    }
+    return ConcurrentTasks.evaluate(
+        recoveryRates.length,
+        i -> calibrateName(legs, t, premiums[i], pointsUpfront[i], recoveryRates[i]),
+        executor)
+        .toArray(new IsdaCompliantCreditCurve[recoveryRates.length]);
+  }
+
+  // calibrates the credit curve of one name, using the leg elements shared by all names
+  private IsdaCompliantCreditCurve calibrateName(
+      Pricer[] legs,
+      double[] t,
+      double[] premiums,
+      double[] pointsUpfront,
+      double recoveryRate) {
+
+    ArgChecker.inRangeInclusive(recoveryRate, 0d, 1d, "recoveryRate");
+    int n = legs.length;
+    ArgChecker.isTrue(n == premiums.length, "Number of CDSs does not match number of spreads");
+    ArgChecker.isTrue(n == pointsUpfront.length, "Number of CDSs does not match number of pointsUpfront");
+    double lgd = 1 - recoveryRate;
+    double[] guess = new double[n];
+    Pricer[] pricers = new Pricer[n];
+    for (int i = 0; i < n; i++) {
+      guess[i] = (premiums[i] + pointsUpfront[i] / t[i]) / lgd;
+      pricers[i] = new Pricer(legs[i], lgd, premiums[i], pointsUpfront[i]);
+    }
+    return bootstrap(pricers, t, guess, premiums, pointsUpfront);
+  }
+
+  // checks the calibration CDSs and returns their protection ends, which are the knots of the credit curve
+  private static double[] protectionEnds(CdsAnalytic[] cds) {
+    int n = cds.length;
     double proStart = cds[0].getEffectiveProtectionStart();
     for (int i = 1; i < n; i++) {
       ArgChecker.isTrue(proStart == cds[i].getEffectiveProtectionStart(), "all CDSs must has same protection start");
       ArgChecker.isTrue(cds[i].getProtectionEnd() > cds[i - 1].getProtectionEnd(), "protection end must be ascending");
     }
-
-    // use continuous premiums as initial guess
-    double[] guess = new double[n];
     double[] t = new double[n];
     for (int i = 0; i < n; i++) {
       t[i] = cds[i].getProtectionEnd();
-      guess[i] = (premiums[i] + pointsUpfront[i] / t[i]) / cds[i].getLGD();
     }
+    return t;
+  }
 
+  // bootstraps the credit curve, one calibration CDS at a time
+  private IsdaCompliantCreditCurve bootstrap(
+      Pricer[] pricers,
+      double[] t,
+      double[] guess,
+      double[] premiums,
+      double[] pointsUpfront) {
+
+    int n = pricers.length;
     IsdaCompliantCreditCurve creditCurve = new IsdaCompliantCreditCurve(t, guess);
     for (int i = 0; i < n; i++) {
-      Pricer pricer = new Pricer(cds[i], yieldCurve, t, premiums[i], pointsUpfront[i]);
-      Function<Double, Double> func = pricer.getPointFunction(i, creditCurve);
+      DoubleUnaryOperator func = pricers[i].getPointFunction(i, creditCurve);
 
       switch (getArbHanding()) {
         case Ignore: {
           try {
-            double[] bracket = BRACKER.getBracketedPoints(func, 0.8 * guess[i], 1.25 * guess[i], Double.NEGATIVE_INFINITY,
-                Double.POSITIVE_INFINITY);
+            double[] bracket = BRACKER.getBracketedPointsPrimitive(
+                func, 0.8 * guess[i], 1.25 * guess[i], Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
             double zeroRate = bracket[0] > bracket[1] ?
-                ROOTFINDER.getRoot(func, bracket[1], bracket[0]) :
-                ROOTFINDER.getRoot(func, bracket[0], bracket[1]); //Negative guess handled
+                ROOTFINDER.getRootPrimitive(func, bracket[1], bracket[0]) :
+                ROOTFINDER.getRootPrimitive(func, bracket[0], bracket[1]); //Negative guess handled
             creditCurve = creditCurve.withRate(zeroRate, i);
           } catch (MathException e) { //handling bracketing failure due to small survival probability
-            if (Math.abs(func.apply(creditCurve.getZeroRateAtIndex(i - 1))) < 1.e-12) {
+            if (Math.abs(func.applyAsDouble(creditCurve.getZeroRateAtIndex(i - 1))) < 1.e-12) {
               creditCurve = creditCurve.withRate(creditCurve.getZeroRateAtIndex(i - 1), i);
             } else {
               throw new MathException(e);
@@ -121,7 +196,7 @@ public class FastCreditCurveBuilder extends IsdaCompliantCreditCurveBuilder {
         }
         case Fail: {
           double minValue = i == 0 ? 0.0 : creditCurve.getRTAtIndex(i - 1) / creditCurve.getTimeAtIndex(i);
-          if (i > 0 && func.apply(minValue) > 0.0) { //can never fail on the first spread
+          if (i > 0 && func.applyAsDouble(minValue) > 0.0) { //can never fail on the first spread
             StringBuilder msg = new StringBuilder();
             if (pointsUpfront[i] == 0.0) {
               msg.append("The par spread of " + premiums[i] + " at index " + i);
@@ -132,19 +207,21 @@ public class FastCreditCurveBuilder extends IsdaCompliantCreditCurveBuilder {
             throw new IllegalArgumentException(msg.toString());
           }
           guess[i] = Math.max(minValue, guess[i]);
-          double[] bracket = BRACKER.getBracketedPoints(func, guess[i], 1.2 * guess[i], minValue, Double.POSITIVE_INFINITY);
-          double zeroRate = ROOTFINDER.getRoot(func, bracket[0], bracket[1]);
+          double[] bracket = BRACKER.getBracketedPointsPrimitive(
+              func, guess[i], 1.2 * guess[i], minValue, Double.POSITIVE_INFINITY);
+          double zeroRate = ROOTFINDER.getRootPrimitive(func, bracket[0], bracket[1]);
           creditCurve = creditCurve.withRate(zeroRate, i);
           break;
         }
         case ZeroHazardRate: {
           double minValue = i == 0 ? 0.0 : creditCurve.getRTAtIndex(i - 1) / creditCurve.getTimeAtIndex(i);
-          if (i > 0 && func.apply(minValue) > 0.0) { //can never fail on the first spread
+          if (i > 0 && func.applyAsDouble(minValue) > 0.0) { //can never fail on the first spread
             creditCurve = creditCurve.withRate(minValue, i);
           } else {
             guess[i] = Math.max(minValue, guess[i]);
-            double[] bracket = BRACKER.getBracketedPoints(func, guess[i], 1.2 * guess[i], minValue, Double.POSITIVE_INFINITY);
-            double zeroRate = ROOTFINDER.getRoot(func, bracket[0], bracket[1]);
+            double[] bracket = BRACKER.getBracketedPointsPrimitive(
+                func, guess[i], 1.2 * guess[i], minValue, Double.POSITIVE_INFINITY);
+            double zeroRate = ROOTFINDER.getRootPrimitive(func, bracket[0], bracket[1]);
             creditCurve = creditCurve.withRate(zeroRate, i);
           }
           break;
@@ -266,10 +343,43 @@ public class FastCreditCurveBuilder extends IsdaCompliantCreditCurveBuilder {
 
     }
 
-    public Function<Double, Double> getPointFunction(int index, IsdaCompliantCreditCurve creditCurve) {
-      return new Function<Double, Double>() {
+    /**
+     * Creates a pricer for a name, sharing the leg elements of a pricer of the same CDS schedule.
+     * <p>
+     * The integration knots and the discount factors depend only on the CDS schedule and the yield curve,
+     * and are not copied.
+     * 
+     * @param legs  the pricer of the CDS schedule
+     * @param lgd  the loss given default of the name
+     * @param fractionalSpread  the fractional spread of the name
+     * @param pointsUpfront  the points up-front of the name
+     */
+    public Pricer(Pricer legs, double lgd, double fractionalSpread, double pointsUpfront) {
+      _cds = legs._cds;
+      _fracSpread = fractionalSpread;
+      _pointsUpfront = pointsUpfront;
+      _valuationDF = legs._valuationDF;
+      _lgdDF = lgd / _valuationDF;
+
+      _nProPoints = legs._nProPoints;
+      _proLegIntPoints = legs._proLegIntPoints;
+      _proYieldCurveRT = legs._proYieldCurveRT;
+      _proDF = legs._proDF;
+
+      _nPayments = legs._nPayments;
+      _paymentDF = legs._paymentDF;
+      _premLegIntPoints = legs._premLegIntPoints;
+      _premDF = legs._premDF;
+      _rt = legs._rt;
+      _premDt = legs._premDt;
+      _accRate = legs._accRate;
+      _offsetAccStart = legs._offsetAccStart;
+    }
+
+    public DoubleUnaryOperator getPointFunction(int index, IsdaCompliantCreditCurve creditCurve) {
+      return new DoubleUnaryOperator() {
         @Override
-        public Double apply(Double x) {
+        public double applyAsDouble(double x) {
           IsdaCompliantCreditCurve cc = creditCurve.withRate(x, index);
           double rpv01 = rpv01(cc, CdsPriceType.CLEAN);
           double pro = protectionLeg(cc);
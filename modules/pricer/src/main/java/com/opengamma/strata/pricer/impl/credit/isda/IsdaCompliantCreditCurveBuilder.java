@@ -7,9 +7,11 @@ package com.opengamma.strata.pricer.impl.credit.isda;
 
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.concurrent.Executor;
 
 import com.opengamma.strata.basics.schedule.StubConvention;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.ConcurrentTasks;
 
 /**
  * Construct a credit curve that is consistent with the ISDA c code - i.e. the credit curve is piecewise constant in the (forward)
@@ -171,6 +173,81 @@ public abstract class IsdaCompliantCreditCurveBuilder {
       IsdaCompliantYieldCurve yieldCurve,
       double[] pointsUpfront);
 
+  /**
+   * Bootstrapper the credit curves of many names from the same set of reference/calibration CDSs.
+   * <p>
+   * Each name has its own premiums, points up-front and recovery rate, while the schedules of the
+   * calibration CDSs and the yield curve are shared by all names. This is typically used for the
+   * constituents of a CDS index, or a book of single names, quoted with the same IMM maturities.
+   * <p>
+   * The calibration of each name is submitted to the executor, and the curves are returned in the order
+   * of the names. The curves are identical to those of {@link #calibrateCreditCurve(CdsAnalytic[], double[],
+   * IsdaCompliantYieldCurve, double[])} with the CDSs at the recovery rate of the name.
+   * This implementation shares only the premium leg schedules across names; subclasses may also share
+   * the yield curve integration knots and discount factors of the calibration CDSs.
+   * The executor is not shut down by this method.
+   *
+   * @param calibrationCDSs  the market CDSs - these are the reference instruments used to build the credit curves
+   * @param premiums  the standard premiums (coupons) as fractions, indexed by name then by CDS
+   * @param yieldCurve  the yield (or discount) curve
+   * @param pointsUpfront  the points up-front as fractions of notional, indexed by name then by CDS
+   * @param recoveryRates  the recovery rate of each name
+   * @param executor  the executor used to calibrate the names
+   * @return the credit curves, one for each name
+   */
+  public IsdaCompliantCreditCurve[] calibrateCreditCurves(
+      CdsAnalytic[] calibrationCDSs,
+      double[][] premiums,
+      IsdaCompliantYieldCurve yieldCurve,
+      double[][] pointsUpfront,
+      double[] recoveryRates,
+      Executor executor) {
+
+    validateNames(calibrationCDSs, premiums, yieldCurve, pointsUpfront, recoveryRates);
+    ArgChecker.notNull(executor, "executor");
+    return ConcurrentTasks.evaluate(
+        recoveryRates.length,
+        i -> calibrateCreditCurve(
+            withRecoveryRate(calibrationCDSs, recoveryRates[i]), premiums[i], yieldCurve, pointsUpfront[i]),
+        executor)
+        .toArray(new IsdaCompliantCreditCurve[recoveryRates.length]);
+  }
+
+  /**
+   * Checks the inputs of the calibration of many names.
+   *
+   * @param calibrationCDSs  the market CDSs
+   * @param premiums  the premiums, indexed by name then by CDS
+   * @param yieldCurve  the yield (or discount) curve
+   * @param pointsUpfront  the points up-front, indexed by name then by CDS
+   * @param recoveryRates  the recovery rate of each name
+   */
+  protected void validateNames(
+      CdsAnalytic[] calibrationCDSs,
+      double[][] premiums,
+      IsdaCompliantYieldCurve yieldCurve,
+      double[][] pointsUpfront,
+      double[] recoveryRates) {
+
+    ArgChecker.noNulls(calibrationCDSs, "calibrationCDSs");
+    ArgChecker.noNulls(premiums, "premiums");
+    ArgChecker.notNull(yieldCurve, "yieldCurve");
+    ArgChecker.noNulls(pointsUpfront, "pointsUpfront");
+    ArgChecker.notNull(recoveryRates, "recoveryRates");
+    int nNames = recoveryRates.length;
+    ArgChecker.isTrue(premiums.length == nNames, "Number of names does not match number of premiums");
+    ArgChecker.isTrue(pointsUpfront.length == nNames, "Number of names does not match number of pointsUpfront");
+  }
+
+  // the CDSs at the recovery rate of a name, sharing the premium leg schedules
+  private static CdsAnalytic[] withRecoveryRate(CdsAnalytic[] cds, double recoveryRate) {
+    CdsAnalytic[] res = new CdsAnalytic[cds.length];
+    for (int i = 0; i < cds.length; i++) {
+      res[i] = cds[i].withRecoveryRate(recoveryRate);
+    }
+    return res;
+  }
+
   /**
    * Bootstrapper the credit curve from a single CDS, by making it have zero clean price.
    * Obviously the resulting credit (hazard) curve will be flat.
@@ -9,7 +9,7 @@ import java.time.LocalDate;
 import java.time.Period;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.function.Function;
+import java.util.function.DoubleUnaryOperator;
 
 import com.opengamma.strata.basics.date.BusinessDayConvention;
 import com.opengamma.strata.basics.date.DayCount;
@@ -289,10 +289,10 @@ public class IsdaCompliantYieldCurveBuild {
     int index1 = i1;
     int index2 = i2;
 
-    Function<Double, Double> func = new Function<Double, Double>() {
+    DoubleUnaryOperator func = new DoubleUnaryOperator() {
 
       @Override
-      public Double apply(Double x) {
+      public double applyAsDouble(double x) {
         IsdaCompliantCurve tempCurve = curve.withRate(x, curveIndex);
         double sum = 1.0 - cachedValues; // Floating leg at par
         for (int i = index1; i < index2; i++) {
@@ -303,10 +303,10 @@ public class IsdaCompliantYieldCurveBuild {
       }
     };
 
-    Function<Double, Double> grad = new Function<Double, Double>() {
+    DoubleUnaryOperator grad = new DoubleUnaryOperator() {
 
       @Override
-      public Double apply(Double x) {
+      public double applyAsDouble(double x) {
         IsdaCompliantCurve tempCurve = curve.withRate(x, curveIndex);
         double sum = cachedSense;
         for (int i = index1; i < index2; i++) {
@@ -320,14 +320,14 @@ public class IsdaCompliantYieldCurveBuild {
     };
 
     double guess = curve.getZeroRateAtIndex(curveIndex);
-    if (guess == 0.0 && func.apply(guess) == 0.0) {
+    if (guess == 0.0 && func.applyAsDouble(guess) == 0.0) {
       return curve;
     }
-    double[] bracket = BRACKETER.getBracketedPoints(
+    double[] bracket = BRACKETER.getBracketedPointsPrimitive(
         func, 0.8 * guess, 1.25 * guess, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
     double r = bracket[0] > bracket[1] ?
-        ROOTFINDER.getRoot(func, grad, bracket[1], bracket[0]) :
-        ROOTFINDER.getRoot(func, grad, bracket[0], bracket[1]);
+        ROOTFINDER.getRootPrimitive(func, grad, bracket[1], bracket[0]) :
+        ROOTFINDER.getRootPrimitive(func, grad, bracket[0], bracket[1]);
     return curve.withRate(r, curveIndex);
   }
 
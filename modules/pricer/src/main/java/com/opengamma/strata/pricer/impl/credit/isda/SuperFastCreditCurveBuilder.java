@@ -5,6 +5,11 @@
  */
 package com.opengamma.strata.pricer.impl.credit.isda;
 
+import java.util.concurrent.Executor;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.ConcurrentTasks;
+
 /**
  * 
  */
@@ -36,4 +41,30 @@ public class SuperFastCreditCurveBuilder extends IsdaCompliantCreditCurveBuilder
     return calibrator.calibrate(premiums, pointsUpfront);
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The leg elements of the calibration CDSs, which depend only on their schedules and the yield curve,
+   * are computed once and shared by the calibration of all names.
+   */
+  @Override
+  public IsdaCompliantCreditCurve[] calibrateCreditCurves(
+      CdsAnalytic[] calibrationCDSs,
+      double[][] premiums,
+      IsdaCompliantYieldCurve yieldCurve,
+      double[][] pointsUpfront,
+      double[] recoveryRates,
+      Executor executor) {
+
+    validateNames(calibrationCDSs, premiums, yieldCurve, pointsUpfront, recoveryRates);
+    ArgChecker.notNull(executor, "executor");
+    CreditCurveCalibrator calibrator = new CreditCurveCalibrator(
+        calibrationCDSs, yieldCurve, getAccOnDefaultFormula(), getArbHanding());
+    return ConcurrentTasks.evaluate(
+        recoveryRates.length,
+        i -> calibrator.calibrate(premiums[i], pointsUpfront[i], recoveryRates[i]),
+        executor)
+        .toArray(new IsdaCompliantCreditCurve[recoveryRates.length]);
+  }
+
 }
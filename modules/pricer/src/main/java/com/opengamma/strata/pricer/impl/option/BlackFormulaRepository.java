@@ -5,7 +5,7 @@
  */
 package com.opengamma.strata.pricer.impl.option;
 
-import java.util.function.Function;
+import java.util.function.DoubleUnaryOperator;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,6 +38,8 @@ public final class BlackFormulaRepository {
   /** Limit defining "close of ATM forward" to avoid the formula singularity. **/
   private static final double ATM_LIMIT = 1.0E-3;
   private static final double ROOT_ACCURACY = 1.0E-7;
+  /** The implied volatility guess used when no better guess is available. */
+  private static final double VOL_GUESS = 0.3;
   private static final NewtonRaphsonSingleRootFinder ROOT_FINDER = new NewtonRaphsonSingleRootFinder(ROOT_ACCURACY);
 
   // restricted constructor
@@ -1229,21 +1231,10 @@ public final class BlackFormulaRepository {
 
     boolean isCall = strike >= forward;
 
-    Function<Double, Double> priceFunc = new Function<Double, Double>() {
-      @Override
-      public Double apply(Double x) {
-        return price(forward, strike, timeToExpiry, x, isCall);
-      }
-    };
-
-    Function<Double, Double> vegaFunc = new Function<Double, Double>() {
-      @Override
-      public Double apply(Double x) {
-        return vega(forward, strike, timeToExpiry, x);
-      }
-    };
+    DoubleUnaryOperator priceFunc = x -> price(forward, strike, timeToExpiry, x, isCall);
+    DoubleUnaryOperator vegaFunc = x -> vega(forward, strike, timeToExpiry, x);
 
-    GenericImpliedVolatiltySolver solver = new GenericImpliedVolatiltySolver(priceFunc, vegaFunc);
+    GenericImpliedVolatiltySolver solver = GenericImpliedVolatiltySolver.ofPrimitive(priceFunc, vegaFunc);
     return solver.impliedVolatility(otmPrice, volGuess);
   }
 
@@ -1360,14 +1351,9 @@ public final class BlackFormulaRepository {
     // initial guess
     double guess = impliedVolatilityFromNormalApproximated2(forward, strike, timeToExpiry, normalVolatility);
     // Newton-Raphson method
-    final Function<Double, Double> func = new Function<Double, Double>() {
-      @Override
-      public Double apply(Double volatility) {
-        return NormalFormulaRepository
-            .impliedVolatilityFromBlackApproximated(forward, strike, timeToExpiry, volatility) - normalVolatility;
-      }
-    };
-    return ROOT_FINDER.getRoot(func, guess);
+    DoubleUnaryOperator func = volatility -> NormalFormulaRepository
+        .impliedVolatilityFromBlackApproximated(forward, strike, timeToExpiry, volatility) - normalVolatility;
+    return ROOT_FINDER.getRootPrimitive(func, guess);
   }
 
   /**
@@ -1394,14 +1380,9 @@ public final class BlackFormulaRepository {
     // initial guess
     double guess = impliedVolatilityFromNormalApproximated2(forward, strike, timeToExpiry, normalVolatility);
     // Newton-Raphson method
-    final Function<Double, Double> func = new Function<Double, Double>() {
-      @Override
-      public Double apply(Double volatility) {
-        return NormalFormulaRepository
-            .impliedVolatilityFromBlackApproximated(forward, strike, timeToExpiry, volatility) - normalVolatility;
-      }
-    };
-    double impliedVolatilityBlack = ROOT_FINDER.getRoot(func, guess);
+    DoubleUnaryOperator func = volatility -> NormalFormulaRepository
+        .impliedVolatilityFromBlackApproximated(forward, strike, timeToExpiry, volatility) - normalVolatility;
+    double impliedVolatilityBlack = ROOT_FINDER.getRootPrimitive(func, guess);
     double derivativeInverse = NormalFormulaRepository
         .impliedVolatilityFromBlackApproximatedAdjoint(forward, strike, timeToExpiry, impliedVolatilityBlack).getDerivative(0);
     double derivative = 1.0 / derivativeInverse;
@@ -1444,4 +1425,279 @@ public final class BlackFormulaRepository {
     return normalVolatility * factor1 * factor2;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the forward price of a set of options.
+   * <p>
+   * The options are described by arrays of the same size, one for each input.
+   * The option at index {@code i} has the forward, strike, time to expiry and volatility at index {@code i}.
+   * This is equivalent to calling {@link #price(double, double, double, double, boolean)} for each option,
+   * but avoids the validation and the edge case handling when the inputs are in the usual range.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @param isCall  true for call, false for put
+   * @return the forward prices
+   */
+  public static DoubleArray price(
+      DoubleArray forwards,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      DoubleArray lognormalVols,
+      boolean isCall) {
+
+    int size = checkSizes(forwards, strikes, timesToExpiry, lognormalVols);
+    double[] fwd = forwards.toArrayUnsafe();
+    double[] str = strikes.toArrayUnsafe();
+    double[] time = timesToExpiry.toArrayUnsafe();
+    double[] vol = lognormalVols.toArrayUnsafe();
+    int sign = isCall ? 1 : -1;
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double sigmaRootT = vol[i] * Math.sqrt(time[i]);
+      if (isRegular(fwd[i], str[i], sigmaRootT)) {
+        double d1 = Math.log(fwd[i] / str[i]) / sigmaRootT + 0.5 * sigmaRootT;
+        double d2 = d1 - sigmaRootT;
+        double res = sign * (fwd[i] * NORMAL.getCDF(sign * d1) - str[i] * NORMAL.getCDF(sign * d2));
+        result[i] = Math.max(0d, res);
+      } else {
+        result[i] = price(fwd[i], str[i], time[i], vol[i], isCall);
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  /**
+   * Computes the forward driftless delta of a set of options.
+   * <p>
+   * The options are described by arrays of the same size, one for each input.
+   * The option at index {@code i} has the forward, strike, time to expiry and volatility at index {@code i}.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @param isCall  true for call, false for put
+   * @return the forward driftless deltas
+   */
+  public static DoubleArray delta(
+      DoubleArray forwards,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      DoubleArray lognormalVols,
+      boolean isCall) {
+
+    int size = checkSizes(forwards, strikes, timesToExpiry, lognormalVols);
+    double[] fwd = forwards.toArrayUnsafe();
+    double[] str = strikes.toArrayUnsafe();
+    double[] time = timesToExpiry.toArrayUnsafe();
+    double[] vol = lognormalVols.toArrayUnsafe();
+    int sign = isCall ? 1 : -1;
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double sigmaRootT = vol[i] * Math.sqrt(time[i]);
+      if (isRegular(fwd[i], str[i], sigmaRootT)) {
+        double d1 = Math.log(fwd[i] / str[i]) / sigmaRootT + 0.5 * sigmaRootT;
+        result[i] = sign * NORMAL.getCDF(sign * d1);
+      } else {
+        result[i] = delta(fwd[i], str[i], time[i], vol[i], isCall);
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  /**
+   * Computes the forward driftless gamma of a set of options.
+   * <p>
+   * The options are described by arrays of the same size, one for each input.
+   * The option at index {@code i} has the forward, strike, time to expiry and volatility at index {@code i}.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @return the forward driftless gammas
+   */
+  public static DoubleArray gamma(
+      DoubleArray forwards,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      DoubleArray lognormalVols) {
+
+    int size = checkSizes(forwards, strikes, timesToExpiry, lognormalVols);
+    double[] fwd = forwards.toArrayUnsafe();
+    double[] str = strikes.toArrayUnsafe();
+    double[] time = timesToExpiry.toArrayUnsafe();
+    double[] vol = lognormalVols.toArrayUnsafe();
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double sigmaRootT = vol[i] * Math.sqrt(time[i]);
+      if (isRegular(fwd[i], str[i], sigmaRootT)) {
+        double d1 = Math.log(fwd[i] / str[i]) / sigmaRootT + 0.5 * sigmaRootT;
+        result[i] = NORMAL.getPDF(d1) / fwd[i] / sigmaRootT;
+      } else {
+        result[i] = gamma(fwd[i], str[i], time[i], vol[i]);
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  /**
+   * Computes the forward vega of a set of options.
+   * <p>
+   * The options are described by arrays of the same size, one for each input.
+   * The option at index {@code i} has the forward, strike, time to expiry and volatility at index {@code i}.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @return the forward vegas
+   */
+  public static DoubleArray vega(
+      DoubleArray forwards,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      DoubleArray lognormalVols) {
+
+    int size = checkSizes(forwards, strikes, timesToExpiry, lognormalVols);
+    double[] fwd = forwards.toArrayUnsafe();
+    double[] str = strikes.toArrayUnsafe();
+    double[] time = timesToExpiry.toArrayUnsafe();
+    double[] vol = lognormalVols.toArrayUnsafe();
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double rootT = Math.sqrt(time[i]);
+      double sigmaRootT = vol[i] * rootT;
+      if (isRegular(fwd[i], str[i], sigmaRootT)) {
+        double d1 = Math.log(fwd[i] / str[i]) / sigmaRootT + 0.5 * sigmaRootT;
+        result[i] = fwd[i] * rootT * NORMAL.getPDF(d1);
+      } else {
+        result[i] = vega(fwd[i], str[i], time[i], vol[i]);
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  /**
+   * Computes the log-normal implied volatility of a set of options.
+   * <p>
+   * The options are described by arrays of the same size, one for each input.
+   * The option at index {@code i} has the price, forward, strike and time to expiry at index {@code i}.
+   * The search for each volatility starts from the approximation in
+   * {@link #impliedVolatilityGuess(double, double, double, double)}, rather than a fixed guess,
+   * which typically reduces the number of iterations of the root finder.
+   * 
+   * @param prices  the forward prices, which are the market prices divided by the numeraire
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param isCall  true for call, false for put
+   * @return the log-normal (Black) implied volatilities
+   */
+  public static DoubleArray impliedVolatility(
+      DoubleArray prices,
+      DoubleArray forwards,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      boolean isCall) {
+
+    int size = checkSizes(prices, forwards, strikes, timesToExpiry);
+    double[] prc = prices.toArrayUnsafe();
+    double[] fwd = forwards.toArrayUnsafe();
+    double[] str = strikes.toArrayUnsafe();
+    double[] time = timesToExpiry.toArrayUnsafe();
+    int sign = isCall ? 1 : -1;
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      ArgChecker.isTrue(fwd[i] > 0d, "negative/NaN forward; have {}", fwd[i]);
+      double otmPrice = prc[i] - Math.max(0d, sign * (fwd[i] - str[i]));
+      double volGuess = impliedVolatilityGuess(otmPrice, fwd[i], str[i], time[i]);
+      result[i] = impliedVolatility(otmPrice, fwd[i], str[i], time[i], volGuess);
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  /**
+   * Computes the log-normal implied volatility of a set of out-the-money options starting from initial guesses.
+   * <p>
+   * The options are described by arrays of the same size, one for each input.
+   * The option at index {@code i} has the price, forward, strike, time to expiry and guess at index {@code i}.
+   * Each price MUST be an OTM price, i.e. a call price for strike >= forward and a put price otherwise.
+   * 
+   * @param otmPrices  the forward prices, which are the market prices divided by the numeraire
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param volGuesses  the guesses of the implied volatilities
+   * @return the log-normal (Black) implied volatilities
+   */
+  public static DoubleArray impliedVolatility(
+      DoubleArray otmPrices,
+      DoubleArray forwards,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      DoubleArray volGuesses) {
+
+    int size = checkSizes(otmPrices, forwards, strikes, timesToExpiry, volGuesses);
+    double[] prc = otmPrices.toArrayUnsafe();
+    double[] fwd = forwards.toArrayUnsafe();
+    double[] str = strikes.toArrayUnsafe();
+    double[] time = timesToExpiry.toArrayUnsafe();
+    double[] guess = volGuesses.toArrayUnsafe();
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      result[i] = impliedVolatility(prc[i], fwd[i], str[i], time[i], guess[i]);
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  /**
+   * Computes an approximation of the log-normal implied volatility of an out-the-money option.
+   * <p>
+   * This uses the explicit approximation of Corrado and Miller, which is accurate close to the money.
+   * It is intended to be used as the initial guess of
+   * {@link #impliedVolatility(double, double, double, double, double)}.
+   * If the approximation cannot be computed, a guess of 30% is returned.
+   * <p>
+   * Reference: Corrado, C. J. and Miller, T. W. A note on a simple, accurate formula to compute implied
+   * standard deviations. Journal of Banking and Finance, 20(3):595-603, 1996.
+   * 
+   * @param otmPrice  the forward price, which is the market price divided by the numeraire
+   * @param forward  the forward value of the underlying
+   * @param strike  the strike
+   * @param timeToExpiry  the time to expiry
+   * @return the approximate log-normal (Black) implied volatility
+   */
+  public static double impliedVolatilityGuess(double otmPrice, double forward, double strike, double timeToExpiry) {
+    double halfMoneyness = 0.5 * (forward - strike);
+    double callPrice = otmPrice + Math.max(forward - strike, 0d);
+    double shifted = callPrice - halfMoneyness;
+    double discriminant = shifted * shifted - 4d * halfMoneyness * halfMoneyness / Math.PI;
+    double sigmaRootT =
+        (shifted + Math.sqrt(Math.max(discriminant, 0d))) * Math.sqrt(2d * Math.PI) / (forward + strike);
+    double guess = sigmaRootT / Math.sqrt(timeToExpiry);
+    return guess > 0d && guess < LARGE ? guess : VOL_GUESS;
+  }
+
+  // checks the arrays describing a set of options are of the same size, returning the size
+  // also used by the other formula repositories of the package
+  static int checkSizes(DoubleArray... arrays) {
+    ArgChecker.noNulls(arrays, "arrays");
+    int size = arrays[0].size();
+    for (DoubleArray array : arrays) {
+      ArgChecker.isTrue(
+          array.size() == size, "Arrays must be of the same size, expected {} but was {}", size, array.size());
+    }
+    return size;
+  }
+
+  // true if the inputs are valid and the formulas need no special handling of small or large values
+  private static boolean isRegular(double forward, double strike, double sigmaRootT) {
+    return forward > 0d && forward <= LARGE && strike > 0d && strike <= LARGE &&
+        sigmaRootT >= SMALL && sigmaRootT <= LARGE && Math.abs(forward - strike) >= SMALL;
+  }
+
 }
@@ -6,6 +6,7 @@
 package com.opengamma.strata.pricer.impl.option;
 
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
 import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
 
@@ -1483,4 +1484,242 @@ public final class BlackScholesFormulaRepository {
     return Double.isNaN(result) ? sign * coef : result;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the spot price of a set of options.
+   * <p>
+   * The options are described by arrays of the same size, one for each input.
+   * The option at index {@code i} has the spot, strike, time to expiry, volatility, interest rate
+   * and cost-of-carry rate at index {@code i}.
+   * This is equivalent to calling {@link #price(double, double, double, double, double, double, boolean)}
+   * for each option, but avoids the validation and the edge case handling when the inputs are in the usual range.
+   * 
+   * @param spots  the spot values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @param interestRates  the interest rates
+   * @param costsOfCarry  the cost-of-carry rates
+   * @param isCall  true for call, false for put
+   * @return the spot prices
+   */
+  public static DoubleArray price(
+      DoubleArray spots,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      DoubleArray lognormalVols,
+      DoubleArray interestRates,
+      DoubleArray costsOfCarry,
+      boolean isCall) {
+
+    int size = BlackFormulaRepository.checkSizes(
+        spots, strikes, timesToExpiry, lognormalVols, interestRates, costsOfCarry);
+    double[] spot = spots.toArrayUnsafe();
+    double[] str = strikes.toArrayUnsafe();
+    double[] time = timesToExpiry.toArrayUnsafe();
+    double[] vol = lognormalVols.toArrayUnsafe();
+    double[] rate = interestRates.toArrayUnsafe();
+    double[] carry = costsOfCarry.toArrayUnsafe();
+    int sign = isCall ? 1 : -1;
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double rootT = Math.sqrt(time[i]);
+      double sigmaRootT = vol[i] * rootT;
+      if (isRegular(spot[i], str[i], vol[i], rate[i], carry[i], sigmaRootT)) {
+        double d1 = regularD1(spot[i], str[i], vol[i], carry[i], rootT, sigmaRootT);
+        double d2 = d1 - sigmaRootT;
+        double discount = Math.abs(rate[i]) < SMALL ? 1d : Math.exp(-rate[i] * time[i]);
+        double rescaledSpot = Math.exp(carry[i] * time[i]) * spot[i];
+        double res = sign * discount * (rescaledSpot * NORMAL.getCDF(sign * d1) - str[i] * NORMAL.getCDF(sign * d2));
+        result[i] = Double.isNaN(res) ? 0d : Math.max(res, 0d);
+      } else {
+        result[i] = price(spot[i], str[i], time[i], vol[i], rate[i], carry[i], isCall);
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  /**
+   * Computes the spot delta of a set of options.
+   * <p>
+   * The options are described by arrays of the same size, one for each input.
+   * The option at index {@code i} has the spot, strike, time to expiry, volatility, interest rate
+   * and cost-of-carry rate at index {@code i}.
+   * This is equivalent to calling {@link #delta(double, double, double, double, double, double, boolean)}
+   * for each option, but avoids the validation and the edge case handling when the inputs are in the usual range.
+   * 
+   * @param spots  the spot values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @param interestRates  the interest rates
+   * @param costsOfCarry  the cost-of-carry rates
+   * @param isCall  true for call, false for put
+   * @return the spot deltas
+   */
+  public static DoubleArray delta(
+      DoubleArray spots,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      DoubleArray lognormalVols,
+      DoubleArray interestRates,
+      DoubleArray costsOfCarry,
+      boolean isCall) {
+
+    int size = BlackFormulaRepository.checkSizes(
+        spots, strikes, timesToExpiry, lognormalVols, interestRates, costsOfCarry);
+    double[] spot = spots.toArrayUnsafe();
+    double[] str = strikes.toArrayUnsafe();
+    double[] time = timesToExpiry.toArrayUnsafe();
+    double[] vol = lognormalVols.toArrayUnsafe();
+    double[] rate = interestRates.toArrayUnsafe();
+    double[] carry = costsOfCarry.toArrayUnsafe();
+    int sign = isCall ? 1 : -1;
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double rootT = Math.sqrt(time[i]);
+      double sigmaRootT = vol[i] * rootT;
+      if (isRegular(spot[i], str[i], vol[i], rate[i], carry[i], sigmaRootT)) {
+        double d1 = regularD1(spot[i], str[i], vol[i], carry[i], rootT, sigmaRootT);
+        double norm = NORMAL.getCDF(sign * d1);
+        result[i] = norm < SMALL ? 0d : sign * regularCoefficient(rate[i], carry[i], time[i]) * norm;
+      } else {
+        result[i] = delta(spot[i], str[i], time[i], vol[i], rate[i], carry[i], isCall);
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  /**
+   * Computes the spot gamma of a set of options.
+   * <p>
+   * The options are described by arrays of the same size, one for each input.
+   * The option at index {@code i} has the spot, strike, time to expiry, volatility, interest rate
+   * and cost-of-carry rate at index {@code i}.
+   * This is equivalent to calling {@link #gamma(double, double, double, double, double, double)} for each option,
+   * but avoids the validation and the edge case handling when the inputs are in the usual range.
+   * 
+   * @param spots  the spot values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @param interestRates  the interest rates
+   * @param costsOfCarry  the cost-of-carry rates
+   * @return the spot gammas
+   */
+  public static DoubleArray gamma(
+      DoubleArray spots,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      DoubleArray lognormalVols,
+      DoubleArray interestRates,
+      DoubleArray costsOfCarry) {
+
+    int size = BlackFormulaRepository.checkSizes(
+        spots, strikes, timesToExpiry, lognormalVols, interestRates, costsOfCarry);
+    double[] spot = spots.toArrayUnsafe();
+    double[] str = strikes.toArrayUnsafe();
+    double[] time = timesToExpiry.toArrayUnsafe();
+    double[] vol = lognormalVols.toArrayUnsafe();
+    double[] rate = interestRates.toArrayUnsafe();
+    double[] carry = costsOfCarry.toArrayUnsafe();
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double rootT = Math.sqrt(time[i]);
+      double sigmaRootT = vol[i] * rootT;
+      if (isRegular(spot[i], str[i], vol[i], rate[i], carry[i], sigmaRootT)) {
+        double d1 = regularD1(spot[i], str[i], vol[i], carry[i], rootT, sigmaRootT);
+        double norm = NORMAL.getPDF(d1);
+        double res = norm < SMALL ? 0d : regularCoefficient(rate[i], carry[i], time[i]) * norm / spot[i] / sigmaRootT;
+        result[i] = Double.isNaN(res) ? Double.POSITIVE_INFINITY : res;
+      } else {
+        result[i] = gamma(spot[i], str[i], time[i], vol[i], rate[i], carry[i]);
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  /**
+   * Computes the spot vega of a set of options.
+   * <p>
+   * The options are described by arrays of the same size, one for each input.
+   * The option at index {@code i} has the spot, strike, time to expiry, volatility, interest rate
+   * and cost-of-carry rate at index {@code i}.
+   * This is equivalent to calling {@link #vega(double, double, double, double, double, double)} for each option,
+   * but avoids the validation and the edge case handling when the inputs are in the usual range.
+   * 
+   * @param spots  the spot values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @param interestRates  the interest rates
+   * @param costsOfCarry  the cost-of-carry rates
+   * @return the spot vegas
+   */
+  public static DoubleArray vega(
+      DoubleArray spots,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      DoubleArray lognormalVols,
+      DoubleArray interestRates,
+      DoubleArray costsOfCarry) {
+
+    int size = BlackFormulaRepository.checkSizes(
+        spots, strikes, timesToExpiry, lognormalVols, interestRates, costsOfCarry);
+    double[] spot = spots.toArrayUnsafe();
+    double[] str = strikes.toArrayUnsafe();
+    double[] time = timesToExpiry.toArrayUnsafe();
+    double[] vol = lognormalVols.toArrayUnsafe();
+    double[] rate = interestRates.toArrayUnsafe();
+    double[] carry = costsOfCarry.toArrayUnsafe();
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double rootT = Math.sqrt(time[i]);
+      double sigmaRootT = vol[i] * rootT;
+      if (isRegular(spot[i], str[i], vol[i], rate[i], carry[i], sigmaRootT)) {
+        double d1 = regularD1(spot[i], str[i], vol[i], carry[i], rootT, sigmaRootT);
+        double norm = NORMAL.getPDF(d1);
+        double res = norm < SMALL ? 0d : regularCoefficient(rate[i], carry[i], time[i]) * norm * spot[i] * rootT;
+        result[i] = Double.isNaN(res) ? Double.POSITIVE_INFINITY : res;
+      } else {
+        result[i] = vega(spot[i], str[i], time[i], vol[i], rate[i], carry[i]);
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  // true if the inputs are valid and the formulas need no special handling of small or large values
+  private static boolean isRegular(
+      double spot,
+      double strike,
+      double lognormalVol,
+      double interestRate,
+      double costOfCarry,
+      double sigmaRootT) {
+
+    return spot > 0d && spot <= LARGE && strike > 0d && strike <= LARGE &&
+        spot <= LARGE * strike && strike <= LARGE * spot && spot >= SMALL * strike &&
+        Math.abs(spot - strike) >= SMALL &&
+        lognormalVol >= SMALL && lognormalVol <= LARGE && sigmaRootT >= SMALL && sigmaRootT <= LARGE &&
+        Math.abs(interestRate) <= LARGE && Math.abs(costOfCarry) <= LARGE &&
+        Math.abs(costOfCarry - interestRate) <= LARGE;
+  }
+
+  // the d1 of regular inputs, as computed by the scalar formulas
+  private static double regularD1(
+      double spot,
+      double strike,
+      double lognormalVol,
+      double costOfCarry,
+      double rootT,
+      double sigmaRootT) {
+
+    return Math.log(spot / strike) / sigmaRootT + costOfCarry * rootT / lognormalVol + 0.5 * sigmaRootT;
+  }
+
+  // the coefficient exp((b - r) * t) of regular inputs, as computed by the scalar formulas
+  private static double regularCoefficient(double interestRate, double costOfCarry, double timeToExpiry) {
+    return Math.abs(costOfCarry - interestRate) < SMALL ? 1d : Math.exp((costOfCarry - interestRate) * timeToExpiry);
+  }
+
 }
@@ -5,6 +5,8 @@
  */
 package com.opengamma.strata.pricer.impl.option;
 
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.google.common.primitives.Doubles;
@@ -30,11 +32,11 @@ public class GenericImpliedVolatiltySolver {
   /**
    * The price function.
    */
-  private final Function<Double, Double> _priceFunc;
+  private final DoubleUnaryOperator _priceFunc;
   /**
    * The combined price and vega function.
    */
-  private final Function<Double, double[]> _priceAndVegaFunc;
+  private final DoubleFunction<double[]> _priceAndVegaFunc;
 
   /**
    * Creates an instance.
@@ -43,14 +45,8 @@ public class GenericImpliedVolatiltySolver {
    */
   public GenericImpliedVolatiltySolver(Function<Double, double[]> priceAndVegaFunc) {
     ArgChecker.notNull(priceAndVegaFunc, "priceAndVegaFunc");
-    _priceAndVegaFunc = priceAndVegaFunc;
-    _priceFunc = new Function<Double, Double>() {
-
-      @Override
-      public Double apply(Double sigma) {
-        return _priceAndVegaFunc.apply(sigma)[0];
-      }
-    };
+    _priceAndVegaFunc = sigma -> priceAndVegaFunc.apply(sigma);
+    _priceFunc = sigma -> priceAndVegaFunc.apply(sigma)[0];
   }
 
   /**
@@ -62,14 +58,44 @@ public class GenericImpliedVolatiltySolver {
   public GenericImpliedVolatiltySolver(Function<Double, Double> priceFunc, Function<Double, Double> vegaFunc) {
     ArgChecker.notNull(priceFunc, "priceFunc");
     ArgChecker.notNull(vegaFunc, "vegaFunc");
-    _priceFunc = priceFunc;
-    _priceAndVegaFunc = new Function<Double, double[]>() {
+    _priceFunc = sigma -> priceFunc.apply(sigma);
+    _priceAndVegaFunc = sigma -> new double[] {priceFunc.apply(sigma), vegaFunc.apply(sigma)};
+  }
 
-      @Override
-      public double[] apply(Double sigma) {
-        return new double[] {priceFunc.apply(sigma), vegaFunc.apply(sigma)};
-      }
-    };
+  /**
+   * Obtains an instance from a combined price and vega function of primitive doubles.
+   * <p>
+   * Using this method avoids boxing the volatility on each evaluation of the function.
+   * 
+   * @param priceAndVegaFunc  the combined price and vega function
+   * @return the solver
+   */
+  public static GenericImpliedVolatiltySolver ofPrimitive(DoubleFunction<double[]> priceAndVegaFunc) {
+    ArgChecker.notNull(priceAndVegaFunc, "priceAndVegaFunc");
+    return new GenericImpliedVolatiltySolver(sigma -> priceAndVegaFunc.apply(sigma)[0], priceAndVegaFunc);
+  }
+
+  /**
+   * Obtains an instance from price and vega functions of primitive doubles.
+   * <p>
+   * Using this method avoids boxing the volatility and the values on each evaluation of the functions.
+   * 
+   * @param priceFunc  the pricing function
+   * @param vegaFunc  the vega function
+   * @return the solver
+   */
+  public static GenericImpliedVolatiltySolver ofPrimitive(DoubleUnaryOperator priceFunc, DoubleUnaryOperator vegaFunc) {
+    ArgChecker.notNull(priceFunc, "priceFunc");
+    ArgChecker.notNull(vegaFunc, "vegaFunc");
+    return new GenericImpliedVolatiltySolver(
+        priceFunc,
+        sigma -> new double[] {priceFunc.applyAsDouble(sigma), vegaFunc.applyAsDouble(sigma)});
+  }
+
+  // creates an instance from the primitive functions
+  private GenericImpliedVolatiltySolver(DoubleUnaryOperator priceFunc, DoubleFunction<double[]> priceAndVegaFunc) {
+    _priceFunc = priceFunc;
+    _priceAndVegaFunc = priceAndVegaFunc;
   }
 
   //-------------------------------------------------------------------------
@@ -164,13 +190,8 @@ public class GenericImpliedVolatiltySolver {
   //-------------------------------------------------------------------------
   private double[] bracketRoot(double optionPrice, double sigma) {
     BracketRoot bracketer = new BracketRoot();
-    Function<Double, Double> func = new Function<Double, Double>() {
-      @Override
-      public Double apply(Double volatility) {
-        return _priceFunc.apply(volatility) / optionPrice - 1.0;
-      }
-    };
-    return bracketer.getBracketedPoints(
+    DoubleUnaryOperator func = volatility -> _priceFunc.applyAsDouble(volatility) / optionPrice - 1.0;
+    return bracketer.getBracketedPointsPrimitive(
         func,
         Math.max(0.0, sigma - BRACKET_STEP),
         sigma + BRACKET_STEP,
@@ -180,15 +201,8 @@ public class GenericImpliedVolatiltySolver {
 
   private double solveByBisection(double optionPrice, double lowerSigma, double upperSigma) {
     BisectionSingleRootFinder rootFinder = new BisectionSingleRootFinder(VOL_TOL);
-    Function<Double, Double> func = new Function<Double, Double>() {
-
-      @Override
-      public Double apply(Double volatility) {
-        double trialPrice = _priceFunc.apply(volatility);
-        return trialPrice / optionPrice - 1.0;
-      }
-    };
-    return rootFinder.getRoot(func, lowerSigma, upperSigma);
+    DoubleUnaryOperator func = volatility -> _priceFunc.applyAsDouble(volatility) / optionPrice - 1.0;
+    return rootFinder.getRootPrimitive(func, lowerSigma, upperSigma);
   }
 
 }
@@ -5,7 +5,7 @@
  */
 package com.opengamma.strata.pricer.impl.option;
 
-import java.util.function.Function;
+import java.util.function.DoubleUnaryOperator;
 
 import com.google.common.math.DoubleMath;
 import com.opengamma.strata.basics.value.ValueDerivatives;
@@ -303,14 +303,10 @@ public final class NormalFormulaRepository {
       if (count++ > MAX_ITERATIONS) {
         BracketRoot bracketer = new BracketRoot();
         BisectionSingleRootFinder rootFinder = new BisectionSingleRootFinder(EPS);
-        Function<Double, Double> func = new Function<Double, Double>() {
-          @Override
-          public Double apply(Double volatility) {
-            return numeraire * price(forward, strike, timeToExpiry, volatility, putCall) - optionPrice;
-          }
-        };
-        double[] range = bracketer.getBracketedPoints(func, 0d, 10d);
-        return rootFinder.getRoot(func, range[0], range[1]);
+        DoubleUnaryOperator func =
+            volatility -> numeraire * price(forward, strike, timeToExpiry, volatility, putCall) - optionPrice;
+        double[] range = bracketer.getBracketedPointsPrimitive(func, 0d, 10d);
+        return rootFinder.getRootPrimitive(func, range[0], range[1]);
       }
     }
     return sigma;
@@ -391,4 +387,274 @@ public final class NormalFormulaRepository {
     return ValueDerivatives.of(normalVol, DoubleArray.of(blackVolatilityBar));
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the forward price of a set of options.
+   * <p>
+   * The options are described by arrays of the same size, one for each input.
+   * The option at index {@code i} has the forward, strike, time to expiry and volatility at index {@code i}.
+   * This is equivalent to calling {@link #price(double, double, double, double, PutCall)} for each option,
+   * but avoids the edge case handling when the volatility and time to expiry are not close to zero.
+   * <p>
+   * Note that the 'numeraire' is a simple multiplier and is the responsibility of the caller.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param normalVols  the normal volatilities
+   * @param putCall  whether the options are put or call
+   * @return the forward prices
+   */
+  public static DoubleArray price(
+      DoubleArray forwards,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      DoubleArray normalVols,
+      PutCall putCall) {
+
+    int size = BlackFormulaRepository.checkSizes(forwards, strikes, timesToExpiry, normalVols);
+    double[] fwd = forwards.toArrayUnsafe();
+    double[] str = strikes.toArrayUnsafe();
+    double[] time = timesToExpiry.toArrayUnsafe();
+    double[] vol = normalVols.toArrayUnsafe();
+    int sign = putCall.isCall() ? 1 : -1;
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double sigmaRootT = vol[i] * Math.sqrt(time[i]);
+      if (sigmaRootT >= NEAR_ZERO) {
+        double moneyness = sign * (fwd[i] - str[i]);
+        double arg = moneyness / sigmaRootT;
+        result[i] = moneyness * DISTRIBUTION.getCDF(arg) + sigmaRootT * DISTRIBUTION.getPDF(arg);
+      } else {
+        result[i] = price(fwd[i], str[i], time[i], vol[i], putCall);
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  /**
+   * Computes the delta of a set of options.
+   * <p>
+   * The options are described by arrays of the same size, one for each input.
+   * The option at index {@code i} has the forward, strike, time to expiry and volatility at index {@code i}.
+   * This is equivalent to calling {@link #delta(double, double, double, double, PutCall)} for each option,
+   * but avoids the edge case handling when the volatility and time to expiry are not close to zero.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param normalVols  the normal volatilities
+   * @param putCall  whether the options are put or call
+   * @return the deltas
+   */
+  public static DoubleArray delta(
+      DoubleArray forwards,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      DoubleArray normalVols,
+      PutCall putCall) {
+
+    int size = BlackFormulaRepository.checkSizes(forwards, strikes, timesToExpiry, normalVols);
+    double[] fwd = forwards.toArrayUnsafe();
+    double[] str = strikes.toArrayUnsafe();
+    double[] time = timesToExpiry.toArrayUnsafe();
+    double[] vol = normalVols.toArrayUnsafe();
+    int sign = putCall.isCall() ? 1 : -1;
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double sigmaRootT = vol[i] * Math.sqrt(time[i]);
+      if (sigmaRootT >= NEAR_ZERO) {
+        result[i] = sign * DISTRIBUTION.getCDF(sign * (fwd[i] - str[i]) / sigmaRootT);
+      } else {
+        result[i] = delta(fwd[i], str[i], time[i], vol[i], putCall);
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  /**
+   * Computes the gamma of a set of options.
+   * <p>
+   * The options are described by arrays of the same size, one for each input.
+   * The option at index {@code i} has the forward, strike, time to expiry and volatility at index {@code i}.
+   * This is equivalent to calling {@link #gamma(double, double, double, double, PutCall)} for each option,
+   * but avoids the edge case handling when the volatility and time to expiry are not close to zero.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param normalVols  the normal volatilities
+   * @param putCall  whether the options are put or call
+   * @return the gammas
+   */
+  public static DoubleArray gamma(
+      DoubleArray forwards,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      DoubleArray normalVols,
+      PutCall putCall) {
+
+    int size = BlackFormulaRepository.checkSizes(forwards, strikes, timesToExpiry, normalVols);
+    double[] fwd = forwards.toArrayUnsafe();
+    double[] str = strikes.toArrayUnsafe();
+    double[] time = timesToExpiry.toArrayUnsafe();
+    double[] vol = normalVols.toArrayUnsafe();
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double sigmaRootT = vol[i] * Math.sqrt(time[i]);
+      if (sigmaRootT >= NEAR_ZERO) {
+        result[i] = DISTRIBUTION.getPDF((fwd[i] - str[i]) / sigmaRootT) / sigmaRootT;
+      } else {
+        result[i] = gamma(fwd[i], str[i], time[i], vol[i], putCall);
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  /**
+   * Computes the vega of a set of options.
+   * <p>
+   * The options are described by arrays of the same size, one for each input.
+   * The option at index {@code i} has the forward, strike, time to expiry and volatility at index {@code i}.
+   * This is equivalent to calling {@link #vega(double, double, double, double, PutCall)} for each option,
+   * but avoids the edge case handling when the volatility and time to expiry are not close to zero.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param normalVols  the normal volatilities
+   * @param putCall  whether the options are put or call
+   * @return the vegas
+   */
+  public static DoubleArray vega(
+      DoubleArray forwards,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      DoubleArray normalVols,
+      PutCall putCall) {
+
+    int size = BlackFormulaRepository.checkSizes(forwards, strikes, timesToExpiry, normalVols);
+    double[] fwd = forwards.toArrayUnsafe();
+    double[] str = strikes.toArrayUnsafe();
+    double[] time = timesToExpiry.toArrayUnsafe();
+    double[] vol = normalVols.toArrayUnsafe();
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double rootT = Math.sqrt(time[i]);
+      double sigmaRootT = vol[i] * rootT;
+      if (sigmaRootT >= NEAR_ZERO) {
+        result[i] = DISTRIBUTION.getPDF((fwd[i] - str[i]) / sigmaRootT) * rootT;
+      } else {
+        result[i] = vega(fwd[i], str[i], time[i], vol[i], putCall);
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  /**
+   * Computes the implied volatility of a set of options.
+   * <p>
+   * The options are described by arrays of the same size, one for each input.
+   * The option at index {@code i} has the price, forward, strike, time to expiry and initial volatility
+   * at index {@code i}. If an initial volatility is zero, a default is used to start the search.
+   * This is equivalent to calling
+   * {@link #impliedVolatility(double, double, double, double, double, double, PutCall)} for each option,
+   * but the Newton iteration does not allocate the price derivatives when the price exceeds the intrinsic value.
+   * 
+   * @param optionPrices  the prices of the options
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param initialNormalVols  the normal volatilities used to start the search
+   * @param numeraire  the numeraire
+   * @param putCall  whether the options are put or call
+   * @return the implied volatilities
+   */
+  public static DoubleArray impliedVolatility(
+      DoubleArray optionPrices,
+      DoubleArray forwards,
+      DoubleArray strikes,
+      DoubleArray timesToExpiry,
+      DoubleArray initialNormalVols,
+      double numeraire,
+      PutCall putCall) {
+
+    int size = BlackFormulaRepository.checkSizes(optionPrices, forwards, strikes, timesToExpiry, initialNormalVols);
+    double[] prc = optionPrices.toArrayUnsafe();
+    double[] fwd = forwards.toArrayUnsafe();
+    double[] str = strikes.toArrayUnsafe();
+    double[] time = timesToExpiry.toArrayUnsafe();
+    double[] vol = initialNormalVols.toArrayUnsafe();
+    int sign = putCall.isCall() ? 1 : -1;
+    double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      double intrinsicPrice = numeraire * Math.max(0, sign * (fwd[i] - str[i]));
+      double sigma = Double.NaN;
+      if (prc[i] > intrinsicPrice) {
+        sigma = impliedVolatilityNewton(prc[i], fwd[i], str[i], Math.sqrt(time[i]), vol[i], numeraire, sign);
+      }
+      result[i] = Double.isNaN(sigma) ?
+          impliedVolatility(prc[i], fwd[i], str[i], time[i], vol[i], numeraire, putCall) :
+          sigma;
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  // the Newton iteration of the implied volatility, without allocating the price derivatives
+  // the steps are those of impliedVolatility(), NaN is returned if the iteration does not converge
+  private static double impliedVolatilityNewton(
+      double optionPrice,
+      double forward,
+      double strike,
+      double rootT,
+      double initialNormalVol,
+      double numeraire,
+      int sign) {
+
+    double sigma = (Math.abs(initialNormalVol) < 1e-10 ? 0.3 * forward : initialNormalVol);
+    double maxChange = 0.5 * forward;
+    double moneyness = sign * (forward - strike);
+    double change = newtonChange(optionPrice, moneyness, rootT, sigma, maxChange, numeraire);
+    int count = 0;
+    while (Math.abs(change) > EPS) {
+      sigma -= change;
+      change = newtonChange(optionPrice, moneyness, rootT, sigma, maxChange, numeraire);
+      if (count++ > MAX_ITERATIONS) {
+        return Double.NaN;
+      }
+    }
+    return sigma;
+  }
+
+  // the bounded Newton step of the implied volatility, using the price and vega as computed by priceAdjoint()
+  private static double newtonChange(
+      double optionPrice,
+      double moneyness,
+      double rootT,
+      double sigma,
+      double maxChange,
+      double numeraire) {
+
+    double price;
+    double vega;
+    double sigmaRootT = sigma * rootT;
+    if (sigmaRootT < NEAR_ZERO) {
+      price = (moneyness > 0 ? numeraire * moneyness : 0d);
+      vega = 0d;
+    } else {
+      double arg = moneyness / sigmaRootT;
+      double cdf = DISTRIBUTION.getCDF(arg);
+      double pdf = DISTRIBUTION.getPDF(arg);
+      price = numeraire * (moneyness * cdf + sigmaRootT * pdf);
+      double argBar = pdf * (numeraire * moneyness) - pdf * arg * (numeraire * sigmaRootT);
+      vega = rootT * (-arg / sigmaRootT * argBar + numeraire * pdf);
+    }
+    double change = (price - optionPrice) / vega;
+    change = Math.signum(change) * Math.min(maxChange, Math.abs(change));
+    if (change > 0 && change > sigma) {
+      change = sigma;
+    }
+    return change;
+  }
+
 }
@@ -11,6 +11,7 @@ import static com.opengamma.strata.market.curve.interpolator.CurveInterpolators.
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.google.common.collect.ImmutableList;
@@ -111,7 +112,8 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
         return impliedVolatilitySurface.zValue(tk);
       }
     };
-    ImmutableList<double[]> localVolData = calibrate(surface, spot, interestRate, dividendRate).getFirst();
+    ImmutableList<double[]> localVolData =
+        calibrate(surface, spot, t -> interestRate.apply(t), t -> dividendRate.apply(t)).getFirst();
     SurfaceMetadata metadata = DefaultSurfaceMetadata.builder()
         .xValueType(ValueType.YEAR_FRACTION)
         .yValueType(ValueType.STRIKE)
@@ -141,6 +143,28 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
       Function<Double, Double> interestRate,
       Function<Double, Double> dividendRate) {
     
+    DoubleUnaryOperator interestRateFn = t -> interestRate.apply(t);
+    DoubleUnaryOperator dividendRateFn = t -> dividendRate.apply(t);
+    return calibrate(impliedVolatilitySurface, spot, interestRateFn, dividendRateFn).getSecond();
+  }
+
+  /**
+   * Calibrate trinomial tree to implied volatility surface, with rates that are functions of primitive doubles.
+   * <p>
+   * Using this method avoids boxing the time and the rate each time a rate is evaluated.
+   * 
+   * @param impliedVolatilitySurface  the implied volatility surface
+   * @param spot  the spot
+   * @param interestRate  the interest rate
+   * @param dividendRate  the dividend rate
+   * @return the trinomial tree 
+   */
+  public RecombiningTrinomialTreeData calibrateImpliedVolatilityPrimitive(
+      Function<DoublesPair, Double> impliedVolatilitySurface,
+      double spot,
+      DoubleUnaryOperator interestRate,
+      DoubleUnaryOperator dividendRate) {
+
     return calibrate(impliedVolatilitySurface, spot, interestRate, dividendRate).getSecond();
   }
 
@@ -151,6 +175,8 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
       Function<Double, Double> interestRate,
       Function<Double, Double> dividendRate) {
 
+    DoubleUnaryOperator interestRateFn = t -> interestRate.apply(t);
+    DoubleUnaryOperator dividendRateFn = t -> dividendRate.apply(t);
     double[][] stateValue = new double[nSteps + 1][];
     double[] df = new double[nSteps];
     List<DoubleMatrix> probability = new ArrayList<DoubleMatrix>(nSteps);
@@ -170,8 +196,8 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
     double[] assetPrice = new double[2 * nSteps + 1];
     for (int i = nSteps; i > -1; --i) {
       if (i == 0) {
-        resolveFirstLayer(interestRate, dividendRate, nTotal, dt, spot, adSec, assetPrice, timeRes, spotRes, volRes,
-            df, stateValue, probability);
+        resolveFirstLayer(interestRateFn, dividendRateFn, nTotal, dt, spot, adSec, assetPrice, timeRes, spotRes,
+            volRes, df, stateValue, probability);
       } else {
         double time = dt * i;
         double zeroRate = interestRate.apply(time);
@@ -196,8 +222,9 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
               - spot * Math.exp(-zeroDividendRate * time) + Math.exp(-zeroRate * time) * assetPriceLocal[j];
           assetTmp *= upFactor;
         }
-        resolveLayer(interestRate, dividendRate, i, nTotal, position, dt, zeroRate, zeroDividendRate, callOptionPrice,
-            putOptionPrice, adSec, assetPrice, assetPriceLocal, timeRes, spotRes, volRes, df, stateValue, probability);
+        resolveLayer(interestRateFn, dividendRateFn, i, nTotal, position, dt, zeroRate, zeroDividendRate,
+            callOptionPrice, putOptionPrice, adSec, assetPrice, assetPriceLocal, timeRes, spotRes, volRes, df,
+            stateValue, probability);
       }
     }
     SurfaceMetadata metadata = DefaultSurfaceMetadata.builder()
@@ -218,8 +245,8 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
   private Pair<ImmutableList<double[]>, RecombiningTrinomialTreeData> calibrate(
       Function<DoublesPair, Double> impliedVolatilitySurface,
       double spot,
-      Function<Double, Double> interestRate,
-      Function<Double, Double> dividendRate) {
+      DoubleUnaryOperator interestRate,
+      DoubleUnaryOperator dividendRate) {
 
     double[][] stateValue = new double[nSteps + 1][];
     double[] df = new double[nSteps];
@@ -243,8 +270,8 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
         resolveFirstLayer(interestRate, dividendRate, nTotal, dt, spot, adSec, assetPrice, timeRes, spotRes, volRes,
             df, stateValue, probability);
       } else {
-        double zeroRate = interestRate.apply(timePrim[i]);
-        double zeroDividendRate = dividendRate.apply(timePrim[i]);
+        double zeroRate = interestRate.applyAsDouble(timePrim[i]);
+        double zeroDividendRate = dividendRate.applyAsDouble(timePrim[i]);
         double zeroCostRate = zeroRate - zeroDividendRate;
         int nNodes = 2 * i + 1;
         double[] assetPriceLocal = new double[nNodes];
@@ -280,12 +307,12 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
   }
 
   // resolve the t=0 layer
-  private void resolveFirstLayer(Function<Double, Double> interestRate, Function<Double, Double> dividendRate,
+  private void resolveFirstLayer(DoubleUnaryOperator interestRate, DoubleUnaryOperator dividendRate,
       int nTotal, double dt, double spot, double[] adSec, double[] assetPrice, double[] timeRes, double[] spotRes,
       double[] volRes, double[] df, double[][] stateValue, List<DoubleMatrix> probability) {
 
-    double discountFactor = Math.exp(-interestRate.apply(dt) * dt);
-    double fwdFactor = Math.exp((interestRate.apply(dt) - dividendRate.apply(dt)) * dt);
+    double discountFactor = Math.exp(-interestRate.applyAsDouble(dt) * dt);
+    double fwdFactor = Math.exp((interestRate.applyAsDouble(dt) - dividendRate.applyAsDouble(dt)) * dt);
     double upProb = adSec[2] / discountFactor;
     double midProb = getMiddle(upProb, fwdFactor, spot, assetPrice[0], assetPrice[1], assetPrice[2]);
     double dwProb = 1d - upProb - midProb;
@@ -302,7 +329,7 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
   }
 
   // resolve the i-th layer
-  private void resolveLayer(Function<Double, Double> interestRate, Function<Double, Double> dividendRate, int i,
+  private void resolveLayer(DoubleUnaryOperator interestRate, DoubleUnaryOperator dividendRate, int i,
       int nTotal, int position, double dt, double zeroRate, double zeroDividendRate, double[] callOptionPrice,
       double[] putOptionPrice, double[] adSec, double[] assetPrice, double[] assetPriceLocal, double[] timeRes,
       double[] spotRes, double[] volRes, double[] df, double[][] stateValue, List<DoubleMatrix> probability) {
@@ -330,8 +357,8 @@ public class ImpliedTrinomialTreeLocalVolatilityCalculator implements LocalVolat
     if (i != nSteps) {
       double time = dt * i;
       double timeNext = dt * (i - 1);
-      double rate = (zeroRate * time - interestRate.apply(timeNext) * timeNext) / dt;
-      double dividend = (zeroDividendRate * time - dividendRate.apply(timeNext) * timeNext) / dt;
+      double rate = (zeroRate * time - interestRate.applyAsDouble(timeNext) * timeNext) / dt;
+      double dividend = (zeroDividendRate * time - dividendRate.applyAsDouble(timeNext) * timeNext) / dt;
       double cost = rate - dividend;
       double discountFactor = Math.exp(-rate * dt);
       double fwdFactor = Math.exp(cost * dt);
@@ -0,0 +1,623 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.currency.Payment;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.sensitivity.AdjointTape;
+import com.opengamma.strata.product.deposit.ResolvedTermDeposit;
+import com.opengamma.strata.product.fra.FraDiscountingMethod;
+import com.opengamma.strata.product.fra.ResolvedFra;
+import com.opengamma.strata.product.rate.FixedRateComputation;
+import com.opengamma.strata.product.rate.IborRateComputation;
+import com.opengamma.strata.product.rate.RateComputation;
+import com.opengamma.strata.product.swap.KnownAmountSwapPaymentPeriod;
+import com.opengamma.strata.product.swap.NegativeRateMethod;
+import com.opengamma.strata.product.swap.NotionalExchange;
+import com.opengamma.strata.product.swap.RateAccrualPeriod;
+import com.opengamma.strata.product.swap.RatePaymentPeriod;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swap.SwapPaymentEvent;
+import com.opengamma.strata.product.swap.SwapPaymentPeriod;
+
+/**
+ * A pricing plan for a resolved rates product, reusable against any market data.
+ * <p>
+ * The standard pricers walk the structure of the product each time it is priced, re-reading the
+ * same payment dates, year fractions and index observations. A pricing plan performs this walk once,
+ * flattening the product into arrays of cash flows. Each cash flow is either a known amount,
+ * an Ibor coupon or a FRA settlement, paid on a single date.
+ * <p>
+ * The plan can then be priced repeatedly against different {@link RatesProvider} instances.
+ * Pricing looks up the discount factors of each currency and the rates of each Ibor index once,
+ * then obtains the discount factors of all the cash flows of each currency in one bulk operation,
+ * see {@link DiscountFactors#discountFactors(double[], double[])}.
+ * <p>
+ * The present value matches that of the standard discounting pricers, to within rounding.
+ * A plan can be created for a {@link ResolvedSwap}, {@link ResolvedFra} or {@link ResolvedTermDeposit}.
+ * Swaps are supported if each payment period is either a {@link KnownAmountSwapPaymentPeriod} or a
+ * {@link RatePaymentPeriod} with a single accrual period, no FX reset and a fixed or Ibor rate,
+ * and if each payment event is a {@link NotionalExchange}.
+ * FRAs are supported if the floating rate is a single Ibor fixing.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class PricingPlan {
+
+  /**
+   * The type of a cash flow with a known amount.
+   */
+  private static final int KNOWN_AMOUNT = 0;
+  /**
+   * The type of a cash flow based on an Ibor rate.
+   */
+  private static final int IBOR_COUPON = 1;
+  /**
+   * The type of a FRA cash flow using no discounting.
+   */
+  private static final int FRA_NONE = 2;
+  /**
+   * The type of a FRA cash flow using ISDA discounting.
+   */
+  private static final int FRA_ISDA = 3;
+  /**
+   * The type of a FRA cash flow using AFMA discounting.
+   */
+  private static final int FRA_AFMA = 4;
+
+  /**
+   * The currencies of the cash flows.
+   */
+  private final ImmutableList<Currency> currencies;
+  /**
+   * The Ibor indices of the cash flows.
+   */
+  private final ImmutableList<IborIndex> indices;
+  /**
+   * The type of each cash flow.
+   */
+  private final int[] types;
+  /**
+   * The position of the currency of each cash flow in the list of currencies.
+   */
+  private final int[] currencyPositions;
+  /**
+   * The payment date of each cash flow.
+   */
+  private final LocalDate[] paymentDates;
+  /**
+   * The amount of each known cash flow, or the notional of each Ibor coupon and FRA.
+   */
+  private final double[] amounts;
+  /**
+   * The year fraction of each Ibor coupon and FRA.
+   */
+  private final double[] yearFractions;
+  /**
+   * The gearing of each Ibor coupon.
+   */
+  private final double[] gearings;
+  /**
+   * The spread of each Ibor coupon, or the fixed rate of each FRA.
+   */
+  private final double[] spreads;
+  /**
+   * The negative rate method of each Ibor coupon.
+   */
+  private final NegativeRateMethod[] negativeRateMethods;
+  /**
+   * The position of the index of each Ibor coupon and FRA in the list of indices.
+   */
+  private final int[] indexPositions;
+  /**
+   * The observation of each Ibor coupon and FRA, null for known amounts.
+   */
+  private final IborIndexObservation[] observations;
+  /**
+   * The indices of the cash flows in each currency, in the order of the list of currencies.
+   * The cash flows of each currency are sorted by payment date, thus those paid before
+   * the valuation date are always at the start.
+   */
+  private final int[][] currencyCashFlows;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a pricing plan for a swap.
+   *
+   * @param swap  the swap
+   * @return the pricing plan
+   * @throws IllegalArgumentException if the swap contains a period or event that is not supported
+   */
+  public static PricingPlan of(ResolvedSwap swap) {
+    ArgChecker.notNull(swap, "swap");
+    Builder builder = new Builder();
+    for (ResolvedSwapLeg leg : swap.getLegs()) {
+      for (SwapPaymentPeriod period : leg.getPaymentPeriods()) {
+        builder.addPeriod(period);
+      }
+      for (SwapPaymentEvent event : leg.getPaymentEvents()) {
+        if (!(event instanceof NotionalExchange)) {
+          throw new IllegalArgumentException(Messages.format(
+              "Payment event type not supported by pricing plan: {}", event.getClass().getSimpleName()));
+        }
+        builder.addKnownAmount(((NotionalExchange) event).getPayment());
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Obtains a pricing plan for a FRA.
+   *
+   * @param fra  the FRA
+   * @return the pricing plan
+   * @throws IllegalArgumentException if the floating rate of the FRA is not supported
+   */
+  public static PricingPlan of(ResolvedFra fra) {
+    ArgChecker.notNull(fra, "fra");
+    Builder builder = new Builder();
+    builder.addFra(fra);
+    return builder.build();
+  }
+
+  /**
+   * Obtains a pricing plan for a term deposit.
+   * <p>
+   * The plan consists of the initial payment of the notional and the final repayment of notional and interest.
+   *
+   * @param deposit  the term deposit
+   * @return the pricing plan
+   */
+  public static PricingPlan of(ResolvedTermDeposit deposit) {
+    ArgChecker.notNull(deposit, "deposit");
+    Builder builder = new Builder();
+    builder.addKnownAmount(deposit.getCurrency(), deposit.getStartDate(), -deposit.getNotional());
+    builder.addKnownAmount(deposit.getCurrency(), deposit.getEndDate(), deposit.getNotional() + deposit.getInterest());
+    return builder.build();
+  }
+
+  // restricted constructor
+  private PricingPlan(Builder builder) {
+    int size = builder.types.size();
+    this.currencies = ImmutableList.copyOf(builder.currencies.keySet());
+    this.indices = ImmutableList.copyOf(builder.indices.keySet());
+    this.types = builder.types.stream().mapToInt(i -> i).toArray();
+    this.currencyPositions = builder.currencyPositions.stream().mapToInt(i -> i).toArray();
+    this.paymentDates = builder.paymentDates.toArray(new LocalDate[size]);
+    this.amounts = builder.amounts.stream().mapToDouble(d -> d).toArray();
+    this.yearFractions = builder.yearFractions.stream().mapToDouble(d -> d).toArray();
+    this.gearings = builder.gearings.stream().mapToDouble(d -> d).toArray();
+    this.spreads = builder.spreads.stream().mapToDouble(d -> d).toArray();
+    this.negativeRateMethods = builder.negativeRateMethods.toArray(new NegativeRateMethod[size]);
+    this.indexPositions = builder.indexPositions.stream().mapToInt(i -> i).toArray();
+    this.observations = builder.observations.toArray(new IborIndexObservation[size]);
+    this.currencyCashFlows = new int[currencies.size()][];
+    for (int c = 0; c < currencyCashFlows.length; c++) {
+      int currencyPosition = c;
+      currencyCashFlows[c] = IntStream.range(0, size)
+          .filter(i -> currencyPositions[i] == currencyPosition)
+          .boxed()
+          .sorted(Comparator.comparing(i -> paymentDates[i]))
+          .mapToInt(i -> i)
+          .toArray();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the currencies of the cash flows.
+   * <p>
+   * This defines the order of the currencies in {@link #presentValue(RatesProvider, double[])}.
+   *
+   * @return the currencies
+   */
+  public ImmutableList<Currency> getCurrencies() {
+    return currencies;
+  }
+
+  /**
+   * Gets the number of cash flows in the plan.
+   *
+   * @return the number of cash flows
+   */
+  public int size() {
+    return types.length;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the plan.
+   * <p>
+   * The result is expressed using the payment currency of each cash flow.
+   * Cash flows paid before the valuation date are ignored.
+   *
+   * @param provider  the rates provider
+   * @return the present value
+   */
+  public MultiCurrencyAmount presentValue(RatesProvider provider) {
+    double[] values = new double[currencies.size()];
+    presentValue(provider, values);
+    MultiCurrencyAmount result = MultiCurrencyAmount.empty();
+    for (int i = 0; i < values.length; i++) {
+      result = result.plus(CurrencyAmount.of(currencies.get(i), values[i]));
+    }
+    return result;
+  }
+
+  /**
+   * Calculates the present value of the plan, storing the result in the specified array.
+   * <p>
+   * The present value of the cash flows paid in each currency is stored in the array,
+   * in the order defined by {@link #getCurrencies()}.
+   * Any existing values in the array are overwritten.
+   * This allows the same array to be reused when pricing against many providers.
+   *
+   * @param provider  the rates provider
+   * @param result  the array to store the result in, of the same size as the list of currencies
+   */
+  public void presentValue(RatesProvider provider, double[] result) {
+    presentValue(provider, result, createWorkspace());
+  }
+
+  /**
+   * Calculates the present value of the plan, storing the result in the specified array
+   * and using the specified workspace for intermediate values.
+   * <p>
+   * This behaves as {@link #presentValue(RatesProvider, double[])}, but does not allocate any arrays.
+   * This allows the same arrays to be reused when pricing against many providers.
+   *
+   * @param provider  the rates provider
+   * @param result  the array to store the result in, of the same size as the list of currencies
+   * @param workspace  the workspace, created by {@link #createWorkspace()} on this plan
+   */
+  public void presentValue(RatesProvider provider, double[] result, Workspace workspace) {
+    ArgChecker.isTrue(result.length == currencies.size(),
+        "Result array must have length {} but has length {}", currencies.size(), result.length);
+    ArgChecker.isTrue(workspace.plan == this, "Workspace must be created by this pricing plan");
+    IborIndexRates[] indexRates = workspace.indexRates;
+    for (int i = 0; i < indexRates.length; i++) {
+      indexRates[i] = provider.iborIndexRates(indices.get(i));
+    }
+    workspace.setValuationDate(provider.getValuationDate());
+    for (int currencyPosition = 0; currencyPosition < result.length; currencyPosition++) {
+      DiscountFactors discountFactors = provider.discountFactors(currencies.get(currencyPosition));
+      int[] cashFlows = currencyCashFlows[currencyPosition];
+      int firstLive = workspace.firstLive[currencyPosition];
+      // the discount factors of all the cash flows in the currency are obtained in one bulk operation
+      // cash flows paid before the valuation date have a year fraction of zero and are then ignored
+      double[] yearFractions = workspace.yearFractions[currencyPosition];
+      for (int index = firstLive; index < cashFlows.length; index++) {
+        yearFractions[index] = discountFactors.relativeYearFraction(paymentDates[cashFlows[index]]);
+      }
+      double[] dfs = workspace.discountFactors[currencyPosition];
+      discountFactors.discountFactors(yearFractions, dfs);
+      double total = 0d;
+      for (int index = firstLive; index < cashFlows.length; index++) {
+        total += forecastValue(cashFlows[index], indexRates) * dfs[index];
+      }
+      result[currencyPosition] = total;
+    }
+    Arrays.fill(indexRates, null);
+  }
+
+  /**
+   * Creates a workspace for use with {@link #presentValue(RatesProvider, double[], Workspace)}.
+   * <p>
+   * The workspace holds the intermediate arrays, sized for the cash flows of this plan.
+   * It also retains the cash flows that are live at the last valuation date, thus pricing
+   * repeatedly at the same valuation date does not compare any payment dates.
+   * A workspace is not thread-safe, thus each thread should create its own.
+   *
+   * @return the workspace
+   */
+  public Workspace createWorkspace() {
+    return new Workspace(this);
+  }
+
+  /**
+   * Calculates the present value sensitivity of the plan to the curve parameters.
+   * <p>
+   * The calculation is recorded on an {@link AdjointTape}, and the sensitivity to all curve parameters
+   * is then obtained in one backward sweep for each currency. The result matches the parameter sensitivity
+   * of the standard discounting pricers, to within rounding.
+   * <p>
+   * Only discount factors and Ibor index rates that are backed by zero-rate or discount factor curves
+   * are supported, see {@link AdjointTape}.
+   *
+   * @param provider  the rates provider
+   * @return the parameter sensitivity of the present value
+   * @throws IllegalArgumentException if the market data is not supported by the tape
+   */
+  public CurrencyParameterSensitivities presentValueSensitivity(RatesProvider provider) {
+    DiscountFactors[] discountFactors = new DiscountFactors[currencies.size()];
+    int[] totals = new int[currencies.size()];
+    AdjointTape tape = new AdjointTape();
+    for (int i = 0; i < discountFactors.length; i++) {
+      discountFactors[i] = provider.discountFactors(currencies.get(i));
+      totals[i] = tape.constant(0d);
+    }
+    IborIndexRates[] indexRates = new IborIndexRates[indices.size()];
+    for (int i = 0; i < indexRates.length; i++) {
+      indexRates[i] = provider.iborIndexRates(indices.get(i));
+    }
+    LocalDate valuationDate = provider.getValuationDate();
+    for (int i = 0; i < types.length; i++) {
+      if (!paymentDates[i].isBefore(valuationDate)) {
+        int currencyPosition = currencyPositions[i];
+        int forecastValue;
+        if (types[i] == KNOWN_AMOUNT) {
+          forecastValue = tape.constant(amounts[i]);
+        } else {
+          int rate = tape.rate(indexRates[indexPositions[i]], observations[i]);
+          double rateValue = tape.value(rate);
+          forecastValue = tape.record(forecastValue(i, rateValue), rate, forecastValueRateDerivative(i, rateValue));
+        }
+        int discountFactor = tape.discountFactor(discountFactors[currencyPosition], paymentDates[i]);
+        int presentValue = tape.multipliedBy(forecastValue, discountFactor);
+        totals[currencyPosition] = tape.plus(totals[currencyPosition], presentValue);
+      }
+    }
+    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
+    for (int i = 0; i < totals.length; i++) {
+      result = result.combinedWith(tape.parameterSensitivity(totals[i], currencies.get(i)));
+    }
+    return result;
+  }
+
+  // the forecast value of a single cash flow
+  private double forecastValue(int i, IborIndexRates[] indexRates) {
+    if (types[i] == KNOWN_AMOUNT) {
+      return amounts[i];
+    }
+    return forecastValue(i, indexRates[indexPositions[i]].rate(observations[i]));
+  }
+
+  // the forecast value of a single cash flow with a floating rate
+  private double forecastValue(int i, double rate) {
+    switch (types[i]) {
+      case IBOR_COUPON: {
+        double accrual = (rate * gearings[i] + spreads[i]) * yearFractions[i];
+        return negativeRateMethods[i].adjust(accrual) * amounts[i];
+      }
+      case FRA_NONE:
+        return amounts[i] * ((rate - spreads[i]) * yearFractions[i]);
+      case FRA_ISDA:
+        return amounts[i] * (((rate - spreads[i]) / (1d + rate * yearFractions[i])) * yearFractions[i]);
+      case FRA_AFMA:
+        return amounts[i] * ((1d / (1d + spreads[i] * yearFractions[i])) - (1d / (1d + rate * yearFractions[i])));
+      default:
+        throw new IllegalStateException("Unknown cash flow type: " + types[i]);
+    }
+  }
+
+  // the derivative of the forecast value of a single cash flow with respect to the floating rate
+  private double forecastValueRateDerivative(int i, double rate) {
+    switch (types[i]) {
+      case IBOR_COUPON: {
+        double accrual = (rate * gearings[i] + spreads[i]) * yearFractions[i];
+        double adjusted = negativeRateMethods[i].adjust(accrual);
+        return adjusted == accrual ? gearings[i] * yearFractions[i] * amounts[i] : 0d;
+      }
+      case FRA_NONE:
+        return amounts[i] * yearFractions[i];
+      case FRA_ISDA: {
+        double denominator = 1d + rate * yearFractions[i];
+        return amounts[i] * yearFractions[i] * (1d + spreads[i] * yearFractions[i]) / (denominator * denominator);
+      }
+      case FRA_AFMA: {
+        double denominator = 1d + rate * yearFractions[i];
+        return amounts[i] * yearFractions[i] / (denominator * denominator);
+      }
+      default:
+        throw new IllegalStateException("Unknown cash flow type: " + types[i]);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format("PricingPlan[{} cash flows in {}]", types.length, currencies);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Mutable workspace holding the intermediate values used to price a plan.
+   * <p>
+   * This class is mutable and not thread-safe.
+   */
+  public static final class Workspace {
+    /**
+     * The plan that the workspace is sized for.
+     */
+    private final PricingPlan plan;
+    /**
+     * The rates of each index.
+     */
+    private final IborIndexRates[] indexRates;
+    /**
+     * The valuation date that the positions of the first live cash flows are based on, null if not yet set.
+     */
+    private LocalDate valuationDate;
+    /**
+     * The position of the first cash flow in each currency paid on or after the valuation date.
+     */
+    private final int[] firstLive;
+    /**
+     * The year fractions of the cash flows in each currency, zero for those paid before the valuation date.
+     */
+    private final double[][] yearFractions;
+    /**
+     * The discount factors of the cash flows in each currency.
+     */
+    private final double[][] discountFactors;
+
+    // restricted constructor
+    private Workspace(PricingPlan plan) {
+      this.plan = plan;
+      this.indexRates = new IborIndexRates[plan.indices.size()];
+      this.firstLive = new int[plan.currencyCashFlows.length];
+      this.yearFractions = new double[plan.currencyCashFlows.length][];
+      this.discountFactors = new double[plan.currencyCashFlows.length][];
+      for (int c = 0; c < plan.currencyCashFlows.length; c++) {
+        yearFractions[c] = new double[plan.currencyCashFlows[c].length];
+        discountFactors[c] = new double[plan.currencyCashFlows[c].length];
+      }
+    }
+
+    // locates the first live cash flow in each currency, only if the valuation date has changed
+    private void setValuationDate(LocalDate date) {
+      if (date.equals(valuationDate)) {
+        return;
+      }
+      for (int c = 0; c < firstLive.length; c++) {
+        int[] cashFlows = plan.currencyCashFlows[c];
+        int index = 0;
+        while (index < cashFlows.length && plan.paymentDates[cashFlows[index]].isBefore(date)) {
+          index++;
+        }
+        firstLive[c] = index;
+        Arrays.fill(yearFractions[c], 0, index, 0d);
+      }
+      valuationDate = date;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Mutable builder used to flatten a product into cash flows.
+   */
+  private static final class Builder {
+    private final Map<Currency, Integer> currencies = new LinkedHashMap<>();
+    private final Map<IborIndex, Integer> indices = new LinkedHashMap<>();
+    private final List<Integer> types = new ArrayList<>();
+    private final List<Integer> currencyPositions = new ArrayList<>();
+    private final List<LocalDate> paymentDates = new ArrayList<>();
+    private final List<Double> amounts = new ArrayList<>();
+    private final List<Double> yearFractions = new ArrayList<>();
+    private final List<Double> gearings = new ArrayList<>();
+    private final List<Double> spreads = new ArrayList<>();
+    private final List<NegativeRateMethod> negativeRateMethods = new ArrayList<>();
+    private final List<Integer> indexPositions = new ArrayList<>();
+    private final List<IborIndexObservation> observations = new ArrayList<>();
+
+    // adds a swap payment period
+    private void addPeriod(SwapPaymentPeriod period) {
+      if (period instanceof KnownAmountSwapPaymentPeriod) {
+        addKnownAmount(((KnownAmountSwapPaymentPeriod) period).getPayment());
+        return;
+      }
+      if (period instanceof RatePaymentPeriod) {
+        RatePaymentPeriod ratePeriod = (RatePaymentPeriod) period;
+        if (!ratePeriod.getFxReset().isPresent() && ratePeriod.getAccrualPeriods().size() == 1) {
+          RateAccrualPeriod accrualPeriod = ratePeriod.getAccrualPeriods().get(0);
+          RateComputation computation = accrualPeriod.getRateComputation();
+          if (computation instanceof FixedRateComputation) {
+            // the amount of a fixed coupon is known
+            double rate = ((FixedRateComputation) computation).getRate();
+            double treatedRate = rate * accrualPeriod.getGearing() + accrualPeriod.getSpread();
+            double accrual = accrualPeriod.getNegativeRateMethod()
+                .adjust(treatedRate * accrualPeriod.getYearFraction());
+            addKnownAmount(
+                ratePeriod.getCurrency(), ratePeriod.getPaymentDate(), accrual * ratePeriod.getNotional());
+            return;
+          }
+          if (computation instanceof IborRateComputation) {
+            IborIndexObservation observation = ((IborRateComputation) computation).getObservation();
+            add(IBOR_COUPON, ratePeriod.getCurrency(), ratePeriod.getPaymentDate(), ratePeriod.getNotional());
+            yearFractions.set(types.size() - 1, accrualPeriod.getYearFraction());
+            gearings.set(types.size() - 1, accrualPeriod.getGearing());
+            spreads.set(types.size() - 1, accrualPeriod.getSpread());
+            negativeRateMethods.set(types.size() - 1, accrualPeriod.getNegativeRateMethod());
+            setObservation(observation);
+            return;
+          }
+        }
+      }
+      throw new IllegalArgumentException(Messages.format(
+          "Payment period not supported by pricing plan: {}", period.getClass().getSimpleName()));
+    }
+
+    // adds a FRA
+    private void addFra(ResolvedFra fra) {
+      if (!(fra.getFloatingRate() instanceof IborRateComputation)) {
+        throw new IllegalArgumentException(Messages.format(
+            "FRA floating rate not supported by pricing plan: {}", fra.getFloatingRate().getClass().getSimpleName()));
+      }
+      add(fraType(fra.getDiscounting()), fra.getCurrency(), fra.getPaymentDate(), fra.getNotional());
+      yearFractions.set(types.size() - 1, fra.getYearFraction());
+      spreads.set(types.size() - 1, fra.getFixedRate());
+      setObservation(((IborRateComputation) fra.getFloatingRate()).getObservation());
+    }
+
+    // the cash flow type for a FRA discounting method
+    private static int fraType(FraDiscountingMethod discounting) {
+      switch (discounting) {
+        case NONE:
+          return FRA_NONE;
+        case ISDA:
+          return FRA_ISDA;
+        case AFMA:
+          return FRA_AFMA;
+        default:
+          throw new IllegalArgumentException("Unknown FraDiscounting value: " + discounting);
+      }
+    }
+
+    // adds a known payment
+    private void addKnownAmount(Payment payment) {
+      addKnownAmount(payment.getCurrency(), payment.getDate(), payment.getAmount());
+    }
+
+    // adds a known amount
+    private void addKnownAmount(Currency currency, LocalDate paymentDate, double amount) {
+      add(KNOWN_AMOUNT, currency, paymentDate, amount);
+    }
+
+    // adds a cash flow, with default values for the type-specific data
+    private void add(int type, Currency currency, LocalDate paymentDate, double amount) {
+      types.add(type);
+      currencyPositions.add(currencies.computeIfAbsent(currency, ccy -> currencies.size()));
+      paymentDates.add(paymentDate);
+      amounts.add(amount);
+      yearFractions.add(0d);
+      gearings.add(0d);
+      spreads.add(0d);
+      negativeRateMethods.add(NegativeRateMethod.ALLOW_NEGATIVE);
+      indexPositions.add(-1);
+      observations.add(null);
+    }
+
+    // sets the observation of the last cash flow
+    private void setObservation(IborIndexObservation observation) {
+      indexPositions.set(types.size() - 1, indices.computeIfAbsent(observation.getIndex(), index -> indices.size()));
+      observations.set(types.size() - 1, observation);
+    }
+
+    private PricingPlan build() {
+      return new PricingPlan(this);
+    }
+  }
+
+}
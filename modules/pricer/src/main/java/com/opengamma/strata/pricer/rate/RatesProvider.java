@@ -5,9 +5,12 @@
  */
 package com.opengamma.strata.pricer.rate;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyPair;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.index.FxIndex;
@@ -15,7 +18,9 @@ import com.opengamma.strata.basics.index.IborIndex;
 import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.basics.index.OvernightIndex;
 import com.opengamma.strata.basics.index.PriceIndex;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.MarketDataName;
 import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveName;
@@ -146,11 +151,15 @@ public interface RatesProvider
    */
   public default CurrencyParameterSensitivities parameterSensitivity(PointSensitivities pointSensitivities) {
     CurrencyParameterSensitivities sens = CurrencyParameterSensitivities.empty();
+    // the sensitivities to the discount factors are totalled in a buffer for each curve and sensitivity currency
+    Map<Pair<Currency, Currency>, double[]> discountBuffers = new LinkedHashMap<>();
     for (PointSensitivity point : pointSensitivities.getSensitivities()) {
       if (point instanceof ZeroRateSensitivity) {
         ZeroRateSensitivity pt = (ZeroRateSensitivity) point;
         DiscountFactors factors = discountFactors(pt.getCurveCurrency());
-        sens = sens.combinedWith(factors.parameterSensitivity(pt));
+        double[] buffer = discountBuffers.computeIfAbsent(
+            Pair.of(pt.getCurveCurrency(), pt.getCurrency()), key -> new double[factors.getParameterCount()]);
+        factors.addParameterSensitivity(pt, buffer);
 
       } else if (point instanceof IborRateSensitivity) {
         IborRateSensitivity pt = (IborRateSensitivity) point;
@@ -178,6 +187,11 @@ public interface RatesProvider
         sens = sens.combinedWith(rates.parameterSensitivity(pt));
       }
     }
+    for (Map.Entry<Pair<Currency, Currency>, double[]> entry : discountBuffers.entrySet()) {
+      DiscountFactors factors = discountFactors(entry.getKey().getFirst());
+      sens = sens.combinedWith(
+          factors.createParameterSensitivity(entry.getKey().getSecond(), DoubleArray.ofUnsafe(entry.getValue())));
+    }
     return sens;
   }
 
@@ -0,0 +1,492 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.sensitivity;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.basics.index.OvernightIndexObservation;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.SimpleDiscountFactors;
+import com.opengamma.strata.pricer.ZeroRateDiscountFactors;
+import com.opengamma.strata.pricer.rate.DiscountIborIndexRates;
+import com.opengamma.strata.pricer.rate.DiscountOvernightIndexRates;
+import com.opengamma.strata.pricer.rate.IborIndexRates;
+import com.opengamma.strata.pricer.rate.OvernightIndexRates;
+
+/**
+ * A tape used to calculate sensitivities by adjoint algorithmic differentiation.
+ * <p>
+ * A calculation is recorded on the tape as a sequence of variables.
+ * Each variable holds its value and the partial derivatives of its value with respect to
+ * the variables it was calculated from. The parameters of the curves used by the calculation
+ * are the inputs of the tape, recorded the first time each curve is used.
+ * <p>
+ * Once the calculation has been recorded, the sensitivity of any variable to all the curve parameters
+ * is obtained in one backward sweep over the tape. The cost of the sweep is proportional to the
+ * number of operations recorded, and independent of the number of curve parameters.
+ * <p>
+ * Discount factors and forward rates can be recorded directly from {@link DiscountFactors},
+ * {@link IborIndexRates} and {@link OvernightIndexRates}, backed by zero-rate or discount factor curves.
+ * <p>
+ * Variables are identified by their position on the tape, returned by each recording method.
+ * The tape can be {@linkplain #reset() reset} and reused, retaining its internal buffers.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+public final class AdjointTape {
+
+  /**
+   * The initial capacity of the buffers.
+   */
+  private static final int INITIAL_CAPACITY = 64;
+
+  /**
+   * The value of each variable.
+   */
+  private double[] values = new double[INITIAL_CAPACITY];
+  /**
+   * The position of the first argument of each variable.
+   * The arguments of variable {@code i} are at positions {@code argStarts[i]} to {@code argStarts[i + 1]}.
+   */
+  private int[] argStarts = new int[INITIAL_CAPACITY + 1];
+  /**
+   * The variable of each argument.
+   */
+  private int[] args = new int[INITIAL_CAPACITY];
+  /**
+   * The partial derivative with respect to each argument.
+   */
+  private double[] partials = new double[INITIAL_CAPACITY];
+  /**
+   * The number of variables.
+   */
+  private int size;
+  /**
+   * The number of arguments.
+   */
+  private int argSize;
+  /**
+   * The curves whose parameters are inputs of the tape, keyed by curve name, in the order they were recorded.
+   */
+  private final Map<CurveName, Curve> curves = new LinkedHashMap<>();
+  /**
+   * The variable of the first parameter of each curve, keyed by curve name.
+   */
+  private final Map<CurveName, Integer> curveStarts = new HashMap<>();
+
+  /**
+   * Creates an empty tape.
+   */
+  public AdjointTape() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of variables recorded on the tape.
+   *
+   * @return the number of variables
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the value of a variable.
+   *
+   * @param variable  the variable
+   * @return the value
+   */
+  public double value(int variable) {
+    checkVariable(variable);
+    return values[variable];
+  }
+
+  /**
+   * Resets the tape, discarding all the recorded variables.
+   * <p>
+   * The internal buffers are retained, so that the tape can be reused without allocation.
+   */
+  public void reset() {
+    size = 0;
+    argSize = 0;
+    curves.clear();
+    curveStarts.clear();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Records a constant.
+   *
+   * @param value  the value of the constant
+   * @return the variable
+   */
+  public int constant(double value) {
+    return add(value);
+  }
+
+  /**
+   * Records the value of a curve at an x-value.
+   * <p>
+   * The parameters of the curve are recorded as inputs of the tape the first time the curve is used.
+   * The partial derivatives are those of {@link Curve#yValueParameterSensitivity(double)}.
+   *
+   * @param curve  the curve
+   * @param x  the x-value
+   * @return the variable holding the y-value
+   */
+  public int curveValue(Curve curve, double x) {
+    int start = curveParameters(curve);
+    DoubleArray sensitivity = curve.yValueParameterSensitivity(x).getSensitivity();
+    int variable = add(curve.yValue(x));
+    for (int i = 0; i < sensitivity.size(); i++) {
+      double partial = sensitivity.get(i);
+      if (partial != 0d) {
+        addArg(start + i, partial);
+      }
+    }
+    return variable;
+  }
+
+  // records the curve parameters if necessary, returning the variable of the first parameter
+  private int curveParameters(Curve curve) {
+    Integer existing = curveStarts.get(curve.getName());
+    if (existing != null) {
+      // the same instance is normally recorded repeatedly, thus equals is only needed for a different instance
+      Curve recorded = curves.get(curve.getName());
+      if (recorded != curve && !recorded.equals(curve)) {
+        throw new IllegalArgumentException(Messages.format(
+            "Two different curves with the same name cannot be recorded on the same tape: {}", curve.getName()));
+      }
+      return existing;
+    }
+    int start = size;
+    for (int i = 0; i < curve.getParameterCount(); i++) {
+      add(curve.getParameter(i));
+    }
+    curves.put(curve.getName(), curve);
+    curveStarts.put(curve.getName(), start);
+    return start;
+  }
+
+  /**
+   * Records an operation with one argument.
+   * <p>
+   * The value of the operation must be calculated by the caller, together with the partial derivative.
+   *
+   * @param value  the value of the operation
+   * @param arg  the argument
+   * @param partial  the partial derivative of the value with respect to the argument
+   * @return the variable
+   */
+  public int record(double value, int arg, double partial) {
+    checkVariable(arg);
+    int variable = add(value);
+    addArg(arg, partial);
+    return variable;
+  }
+
+  /**
+   * Records an operation with two arguments.
+   * <p>
+   * The value of the operation must be calculated by the caller, together with the partial derivatives.
+   *
+   * @param value  the value of the operation
+   * @param arg1  the first argument
+   * @param partial1  the partial derivative of the value with respect to the first argument
+   * @param arg2  the second argument
+   * @param partial2  the partial derivative of the value with respect to the second argument
+   * @return the variable
+   */
+  public int record(double value, int arg1, double partial1, int arg2, double partial2) {
+    checkVariable(arg1);
+    checkVariable(arg2);
+    int variable = add(value);
+    addArg(arg1, partial1);
+    addArg(arg2, partial2);
+    return variable;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Records the sum of two variables.
+   *
+   * @param a  the first variable
+   * @param b  the second variable
+   * @return the variable holding the sum
+   */
+  public int plus(int a, int b) {
+    return record(value(a) + value(b), a, 1d, b, 1d);
+  }
+
+  /**
+   * Records the sum of a variable and a constant.
+   *
+   * @param a  the variable
+   * @param constant  the constant
+   * @return the variable holding the sum
+   */
+  public int plus(int a, double constant) {
+    return record(value(a) + constant, a, 1d);
+  }
+
+  /**
+   * Records the difference of two variables.
+   *
+   * @param a  the first variable
+   * @param b  the second variable
+   * @return the variable holding the difference
+   */
+  public int minus(int a, int b) {
+    return record(value(a) - value(b), a, 1d, b, -1d);
+  }
+
+  /**
+   * Records the product of two variables.
+   *
+   * @param a  the first variable
+   * @param b  the second variable
+   * @return the variable holding the product
+   */
+  public int multipliedBy(int a, int b) {
+    double valueA = value(a);
+    double valueB = value(b);
+    return record(valueA * valueB, a, valueB, b, valueA);
+  }
+
+  /**
+   * Records the product of a variable and a constant.
+   *
+   * @param a  the variable
+   * @param constant  the constant
+   * @return the variable holding the product
+   */
+  public int multipliedBy(int a, double constant) {
+    return record(value(a) * constant, a, constant);
+  }
+
+  /**
+   * Records the quotient of two variables.
+   *
+   * @param a  the numerator
+   * @param b  the denominator
+   * @return the variable holding the quotient
+   */
+  public int dividedBy(int a, int b) {
+    double valueA = value(a);
+    double valueB = value(b);
+    return record(valueA / valueB, a, 1d / valueB, b, -valueA / (valueB * valueB));
+  }
+
+  /**
+   * Records the exponential of a variable.
+   *
+   * @param a  the variable
+   * @return the variable holding the exponential
+   */
+  public int exp(int a) {
+    double exp = Math.exp(value(a));
+    return record(exp, a, exp);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Records the discount factor at a date.
+   * <p>
+   * Only {@link ZeroRateDiscountFactors} and {@link SimpleDiscountFactors} are supported.
+   *
+   * @param discountFactors  the discount factors
+   * @param date  the date to discount to
+   * @return the variable holding the discount factor
+   * @throws IllegalArgumentException if the discount factors are not supported
+   */
+  public int discountFactor(DiscountFactors discountFactors, LocalDate date) {
+    double yearFraction = discountFactors.relativeYearFraction(date);
+    if (discountFactors instanceof ZeroRateDiscountFactors) {
+      int zeroRate = curveValue(((ZeroRateDiscountFactors) discountFactors).getCurve(), yearFraction);
+      double discountFactor = Math.exp(-yearFraction * value(zeroRate));
+      return record(discountFactor, zeroRate, -yearFraction * discountFactor);
+    }
+    if (discountFactors instanceof SimpleDiscountFactors) {
+      return curveValue(((SimpleDiscountFactors) discountFactors).getCurve(), yearFraction);
+    }
+    throw new IllegalArgumentException(Messages.format(
+        "Discount factors not supported by adjoint tape: {}", discountFactors.getClass().getSimpleName()));
+  }
+
+  /**
+   * Records the rate of an Ibor index observation.
+   * <p>
+   * If the rate is fixed, based on the valuation date and the fixings, a constant is recorded.
+   * Otherwise the forward rate is recorded from the discount factors of the index.
+   * Only {@link DiscountIborIndexRates} is supported.
+   *
+   * @param rates  the Ibor index rates
+   * @param observation  the observation
+   * @return the variable holding the rate
+   * @throws IllegalArgumentException if the rates are not supported, or a required fixing is missing
+   */
+  public int rate(IborIndexRates rates, IborIndexObservation observation) {
+    if (!(rates instanceof DiscountIborIndexRates)) {
+      throw new IllegalArgumentException(Messages.format(
+          "Ibor index rates not supported by adjoint tape: {}", rates.getClass().getSimpleName()));
+    }
+    LocalDate fixingDate = observation.getFixingDate();
+    LocalDate valuationDate = rates.getValuationDate();
+    if (fixingDate.isBefore(valuationDate) ||
+        (fixingDate.equals(valuationDate) && rates.getFixings().containsDate(fixingDate))) {
+      // fails if the fixing is missing
+      return constant(rates.rate(observation));
+    }
+    return forwardRate(
+        ((DiscountIborIndexRates) rates).getDiscountFactors(),
+        observation.getEffectiveDate(),
+        observation.getMaturityDate(),
+        observation.getYearFraction());
+  }
+
+  /**
+   * Records the rate of an overnight index observation.
+   * <p>
+   * If the rate is fixed, based on the valuation date, the publication date and the fixings,
+   * a constant is recorded. Otherwise the forward rate is recorded from the discount factors of the index.
+   * Only {@link DiscountOvernightIndexRates} is supported.
+   *
+   * @param rates  the overnight index rates
+   * @param observation  the observation
+   * @return the variable holding the rate
+   * @throws IllegalArgumentException if the rates are not supported, or a required fixing is missing
+   */
+  public int rate(OvernightIndexRates rates, OvernightIndexObservation observation) {
+    if (!(rates instanceof DiscountOvernightIndexRates)) {
+      throw new IllegalArgumentException(Messages.format(
+          "Overnight index rates not supported by adjoint tape: {}", rates.getClass().getSimpleName()));
+    }
+    LocalDate publicationDate = observation.getPublicationDate();
+    LocalDate valuationDate = rates.getValuationDate();
+    if (publicationDate.isBefore(valuationDate) ||
+        (publicationDate.equals(valuationDate) && rates.getFixings().containsDate(observation.getFixingDate()))) {
+      // fails if the fixing is missing
+      return constant(rates.rate(observation));
+    }
+    return forwardRate(
+        ((DiscountOvernightIndexRates) rates).getDiscountFactors(),
+        observation.getEffectiveDate(),
+        observation.getMaturityDate(),
+        observation.getYearFraction());
+  }
+
+  // simply compounded forward rate from discount factors
+  private int forwardRate(DiscountFactors discountFactors, LocalDate startDate, LocalDate endDate, double accrual) {
+    int start = discountFactor(discountFactors, startDate);
+    int end = discountFactor(discountFactors, endDate);
+    double dfStart = value(start);
+    double dfEnd = value(end);
+    double rate = (dfStart / dfEnd - 1d) / accrual;
+    return record(rate, start, 1d / (dfEnd * accrual), end, -dfStart / (dfEnd * dfEnd * accrual));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the adjoints of all variables with respect to the output variable.
+   * <p>
+   * This performs one backward sweep over the tape.
+   * The result holds the derivative of the output with respect to each variable, indexed by variable.
+   *
+   * @param output  the output variable
+   * @return the adjoints, indexed by variable
+   */
+  public double[] adjoints(int output) {
+    checkVariable(output);
+    double[] adjoints = new double[size];
+    adjoints[output] = 1d;
+    for (int variable = output; variable >= 0; variable--) {
+      double adjoint = adjoints[variable];
+      if (adjoint != 0d) {
+        for (int k = argStarts[variable]; k < argStarts[variable + 1]; k++) {
+          adjoints[args[k]] += adjoint * partials[k];
+        }
+      }
+    }
+    return adjoints;
+  }
+
+  /**
+   * Calculates the sensitivity of the output variable to the parameters of the curves recorded on the tape.
+   * <p>
+   * This performs one backward sweep over the tape.
+   * The result contains an entry for each curve used in the calculation of any variable.
+   *
+   * @param output  the output variable
+   * @param currency  the currency of the output
+   * @return the parameter sensitivity
+   */
+  public CurrencyParameterSensitivities parameterSensitivity(int output, Currency currency) {
+    double[] adjoints = adjoints(output);
+    List<CurrencyParameterSensitivity> sensitivities = new ArrayList<>(curves.size());
+    for (Curve curve : curves.values()) {
+      int start = curveStarts.get(curve.getName());
+      DoubleArray sensitivity = DoubleArray.ofUnsafe(
+          Arrays.copyOfRange(adjoints, start, start + curve.getParameterCount()));
+      sensitivities.add(curve.createParameterSensitivity(currency, sensitivity));
+    }
+    return CurrencyParameterSensitivities.of(sensitivities);
+  }
+
+  //-------------------------------------------------------------------------
+  // checks the variable is on the tape
+  private void checkVariable(int variable) {
+    if (variable < 0 || variable >= size) {
+      throw new IllegalArgumentException(
+          Messages.format("Variable {} is not on the tape of size {}", variable, size));
+    }
+  }
+
+  // adds a variable with no arguments
+  private int add(double value) {
+    if (size == values.length) {
+      values = Arrays.copyOf(values, size * 2);
+      argStarts = Arrays.copyOf(argStarts, size * 2 + 1);
+    }
+    values[size] = value;
+    argStarts[size] = argSize;
+    size++;
+    argStarts[size] = argSize;
+    return size - 1;
+  }
+
+  // adds an argument to the last variable
+  private void addArg(int arg, double partial) {
+    if (argSize == args.length) {
+      args = Arrays.copyOf(args, argSize * 2);
+      partials = Arrays.copyOf(partials, argSize * 2);
+    }
+    args[argSize] = arg;
+    partials[argSize] = partial;
+    argSize++;
+    argStarts[size] = argSize;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format("AdjointTape[{} variables, {} curves]", size, curves.size());
+  }
+
+}
@@ -10,9 +10,13 @@ import java.time.Period;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.TreeMap;
-import java.util.function.Function;
+import java.util.concurrent.Executor;
+import java.util.function.DoubleUnaryOperator;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.date.BusinessDayAdjustment;
@@ -20,10 +24,12 @@ import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.basics.date.Tenor;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.ConcurrentTasks;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.collect.tuple.Triple;
 import com.opengamma.strata.market.ValueType;
 import com.opengamma.strata.market.param.ParameterMetadata;
 import com.opengamma.strata.market.surface.InterpolatedNodalSurface;
@@ -44,6 +50,7 @@ import com.opengamma.strata.pricer.option.TenorRawOptionData;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
 import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.swap.ResolvedSwap;
 import com.opengamma.strata.product.swap.SwapTrade;
 import com.opengamma.strata.product.swap.type.FixedIborSwapConvention;
 
@@ -51,6 +58,10 @@ import com.opengamma.strata.product.swap.type.FixedIborSwapConvention;
  * Swaption SABR calibrator.
  * <p>
  * This calibrator takes raw data and produces calibrated SABR parameters.
+ * <p>
+ * An instance obtained using {@link #ofCached(SabrVolatilityFormula, DiscountingSwapProductPricer, ReferenceData, int)}
+ * retains the underlying swaps resolved to compute the forward rates,
+ * allowing them to be reused when the same cube is calibrated again.
  */
 public class SabrSwaptionCalibrator {
 
@@ -67,7 +78,12 @@ public class SabrSwaptionCalibrator {
    * The reference data.
    */
   private final ReferenceData refData;
-  
+  /**
+   * The resolved underlying swaps, keyed by convention, effective date and end date, null if not retained.
+   * The swaps are reused by later calibrations, holding the most recently used swaps up to a maximum number.
+   */
+  private final Map<Triple<FixedIborSwapConvention, LocalDate, LocalDate>, ResolvedSwap> resolvedSwaps;
+
   /** The root-finder used in the Alpha calibration to ATM volatility. */
   private static final NewtonRaphsonSingleRootFinder ROOT_FINDER = new NewtonRaphsonSingleRootFinder();
 
@@ -76,7 +92,7 @@ public class SabrSwaptionCalibrator {
    */
   public static final SabrSwaptionCalibrator DEFAULT =
       new SabrSwaptionCalibrator(
-          SabrVolatilityFormula.hagan(), DiscountingSwapProductPricer.DEFAULT, ReferenceData.standard());
+          SabrVolatilityFormula.hagan(), DiscountingSwapProductPricer.DEFAULT, ReferenceData.standard(), null);
 
   //-------------------------------------------------------------------------
   /**
@@ -92,7 +108,7 @@ public class SabrSwaptionCalibrator {
       SabrVolatilityFormula sabrVolatilityFormula,
       DiscountingSwapProductPricer swapPricer) {
 
-    return new SabrSwaptionCalibrator(sabrVolatilityFormula, swapPricer, ReferenceData.standard());
+    return new SabrSwaptionCalibrator(sabrVolatilityFormula, swapPricer, ReferenceData.standard(), null);
   }
 
   /**
@@ -110,17 +126,55 @@ public class SabrSwaptionCalibrator {
       DiscountingSwapProductPricer swapPricer,
       ReferenceData refData) {
 
-    return new SabrSwaptionCalibrator(sabrVolatilityFormula, swapPricer, refData);
+    return new SabrSwaptionCalibrator(sabrVolatilityFormula, swapPricer, refData, null);
+  }
+
+  /**
+   * Obtains an instance that retains the underlying swaps it resolves.
+   * <p>
+   * The swap pricer is used to compute the forward rate required for calibration.
+   * The underlying swaps resolved by a calibration are reused by later calibrations of the same cube,
+   * for example when the cube is recalibrated during the day.
+   * The most recently used swaps are retained, up to the specified maximum number.
+   * <p>
+   * The instance holds mutable state, thus it should be owned by the application component that recalibrates.
+   * 
+   * @param sabrVolatilityFormula  the SABR implied volatility formula
+   * @param swapPricer  the swap pricer
+   * @param refData  the reference data
+   * @param maxResolvedSwaps  the maximum number of resolved underlying swaps to retain between calibrations
+   * @return the calibrator
+   */
+  public static SabrSwaptionCalibrator ofCached(
+      SabrVolatilityFormula sabrVolatilityFormula,
+      DiscountingSwapProductPricer swapPricer,
+      ReferenceData refData,
+      int maxResolvedSwaps) {
+
+    ArgChecker.notNegativeOrZero(maxResolvedSwaps, "maxResolvedSwaps");
+    Map<Triple<FixedIborSwapConvention, LocalDate, LocalDate>, ResolvedSwap> resolvedSwaps =
+        new LinkedHashMap<Triple<FixedIborSwapConvention, LocalDate, LocalDate>, ResolvedSwap>(16, 0.75f, true) {
+          private static final long serialVersionUID = 1L;
+
+          @Override
+          protected boolean removeEldestEntry(
+              Map.Entry<Triple<FixedIborSwapConvention, LocalDate, LocalDate>, ResolvedSwap> eldest) {
+            return size() > maxResolvedSwaps;
+          }
+        };
+    return new SabrSwaptionCalibrator(sabrVolatilityFormula, swapPricer, refData, resolvedSwaps);
   }
 
   private SabrSwaptionCalibrator(
       SabrVolatilityFormula sabrVolatilityFormula,
       DiscountingSwapProductPricer swapPricer,
-      ReferenceData refData) {
+      ReferenceData refData,
+      Map<Triple<FixedIborSwapConvention, LocalDate, LocalDate>, ResolvedSwap> resolvedSwaps) {
 
     this.sabrVolatilityFormula = ArgChecker.notNull(sabrVolatilityFormula, "sabrVolatilityFormula");
     this.swapPricer = ArgChecker.notNull(swapPricer, "swapPricer");
     this.refData = ArgChecker.notNull(refData, "refData");
+    this.resolvedSwaps = resolvedSwaps;
   }
 
   //-------------------------------------------------------------------------
@@ -167,18 +221,17 @@ public class SabrSwaptionCalibrator {
    * <p>
    * This method offers the flexibility to skip the data sets that throw a MathException (stopOnMathException = false).
    * The option to skip those data sets should be use with care, as part of the input data may be unused in the output.
-   * 
+   *
    * @param definition  the definition of the calibration to be performed
    * @param calibrationDateTime  the data and time of the calibration
    * @param data  the map of raw option data, keyed by tenor
    * @param ratesProvider  the rate provider used to compute the swap forward rates
    * @param betaSurface  the beta surface
    * @param shiftSurface  the shift surface
-   * @param stopOnMathException  flag indicating if the calibration should stop on math exceptions or skip the 
+   * @param stopOnMathException  flag indicating if the calibration should stop on math exceptions or skip the
    *   expiries/tenors which throw MathException
    * @return the SABR volatility object
    */
-  @SuppressWarnings("null")
   public SabrParametersSwaptionVolatilities calibrateWithFixedBetaAndShift(
       SabrSwaptionDefinition definition,
       ZonedDateTime calibrationDateTime,
@@ -188,107 +241,123 @@ public class SabrSwaptionCalibrator {
       Surface shiftSurface,
       boolean stopOnMathException) {
 
-    SwaptionVolatilitiesName name = definition.getName();
+    List<SmileCalibration> smiles =
+        smileCalibrations(definition, calibrationDateTime, data, ratesProvider, betaSurface, shiftSurface);
+    List<Optional<SmileResult>> results = new ArrayList<>(smiles.size());
+    for (SmileCalibration smile : smiles) {
+      results.add(smile.calibrate(stopOnMathException));
+    }
+    return volatilities(definition, calibrationDateTime, betaSurface, shiftSurface, results);
+  }
+
+  /**
+   * Calibrate SABR parameters to a set of raw swaption data, calibrating the smiles in parallel.
+   * <p>
+   * The SABR parameters are calibrated with fixed beta and fixed shift surfaces.
+   * The raw data can be (shifted) log-normal volatilities, normal volatilities or option prices
+   * <p>
+   * The smile at each expiry and tenor is calibrated independently of the others.
+   * This method submits the calibration of each smile to the executor, and then merges the results
+   * in the same order as {@link #calibrateWithFixedBetaAndShift(SabrSwaptionDefinition, ZonedDateTime,
+   * TenorRawOptionData, RatesProvider, Surface, Surface, boolean)}. The result is thus identical
+   * to that of the sequential calibration, whatever the number of threads used by the executor.
+   * <p>
+   * If a MathException is thrown and stopOnMathException is true, the exception of the first failing smile
+   * in the sequential order is thrown, and the calibrations that have not started are cancelled.
+   * The executor is not shut down by this method, see {@link ConcurrentTasks}.
+   *
+   * @param definition  the definition of the calibration to be performed
+   * @param calibrationDateTime  the data and time of the calibration
+   * @param data  the map of raw option data, keyed by tenor
+   * @param ratesProvider  the rate provider used to compute the swap forward rates
+   * @param betaSurface  the beta surface
+   * @param shiftSurface  the shift surface
+   * @param stopOnMathException  flag indicating if the calibration should stop on math exceptions or skip the
+   *   expiries/tenors which throw MathException
+   * @param executor  the executor used to calibrate the smiles
+   * @return the SABR volatility object
+   */
+  public SabrParametersSwaptionVolatilities calibrateWithFixedBetaAndShift(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      TenorRawOptionData data,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      boolean stopOnMathException,
+      Executor executor) {
+
+    ArgChecker.notNull(executor, "executor");
+    List<SmileCalibration> smiles =
+        smileCalibrations(definition, calibrationDateTime, data, ratesProvider, betaSurface, shiftSurface);
+    List<Optional<SmileResult>> results =
+        ConcurrentTasks.evaluate(smiles.size(), i -> smiles.get(i).calibrate(stopOnMathException), executor);
+    return volatilities(definition, calibrationDateTime, betaSurface, shiftSurface, results);
+  }
+
+  // creates the calibration of each available smile, in order of tenor and then expiry
+  private List<SmileCalibration> smileCalibrations(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      TenorRawOptionData data,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface) {
+
     FixedIborSwapConvention convention = definition.getConvention();
     DayCount dayCount = definition.getDayCount();
-    SurfaceInterpolator interpolator = definition.getInterpolator();
-
-    BitSet fixed = new BitSet();
-    fixed.set(1); // Beta fixed
     BusinessDayAdjustment bda = convention.getFloatingLeg().getStartDateBusinessDayAdjustment();
     LocalDate calibrationDate = calibrationDateTime.toLocalDate();
-    // Sorted maps to obtain the surfaces nodes in standard order
-    TreeMap<Double, TreeMap<Double, ParameterMetadata>> parameterMetadataTmp = new TreeMap<>(); 
-    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityAlphaTmp = new TreeMap<>(); // Sensitivity to the calibrating data
-    TreeMap<Double, TreeMap<Double, DoubleArray>>  dataSensitivityRhoTmp = new TreeMap<>();
-    TreeMap<Double, TreeMap<Double, DoubleArray>>  dataSensitivityNuTmp = new TreeMap<>();
-    TreeMap<Double, TreeMap<Double, SabrFormulaData>>  sabrPointTmp = new TreeMap<>();
+    List<SmileCalibration> smiles = new ArrayList<>();
     for (Tenor tenor : data.getTenors()) {
       RawOptionData tenorData = data.getData(tenor);
       double timeTenor = tenor.getPeriod().getYears() + tenor.getPeriod().getMonths() / 12;
-      List<Period> expiries = tenorData.getExpiries();
-      int nbExpiries = expiries.size();
-      for (int loopexpiry = 0; loopexpiry < nbExpiries; loopexpiry++) {
-        Pair<DoubleArray, DoubleArray> availableSmile = tenorData.availableSmileAtExpiry(expiries.get(loopexpiry));
+      for (Period expiry : tenorData.getExpiries()) {
+        Pair<DoubleArray, DoubleArray> availableSmile = tenorData.availableSmileAtExpiry(expiry);
         if (availableSmile.getFirst().size() == 0) { // If not data is available, no calibration possible
           continue;
         }
-        LocalDate exerciseDate = expirationDate(bda, calibrationDate, expiries.get(loopexpiry));
-        LocalDate effectiveDate = convention.calculateSpotDateFromTradeDate(exerciseDate, refData);
-        double timeToExpiry = dayCount.relativeYearFraction(calibrationDate, exerciseDate);
-        double beta = betaSurface.zValue(timeToExpiry, timeTenor);
-        double shift = shiftSurface.zValue(timeToExpiry, timeTenor);
-        LocalDate endDate = effectiveDate.plus(tenor);
-        SwapTrade swap0 = convention.toTrade(calibrationDate, effectiveDate, endDate, BuySell.BUY, 1.0, 0.0);
-        double forward = swapPricer.parRate(swap0.getProduct().resolve(refData), ratesProvider);
-        SabrFormulaData sabrPoint = null;
-        DoubleMatrix inverseJacobian = null;
-        boolean error = false;
-        try {
-          Pair<SabrFormulaData, DoubleMatrix> calibrationResult =
-              calibration(forward, shift, beta, fixed, bda, calibrationDateTime, dayCount,
-                  availableSmile.getFirst(), availableSmile.getSecond(), expiries.get(loopexpiry), tenorData);
-          sabrPoint = calibrationResult.getFirst();
-          inverseJacobian = calibrationResult.getSecond();
-        } catch (MathException e) {
-          error = true;
-          if (stopOnMathException) {
-            String message = Messages.format("{} at expiry {} and tenor {}", e.getMessage(),
-                expiries.get(loopexpiry), tenor);
-            throw new MathException(message, e);
-          }
-        }
-        if (!error) {
-          if (!parameterMetadataTmp.containsKey(timeToExpiry)) {
-            parameterMetadataTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityAlphaTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityRhoTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityNuTmp.put(timeToExpiry, new TreeMap<>());
-            sabrPointTmp.put(timeToExpiry, new TreeMap<>());
-          }
-          TreeMap<Double, ParameterMetadata> parameterMetadataExpiryMap = parameterMetadataTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityAlphaExpiryMap = dataSensitivityAlphaTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityRhoExpiryMap = dataSensitivityRhoTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityNuExpiryMap = dataSensitivityNuTmp.get(timeToExpiry);
-          TreeMap<Double, SabrFormulaData> sabrPointExpiryMap = sabrPointTmp.get(timeToExpiry);
-          parameterMetadataExpiryMap.put(timeTenor, SwaptionSurfaceExpiryTenorParameterMetadata.of(
-              timeToExpiry,
-              timeTenor,
-              expiries.get(loopexpiry).toString() + "x" + tenor.toString()));
-          dataSensitivityAlphaExpiryMap.put(timeTenor, inverseJacobian.row(0));
-          dataSensitivityRhoExpiryMap.put(timeTenor, inverseJacobian.row(2));
-          dataSensitivityNuExpiryMap.put(timeTenor, inverseJacobian.row(3));
-          sabrPointExpiryMap.put(timeTenor, sabrPoint);
-        }
+        smiles.add(new SmileCalibration(
+            convention, dayCount, bda, calibrationDateTime, calibrationDate, ratesProvider, betaSurface, shiftSurface,
+            tenor, timeTenor, expiry, tenorData, availableSmile));
       }
     }
-    DoubleArray timeToExpiryArray = DoubleArray.EMPTY;
-    DoubleArray timeTenorArray = DoubleArray.EMPTY;
-    DoubleArray alphaArray = DoubleArray.EMPTY;
-    DoubleArray rhoArray = DoubleArray.EMPTY;
-    DoubleArray nuArray = DoubleArray.EMPTY;
-    List<ParameterMetadata> parameterMetadata = new ArrayList<>();
-    List<DoubleArray> dataSensitivityAlpha = new ArrayList<>(); // Sensitivity to the calibrating data
-    List<DoubleArray> dataSensitivityRho = new ArrayList<>();
-    List<DoubleArray> dataSensitivityNu = new ArrayList<>();
-    for (Double timeToExpiry : parameterMetadataTmp.keySet()) {
-      TreeMap<Double, ParameterMetadata> parameterMetadataExpiryMap = parameterMetadataTmp.get(timeToExpiry);
-      TreeMap<Double, DoubleArray> dataSensitivityAlphaExpiryMap = dataSensitivityAlphaTmp.get(timeToExpiry);
-      TreeMap<Double, DoubleArray> dataSensitivityRhoExpiryMap = dataSensitivityRhoTmp.get(timeToExpiry);
-      TreeMap<Double, DoubleArray> dataSensitivityNuExpiryMap = dataSensitivityNuTmp.get(timeToExpiry);
-      TreeMap<Double, SabrFormulaData> sabrPointExpiryMap = sabrPointTmp.get(timeToExpiry);
-      for (Double timeTenor : parameterMetadataExpiryMap.keySet()) {
-        parameterMetadata.add(parameterMetadataExpiryMap.get(timeTenor));
-        dataSensitivityAlpha.add(dataSensitivityAlphaExpiryMap.get(timeTenor));
-        dataSensitivityRho.add(dataSensitivityRhoExpiryMap.get(timeTenor));
-        dataSensitivityNu.add(dataSensitivityNuExpiryMap.get(timeTenor));
-        timeToExpiryArray = timeToExpiryArray.concat(timeToExpiry);
-        timeTenorArray = timeTenorArray.concat(timeTenor);
-        SabrFormulaData sabrPt = sabrPointExpiryMap.get(timeTenor);
-        alphaArray = alphaArray.concat(sabrPt.getAlpha());
-        rhoArray = rhoArray.concat(sabrPt.getRho());
-        nuArray = nuArray.concat(sabrPt.getNu());
-      }
+    return smiles;
+  }
+
+  // merges the results of the smile calibrations into the SABR volatilities
+  private SabrParametersSwaptionVolatilities volatilities(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      Surface betaSurface,
+      Surface shiftSurface,
+      List<Optional<SmileResult>> results) {
+
+    SwaptionVolatilitiesName name = definition.getName();
+    DayCount dayCount = definition.getDayCount();
+    SurfaceInterpolator interpolator = definition.getInterpolator();
+    // Sorted maps to obtain the surfaces nodes in standard order
+    TreeMap<Double, TreeMap<Double, SmileResult>> sortedResults = new TreeMap<>();
+    for (Optional<SmileResult> result : results) {
+      result.ifPresent(r -> sortedResults.computeIfAbsent(r.timeToExpiry, t -> new TreeMap<>()).put(r.timeTenor, r));
+    }
+    List<SmileResult> sorted = new ArrayList<>();
+    sortedResults.values().forEach(expiryMap -> sorted.addAll(expiryMap.values()));
+    int nbPoints = sorted.size();
+    DoubleArray timeToExpiryArray = DoubleArray.of(nbPoints, i -> sorted.get(i).timeToExpiry);
+    DoubleArray timeTenorArray = DoubleArray.of(nbPoints, i -> sorted.get(i).timeTenor);
+    DoubleArray alphaArray = DoubleArray.of(nbPoints, i -> sorted.get(i).sabrPoint.getAlpha());
+    DoubleArray rhoArray = DoubleArray.of(nbPoints, i -> sorted.get(i).sabrPoint.getRho());
+    DoubleArray nuArray = DoubleArray.of(nbPoints, i -> sorted.get(i).sabrPoint.getNu());
+    List<ParameterMetadata> parameterMetadata = new ArrayList<>(nbPoints);
+    List<DoubleArray> dataSensitivityAlpha = new ArrayList<>(nbPoints); // Sensitivity to the calibrating data
+    List<DoubleArray> dataSensitivityRho = new ArrayList<>(nbPoints);
+    List<DoubleArray> dataSensitivityNu = new ArrayList<>(nbPoints);
+    for (SmileResult result : sorted) {
+      parameterMetadata.add(result.parameterMetadata);
+      dataSensitivityAlpha.add(result.inverseJacobian.row(0));
+      dataSensitivityRho.add(result.inverseJacobian.row(2));
+      dataSensitivityNu.add(result.inverseJacobian.row(3));
     }
     SurfaceMetadata metadataAlpha = Surfaces.sabrParameterByExpiryTenor(
         name.getName() + "-Alpha", dayCount, ValueType.SABR_ALPHA)
@@ -309,14 +378,49 @@ public class SabrSwaptionCalibrator {
         alphaSurface, betaSurface, rhoSurface, nuSurface, shiftSurface, sabrVolatilityFormula);
     return SabrParametersSwaptionVolatilities.builder()
         .name(name)
-        .convention(convention)
+        .convention(definition.getConvention())
         .valuationDateTime(calibrationDateTime)
         .parameters(params)
         .dataSensitivityAlpha(dataSensitivityAlpha)
         .dataSensitivityRho(dataSensitivityRho)
         .dataSensitivityNu(dataSensitivityNu).build();
   }
-      
+
+  // obtains the resolved underlying swap, reusing the swap resolved by an earlier calibration if retained
+  // the product does not depend on the trade date, thus the swap can be reused for a different calibration date
+  private ResolvedSwap resolvedSwap(
+      FixedIborSwapConvention convention,
+      LocalDate tradeDate,
+      LocalDate effectiveDate,
+      LocalDate endDate) {
+
+    if (resolvedSwaps == null) {
+      return resolveSwap(convention, tradeDate, effectiveDate, endDate);
+    }
+    Triple<FixedIborSwapConvention, LocalDate, LocalDate> key = Triple.of(convention, effectiveDate, endDate);
+    ResolvedSwap resolved;
+    synchronized (resolvedSwaps) {
+      resolved = resolvedSwaps.get(key);
+    }
+    if (resolved == null) {
+      resolved = resolveSwap(convention, tradeDate, effectiveDate, endDate);
+      synchronized (resolvedSwaps) {
+        resolvedSwaps.put(key, resolved);
+      }
+    }
+    return resolved;
+  }
+
+  // resolves the underlying swap
+  private ResolvedSwap resolveSwap(
+      FixedIborSwapConvention convention,
+      LocalDate tradeDate,
+      LocalDate effectiveDate,
+      LocalDate endDate) {
+
+    SwapTrade swap0 = convention.toTrade(tradeDate, effectiveDate, endDate, BuySell.BUY, 1.0, 0.0);
+    return swap0.getProduct().resolve(refData);
+  }
 
   // The main part of the calibration. The calibration is done 4 times with different starting points: low and high
   // volatilities and high and low vol of vol. The best result (in term of chi^2) is returned.
@@ -596,10 +700,10 @@ public class SabrSwaptionCalibrator {
     Pair<DoubleArray, DoubleArray> volAndDerivatives = blackVolatilitiesShiftedFromBlackVolatilitiesShifted(
         forward, shiftOutput, timeToExpiry, DoubleArray.of(forward), DoubleArray.of(blackVolatility), shiftInput);
     DoubleArray blackVolatilitiesTransformed = volAndDerivatives.getFirst();
-    Function<Double, Double> volFunction =
+    DoubleUnaryOperator volFunction =
         (a) -> sabrVolatilityFormula.volatility(forward + shiftOutput, forward + shiftOutput, timeToExpiry, a,
             startParameters.get(1), startParameters.get(2), startParameters.get(3)) - blackVolatilitiesTransformed.get(0);
-    double alphaCalibrated = ROOT_FINDER.getRoot(volFunction, startParameters.get(0));
+    double alphaCalibrated = ROOT_FINDER.getRootPrimitive(volFunction, startParameters.get(0));
     double dAlphadBlack = 1.0d / sabrVolatilityFormula.volatilityAdjoint(forward + shiftOutput, forward + shiftOutput, 
         timeToExpiry, alphaCalibrated, startParameters.get(1), startParameters.get(2), startParameters.get(3))
         .getDerivative(2);
@@ -820,10 +924,10 @@ public class SabrSwaptionCalibrator {
     Pair<DoubleArray, DoubleArray> volAndDerivatives = blackVolatilitiesShiftedFromNormalVolatilities(
         forward, shiftOutput, timeToExpiry, DoubleArray.of(forward), DoubleArray.of(normalVolatility));
     DoubleArray blackVolatilitiesTransformed = volAndDerivatives.getFirst();
-    Function<Double, Double> volFunction =
+    DoubleUnaryOperator volFunction =
         (a) -> sabrVolatilityFormula.volatility(forward + shiftOutput, forward + shiftOutput, timeToExpiry, a,
             startParameters.get(1), startParameters.get(2), startParameters.get(3)) - blackVolatilitiesTransformed.get(0);
-    double alphaCalibrated = ROOT_FINDER.getRoot(volFunction, startParameters.get(0));
+    double alphaCalibrated = ROOT_FINDER.getRootPrimitive(volFunction, startParameters.get(0));
     double dAlphadBlack = 1.0d / sabrVolatilityFormula.volatilityAdjoint(forward + shiftOutput, forward + shiftOutput, 
         timeToExpiry, alphaCalibrated, startParameters.get(1), startParameters.get(2), startParameters.get(3))
         .getDerivative(2);
@@ -900,4 +1004,114 @@ public class SabrSwaptionCalibrator {
     return bda.adjust(calibrationDate.plus(expiry), refData);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * The calibration of the smile at one expiry and tenor.
+   * <p>
+   * The smiles are independent of each other, thus may be calibrated in parallel.
+   */
+  private final class SmileCalibration {
+
+    private final FixedIborSwapConvention convention;
+    private final DayCount dayCount;
+    private final BusinessDayAdjustment bda;
+    private final ZonedDateTime calibrationDateTime;
+    private final LocalDate calibrationDate;
+    private final RatesProvider ratesProvider;
+    private final Surface betaSurface;
+    private final Surface shiftSurface;
+    private final Tenor tenor;
+    private final double timeTenor;
+    private final Period expiry;
+    private final RawOptionData tenorData;
+    private final Pair<DoubleArray, DoubleArray> availableSmile;
+
+    private SmileCalibration(
+        FixedIborSwapConvention convention,
+        DayCount dayCount,
+        BusinessDayAdjustment bda,
+        ZonedDateTime calibrationDateTime,
+        LocalDate calibrationDate,
+        RatesProvider ratesProvider,
+        Surface betaSurface,
+        Surface shiftSurface,
+        Tenor tenor,
+        double timeTenor,
+        Period expiry,
+        RawOptionData tenorData,
+        Pair<DoubleArray, DoubleArray> availableSmile) {
+
+      this.convention = convention;
+      this.dayCount = dayCount;
+      this.bda = bda;
+      this.calibrationDateTime = calibrationDateTime;
+      this.calibrationDate = calibrationDate;
+      this.ratesProvider = ratesProvider;
+      this.betaSurface = betaSurface;
+      this.shiftSurface = shiftSurface;
+      this.tenor = tenor;
+      this.timeTenor = timeTenor;
+      this.expiry = expiry;
+      this.tenorData = tenorData;
+      this.availableSmile = availableSmile;
+    }
+
+    // calibrates the smile, returning empty if the calibration failed and the failure is to be skipped
+    private Optional<SmileResult> calibrate(boolean stopOnMathException) {
+      BitSet fixed = new BitSet();
+      fixed.set(1); // Beta fixed
+      LocalDate exerciseDate = expirationDate(bda, calibrationDate, expiry);
+      LocalDate effectiveDate = convention.calculateSpotDateFromTradeDate(exerciseDate, refData);
+      double timeToExpiry = dayCount.relativeYearFraction(calibrationDate, exerciseDate);
+      double beta = betaSurface.zValue(timeToExpiry, timeTenor);
+      double shift = shiftSurface.zValue(timeToExpiry, timeTenor);
+      LocalDate endDate = effectiveDate.plus(tenor);
+      ResolvedSwap swap = resolvedSwap(convention, calibrationDate, effectiveDate, endDate);
+      double forward = swapPricer.parRate(swap, ratesProvider);
+      try {
+        Pair<SabrFormulaData, DoubleMatrix> calibrationResult =
+            calibration(forward, shift, beta, fixed, bda, calibrationDateTime, dayCount,
+                availableSmile.getFirst(), availableSmile.getSecond(), expiry, tenorData);
+        ParameterMetadata parameterMetadata = SwaptionSurfaceExpiryTenorParameterMetadata.of(
+            timeToExpiry,
+            timeTenor,
+            expiry.toString() + "x" + tenor.toString());
+        return Optional.of(new SmileResult(
+            timeToExpiry, timeTenor, parameterMetadata, calibrationResult.getFirst(), calibrationResult.getSecond()));
+      } catch (MathException e) {
+        if (stopOnMathException) {
+          String message = Messages.format("{} at expiry {} and tenor {}", e.getMessage(), expiry, tenor);
+          throw new MathException(message, e);
+        }
+        return Optional.empty();
+      }
+    }
+  }
+
+  /**
+   * The result of the calibration of the smile at one expiry and tenor.
+   */
+  private static final class SmileResult {
+
+    private final double timeToExpiry;
+    private final double timeTenor;
+    private final ParameterMetadata parameterMetadata;
+    private final SabrFormulaData sabrPoint;
+    private final DoubleMatrix inverseJacobian;
+
+    private SmileResult(
+        double timeToExpiry,
+        double timeTenor,
+        ParameterMetadata parameterMetadata,
+        SabrFormulaData sabrPoint,
+        DoubleMatrix inverseJacobian) {
+
+      this.timeToExpiry = timeToExpiry;
+      this.timeTenor = timeTenor;
+      this.parameterMetadata = parameterMetadata;
+      this.sabrPoint = sabrPoint;
+      this.inverseJacobian = inverseJacobian;
+    }
+  }
+
 }
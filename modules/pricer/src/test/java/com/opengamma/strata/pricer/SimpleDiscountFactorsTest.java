@@ -15,6 +15,7 @@ import static com.opengamma.strata.collect.TestHelper.date;
 import static com.opengamma.strata.pricer.CompoundedRateType.CONTINUOUS;
 import static com.opengamma.strata.pricer.CompoundedRateType.PERIODIC;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.util.Optional;
@@ -94,6 +95,17 @@ public class SimpleDiscountFactorsTest {
     assertEquals(test.discountFactor(DATE_AFTER), expected);
   }
 
+  public void test_discountFactors() {
+    SimpleDiscountFactors test = SimpleDiscountFactors.of(GBP, DATE_VAL, CURVE);
+    double[] yearFractions = {0d, 0.5d, 2.25d, 5d, 7.5d, 10d};
+    double[] result = new double[yearFractions.length];
+    test.discountFactors(yearFractions, result);
+    for (int i = 0; i < yearFractions.length; i++) {
+      assertEquals(result[i], test.discountFactor(yearFractions[i]));
+    }
+    assertThrowsIllegalArg(() -> test.discountFactors(yearFractions, new double[2]));
+  }
+
   //-------------------------------------------------------------------------
   public void test_zeroRate() {
     SimpleDiscountFactors test = SimpleDiscountFactors.of(GBP, DATE_VAL, CURVE);
@@ -246,6 +258,21 @@ public class SimpleDiscountFactorsTest {
     assertEquals(test.parameterSensitivity(point).size(), 1);
   }
 
+  public void test_addParameterSensitivity() {
+    SimpleDiscountFactors test = SimpleDiscountFactors.of(GBP, DATE_VAL, CURVE);
+    ZeroRateSensitivity point1 = ZeroRateSensitivity.of(GBP, 1d, 2d);
+    ZeroRateSensitivity point2 = ZeroRateSensitivity.of(GBP, 3d, -5d);
+    double[] buffer = new double[test.getParameterCount()];
+    test.addParameterSensitivity(point1, buffer);
+    test.addParameterSensitivity(point2, buffer);
+    test.addParameterSensitivity(ZeroRateSensitivity.of(GBP, 0d, 7d), buffer);
+    CurrencyParameterSensitivities expected = test.parameterSensitivity(point1)
+        .combinedWith(test.parameterSensitivity(point2));
+    CurrencyParameterSensitivities computed = test.createParameterSensitivity(GBP, DoubleArray.ofUnsafe(buffer));
+    assertTrue(computed.equalWithTolerance(expected, TOL));
+    assertThrowsIllegalArg(() -> test.addParameterSensitivity(point1, new double[1]));
+  }
+
   //-------------------------------------------------------------------------
   public void test_createParameterSensitivity() {
     SimpleDiscountFactors test = SimpleDiscountFactors.of(GBP, DATE_VAL, CURVE);
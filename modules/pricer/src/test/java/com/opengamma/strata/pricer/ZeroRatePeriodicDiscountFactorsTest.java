@@ -128,6 +128,17 @@ public class ZeroRatePeriodicDiscountFactorsTest {
     assertEquals(test.discountFactor(DATE_AFTER), expected);
   }
 
+  public void test_discountFactors() {
+    ZeroRatePeriodicDiscountFactors test = ZeroRatePeriodicDiscountFactors.of(GBP, DATE_VAL, CURVE);
+    double[] yearFractions = {0d, 0.5d, 2.25d, 5d, 7.5d, 10d};
+    double[] result = new double[yearFractions.length];
+    test.discountFactors(yearFractions, result);
+    for (int i = 0; i < yearFractions.length; i++) {
+      assertEquals(result[i], test.discountFactor(yearFractions[i]));
+    }
+    assertThrowsIllegalArg(() -> test.discountFactors(yearFractions, new double[2]));
+  }
+
   //-------------------------------------------------------------------------
   public void test_zeroRate() {
     ZeroRatePeriodicDiscountFactors test = ZeroRatePeriodicDiscountFactors.of(GBP, DATE_VAL, CURVE);
@@ -276,6 +287,20 @@ public class ZeroRatePeriodicDiscountFactorsTest {
     assertEquals(sensi1.getCurrency(), GBP);
   }
 
+  public void test_addParameterSensitivity() {
+    ZeroRatePeriodicDiscountFactors test = ZeroRatePeriodicDiscountFactors.of(GBP, DATE_VAL, CURVE);
+    ZeroRateSensitivity point1 = ZeroRateSensitivity.of(GBP, 1d, 2d);
+    ZeroRateSensitivity point2 = ZeroRateSensitivity.of(GBP, 3d, -5d);
+    double[] buffer = new double[test.getParameterCount()];
+    test.addParameterSensitivity(point1, buffer);
+    test.addParameterSensitivity(point2, buffer);
+    CurrencyParameterSensitivities expected = test.parameterSensitivity(point1)
+        .combinedWith(test.parameterSensitivity(point2));
+    CurrencyParameterSensitivities computed = test.createParameterSensitivity(GBP, DoubleArray.ofUnsafe(buffer));
+    assertTrue(computed.equalWithTolerance(expected, TOLERANCE_DELTA));
+    assertThrowsIllegalArg(() -> test.addParameterSensitivity(point1, new double[1]));
+  }
+
   //-------------------------------------------------------------------------
   public void test_parameterSensitivity_full() {
     ZeroRatePeriodicDiscountFactors test = ZeroRatePeriodicDiscountFactors.of(GBP, DATE_VAL, CURVE);
@@ -8,6 +8,7 @@ package com.opengamma.strata.pricer.curve;
 import static com.opengamma.strata.basics.currency.Currency.USD;
 import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
 import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M;
 import static org.testng.Assert.assertEquals;
 
@@ -19,9 +20,12 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.basics.currency.Currency;
@@ -34,6 +38,7 @@ import com.opengamma.strata.data.ImmutableMarketData;
 import com.opengamma.strata.data.ImmutableMarketDataBuilder;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveGroupDefinition;
 import com.opengamma.strata.market.curve.CurveGroupName;
 import com.opengamma.strata.market.curve.CurveMetadata;
@@ -49,8 +54,10 @@ import com.opengamma.strata.market.curve.node.FixedIborSwapCurveNode;
 import com.opengamma.strata.market.curve.node.FraCurveNode;
 import com.opengamma.strata.market.curve.node.IborFixingDepositCurveNode;
 import com.opengamma.strata.market.observable.QuoteId;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.pricer.deposit.DiscountingIborFixingDepositProductPricer;
 import com.opengamma.strata.pricer.fra.DiscountingFraTradePricer;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
 import com.opengamma.strata.product.ResolvedTrade;
@@ -209,6 +216,81 @@ public class CalibrationDiscountingSimple1Test {
     }
   }
 
+  public void recalibration_present_value() {
+    ImmutableRatesProvider previous = CALIBRATOR.calibrate(CURVE_GROUP_DEFN, ALL_QUOTES, REF_DATA);
+    ImmutableMarketDataBuilder builder = ImmutableMarketData.builder(VAL_DATE);
+    for (int i = 0; i < FWD3_NB_NODES; i++) {
+      builder.addValue(QuoteId.of(StandardId.of(SCHEME, FWD3_ID_VALUE[i])), FWD3_MARKET_QUOTES[i] + 0.0001 * i);
+    }
+    MarketData bumpedQuotes = builder.build();
+    CountingMeasure<ResolvedFraTrade> fraMeasure = new CountingMeasure<>(TradeCalibrationMeasure.FRA_PAR_SPREAD);
+    CountingMeasure<ResolvedIborFixingDepositTrade> depositMeasure =
+        new CountingMeasure<>(TradeCalibrationMeasure.IBOR_FIXING_DEPOSIT_PAR_SPREAD);
+    CountingMeasure<ResolvedSwapTrade> swapMeasure = new CountingMeasure<>(TradeCalibrationMeasure.SWAP_PAR_SPREAD);
+    CurveCalibrator calibrator = CurveCalibrator.of(
+        1e-9, 1e-9, 100, CalibrationMeasures.of("Counting", fraMeasure, depositMeasure, swapMeasure));
+    ImmutableRatesProvider expected = calibrator.calibrate(CURVE_GROUP_DEFN, bumpedQuotes, REF_DATA);
+    int coldCount = fraMeasure.sensitivityCount + depositMeasure.sensitivityCount + swapMeasure.sensitivityCount;
+    ImmutableRatesProvider result = calibrator.recalibrate(CURVE_GROUP_DEFN, bumpedQuotes, REF_DATA, previous);
+    int warmCount =
+        fraMeasure.sensitivityCount + depositMeasure.sensitivityCount + swapMeasure.sensitivityCount - coldCount;
+    // the cold start computes the derivative at the initial guess and for the Jacobian of the result
+    // the warm start uses the previous Jacobian, thus only computes the derivative for the Jacobian of the result
+    assertEquals(coldCount, 2 * FWD3_NB_NODES);
+    assertEquals(warmCount, FWD3_NB_NODES);
+    Curve expectedCurve = expected.findData(ALL_CURVE_NAME).get();
+    Curve resultCurve = result.findData(ALL_CURVE_NAME).get();
+    assertEquals(resultCurve.getParameterCount(), expectedCurve.getParameterCount());
+    for (int i = 0; i < expectedCurve.getParameterCount(); i++) {
+      assertEquals(resultCurve.getParameter(i), expectedCurve.getParameter(i), 1e-8);
+    }
+    // trades reprice to zero with the bumped quotes
+    for (int i = 1; i < FWD3_NB_FRA_NODES + 1; i++) {
+      ResolvedFraTrade trade = (ResolvedFraTrade) ALL_NODES[i].resolvedTrade(1d, bumpedQuotes, REF_DATA);
+      assertEquals(FRA_PRICER.presentValue(trade, result).getAmount(), 0.0, TOLERANCE_PV);
+    }
+  }
+
+  public void calibration_executor() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      CurveCalibrator calibrator = CurveCalibrator.of(
+          1e-9, 1e-9, 100, CalibrationMeasures.PAR_SPREAD, CalibrationMeasures.PRESENT_VALUE, executor);
+      ImmutableRatesProvider expected = CALIBRATOR.calibrate(CURVE_GROUP_DEFN, ALL_QUOTES, REF_DATA);
+      ImmutableRatesProvider result = calibrator.calibrate(CURVE_GROUP_DEFN, ALL_QUOTES, REF_DATA);
+      assertEquals(result, expected);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  public void calibration_groups() {
+    CurveGroupDefinition otherGroupDefn = CurveGroupDefinition.builder()
+        .name(CurveGroupName.of("USD-SINGLE-CURVE-OTHER"))
+        .addCurve(CURVE_DEFN, USD, USD_LIBOR_3M).build();
+    ImmutableRatesProvider expected = CALIBRATOR.calibrate(CURVE_GROUP_DEFN, ALL_QUOTES, REF_DATA);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      CurveCalibrator calibrator = CurveCalibrator.of(
+          1e-9, 1e-9, 100, CalibrationMeasures.PAR_SPREAD, CalibrationMeasures.PRESENT_VALUE, executor);
+      Map<CurveGroupName, ImmutableRatesProvider> result =
+          calibrator.calibrateGroups(ImmutableList.of(CURVE_GROUP_DEFN, otherGroupDefn), ALL_QUOTES, REF_DATA);
+      assertEquals(result.size(), 2);
+      assertEquals(result.get(CURVE_GROUP_NAME), expected);
+      assertEquals(result.get(otherGroupDefn.getName()), expected);
+    } finally {
+      executor.shutdownNow();
+    }
+    Map<CurveGroupName, ImmutableRatesProvider> sequential =
+        CALIBRATOR.calibrateGroups(ImmutableList.of(CURVE_GROUP_DEFN, otherGroupDefn), ALL_QUOTES, REF_DATA);
+    assertEquals(sequential.get(CURVE_GROUP_NAME), expected);
+  }
+
+  public void calibration_groups_duplicateNames() {
+    assertThrowsIllegalArg(() -> CALIBRATOR.calibrateGroups(
+        ImmutableList.of(CURVE_GROUP_DEFN, CURVE_GROUP_DEFN), ALL_QUOTES, REF_DATA));
+  }
+
   //-------------------------------------------------------------------------
   @Test(enabled = false)
   void performance() {
@@ -232,4 +314,31 @@ public class CalibrationDiscountingSimple1Test {
     // Previous run: 290 ms for 100 calibrations (1 curve - 9 nodes)
   }
 
+  //-------------------------------------------------------------------------
+  // calibration measure that counts the number of sensitivity evaluations
+  private static final class CountingMeasure<T extends ResolvedTrade> implements CalibrationMeasure<T> {
+    private final CalibrationMeasure<T> underlying;
+    private int sensitivityCount;
+
+    private CountingMeasure(CalibrationMeasure<T> underlying) {
+      this.underlying = underlying;
+    }
+
+    @Override
+    public Class<T> getTradeType() {
+      return underlying.getTradeType();
+    }
+
+    @Override
+    public double value(T trade, RatesProvider provider) {
+      return underlying.value(trade, provider);
+    }
+
+    @Override
+    public CurrencyParameterSensitivities sensitivities(T trade, RatesProvider provider) {
+      sensitivityCount++;
+      return underlying.sensitivities(trade, provider);
+    }
+  }
+
 }
@@ -6,10 +6,14 @@
 package com.opengamma.strata.pricer.impl.credit.isda;
 
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
 
 import java.time.LocalDate;
 import java.time.Month;
 import java.time.Period;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
@@ -128,6 +132,43 @@ public class AnalyticCdsPricerTest extends IsdaBaseTest {
     assertEquals(fd, anal, 1e-8);
   }
 
+  public void multiNameTest() {
+    final double[] ccTimes = new double[] {0.25, 0.5, 1.0, 2.0, 3.0, 5.0, 7.0, 10.0 };
+    final double[] ycTimes = new double[] {1 / 52., 1 / 12., 1 / 4., 1 / 2., 3 / 4., 1.0, 2.1, 5.0, 11.0, 30.0 };
+    final double[] ycRates = new double[] {0.004, 0.006, 0.007, 0.01, 0.01, 0.015, 0.02, 0.03, 0.04, 0.05 };
+    final IsdaCompliantYieldCurve yieldCurve = new IsdaCompliantYieldCurve(ycTimes, ycRates);
+    final CdsAnalytic cds = new CdsAnalyticFactory().makeImmCds(LocalDate.of(2013, Month.SEPTEMBER, 10), Period.ofYears(5));
+
+    final int nNames = 5;
+    final IsdaCompliantCreditCurve[] creditCurves = new IsdaCompliantCreditCurve[nNames];
+    final double[] spreads = new double[nNames];
+    final double[] recoveryRates = new double[nNames];
+    for (int i = 0; i < nNames; i++) {
+      final double[] rates = new double[ccTimes.length];
+      for (int j = 0; j < ccTimes.length; j++) {
+        rates[j] = 0.01 * (i + 1) + 0.002 * j;
+      }
+      creditCurves[i] = new IsdaCompliantCreditCurve(ccTimes, rates);
+      spreads[i] = 0.01 * (i + 1);
+      recoveryRates[i] = 0.2 + 0.1 * i;
+    }
+
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      final double[] pvs = PRICER.pv(cds, yieldCurve, creditCurves, spreads, recoveryRates, CdsPriceType.CLEAN, executor);
+      final double[] parSpreads = PRICER.parSpread(cds, yieldCurve, creditCurves, recoveryRates, executor);
+      assertTrue(Arrays.equals(PRICER.pv(cds, yieldCurve, creditCurves, spreads, recoveryRates, CdsPriceType.CLEAN), pvs));
+      assertTrue(Arrays.equals(PRICER.parSpread(cds, yieldCurve, creditCurves, recoveryRates), parSpreads));
+      for (int i = 0; i < nNames; i++) {
+        final CdsAnalytic cdsName = cds.withRecoveryRate(recoveryRates[i]);
+        assertEquals(PRICER.pv(cdsName, yieldCurve, creditCurves[i], spreads[i], CdsPriceType.CLEAN), pvs[i], 0d);
+        assertEquals(PRICER.parSpread(cdsName, yieldCurve, creditCurves[i]), parSpreads[i], 0d);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   private double fdRPV01Sense(final CdsAnalytic cds, final IsdaCompliantYieldCurve yieldCurve, final IsdaCompliantCreditCurve creditCurve, final int creditCurveNode, final AnalyticCdsPricer pricer) {
 
     final double h = creditCurve.getZeroRateAtIndex(creditCurveNode);
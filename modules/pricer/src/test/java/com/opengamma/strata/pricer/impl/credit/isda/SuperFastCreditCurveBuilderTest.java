@@ -13,6 +13,8 @@ import java.time.LocalDate;
 import java.time.Month;
 import java.time.Period;
 import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
@@ -116,6 +118,67 @@ public class SuperFastCreditCurveBuilderTest extends CreditCurveCalibrationTest
     }
   }
 
+  /**
+   * Calibration of many names sharing the calibration CDSs and the yield curve
+   */
+  public void multiNameTest() {
+    final LocalDate tradeDate = LocalDate.of(2013, Month.APRIL, 25);
+
+    final CdsAnalyticFactory baseFactory = new CdsAnalyticFactory();
+    final Period[] tenors = new Period[] {Period.ofMonths(6), Period.ofYears(1), Period.ofYears(3), Period.ofYears(5), Period.ofYears(7), Period.ofYears(10) };
+    final CdsAnalytic[] pillar = baseFactory.makeImmCds(tradeDate, tenors);
+    final LocalDate spotDate = DEFAULT_CALENDAR.shift(tradeDate.minusDays(1), 3);
+    final String[] yieldCurvePoints = new String[] {"1M", "2M", "3M", "6M", "9M", "1Y", "2Y", "3Y", "4Y", "5Y", "6Y", "7Y", "8Y", "9Y", "10Y", "11Y", "12Y", "15Y", "20Y", "25Y", "30Y" };
+    final String[] yieldCurveInstruments = new String[] {"M", "M", "M", "M", "M", "M", "S", "S", "S", "S", "S", "S", "S", "S", "S", "S", "S", "S", "S", "S", "S" };
+    final double[] rates = new double[] {0.00445, 0.009488, 0.012337, 0.017762, 0.01935, 0.020838, 0.01652, 0.02018, 0.023033, 0.02525, 0.02696, 0.02825, 0.02931, 0.03017, 0.03092, 0.0316, 0.03231,
+      0.03367, 0.03419, 0.03411, 0.03412 };
+    final IsdaCompliantYieldCurve yc = makeYieldCurve(tradeDate, spotDate, yieldCurvePoints, yieldCurveInstruments, rates, ACT360, D30360, Period.ofYears(1));
+
+    final int nNames = 6;
+    final double[][] premiums = new double[nNames][];
+    final double[][] pufs = new double[nNames][];
+    final double[] recoveryRates = new double[nNames];
+    for (int i = 0; i < nNames; i++) {
+      premiums[i] = new double[] {0.007, 0.008, 0.011, 0.013, 0.014, 0.015 };
+      pufs[i] = new double[tenors.length];
+      for (int j = 0; j < tenors.length; j++) {
+        premiums[i][j] *= 1 + 0.5 * i;
+        pufs[i][j] = i % 2 == 0 ? 0 : 0.001 * j;
+      }
+      recoveryRates[i] = 0.25 + 0.05 * i;
+    }
+
+    final FastCreditCurveBuilder fastBuild = new FastCreditCurveBuilder();
+    final ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      final IsdaCompliantCreditCurve[] curves = BUILDER_ISDA.calibrateCreditCurves(pillar, premiums, yc, pufs, recoveryRates, executor);
+      final IsdaCompliantCreditCurve[] curvesFast = fastBuild.calibrateCreditCurves(pillar, premiums, yc, pufs, recoveryRates, executor);
+      assertEquals(nNames, curves.length);
+      assertEquals(nNames, curvesFast.length);
+      for (int i = 0; i < nNames; i++) {
+        final CdsAnalytic[] pillarName = new CdsAnalytic[pillar.length];
+        for (int j = 0; j < pillar.length; j++) {
+          pillarName[j] = pillar[j].withRecoveryRate(recoveryRates[i]);
+        }
+        final IsdaCompliantCreditCurve expected = BUILDER_ISDA.calibrateCreditCurve(pillarName, premiums[i], yc, pufs[i]);
+        final IsdaCompliantCreditCurve expectedFast = fastBuild.calibrateCreditCurve(pillarName, premiums[i], yc, pufs[i]);
+        for (int j = 0; j < pillar.length; j++) {
+          assertEquals(expected.getZeroRateAtIndex(j), curves[i].getZeroRateAtIndex(j), 0d);
+          assertEquals(expectedFast.getZeroRateAtIndex(j), curvesFast[i].getZeroRateAtIndex(j), 0d);
+          assertEquals(expectedFast.getZeroRateAtIndex(j), curves[i].getZeroRateAtIndex(j), 1e-12);
+        }
+      }
+      try {
+        BUILDER_ISDA.calibrateCreditCurves(pillar, premiums, yc, pufs, new double[nNames - 1], executor);
+        throw new RuntimeException();
+      } catch (final Exception e) {
+        assertTrue(e instanceof IllegalArgumentException);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   /**
    * 
    */
@@ -15,6 +15,7 @@ import java.util.function.Function;
 import org.testng.annotations.Test;
 
 import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.math.impl.integration.GaussHermiteQuadratureIntegrator1D;
 import com.opengamma.strata.math.impl.integration.RungeKuttaIntegrator1D;
@@ -8845,4 +8846,97 @@ public class BlackFormulaRepositoryTest {
     assertEquals(bsD2[1][2], bsD2[2][1], TOLERANCE_1, "AD Second order: 2nd - str-vol");
   }
 
+  //-------------------------------------------------------------------------
+  public void test_batch() {
+    int n = STRIKES_INPUT.length * VOLS.length;
+    double[] strikes = new double[n];
+    double[] vols = new double[n];
+    for (int i = 0; i < STRIKES_INPUT.length; i++) {
+      for (int j = 0; j < VOLS.length; j++) {
+        strikes[i * VOLS.length + j] = STRIKES_INPUT[i];
+        vols[i * VOLS.length + j] = VOLS[j];
+      }
+    }
+    assertBatch(DoubleArray.filled(n, FORWARD), DoubleArray.ofUnsafe(strikes),
+        DoubleArray.filled(n, TIME_TO_EXPIRY), DoubleArray.ofUnsafe(vols));
+  }
+
+  public void test_batch_edgeCases() {
+    DoubleArray forwards = DoubleArray.of(FORWARD, FORWARD, FORWARD, FORWARD, 1e14, 0d);
+    DoubleArray strikes = DoubleArray.of(FORWARD, 95d, 95d, 95d, 1e14, 95d);
+    DoubleArray times = DoubleArray.of(TIME_TO_EXPIRY, 0d, TIME_TO_EXPIRY, TIME_TO_EXPIRY, 1d, 1d);
+    DoubleArray vols = DoubleArray.of(0.2, 0.2, 0d, 1e14, 0.2, 0.2);
+    assertBatch(forwards, strikes, times, vols);
+  }
+
+  private void assertBatch(DoubleArray forwards, DoubleArray strikes, DoubleArray times, DoubleArray vols) {
+    DoubleArray callPrices = BlackFormulaRepository.price(forwards, strikes, times, vols, true);
+    DoubleArray putPrices = BlackFormulaRepository.price(forwards, strikes, times, vols, false);
+    DoubleArray callDeltas = BlackFormulaRepository.delta(forwards, strikes, times, vols, true);
+    DoubleArray putDeltas = BlackFormulaRepository.delta(forwards, strikes, times, vols, false);
+    DoubleArray gammas = BlackFormulaRepository.gamma(forwards, strikes, times, vols);
+    DoubleArray vegas = BlackFormulaRepository.vega(forwards, strikes, times, vols);
+    for (int i = 0; i < forwards.size(); i++) {
+      double forward = forwards.get(i);
+      double strike = strikes.get(i);
+      double time = times.get(i);
+      double vol = vols.get(i);
+      assertEquals(callPrices.get(i), BlackFormulaRepository.price(forward, strike, time, vol, true), 0d);
+      assertEquals(putPrices.get(i), BlackFormulaRepository.price(forward, strike, time, vol, false), 0d);
+      assertEquals(callDeltas.get(i), BlackFormulaRepository.delta(forward, strike, time, vol, true), 0d);
+      assertEquals(putDeltas.get(i), BlackFormulaRepository.delta(forward, strike, time, vol, false), 0d);
+      assertEquals(gammas.get(i), BlackFormulaRepository.gamma(forward, strike, time, vol), 0d);
+      assertEquals(vegas.get(i), BlackFormulaRepository.vega(forward, strike, time, vol), 0d);
+    }
+  }
+
+  public void test_batch_impliedVolatility() {
+    int n = STRIKES_INPUT.length;
+    DoubleArray forwards = DoubleArray.filled(n, FORWARD);
+    DoubleArray strikes = DoubleArray.copyOf(STRIKES_INPUT);
+    DoubleArray times = DoubleArray.filled(n, TIME_TO_EXPIRY);
+    for (double vol : VOLS) {
+      DoubleArray vols = DoubleArray.filled(n, vol);
+      DoubleArray callPrices = BlackFormulaRepository.price(forwards, strikes, times, vols, true);
+      DoubleArray putPrices = BlackFormulaRepository.price(forwards, strikes, times, vols, false);
+      DoubleArray callVols = BlackFormulaRepository.impliedVolatility(callPrices, forwards, strikes, times, true);
+      DoubleArray putVols = BlackFormulaRepository.impliedVolatility(putPrices, forwards, strikes, times, false);
+      for (int i = 0; i < n; i++) {
+        assertEquals(callVols.get(i), vol, DELTA);
+        assertEquals(putVols.get(i), vol, DELTA);
+      }
+    }
+  }
+
+  public void test_batch_impliedVolatility_guesses() {
+    DoubleArray forwards = DoubleArray.of(FORWARD, FORWARD);
+    DoubleArray strikes = DoubleArray.of(95d, 120d);
+    DoubleArray times = DoubleArray.of(TIME_TO_EXPIRY, TIME_TO_EXPIRY);
+    DoubleArray vols = DoubleArray.of(0.25, 0.35);
+    DoubleArray otmPrices = DoubleArray.of(
+        BlackFormulaRepository.price(FORWARD, 95d, TIME_TO_EXPIRY, 0.25, false),
+        BlackFormulaRepository.price(FORWARD, 120d, TIME_TO_EXPIRY, 0.35, true));
+    DoubleArray computed = BlackFormulaRepository.impliedVolatility(
+        otmPrices, forwards, strikes, times, DoubleArray.of(0.2, 0.2));
+    assertEquals(computed.get(0), 0.25, DELTA);
+    assertEquals(computed.get(1), 0.35, DELTA);
+  }
+
+  public void test_impliedVolatilityGuess() {
+    for (double vol : VOLS) {
+      for (double strike : new double[] {95d, FORWARD, 108d}) {
+        double otmPrice = BlackFormulaRepository.price(FORWARD, strike, TIME_TO_EXPIRY, vol, strike >= FORWARD);
+        double guess = BlackFormulaRepository.impliedVolatilityGuess(otmPrice, FORWARD, strike, TIME_TO_EXPIRY);
+        assertEquals(guess, vol, 0.15 * vol);
+      }
+    }
+    assertEquals(BlackFormulaRepository.impliedVolatilityGuess(1d, FORWARD, 95d, 0d), 0.3, 0d);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void test_batch_sizeMismatch() {
+    BlackFormulaRepository.price(
+        DoubleArray.of(FORWARD), DoubleArray.of(100d, 110d), DoubleArray.of(1d), DoubleArray.of(0.2), true);
+  }
+
 }
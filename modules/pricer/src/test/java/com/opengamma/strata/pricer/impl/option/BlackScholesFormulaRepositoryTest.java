@@ -10,6 +10,8 @@ import static org.testng.AssertJUnit.assertEquals;
 
 import org.testng.annotations.Test;
 
+import com.opengamma.strata.collect.array.DoubleArray;
+
 /**
  * Test {@link BlackScholesFormulaRepository}.
  */
@@ -5782,4 +5784,44 @@ public class BlackScholesFormulaRepositoryTest {
         SPOT, STRIKES_INPUT[1], TIME_TO_EXPIRY, VOLS[1], INTEREST_RATES[1], NAN, true);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Test the batch methods match the scalar methods.
+   */
+  public void batchTest() {
+    int n = STRIKES_INPUT.length;
+    DoubleArray spots = DoubleArray.filled(n, SPOT);
+    DoubleArray strikes = DoubleArray.copyOf(STRIKES_INPUT);
+    DoubleArray times = DoubleArray.filled(n, TIME_TO_EXPIRY);
+    DoubleArray carries = DoubleArray.filled(n, COST_OF_CARRY);
+    for (int j = 0; j < VOLS.length; ++j) {
+      DoubleArray vols = DoubleArray.filled(n, VOLS[j]);
+      DoubleArray rates = DoubleArray.filled(n, INTEREST_RATES[j]);
+      DoubleArray callPrices = BlackScholesFormulaRepository.price(spots, strikes, times, vols, rates, carries, true);
+      DoubleArray putDeltas = BlackScholesFormulaRepository.delta(spots, strikes, times, vols, rates, carries, false);
+      DoubleArray gammas = BlackScholesFormulaRepository.gamma(spots, strikes, times, vols, rates, carries);
+      DoubleArray vegas = BlackScholesFormulaRepository.vega(spots, strikes, times, vols, rates, carries);
+      for (int i = 0; i < n; ++i) {
+        double strike = STRIKES_INPUT[i];
+        assertEquals(BlackScholesFormulaRepository.price(
+            SPOT, strike, TIME_TO_EXPIRY, VOLS[j], INTEREST_RATES[j], COST_OF_CARRY, true), callPrices.get(i), 0d);
+        assertEquals(BlackScholesFormulaRepository.delta(
+            SPOT, strike, TIME_TO_EXPIRY, VOLS[j], INTEREST_RATES[j], COST_OF_CARRY, false), putDeltas.get(i), 0d);
+        assertEquals(BlackScholesFormulaRepository.gamma(
+            SPOT, strike, TIME_TO_EXPIRY, VOLS[j], INTEREST_RATES[j], COST_OF_CARRY), gammas.get(i), 0d);
+        assertEquals(BlackScholesFormulaRepository.vega(
+            SPOT, strike, TIME_TO_EXPIRY, VOLS[j], INTEREST_RATES[j], COST_OF_CARRY), vegas.get(i), 0d);
+      }
+    }
+  }
+
+  /**
+   * Test the batch methods reject arrays of different sizes.
+   */
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void batchSizeErrorTest() {
+    DoubleArray single = DoubleArray.of(1d);
+    BlackScholesFormulaRepository.vega(single, DoubleArray.of(90d, 100d), single, single, single, single);
+  }
+
 }
@@ -11,6 +11,7 @@ import static org.testng.AssertJUnit.assertEquals;
 import org.testng.annotations.Test;
 
 import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.product.common.PutCall;
 
 /**
@@ -124,4 +125,43 @@ public class NormalFormulaRepositoryImpliedVolatilityTest {
     }
   }
 
+  //-------------------------------------------------------------------------
+  public void batch() {
+    DoubleArray forwards = DoubleArray.filled(N, FORWARD);
+    DoubleArray strikes = DoubleArray.copyOf(STRIKES);
+    DoubleArray times = DoubleArray.filled(N, T);
+    DoubleArray vols = DoubleArray.copyOf(SIGMA);
+    for (PutCall putCall : PutCall.values()) {
+      DoubleArray prices = NormalFormulaRepository.price(forwards, strikes, times, vols, putCall);
+      DoubleArray deltas = NormalFormulaRepository.delta(forwards, strikes, times, vols, putCall);
+      DoubleArray gammas = NormalFormulaRepository.gamma(forwards, strikes, times, vols, putCall);
+      DoubleArray vegas = NormalFormulaRepository.vega(forwards, strikes, times, vols, putCall);
+      for (int i = 0; i < N; i++) {
+        assertEquals(NormalFormulaRepository.price(FORWARD, STRIKES[i], T, SIGMA[i], putCall), prices.get(i), 0d);
+        assertEquals(NormalFormulaRepository.delta(FORWARD, STRIKES[i], T, SIGMA[i], putCall), deltas.get(i), 0d);
+        assertEquals(NormalFormulaRepository.gamma(FORWARD, STRIKES[i], T, SIGMA[i], putCall), gammas.get(i), 0d);
+        assertEquals(NormalFormulaRepository.vega(FORWARD, STRIKES[i], T, SIGMA[i], putCall), vegas.get(i), 0d);
+      }
+    }
+  }
+
+  public void implied_volatility_batch() {
+    DoubleArray impliedVolatility = NormalFormulaRepository.impliedVolatility(
+        DoubleArray.copyOf(PRICES),
+        DoubleArray.filled(N, FORWARD),
+        DoubleArray.copyOf(STRIKES),
+        DoubleArray.filled(N, T),
+        DoubleArray.copyOf(SIGMA).multipliedBy(1.2),
+        DF,
+        PutCall.CALL);
+    for (int i = 0; i < N; i++) {
+      assertEquals(SIGMA[i], impliedVolatility.get(i), 1e-6);
+    }
+  }
+
+  public void batch_sizeMismatch() {
+    assertThrowsIllegalArg(() -> NormalFormulaRepository.price(
+        DoubleArray.of(FORWARD), DoubleArray.of(100d, 110d), DoubleArray.of(T), DoubleArray.of(20d), PutCall.CALL));
+  }
+
 }
@@ -0,0 +1,177 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
+import com.opengamma.strata.pricer.deposit.DiscountingTermDepositProductPricer;
+import com.opengamma.strata.pricer.fra.DiscountingFraProductPricer;
+import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.deposit.ResolvedTermDeposit;
+import com.opengamma.strata.product.deposit.type.TermDepositConventions;
+import com.opengamma.strata.product.fra.FraDiscountingMethod;
+import com.opengamma.strata.product.fra.ResolvedFra;
+import com.opengamma.strata.product.fra.type.FraTemplate;
+import com.opengamma.strata.product.rate.FixedRateComputation;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConventions;
+import com.opengamma.strata.product.swap.type.FixedOvernightSwapConventions;
+
+/**
+ * Test {@link PricingPlan}.
+ */
+@Test
+public class PricingPlanTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate TRADE_DATE = date(2014, 1, 22);
+  private static final ImmutableRatesProvider PROVIDER = RatesProviderDataSets.MULTI_USD;
+  private static final ImmutableRatesProvider PROVIDER_LATER;
+  static {
+    LocalDateDoubleTimeSeriesBuilder fixings = LocalDateDoubleTimeSeries.builder();
+    LocalDate fixingDate = TRADE_DATE.minusDays(7);
+    while (fixingDate.isBefore(date(2014, 10, 22))) {
+      fixings.put(fixingDate, 0.0023);
+      fixingDate = fixingDate.plusDays(1);
+    }
+    PROVIDER_LATER = RatesProviderDataSets.multiUsd(date(2014, 10, 22)).toBuilder()
+        .timeSeries(USD_LIBOR_3M, fixings.build())
+        .build();
+  }
+  private static final double TOLERANCE = 1e-6;
+
+  private static final ResolvedSwap SWAP = FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M
+      .createTrade(TRADE_DATE, Tenor.TENOR_5Y, BuySell.BUY, 1_000_000, 0.015, REF_DATA)
+      .resolve(REF_DATA)
+      .getProduct();
+  private static final ResolvedFra FRA = FraTemplate.of(Period.ofMonths(3), USD_LIBOR_3M)
+      .createTrade(TRADE_DATE, BuySell.BUY, 1_000_000, 0.01, REF_DATA)
+      .resolve(REF_DATA)
+      .getProduct();
+  private static final ResolvedTermDeposit DEPOSIT = TermDepositConventions.USD_DEPOSIT_T2
+      .createTrade(TRADE_DATE, Period.ofMonths(6), BuySell.BUY, 1_000_000, 0.02, REF_DATA)
+      .resolve(REF_DATA)
+      .getProduct();
+
+  //-------------------------------------------------------------------------
+  public void test_swap() {
+    PricingPlan test = PricingPlan.of(SWAP);
+    assertEquals(test.getCurrencies(), ImmutableList.of(USD));
+    assertEquals(test.size(), SWAP.getLegs().stream().mapToInt(leg -> leg.getPaymentPeriods().size()).sum());
+    assertPresentValue(test.presentValue(PROVIDER), DiscountingSwapProductPricer.DEFAULT.presentValue(SWAP, PROVIDER));
+    assertPresentValue(
+        test.presentValue(PROVIDER_LATER), DiscountingSwapProductPricer.DEFAULT.presentValue(SWAP, PROVIDER_LATER));
+  }
+
+  public void test_fra() {
+    for (FraDiscountingMethod discounting : FraDiscountingMethod.values()) {
+      ResolvedFra fra = FRA.toBuilder().discounting(discounting).build();
+      PricingPlan test = PricingPlan.of(fra);
+      assertEquals(test.size(), 1);
+      assertPresentValue(
+          test.presentValue(PROVIDER),
+          MultiCurrencyAmount.of(DiscountingFraProductPricer.DEFAULT.presentValue(fra, PROVIDER)));
+    }
+  }
+
+  public void test_termDeposit() {
+    PricingPlan test = PricingPlan.of(DEPOSIT);
+    assertEquals(test.size(), 2);
+    assertPresentValue(
+        test.presentValue(PROVIDER),
+        MultiCurrencyAmount.of(DiscountingTermDepositProductPricer.DEFAULT.presentValue(DEPOSIT, PROVIDER)));
+    assertPresentValue(
+        test.presentValue(PROVIDER_LATER),
+        MultiCurrencyAmount.of(DiscountingTermDepositProductPricer.DEFAULT.presentValue(DEPOSIT, PROVIDER_LATER)));
+  }
+
+  public void test_presentValue_array() {
+    PricingPlan test = PricingPlan.of(SWAP);
+    double[] result = new double[] {123d};
+    test.presentValue(PROVIDER, result);
+    assertEquals(result[0], test.presentValue(PROVIDER).getAmount(USD).getAmount(), 0d);
+    assertThrowsIllegalArg(() -> test.presentValue(PROVIDER, new double[2]));
+  }
+
+  public void test_presentValue_workspace() {
+    PricingPlan test = PricingPlan.of(SWAP);
+    PricingPlan.Workspace workspace = test.createWorkspace();
+    double[] result = new double[1];
+    test.presentValue(PROVIDER, result, workspace);
+    assertEquals(result[0], test.presentValue(PROVIDER).getAmount(USD).getAmount(), 0d);
+    test.presentValue(PROVIDER_LATER, result, workspace);
+    assertEquals(result[0], test.presentValue(PROVIDER_LATER).getAmount(USD).getAmount(), 0d);
+    // moving the valuation date back makes the expired cash flows live again
+    test.presentValue(PROVIDER, result, workspace);
+    assertEquals(result[0], test.presentValue(PROVIDER).getAmount(USD).getAmount(), 0d);
+    assertThrowsIllegalArg(() -> test.presentValue(PROVIDER, result, PricingPlan.of(SWAP).createWorkspace()));
+  }
+
+  public void test_presentValue_scalarDiscountFactors() {
+    // the bulk discount factors must match the scalar discount factors exactly
+    PricingPlan test = PricingPlan.of(DEPOSIT);
+    double expected = -DEPOSIT.getNotional() * PROVIDER.discountFactor(USD, DEPOSIT.getStartDate()) +
+        (DEPOSIT.getNotional() + DEPOSIT.getInterest()) * PROVIDER.discountFactor(USD, DEPOSIT.getEndDate());
+    assertEquals(test.presentValue(PROVIDER).getAmount(USD).getAmount(), expected, 0d);
+  }
+
+  public void test_presentValueSensitivity() {
+    CurrencyParameterSensitivities swapExpected = PROVIDER.parameterSensitivity(
+        DiscountingSwapProductPricer.DEFAULT.presentValueSensitivity(SWAP, PROVIDER).build());
+    assertTrue(PricingPlan.of(SWAP).presentValueSensitivity(PROVIDER).equalWithTolerance(swapExpected, TOLERANCE));
+    CurrencyParameterSensitivities swapLaterExpected = PROVIDER_LATER.parameterSensitivity(
+        DiscountingSwapProductPricer.DEFAULT.presentValueSensitivity(SWAP, PROVIDER_LATER).build());
+    assertTrue(PricingPlan.of(SWAP).presentValueSensitivity(PROVIDER_LATER)
+        .equalWithTolerance(swapLaterExpected, TOLERANCE));
+    for (FraDiscountingMethod discounting : FraDiscountingMethod.values()) {
+      ResolvedFra fra = FRA.toBuilder().discounting(discounting).build();
+      CurrencyParameterSensitivities fraExpected = PROVIDER.parameterSensitivity(
+          DiscountingFraProductPricer.DEFAULT.presentValueSensitivity(fra, PROVIDER));
+      assertTrue(PricingPlan.of(fra).presentValueSensitivity(PROVIDER).equalWithTolerance(fraExpected, TOLERANCE));
+    }
+    CurrencyParameterSensitivities depositExpected = PROVIDER.parameterSensitivity(
+        DiscountingTermDepositProductPricer.DEFAULT.presentValueSensitivity(DEPOSIT, PROVIDER));
+    assertTrue(PricingPlan.of(DEPOSIT).presentValueSensitivity(PROVIDER)
+        .equalWithTolerance(depositExpected, TOLERANCE));
+  }
+
+  public void test_unsupported() {
+    ResolvedSwap overnight = FixedOvernightSwapConventions.USD_FIXED_1Y_FED_FUND_OIS
+        .createTrade(TRADE_DATE, Tenor.TENOR_2Y, BuySell.BUY, 1_000_000, 0.01, REF_DATA)
+        .resolve(REF_DATA)
+        .getProduct();
+    assertThrowsIllegalArg(() -> PricingPlan.of(overnight));
+    ResolvedFra fra = FRA.toBuilder().floatingRate(FixedRateComputation.of(0.01)).build();
+    assertThrowsIllegalArg(() -> PricingPlan.of(fra));
+  }
+
+  //-------------------------------------------------------------------------
+  private static void assertPresentValue(MultiCurrencyAmount computed, MultiCurrencyAmount expected) {
+    assertEquals(computed.getCurrencies(), expected.getCurrencies());
+    expected.getAmounts().forEach(amount -> assertEquals(
+        computed.getAmount(amount.getCurrency()).getAmount(), amount.getAmount(), TOLERANCE));
+  }
+
+}
@@ -0,0 +1,175 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.sensitivity;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.basics.index.OvernightIndices.USD_FED_FUND;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.basics.index.OvernightIndexObservation;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
+import com.opengamma.strata.pricer.rate.IborIndexRates;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.rate.OvernightIndexRates;
+
+/**
+ * Test {@link AdjointTape}.
+ */
+@Test
+public class AdjointTapeTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final ImmutableRatesProvider PROVIDER = RatesProviderDataSets.MULTI_USD;
+  private static final ImmutableRatesProvider PROVIDER_SIMPLE = RatesProviderDataSets.MULTI_GBP_USD_SIMPLE;
+  private static final LocalDate VAL_DATE = PROVIDER.getValuationDate();
+  private static final LocalDate DATE = date(2016, 3, 15);
+  private static final double TOLERANCE_VALUE = 1e-12;
+  private static final double TOLERANCE_SENSI = 1e-8;
+
+  //-------------------------------------------------------------------------
+  public void test_arithmetic() {
+    AdjointTape test = new AdjointTape();
+    int a = test.constant(2d);
+    int b = test.constant(3d);
+    int product = test.multipliedBy(a, b);
+    int quotient = test.dividedBy(test.exp(a), b);
+    int sum = test.plus(product, quotient);
+    int result = test.multipliedBy(test.plus(test.minus(sum, a), 1d), 2d);
+    double expA = Math.exp(2d);
+    assertEquals(test.value(result), 2d * (6d + expA / 3d - 2d + 1d), TOLERANCE_VALUE);
+    double[] adjoints = test.adjoints(result);
+    assertEquals(adjoints.length, test.size());
+    assertEquals(adjoints[a], 2d * (3d + expA / 3d - 1d), TOLERANCE_VALUE);
+    assertEquals(adjoints[b], 2d * (2d - expA / 9d), TOLERANCE_VALUE);
+    assertEquals(adjoints[result], 1d, 0d);
+    assertTrue(test.parameterSensitivity(result, USD).getSensitivities().isEmpty());
+  }
+
+  public void test_record() {
+    AdjointTape test = new AdjointTape();
+    int a = test.constant(2d);
+    int b = test.constant(3d);
+    int result = test.record(Math.pow(2d, 3d), a, 12d, b, 8d * Math.log(2d));
+    double[] adjoints = test.adjoints(result);
+    assertEquals(adjoints[a], 12d, 0d);
+    assertEquals(adjoints[b], 8d * Math.log(2d), 0d);
+    assertThrowsIllegalArg(() -> test.record(1d, 5, 1d));
+    assertThrowsIllegalArg(() -> test.value(-1));
+    assertThrowsIllegalArg(() -> test.adjoints(3));
+  }
+
+  public void test_reset() {
+    AdjointTape test = new AdjointTape();
+    for (int i = 0; i < 100; i++) {
+      test.discountFactor(PROVIDER.discountFactors(USD), DATE.plusDays(i));
+    }
+    test.reset();
+    assertEquals(test.size(), 0);
+    int df = test.discountFactor(PROVIDER.discountFactors(USD), DATE);
+    assertEquals(test.value(df), PROVIDER.discountFactor(USD, DATE), TOLERANCE_VALUE);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_discountFactor() {
+    for (ImmutableRatesProvider provider : new ImmutableRatesProvider[] {PROVIDER, PROVIDER_SIMPLE}) {
+      DiscountFactors discountFactors = provider.discountFactors(USD);
+      AdjointTape test = new AdjointTape();
+      int df = test.discountFactor(discountFactors, DATE);
+      assertEquals(test.value(df), discountFactors.discountFactor(DATE), TOLERANCE_VALUE);
+      CurrencyParameterSensitivities expected =
+          provider.parameterSensitivity(discountFactors.zeroRatePointSensitivity(DATE).build());
+      assertTrue(test.parameterSensitivity(df, USD).equalWithTolerance(expected, TOLERANCE_SENSI));
+    }
+  }
+
+  public void test_iborRate() {
+    for (ImmutableRatesProvider provider : new ImmutableRatesProvider[] {PROVIDER, PROVIDER_SIMPLE}) {
+      IborIndexRates rates = provider.iborIndexRates(USD_LIBOR_3M);
+      IborIndexObservation observation = IborIndexObservation.of(USD_LIBOR_3M, DATE, REF_DATA);
+      AdjointTape test = new AdjointTape();
+      int rate = test.rate(rates, observation);
+      assertEquals(test.value(rate), rates.rate(observation), TOLERANCE_VALUE);
+      CurrencyParameterSensitivities expected =
+          provider.parameterSensitivity(rates.ratePointSensitivity(observation).build());
+      assertTrue(test.parameterSensitivity(rate, USD).equalWithTolerance(expected, TOLERANCE_SENSI));
+    }
+  }
+
+  public void test_iborRate_fixed() {
+    IborIndexObservation observation = IborIndexObservation.of(USD_LIBOR_3M, VAL_DATE, REF_DATA);
+    ImmutableRatesProvider provider = PROVIDER.toBuilder()
+        .timeSeries(USD_LIBOR_3M, LocalDateDoubleTimeSeries.of(VAL_DATE, 0.0123))
+        .build();
+    AdjointTape test = new AdjointTape();
+    int rate = test.rate(provider.iborIndexRates(USD_LIBOR_3M), observation);
+    assertEquals(test.value(rate), 0.0123, 0d);
+    assertTrue(test.parameterSensitivity(rate, USD).getSensitivities().isEmpty());
+    IborIndexObservation past = IborIndexObservation.of(USD_LIBOR_3M, VAL_DATE.minusDays(7), REF_DATA);
+    assertThrowsIllegalArg(() -> test.rate(PROVIDER.iborIndexRates(USD_LIBOR_3M), past));
+  }
+
+  public void test_overnightRate() {
+    for (ImmutableRatesProvider provider : new ImmutableRatesProvider[] {PROVIDER, PROVIDER_SIMPLE}) {
+      OvernightIndexRates rates = provider.overnightIndexRates(USD_FED_FUND);
+      OvernightIndexObservation observation = OvernightIndexObservation.of(USD_FED_FUND, DATE, REF_DATA);
+      AdjointTape test = new AdjointTape();
+      int rate = test.rate(rates, observation);
+      assertEquals(test.value(rate), rates.rate(observation), TOLERANCE_VALUE);
+      CurrencyParameterSensitivities expected =
+          provider.parameterSensitivity(rates.ratePointSensitivity(observation).build());
+      assertTrue(test.parameterSensitivity(rate, USD).equalWithTolerance(expected, TOLERANCE_SENSI));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_sharedCurve() {
+    // forward rate and discount factor recorded on the same tape
+    AdjointTape test = new AdjointTape();
+    IborIndexRates rates = PROVIDER.iborIndexRates(USD_LIBOR_3M);
+    IborIndexObservation observation = IborIndexObservation.of(USD_LIBOR_3M, DATE, REF_DATA);
+    int rate = test.rate(rates, observation);
+    int df = test.discountFactor(PROVIDER.discountFactors(USD), observation.getMaturityDate());
+    int value = test.multipliedBy(rate, df);
+    CurrencyParameterSensitivities expected = PROVIDER.parameterSensitivity(
+        rates.ratePointSensitivity(observation).multipliedBy(test.value(df))
+            .combinedWith(PROVIDER.discountFactors(USD).zeroRatePointSensitivity(observation.getMaturityDate())
+                .multipliedBy(test.value(rate)))
+            .build());
+    assertTrue(test.parameterSensitivity(value, USD).equalWithTolerance(expected, TOLERANCE_SENSI));
+  }
+
+  public void test_curveValue_sameName() {
+    AdjointTape test = new AdjointTape();
+    InterpolatedNodalCurve curve = InterpolatedNodalCurve.of(
+        Curves.zeroRates("Test", ACT_360),
+        DoubleArray.of(1d, 2d),
+        DoubleArray.of(0.01, 0.02),
+        CurveInterpolators.LINEAR);
+    int value = test.curveValue(curve, 1.5d);
+    assertEquals(test.value(value), 0.015, TOLERANCE_VALUE);
+    assertEquals(test.curveValue(curve, 1.25d), value + 1);
+    assertThrowsIllegalArg(() -> test.curveValue(curve.withParameter(0, 0.015), 1.5d));
+  }
+
+}
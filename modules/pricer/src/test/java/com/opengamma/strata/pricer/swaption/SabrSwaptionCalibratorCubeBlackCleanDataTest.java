@@ -24,12 +24,15 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.io.ResourceLocator;
 import com.opengamma.strata.collect.tuple.Pair;
@@ -47,9 +50,14 @@ import com.opengamma.strata.market.surface.Surface;
 import com.opengamma.strata.market.surface.SurfaceMetadata;
 import com.opengamma.strata.market.surface.interpolator.GridSurfaceInterpolator;
 import com.opengamma.strata.market.surface.interpolator.SurfaceInterpolator;
+import com.opengamma.strata.math.MathException;
 import com.opengamma.strata.pricer.curve.CalibrationMeasures;
 import com.opengamma.strata.pricer.curve.CurveCalibrator;
 import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
+import com.opengamma.strata.pricer.impl.volatility.smile.SabrFormulaData;
+import com.opengamma.strata.pricer.impl.volatility.smile.SabrHaganVolatilityFunctionProvider;
+import com.opengamma.strata.pricer.impl.volatility.smile.VolatilityFunctionProvider;
+import com.opengamma.strata.pricer.model.SabrVolatilityFormula;
 import com.opengamma.strata.pricer.option.TenorRawOptionData;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
@@ -164,6 +172,126 @@ public class SabrSwaptionCalibratorCubeBlackCleanDataTest {
     }
   }
 
+  @Test
+  public void log_normal_cube_parallel() {
+    Surface betaSurface = ConstantSurface.of("Beta", 0.50)
+        .withMetadata(DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION)
+            .zValueType(ValueType.SABR_BETA).surfaceName("Beta").build());
+    Surface shiftSurface = ConstantSurface.of("Shift", 0.0000)
+        .withMetadata(DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION).surfaceName("Shift").build());
+    SabrParametersSwaptionVolatilities expected = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
+        DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, betaSurface, shiftSurface);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      SabrParametersSwaptionVolatilities calibrated = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
+          DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, betaSurface, shiftSurface, true, executor);
+      assertEquals(calibrated, expected);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void log_normal_cube_parallel_skipFailure() {
+    Surface betaSurface = ConstantSurface.of("Beta", 0.50)
+        .withMetadata(DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION)
+            .zValueType(ValueType.SABR_BETA).surfaceName("Beta").build());
+    Surface shiftSurface = ConstantSurface.of("Shift", 0.0000)
+        .withMetadata(DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION).surfaceName("Shift").build());
+    // the smiles of the shortest expiry fail to calibrate
+    SabrSwaptionCalibrator calibrator =
+        SabrSwaptionCalibrator.of(new ShortExpiryFailingFormula(), DiscountingSwapProductPricer.DEFAULT);
+    SabrParametersSwaptionVolatilities expected = calibrator.calibrateWithFixedBetaAndShift(
+        DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, betaSurface, shiftSurface, false);
+    assertEquals(expected.getParameters().getAlphaSurface().getParameterCount(), 4);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      SabrParametersSwaptionVolatilities calibrated = calibrator.calibrateWithFixedBetaAndShift(
+          DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, betaSurface, shiftSurface, false, executor);
+      assertEquals(calibrated, expected);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  // SABR formula failing for expiries below 3 months
+  private static final class ShortExpiryFailingFormula
+      extends VolatilityFunctionProvider<SabrFormulaData>
+      implements SabrVolatilityFormula {
+
+    private static final SabrHaganVolatilityFunctionProvider HAGAN = SabrHaganVolatilityFunctionProvider.DEFAULT;
+
+    @Override
+    public double volatility(double forward, double strike, double timeToExpiry, SabrFormulaData data) {
+      checkExpiry(timeToExpiry);
+      return HAGAN.volatility(forward, strike, timeToExpiry, data);
+    }
+
+    @Override
+    public double volatility(
+        double forward, double strike, double timeToExpiry, double alpha, double beta, double rho, double nu) {
+      checkExpiry(timeToExpiry);
+      return HAGAN.volatility(forward, strike, timeToExpiry, alpha, beta, rho, nu);
+    }
+
+    @Override
+    public ValueDerivatives volatilityAdjoint(
+        double forward, double strike, double timeToExpiry, SabrFormulaData data) {
+      checkExpiry(timeToExpiry);
+      return HAGAN.volatilityAdjoint(forward, strike, timeToExpiry, data);
+    }
+
+    @Override
+    public ValueDerivatives volatilityAdjoint(
+        double forward, double strike, double timeToExpiry, double alpha, double beta, double rho, double nu) {
+      checkExpiry(timeToExpiry);
+      return HAGAN.volatilityAdjoint(forward, strike, timeToExpiry, alpha, beta, rho, nu);
+    }
+
+    @Override
+    public double volatilityAdjoint2(
+        double forward,
+        double strike,
+        double timeToExpiry,
+        SabrFormulaData data,
+        double[] volatilityD,
+        double[][] volatilityD2) {
+      checkExpiry(timeToExpiry);
+      return HAGAN.volatilityAdjoint2(forward, strike, timeToExpiry, data, volatilityD, volatilityD2);
+    }
+
+    private void checkExpiry(double timeToExpiry) {
+      if (timeToExpiry < 0.25) {
+        throw new MathException("Expiry too short");
+      }
+    }
+  }
+
+  @Test
+  public void log_normal_cube_cached() {
+    Surface betaSurface = ConstantSurface.of("Beta", 0.50)
+        .withMetadata(DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION)
+            .zValueType(ValueType.SABR_BETA).surfaceName("Beta").build());
+    Surface shiftSurface = ConstantSurface.of("Shift", 0.0000)
+        .withMetadata(DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION).surfaceName("Shift").build());
+    SabrParametersSwaptionVolatilities expected = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
+        DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, betaSurface, shiftSurface);
+    SabrSwaptionCalibrator cached = SabrSwaptionCalibrator.ofCached(
+        SabrVolatilityFormula.hagan(), DiscountingSwapProductPricer.DEFAULT, ReferenceData.standard(), 10);
+    // the second calibration reuses some of the underlying swaps, the others having been evicted
+    for (int i = 0; i < 2; i++) {
+      SabrParametersSwaptionVolatilities calibrated = cached.calibrateWithFixedBetaAndShift(
+          DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, betaSurface, shiftSurface);
+      assertEquals(calibrated, expected);
+    }
+  }
+
   @Test(enabled = true)
   public void log_normal_atm() {
     double beta = 0.50;